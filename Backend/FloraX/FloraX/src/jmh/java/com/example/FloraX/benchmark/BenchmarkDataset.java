@@ -0,0 +1,182 @@
+package com.example.FloraX.benchmark;
+
+import com.example.FloraX.Entity.*;
+import com.example.FloraX.Enum.SensorStatus;
+import com.example.FloraX.Enum.SensorType;
+import com.example.FloraX.Enum.TriggerType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic FloraX dataset for benchmarks: one user owning
+ * gardens x zonesPerGarden zones, each with sensorsPerZone sensors,
+ * readingsPerSensor readings (one per 10 minutes, newest now) and
+ * logsPerZone irrigation logs (one per 6 hours).
+ *
+ * The same shape can be written to a database with insert() or built as
+ * detached entities with buildZones() for mapper benchmarks.
+ */
+public class BenchmarkDataset {
+
+    public static final String EMAIL = "bench@florax.local";
+    private static final SensorType[] TYPES = { SensorType.MOISTURE, SensorType.TEMPERATURE, SensorType.HUMIDITY };
+    private static final int BATCH_SIZE = 1000;
+
+    private final int gardens;
+    private final int zonesPerGarden;
+    private final int sensorsPerZone;
+    private final int readingsPerSensor;
+    private final int logsPerZone;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    public BenchmarkDataset(int gardens, int zonesPerGarden, int sensorsPerZone,
+            int readingsPerSensor, int logsPerZone) {
+        this.gardens = gardens;
+        this.zonesPerGarden = zonesPerGarden;
+        this.sensorsPerZone = sensorsPerZone;
+        this.readingsPerSensor = readingsPerSensor;
+        this.logsPerZone = logsPerZone;
+    }
+
+    public int zoneCount() {
+        return gardens * zonesPerGarden;
+    }
+
+    public int sensorCount() {
+        return zoneCount() * sensorsPerZone;
+    }
+
+    // ── Database ──────────────────────────────────────────────────────────────
+
+    public void insert(JdbcTemplate jdbc) {
+        Random random = new Random(42);
+        jdbc.update("INSERT INTO users (user_id, email, name, role, created_at) VALUES (1, ?, 'Benchmark', 'USER', ?)",
+                EMAIL, Timestamp.valueOf(now));
+
+        List<Object[]> gardenRows = new ArrayList<>();
+        List<Object[]> zoneRows = new ArrayList<>();
+        List<Object[]> sensorRows = new ArrayList<>();
+        List<Object[]> valveRows = new ArrayList<>();
+        List<Object[]> tankRows = new ArrayList<>();
+        List<Object[]> alertRows = new ArrayList<>();
+        for (long g = 1; g <= gardens; g++) {
+            gardenRows.add(new Object[] { g, "Garden " + g, "Plot " + g, 100.0 });
+            tankRows.add(new Object[] { g, g, 1000.0, 200.0 + random.nextInt(800) });
+            for (int z = 0; z < zonesPerGarden; z++) {
+                long zoneId = zoneId(g, z);
+                zoneRows.add(new Object[] { zoneId, g, "Zone " + zoneId, "Tomato", "Loam", 30.0, 70.0 });
+                valveRows.add(new Object[] { zoneId, zoneId });
+                alertRows.add(new Object[] { zoneId, g, zoneId, Timestamp.valueOf(now.minusHours(z)) });
+                for (int s = 0; s < sensorsPerZone; s++) {
+                    long sensorId = zoneId * sensorsPerZone + s;
+                    sensorRows.add(new Object[] { sensorId, zoneId, TYPES[s % TYPES.length].name(),
+                            "SN-" + sensorId, java.sql.Date.valueOf(LocalDate.of(2024, 1, 1)) });
+                }
+            }
+        }
+        batch(jdbc, "INSERT INTO gardens (garden_id, user_id, garden_name, location, total_area) VALUES (?, 1, ?, ?, ?)",
+                gardenRows);
+        batch(jdbc, "INSERT INTO zones (zone_id, garden_id, zone_name, plant_type, soil_type, "
+                + "moisture_threshold_min, moisture_threshold_max) VALUES (?, ?, ?, ?, ?, ?, ?)", zoneRows);
+        batch(jdbc, "INSERT INTO sensors (sensor_id, zone_id, sensor_type, serial_number, installation_date, status) "
+                + "VALUES (?, ?, ?, ?, ?, '" + SensorStatus.ACTIVE.name() + "')", sensorRows);
+        batch(jdbc, "INSERT INTO valves (valve_id, zone_id, valve_status, power_source) VALUES (?, ?, 'CLOSED', 'SOLAR')",
+                valveRows);
+        batch(jdbc, "INSERT INTO water_tanks (tank_id, garden_id, capacity_liters, current_level_liters, status) "
+                + "VALUES (?, ?, ?, ?, 'NORMAL')", tankRows);
+        batch(jdbc, "INSERT INTO alerts (alert_id, garden_id, zone_id, alert_type, status, message, created_at) "
+                + "VALUES (?, ?, ?, 'DRY_SOIL', 'ACTIVE', 'Soil moisture below threshold', ?)", alertRows);
+
+        List<Object[]> readingRows = new ArrayList<>(BATCH_SIZE);
+        for (Object[] sensor : sensorRows) {
+            for (int r = 0; r < readingsPerSensor; r++) {
+                readingRows.add(new Object[] { sensor[0], 20.0 + random.nextDouble() * 60.0,
+                        Timestamp.valueOf(now.minusMinutes(10L * r)) });
+                if (readingRows.size() == BATCH_SIZE) {
+                    batch(jdbc, "INSERT INTO sensor_readings (sensor_id, value, recorded_at) VALUES (?, ?, ?)", readingRows);
+                    readingRows.clear();
+                }
+            }
+        }
+        batch(jdbc, "INSERT INTO sensor_readings (sensor_id, value, recorded_at) VALUES (?, ?, ?)", readingRows);
+
+        List<Object[]> logRows = new ArrayList<>();
+        for (Object[] zone : zoneRows) {
+            for (int l = 0; l < logsPerZone; l++) {
+                LocalDateTime start = now.minusHours(6L * l + 1);
+                logRows.add(new Object[] { zone[0], zone[0], Timestamp.valueOf(start),
+                        Timestamp.valueOf(start.plusMinutes(15)), 5.0 + random.nextInt(20) });
+            }
+        }
+        batch(jdbc, "INSERT INTO irrigation_logs (zone_id, valve_id, start_time, end_time, water_volume_used, "
+                + "trigger_type) VALUES (?, ?, ?, ?, ?, '" + TriggerType.AUTO.name() + "')", logRows);
+    }
+
+    // ── Detached entities ─────────────────────────────────────────────────────
+
+    /**
+     * Zones with their garden and sensors populated, as the mapper sees them.
+     */
+    public List<Zones> buildZones() {
+        List<Zones> zones = new ArrayList<>(zoneCount());
+        for (long g = 1; g <= gardens; g++) {
+            Gardens garden = new Gardens();
+            garden.setGardenId(g);
+            garden.setGardenName("Garden " + g);
+            for (int z = 0; z < zonesPerGarden; z++) {
+                Zones zone = new Zones();
+                zone.setZoneId(zoneId(g, z));
+                zone.setGarden(garden);
+                zone.setZoneName("Zone " + zone.getZoneId());
+                zone.setPlantType("Tomato");
+                zone.setSoilType("Loam");
+                zone.setMoistureThresholdMin(30.0);
+                zone.setMoistureThresholdMax(70.0);
+                List<Sensors> sensors = new ArrayList<>(sensorsPerZone);
+                for (int s = 0; s < sensorsPerZone; s++) {
+                    Sensors sensor = new Sensors();
+                    sensor.setSensorId(zone.getZoneId() * sensorsPerZone + s);
+                    sensor.setZone(zone);
+                    sensor.setSensorType(TYPES[s % TYPES.length]);
+                    sensor.setSerialNumber("SN-" + sensor.getSensorId());
+                    sensor.setInstallationDate(LocalDate.of(2024, 1, 1));
+                    sensor.setStatus(SensorStatus.ACTIVE);
+                    sensors.add(sensor);
+                }
+                zone.setSensors(sensors);
+                zones.add(zone);
+            }
+        }
+        return zones;
+    }
+
+    /**
+     * Latest irrigation log of a zone, started the given number of minutes ago.
+     */
+    public IrrigationLogs buildLog(Zones zone, long minutesAgo) {
+        IrrigationLogs log = new IrrigationLogs();
+        log.setZone(zone);
+        log.setStartTime(now.minusMinutes(minutesAgo));
+        log.setEndTime(now.minusMinutes(minutesAgo).plusMinutes(15));
+        log.setWaterVolumeUsed(12.5);
+        log.setTriggerType(TriggerType.AUTO);
+        return log;
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private long zoneId(long gardenId, int index) {
+        return (gardenId - 1) * zonesPerGarden + index + 1;
+    }
+
+    private static void batch(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        if (!rows.isEmpty())
+            jdbc.batchUpdate(sql, rows);
+    }
+}
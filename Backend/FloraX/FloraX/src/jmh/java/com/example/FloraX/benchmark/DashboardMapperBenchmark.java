@@ -0,0 +1,86 @@
+package com.example.FloraX.benchmark;
+
+import com.example.FloraX.Dto.SensorDTO;
+import com.example.FloraX.Dto.ZoneDTO;
+import com.example.FloraX.Entity.IrrigationLogs;
+import com.example.FloraX.Entity.Sensors;
+import com.example.FloraX.Entity.Zones;
+import com.example.FloraX.Mapper.DashboardMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DashboardMapper on detached entities, without Spring or a database.
+ * Each invocation maps every zone / sensor of the dataset, so scores are
+ * per dashboard-sized batch rather than per object.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardMapperBenchmark {
+
+    @Param({ "5" })
+    public int gardens;
+
+    @Param({ "10" })
+    public int zonesPerGarden;
+
+    @Param({ "3" })
+    public int sensorsPerZone;
+
+    private final DashboardMapper mapper = new DashboardMapper();
+    private List<Zones> zones;
+    private List<IrrigationLogs> lastLogs;
+    private List<Sensors> sensors;
+    private List<LocalDateTime> timestamps;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkDataset dataset = new BenchmarkDataset(gardens, zonesPerGarden, sensorsPerZone, 0, 0);
+        zones = dataset.buildZones();
+        lastLogs = new ArrayList<>(zones.size());
+        sensors = new ArrayList<>(dataset.sensorCount());
+        timestamps = new ArrayList<>(zones.size());
+        // spread "last irrigated" over minutes, hours and days so every formatRelative branch runs
+        long minutesAgo = 0;
+        for (Zones zone : zones) {
+            lastLogs.add(dataset.buildLog(zone, minutesAgo));
+            timestamps.add(LocalDateTime.now().minusMinutes(minutesAgo));
+            sensors.addAll(zone.getSensors());
+            minutesAgo = minutesAgo * 3 + 7;
+            if (minutesAgo > 60 * 24 * 30)
+                minutesAgo = 0;
+        }
+    }
+
+    @Benchmark
+    public void toZoneDTO(Blackhole bh) {
+        for (int i = 0; i < zones.size(); i++) {
+            ZoneDTO dto = mapper.toZoneDTO(zones.get(i), 25.0 + i % 60, lastLogs.get(i));
+            bh.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void toSensorDTO(Blackhole bh) {
+        LocalDateTime recordedAt = LocalDateTime.now();
+        for (int i = 0; i < sensors.size(); i++) {
+            SensorDTO dto = mapper.toSensorDTO(sensors.get(i), 40.0 + i % 30, recordedAt);
+            bh.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void formatRelative(Blackhole bh) {
+        for (LocalDateTime t : timestamps)
+            bh.consume(mapper.formatRelative(t));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.FloraX.benchmark;
+
+import com.example.FloraX.Cache.LatestReadingCache;
+import com.example.FloraX.Dto.DashboardSummaryDTO;
+import com.example.FloraX.Dto.UserDashboardResponse;
+import com.example.FloraX.FloraXApplication;
+import com.example.FloraX.Service.UserDashboardService;
+import com.example.FloraX.Service.WaterUsageRollupService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserDashboardServiceImpl end to end (services, caches, repositories and
+ * Hibernate) against an in-memory H2 database in MySQL mode, filled by
+ * BenchmarkDataset once per trial.
+ *
+ * Dashboard snapshots and request coalescing are turned off, so every call
+ * assembles the dashboard from the database instead of returning a kept or
+ * shared result.
+ *
+ * Absolute numbers are lower than on MySQL (no network round trips); use
+ * them to compare builds on the same machine, not as latency targets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserDashboardServiceBenchmark {
+
+    @Param({ "5" })
+    public int gardens;
+
+    @Param({ "10" })
+    public int zonesPerGarden;
+
+    @Param({ "3" })
+    public int sensorsPerZone;
+
+    @Param({ "144" })
+    public int readingsPerSensor;
+
+    @Param({ "28" })
+    public int logsPerZone;
+
+    private ConfigurableApplicationContext context;
+    private UserDashboardService dashboardService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command-line arguments take precedence over application.properties.
+        // The web context stays on (security config needs it) on a random port.
+        context = new SpringApplicationBuilder(FloraXApplication.class)
+                .run("--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--spring.datasource.url=jdbc:h2:mem:florax-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--florax.readings.retention-enabled=false",
+                        "--florax.dashboard.snapshot.enabled=false",
+                        "--florax.dashboard.coalescing.enabled=false");
+
+        new BenchmarkDataset(gardens, zonesPerGarden, sensorsPerZone, readingsPerSensor, logsPerZone)
+                .insert(context.getBean(JdbcTemplate.class));
+        // Startup warm-up and backfill ran against empty tables
+        context.getBean(LatestReadingCache.class).warmUp();
+        context.getBean(WaterUsageRollupService.class).rebuild(null);
+
+        dashboardService = context.getBean(UserDashboardService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDashboardResponse getDashboard() {
+        return dashboardService.getDashboard(BenchmarkDataset.EMAIL);
+    }
+
+    @Benchmark
+    public DashboardSummaryDTO getDashboardSummary() {
+        return dashboardService.getDashboardSummary(BenchmarkDataset.EMAIL);
+    }
+}
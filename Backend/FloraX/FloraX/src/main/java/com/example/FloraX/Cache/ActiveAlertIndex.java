@@ -0,0 +1,86 @@
+package com.example.FloraX.Cache;
+
+import com.example.FloraX.Enum.AlertStatus;
+import com.example.FloraX.Enum.AlertType;
+import com.example.FloraX.Event.AlertChangedEvent;
+import com.example.FloraX.Repository.AlertRepository;
+import com.example.FloraX.Repository.Projection.ActiveAlertKey;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of ACTIVE alerts by (type, garden, zone, sensor), so the alert
+ * rules can tell whether a condition is already reported without querying
+ * the alerts table for every reading.
+ *
+ * Loaded once at startup and kept current from AlertChangedEvent; every
+ * writer of alerts publishes that event. Until warm-up has completed
+ * isWarm() is false and callers should not raise new alerts. Alerts
+ * inserted directly in SQL are not seen until the next restart.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ActiveAlertIndex {
+
+    @Value
+    public static class Key {
+        AlertType type;
+        Long gardenId;
+        Long zoneId;
+        // Only SENSOR_FAULT alerts are kept apart per sensor
+        Long sensorId;
+    }
+
+    private final AlertRepository alertRepository;
+
+    private final Map<Key, Long> active = new ConcurrentHashMap<>();
+    private volatile boolean warm;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            List<ActiveAlertKey> keys = alertRepository.findActiveKeys();
+            for (ActiveAlertKey k : keys)
+                active.put(new Key(k.getAlertType(), k.getGardenId(), k.getZoneId(), k.getSensorId()),
+                        k.getAlertId());
+            warm = true;
+            log.info("Active alert index warmed with {} alerts", active.size());
+        } catch (RuntimeException e) {
+            log.error("Active alert index warm-up failed, alert rules are disabled", e);
+        }
+    }
+
+    @EventListener
+    public void onAlertChanged(AlertChangedEvent event) {
+        Key key = new Key(event.getAlertType(), event.getGardenId(), event.getZoneId(), event.getSensorId());
+        if (event.getStatus() == AlertStatus.ACTIVE)
+            active.put(key, event.getAlertId());
+        else
+            active.remove(key, event.getAlertId());
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Id of the ACTIVE alert for this type, garden, zone and sensor (null
+     * except for SENSOR_FAULT), or null.
+     */
+    public Long find(AlertType type, Long gardenId, Long zoneId, Long sensorId) {
+        return active.get(new Key(type, gardenId, zoneId, sensorId));
+    }
+
+    public int size() {
+        return active.size();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.FloraX.Cache;
+
+import com.example.FloraX.Entity.Gardens;
+import com.example.FloraX.Entity.Zones;
+import com.example.FloraX.Event.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user version of the data behind the user dashboard, used as its ETag.
+ *
+ * A user's version is bumped once a change to their gardens has committed:
+ * readings, sensor status, valve and tank changes, alerts and irrigation
+ * logs arrive as domain events, edits of gardens, zones, valves, sensors,
+ * tanks and pumps through OwnershipEntityListener. Changes written directly
+ * in SQL are not seen.
+ *
+ * Callers take the tag before they read the data. With read replicas that
+ * alone is not enough: the bump follows the commit on the primary, while a
+ * replica may still be up to max-lag-ms behind. So for max-lag-ms (plus
+ * one lag check) after a change read from the database, readsPrimary()
+ * tells callers to read that user's data from the primary, and a response
+ * is never tagged newer than its content. Readings do not count, since the
+ * dashboard takes them from LatestReadingCache.
+ *
+ * Versions live in memory from 0; the tag carries an epoch chosen at
+ * startup, so tags handed out before a restart never match. It also changes
+ * at midnight and every refresh-seconds, because "today" totals and
+ * "5 min ago" labels depend on the clock as well as on the data.
+ *
+ * A second, coarser version per user counts only edits of gardens and zones,
+ * which change the layout of the dashboard rather than its values.
+ */
+@Component
+public class DashboardVersions {
+
+    private final OwnershipIndex ownership;
+    private final long refreshSeconds;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final Map<Long, Long> layoutVersions = new ConcurrentHashMap<>();
+    // When each user's last change read from the database committed
+    private final Map<Long, Long> storedAt = new ConcurrentHashMap<>();
+    private final long primaryReadMillis;
+
+    public DashboardVersions(OwnershipIndex ownership,
+            @Value("${florax.dashboard.etag.refresh-seconds:300}") long refreshSeconds,
+            @Value("${florax.datasource.routing.max-lag-ms:5000}") long maxLagMs,
+            @Value("${florax.datasource.routing.lag-check-ms:1000}") long lagCheckMs) {
+        this.ownership = ownership;
+        this.refreshSeconds = Math.max(1, refreshSeconds);
+        this.primaryReadMillis = maxLagMs + lagCheckMs;
+    }
+
+    public long current(Long userId) {
+        return versions.getOrDefault(userId, 0L);
+    }
+
+    public long layoutVersion(Long userId) {
+        return layoutVersions.getOrDefault(userId, 0L);
+    }
+
+    /**
+     * Strong ETag of the user's dashboard data as of now.
+     */
+    public String etag(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return "\"" + epoch + "-" + userId + "-" + current(userId) + "-" + now.toLocalDate().toEpochDay()
+                + "-" + now.toLocalTime().toSecondOfDay() / refreshSeconds + "\"";
+    }
+
+    /**
+     * Whether the user changed data read from the database recently enough
+     * that a replica may not have it yet.
+     */
+    public boolean readsPrimary(Long userId) {
+        Long at = storedAt.get(userId);
+        if (at == null)
+            return false;
+        if (System.currentTimeMillis() - at < primaryReadMillis)
+            return true;
+        storedAt.remove(userId, at);
+        return false;
+    }
+
+    public void bump(Long userId) {
+        bump(userId, true);
+    }
+
+    private void bump(Long userId, boolean stored) {
+        if (userId != null && userId > 0)
+            OwnershipIndex.afterCommit(() -> {
+                if (stored)
+                    storedAt.put(userId, System.currentTimeMillis());
+                versions.merge(userId, 1L, Long::sum);
+            });
+    }
+
+    void changed(Object entity) {
+        long owner = ownership.ownerOf(entity);
+        bump(owner);
+        if (owner > 0 && (entity instanceof Gardens || entity instanceof Zones))
+            OwnershipIndex.afterCommit(() -> layoutVersions.merge(owner, 1L, Long::sum));
+    }
+
+    // ── Domain events ─────────────────────────────────────────────────────────
+
+    @EventListener
+    public void onReadingsIngested(SensorReadingsIngestedEvent event) {
+        Set<Long> users = new HashSet<>();
+        for (IngestedReading r : event.getReadings())
+            users.add(ownership.ownerOfSensor(r.getSensorId()));
+        users.forEach(user -> bump(user, false));
+    }
+
+    @EventListener
+    public void onSensorStatusChanged(SensorStatusChangedEvent event) {
+        bump(ownership.ownerOfSensor(event.getSensorId()));
+    }
+
+    @EventListener
+    public void onValveStatusChanged(ValveStatusChangedEvent event) {
+        bump(event.getUserId());
+    }
+
+    @EventListener
+    public void onAlertChanged(AlertChangedEvent event) {
+        bump(event.getUserId());
+    }
+
+    @EventListener
+    public void onTankLevelChanged(TankLevelChangedEvent event) {
+        bump(event.getUserId());
+    }
+
+    @EventListener
+    public void onIrrigationLogged(IrrigationLoggedEvent event) {
+        bump(ownership.ownerOfZone(event.getZoneId()));
+    }
+}
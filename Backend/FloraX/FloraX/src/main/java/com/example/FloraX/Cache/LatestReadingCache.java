@@ -0,0 +1,194 @@
+package com.example.FloraX.Cache;
+
+import com.example.FloraX.Entity.SensorReadings;
+import com.example.FloraX.Enum.SensorType;
+import com.example.FloraX.Event.IngestedReading;
+import com.example.FloraX.Event.SensorReadingsIngestedEvent;
+import com.example.FloraX.Repository.Projection.LatestSensorReading;
+import com.example.FloraX.Repository.SensorReadingRepository;
+import com.example.FloraX.Repository.SensorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * "Last value" cache of sensor readings, keyed by sensorId and by zoneId / SensorType.
+ *
+ * Warmed at startup with one aggregate query over sensor_readings and kept
+ * current from SensorReadingsIngestedEvent, so dashboard and sensor endpoints
+ * can serve current moisture, temperature and humidity without touching MySQL.
+ * Until warm-up has completed every lookup falls back to the database.
+ *
+ * Readings inserted directly in SQL (outside the ingestion API) are not seen
+ * until the next restart.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class LatestReadingCache {
+
+    @Value
+    public static class Reading {
+        double value;
+        LocalDateTime recordedAt;
+
+        boolean isNewerThan(Reading other) {
+            if (other == null || other.recordedAt == null)
+                return true;
+            return recordedAt != null && !recordedAt.isBefore(other.recordedAt);
+        }
+    }
+
+    @Value
+    public static class Placement {
+        Long zoneId;
+        SensorType sensorType;
+    }
+
+    private final SensorReadingRepository sensorReadingRepository;
+    private final SensorRepository sensorRepository;
+
+    private final Map<Long, Reading> bySensor = new ConcurrentHashMap<>();
+    private final Map<Long, Map<SensorType, Reading>> byZone = new ConcurrentHashMap<>();
+    private final Map<Long, Placement> placements = new ConcurrentHashMap<>();
+    private volatile boolean warm;
+
+    // ── Lifecycle ─────────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.currentTimeMillis();
+        try {
+            List<LatestSensorReading> latest = sensorReadingRepository.findLatestPerSensor();
+            for (LatestSensorReading r : latest) {
+                placements.put(r.getSensorId(), new Placement(r.getZoneId(), r.getSensorType()));
+                if (r.getValue() != null)
+                    put(r.getSensorId(), new Reading(r.getValue(), r.getRecordedAt()));
+            }
+            warm = true;
+            log.info("Latest reading cache warmed with {} sensors in {} ms",
+                    latest.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Latest reading cache warm-up failed, falling back to database lookups", e);
+        }
+    }
+
+    // Runs before other listeners so they see the new values
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onReadingsIngested(SensorReadingsIngestedEvent event) {
+        List<IngestedReading> readings = event.getReadings();
+
+        Set<Long> unplaced = readings.stream()
+                .map(IngestedReading::getSensorId)
+                .filter(id -> !placements.containsKey(id))
+                .collect(Collectors.toSet());
+        if (!unplaced.isEmpty()) {
+            sensorRepository.findPlacementsByIds(unplaced).forEach(p ->
+                    placements.put(p.getSensorId(), new Placement(p.getZoneId(), p.getSensorType())));
+        }
+
+        for (IngestedReading r : readings)
+            put(r.getSensorId(), new Reading(r.getValue(), r.getRecordedAt()));
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Zone and type of a sensor that has reported at least once, or null.
+     */
+    public Placement placementOf(Long sensorId) {
+        return placements.get(sensorId);
+    }
+
+    // ── Lookups ───────────────────────────────────────────────────────────────
+
+    public Reading latestForSensor(Long sensorId) {
+        if (!warm)
+            return sensorReadingRepository.findTopBySensorSensorIdOrderByRecordedAtDesc(sensorId)
+                    .map(LatestReadingCache::toReading).orElse(null);
+        return bySensor.get(sensorId);
+    }
+
+    /**
+     * Latest reading of the given type in the zone.
+     */
+    public Reading latestForZone(Long zoneId, SensorType type) {
+        if (!warm)
+            return sensorReadingRepository
+                    .findTopBySensorZoneZoneIdAndSensorSensorTypeOrderByRecordedAtDesc(zoneId, type)
+                    .map(LatestReadingCache::toReading).orElse(null);
+        Map<SensorType, Reading> readings = byZone.get(zoneId);
+        return readings != null ? readings.get(type) : null;
+    }
+
+    /**
+     * Latest reading of any sensor in the zone, whatever its type.
+     */
+    public Reading latestForZone(Long zoneId) {
+        if (!warm)
+            return sensorReadingRepository.findTopBySensorZoneZoneIdOrderByRecordedAtDesc(zoneId)
+                    .map(LatestReadingCache::toReading).orElse(null);
+        return newest(byZone.get(zoneId));
+    }
+
+    /**
+     * Latest reading of any sensor for each zone; zones without readings are absent.
+     */
+    public Map<Long, Reading> latestForZones(Collection<Long> zoneIds) {
+        Map<Long, Reading> result = new HashMap<>();
+        if (zoneIds.isEmpty())
+            return result;
+        if (!warm) {
+            sensorReadingRepository.findLatestByZoneIds(zoneIds).forEach(r -> {
+                if (r.getValue() != null)
+                    result.putIfAbsent(r.getZoneId(), new Reading(r.getValue(), r.getRecordedAt()));
+            });
+            return result;
+        }
+        for (Long zoneId : zoneIds) {
+            Reading r = newest(byZone.get(zoneId));
+            if (r != null)
+                result.put(zoneId, r);
+        }
+        return result;
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private void put(Long sensorId, Reading reading) {
+        bySensor.merge(sensorId, reading, (old, neu) -> neu.isNewerThan(old) ? neu : old);
+        Placement p = placements.get(sensorId);
+        if (p == null || p.getZoneId() == null || p.getSensorType() == null)
+            return;
+        byZone.computeIfAbsent(p.getZoneId(), z -> new ConcurrentHashMap<>())
+                .merge(p.getSensorType(), reading, (old, neu) -> neu.isNewerThan(old) ? neu : old);
+    }
+
+    private static Reading newest(Map<SensorType, Reading> readings) {
+        if (readings == null)
+            return null;
+        Reading newest = null;
+        for (Reading r : readings.values()) {
+            if (r.isNewerThan(newest))
+                newest = r;
+        }
+        return newest;
+    }
+
+    private static Reading toReading(SensorReadings r) {
+        return r.getValue() != null ? new Reading(r.getValue(), r.getRecordedAt()) : null;
+    }
+}
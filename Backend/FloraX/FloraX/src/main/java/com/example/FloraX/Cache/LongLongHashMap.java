@@ -0,0 +1,122 @@
+package com.example.FloraX.Cache;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from long to long (linear probing), 16 bytes per
+ * slot and no boxing. Not thread-safe; callers synchronize.
+ *
+ * Keys must not be Long.MIN_VALUE, which marks a free slot.
+ */
+public class LongLongHashMap {
+
+    private static final long FREE = Long.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+
+    public LongLongHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(long key) {
+        return keys[indexOf(key)] != FREE;
+    }
+
+    /**
+     * Value for the key, or defaultValue when absent.
+     */
+    public long get(long key, long defaultValue) {
+        int i = indexOf(key);
+        return keys[i] != FREE ? values[i] : defaultValue;
+    }
+
+    public void put(long key, long value) {
+        int i = indexOf(key);
+        if (keys[i] == FREE) {
+            keys[i] = key;
+            if (++size > keys.length * LOAD_FACTOR) {
+                values[i] = value;
+                rehash(keys.length << 1);
+                return;
+            }
+        }
+        values[i] = value;
+    }
+
+    public void putIfAbsent(long key, long value) {
+        if (!containsKey(key))
+            put(key, value);
+    }
+
+    public void forEach(EntryConsumer action) {
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] != FREE)
+                action.accept(keys[i], values[i]);
+    }
+
+    public void remove(long key) {
+        int hole = indexOf(key);
+        if (keys[hole] == FREE)
+            return;
+        // Backward-shift deletion: pull later entries of the probe run into the
+        // hole unless that would move them before their home slot
+        for (int j = (hole + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+            int home = mix(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = FREE;
+        size--;
+    }
+
+    // Slot holding the key, or the free slot where it would go
+    private int indexOf(long key) {
+        int i = mix(key) & mask;
+        while (keys[i] != FREE && keys[i] != key)
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int j = indexOf(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, FREE);
+        mask = capacity - 1;
+    }
+
+    // Sequential ids would otherwise fill neighbouring slots
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.FloraX.Cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on the entities that make up ownership (gardens, zones,
+ * valves, sensors, tanks, pumps); forwards every change to OwnershipIndex
+ * and bumps the owner's DashboardVersions entry. Hibernate obtains it from
+ * the Spring context.
+ */
+@Component
+public class OwnershipEntityListener {
+
+    private final OwnershipIndex ownershipIndex;
+    private final DashboardVersions dashboardVersions;
+
+    public OwnershipEntityListener(OwnershipIndex ownershipIndex, DashboardVersions dashboardVersions) {
+        this.ownershipIndex = ownershipIndex;
+        this.dashboardVersions = dashboardVersions;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Object entity) {
+        dashboardVersions.changed(entity);
+        ownershipIndex.saved(entity);
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        dashboardVersions.changed(entity);
+        ownershipIndex.removed(entity);
+    }
+}
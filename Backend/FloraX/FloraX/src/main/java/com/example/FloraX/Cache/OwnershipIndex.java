@@ -0,0 +1,341 @@
+package com.example.FloraX.Cache;
+
+import com.example.FloraX.Entity.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory ownership of gardens, zones, valves, sensors, tanks and pumps,
+ * so authorization checks are a few hash lookups instead of SQL.
+ *
+ * Each level maps an id to its parent's id (valve -> zone -> garden -> user,
+ * sensor -> zone, pump -> tank -> garden) in a LongLongHashMap; the owner is
+ * found by walking up, so moving a garden to another user is one update.
+ * "Does garden G belong to user U" is the user -> gardens question, answered
+ * by the garden -> user entry.
+ *
+ * All links are loaded at startup and kept current by OwnershipEntityListener,
+ * which applies JPA inserts, updates and deletes once their transaction has
+ * committed. An id that is not in the index (written in SQL or by another
+ * instance) is read through from the database by primary key; ids that do
+ * not exist are not cached. Changes made that way to ids already in the
+ * index are only seen after the next reload, every refresh-interval-ms, so
+ * with several instances an ownership change takes up to that long to
+ * apply everywhere.
+ */
+@Component
+@Slf4j
+public class OwnershipIndex {
+
+    // Parent value of a row whose foreign key is null
+    private static final long NO_PARENT = 0L;
+    // Returned for ids that exist neither in the index nor in the database
+    public static final long UNKNOWN = -1L;
+
+    enum Level {
+        GARDEN("gardens", "garden_id", "user_id"),
+        ZONE("zones", "zone_id", "garden_id"),
+        VALVE("valves", "valve_id", "zone_id"),
+        SENSOR("sensors", "sensor_id", "zone_id"),
+        TANK("water_tanks", "tank_id", "garden_id"),
+        PUMP("pumps", "pump_id", "tank_id");
+
+        final String selectAll;
+        final String selectOne;
+
+        Level(String table, String idColumn, String parentColumn) {
+            this.selectAll = "SELECT " + idColumn + ", " + parentColumn + " FROM " + table;
+            this.selectOne = "SELECT " + parentColumn + " FROM " + table + " WHERE " + idColumn + " = ?";
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Level, LongLongHashMap> parents = new EnumMap<>(Level.class);
+    // Ids changed while their level is being reloaded; guarded by the write lock
+    private final Map<Level, Set<Long>> changedDuringLoad = new EnumMap<>(Level.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public OwnershipIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (Level level : Level.values())
+            parents.put(level, new LongLongHashMap(1024));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (Level level : Level.values()) {
+            try {
+                int size = load(level);
+                log.info("Ownership index warmed with {} {} rows", size, level.name().toLowerCase());
+            } catch (RuntimeException e) {
+                // Lookups read through to the database instead
+                log.error("Ownership index warm-up of {} failed", level, e);
+            }
+        }
+    }
+
+    // Replaces every level, so links changed outside this instance do not stay stale
+    @Scheduled(initialDelayString = "${florax.ownership.refresh-interval-ms:600000}",
+            fixedDelayString = "${florax.ownership.refresh-interval-ms:600000}")
+    public void reload() {
+        for (Level level : Level.values()) {
+            try {
+                load(level);
+            } catch (RuntimeException e) {
+                // The current links stay in use until the next reload
+                log.warn("Ownership index reload of {} failed: {}", level, e.getMessage());
+            }
+        }
+    }
+
+    private int load(Level level) {
+        lock.writeLock().lock();
+        try {
+            changedDuringLoad.put(level, new HashSet<>());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LongLongHashMap loaded = new LongLongHashMap(1024);
+        boolean complete = false;
+        try {
+            jdbcTemplate.query(level.selectAll, rs -> {
+                long parent = rs.getLong(2);
+                loaded.put(rs.getLong(1), rs.wasNull() ? NO_PARENT : parent);
+            });
+            complete = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                Set<Long> changed = changedDuringLoad.remove(level);
+                if (complete) {
+                    // Links changed since the query was sent are newer than what it returned
+                    LongLongHashMap current = parents.get(level);
+                    for (Long id : changed) {
+                        long parent = current.get(id, UNKNOWN);
+                        if (parent == UNKNOWN)
+                            loaded.remove(id);
+                        else
+                            loaded.put(id, parent);
+                    }
+                    parents.put(level, loaded);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return loaded.size();
+    }
+
+    // ── Lookups ───────────────────────────────────────────────────────────────
+
+    public boolean ownsGarden(Long userId, Long gardenId) {
+        return owns(userId, Level.GARDEN, gardenId);
+    }
+
+    public boolean ownsZone(Long userId, Long zoneId) {
+        return owns(userId, Level.ZONE, zoneId);
+    }
+
+    public boolean ownsSensor(Long userId, Long sensorId) {
+        return owns(userId, Level.SENSOR, sensorId);
+    }
+
+    public boolean ownsTank(Long userId, Long tankId) {
+        return owns(userId, Level.TANK, tankId);
+    }
+
+    /**
+     * Owner of the zone, or UNKNOWN if the zone does not exist.
+     */
+    public long ownerOfZone(Long zoneId) {
+        return zoneId != null ? owner(Level.ZONE, zoneId) : UNKNOWN;
+    }
+
+    /**
+     * Garden of the zone, or UNKNOWN.
+     */
+    public long gardenOfZone(Long zoneId) {
+        long garden = zoneId != null ? parent(Level.ZONE, zoneId) : UNKNOWN;
+        return garden > 0 ? garden : UNKNOWN;
+    }
+
+    /**
+     * Owner of the sensor, or UNKNOWN if the sensor does not exist.
+     */
+    public long ownerOfSensor(Long sensorId) {
+        return sensorId != null ? owner(Level.SENSOR, sensorId) : UNKNOWN;
+    }
+
+    /**
+     * Owner of the valve, or UNKNOWN if the valve does not exist.
+     */
+    public long ownerOfValve(Long valveId) {
+        return valveId != null ? owner(Level.VALVE, valveId) : UNKNOWN;
+    }
+
+    /**
+     * Owner of the pump, or UNKNOWN if the pump does not exist.
+     */
+    public long ownerOfPump(Long pumpId) {
+        return pumpId != null ? owner(Level.PUMP, pumpId) : UNKNOWN;
+    }
+
+    /**
+     * Garden of the pump's tank, or UNKNOWN.
+     */
+    public long gardenOfPump(Long pumpId) {
+        long tank = pumpId != null ? parent(Level.PUMP, pumpId) : UNKNOWN;
+        return tank > 0 ? parent(Level.TANK, tank) : UNKNOWN;
+    }
+
+    private boolean owns(Long userId, Level level, Long id) {
+        return userId != null && id != null && owner(level, id) == userId;
+    }
+
+    // Walks up to the user; UNKNOWN when a link is missing
+    private long owner(Level level, long id) {
+        long garden = switch (level) {
+            case GARDEN -> id;
+            case ZONE, TANK -> parent(level, id);
+            case VALVE, SENSOR -> {
+                long zone = parent(level, id);
+                yield zone > 0 ? parent(Level.ZONE, zone) : UNKNOWN;
+            }
+            case PUMP -> {
+                long tank = parent(level, id);
+                yield tank > 0 ? parent(Level.TANK, tank) : UNKNOWN;
+            }
+        };
+        long user = garden > 0 ? parent(Level.GARDEN, garden) : UNKNOWN;
+        return user > 0 ? user : UNKNOWN;
+    }
+
+    private long parent(Level level, long id) {
+        lock.readLock().lock();
+        try {
+            long parent = parents.get(level).get(id, UNKNOWN);
+            if (parent != UNKNOWN)
+                return parent;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Long loaded;
+        try {
+            loaded = jdbcTemplate.queryForObject(level.selectOne, Long.class, id);
+        } catch (EmptyResultDataAccessException e) {
+            return UNKNOWN;
+        }
+        long parent = loaded != null ? loaded : NO_PARENT;
+        lock.writeLock().lock();
+        try {
+            if (!parents.get(level).containsKey(id))
+                put(level, id, parent);
+            return parents.get(level).get(id, parent);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ── Updates (from OwnershipEntityListener) ────────────────────────────────
+
+    // Owner of a garden, zone, valve, sensor, tank or pump entity as it is now
+    long ownerOf(Object entity) {
+        Link link = linkOf(entity);
+        if (link == null || link.parent <= 0)
+            return UNKNOWN;
+        return switch (link.level) {
+            case GARDEN -> link.parent;
+            case ZONE, TANK -> owner(Level.GARDEN, link.parent);
+            case VALVE, SENSOR -> owner(Level.ZONE, link.parent);
+            case PUMP -> owner(Level.TANK, link.parent);
+        };
+    }
+
+    void saved(Object entity) {
+        Link link = linkOf(entity);
+        if (link != null)
+            afterCommit(() -> put(link.level, link.id, link.parent));
+    }
+
+    void removed(Object entity) {
+        Link link = linkOf(entity);
+        if (link != null)
+            afterCommit(() -> remove(link.level, link.id));
+    }
+
+    private void put(Level level, long id, long parent) {
+        lock.writeLock().lock();
+        try {
+            parents.get(level).put(id, parent);
+            changed(level, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Level level, long id) {
+        lock.writeLock().lock();
+        try {
+            parents.get(level).remove(id);
+            changed(level, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Under the write lock
+    private void changed(Level level, long id) {
+        Set<Long> changed = changedDuringLoad.get(level);
+        if (changed != null)
+            changed.add(id);
+    }
+
+    // Runs the change once the current transaction has committed, or now
+    static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private record Link(Level level, long id, long parent) {
+    }
+
+    // Getting the id of a lazy parent does not initialize it
+    private static Link linkOf(Object entity) {
+        if (entity instanceof Gardens g && g.getGardenId() != null)
+            return new Link(Level.GARDEN, g.getGardenId(), g.getUser() != null ? g.getUser().getUserId() : NO_PARENT);
+        if (entity instanceof Zones z && z.getZoneId() != null)
+            return new Link(Level.ZONE, z.getZoneId(), z.getGarden() != null ? z.getGarden().getGardenId() : NO_PARENT);
+        if (entity instanceof Valves v && v.getValveId() != null)
+            return new Link(Level.VALVE, v.getValveId(), v.getZone() != null ? v.getZone().getZoneId() : NO_PARENT);
+        if (entity instanceof Sensors s && s.getSensorId() != null)
+            return new Link(Level.SENSOR, s.getSensorId(), s.getZone() != null ? s.getZone().getZoneId() : NO_PARENT);
+        if (entity instanceof WaterTanks t && t.getTankId() != null)
+            return new Link(Level.TANK, t.getTankId(), t.getGarden() != null ? t.getGarden().getGardenId() : NO_PARENT);
+        if (entity instanceof Pumps p && p.getPumpId() != null)
+            return new Link(Level.PUMP, p.getPumpId(), p.getTank() != null ? p.getTank().getTankId() : NO_PARENT);
+        return null;
+    }
+}
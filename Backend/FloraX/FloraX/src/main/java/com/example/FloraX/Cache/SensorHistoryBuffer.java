@@ -0,0 +1,130 @@
+package com.example.FloraX.Cache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-capacity ring of (timestamp, value) pairs for one sensor, stored
+ * off-heap in a direct ByteBuffer (16 bytes per reading) and kept sorted by
+ * timestamp. When full, the oldest reading is overwritten.
+ *
+ * Timestamps are wall-clock epoch millis (LocalDateTime read as UTC), the
+ * same clock as recorded_at. Everything at or after coveredFrom() is held
+ * here; older readings have to be read from the database.
+ */
+public class SensorHistoryBuffer {
+
+    private static final int ENTRY_BYTES = 16;
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        /**
+         * @return false to stop the iteration
+         */
+        boolean accept(long timestamp, double value);
+    }
+
+    private final ByteBuffer data;
+    private final int capacity;
+    private int start;
+    private int size;
+    private long coveredFrom;
+
+    public SensorHistoryBuffer(int capacity, long coveredFrom) {
+        this.capacity = capacity;
+        this.data = ByteBuffer.allocateDirect(capacity * ENTRY_BYTES);
+        this.coveredFrom = coveredFrom;
+    }
+
+    public synchronized long coveredFrom() {
+        return coveredFrom;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Adds a reading; duplicates and readings older than coveredFrom() are ignored.
+     */
+    public synchronized void add(long timestamp, double value) {
+        if (timestamp < coveredFrom)
+            return;
+        if (size == 0 || timestamp > timestampAt(size - 1)) {
+            if (size == capacity)
+                evictOldest();
+            write(size++, timestamp, value);
+            return;
+        }
+
+        // Out of order: insert at its sorted position
+        int pos = lowerBound(timestamp);
+        for (int i = pos; i < size && timestampAt(i) == timestamp; i++) {
+            if (valueAt(i) == value)
+                return;
+        }
+        if (size == capacity) {
+            if (pos == 0) {
+                // Would be evicted straight away; the database has it
+                coveredFrom = Math.max(coveredFrom, timestamp + 1);
+                return;
+            }
+            evictOldest();
+            pos--;
+        }
+        for (int i = size; i > pos; i--)
+            write(i, timestampAt(i - 1), valueAt(i - 1));
+        write(pos, timestamp, value);
+        size++;
+    }
+
+    /**
+     * Visits readings with from <= timestamp < to in time order.
+     */
+    public synchronized void forEachBetween(long from, long to, EntryConsumer consumer) {
+        for (int i = lowerBound(from); i < size; i++) {
+            long ts = timestampAt(i);
+            if (ts >= to || !consumer.accept(ts, valueAt(i)))
+                return;
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private void evictOldest() {
+        long evicted = timestampAt(0);
+        start = (start + 1) % capacity;
+        size--;
+        coveredFrom = Math.max(coveredFrom, evicted + 1);
+    }
+
+    // First logical index whose timestamp is >= the given one
+    private int lowerBound(long timestamp) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (timestampAt(mid) < timestamp)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    private int offset(int index) {
+        return ((start + index) % capacity) * ENTRY_BYTES;
+    }
+
+    private long timestampAt(int index) {
+        return data.getLong(offset(index));
+    }
+
+    private double valueAt(int index) {
+        return data.getDouble(offset(index) + 8);
+    }
+
+    private void write(int index, long timestamp, double value) {
+        int offset = offset(index);
+        data.putLong(offset, timestamp);
+        data.putDouble(offset + 8, value);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.FloraX.Cache;
+
+import com.example.FloraX.Event.IngestedReading;
+import com.example.FloraX.Event.SensorReadingsIngestedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recent reading history per sensor, held in off-heap SensorHistoryBuffers.
+ *
+ * A sensor's buffer is created on the first history request for it, loaded
+ * with the last window-hours of readings straight from JDBC, and then kept
+ * current from SensorReadingsIngestedEvent. At most max-sensors buffers are
+ * kept; the least recently queried one is dropped when a new one is needed
+ * (its direct memory is released once the buffer is garbage collected).
+ */
+@Component
+@Slf4j
+public class SensorHistoryCache {
+
+    private static final String LOAD_SQL = "SELECT recorded_at, value FROM sensor_readings " +
+            "WHERE sensor_id = ? AND recorded_at >= ? AND value IS NOT NULL ORDER BY recorded_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int capacityPerSensor;
+    private final long windowMillis;
+
+    private final Map<Long, SensorHistoryBuffer> buffers = new ConcurrentHashMap<>();
+    // Query recency of the buffered sensors, guarded by itself
+    private final LinkedHashMap<Long, Boolean> recency;
+
+    public SensorHistoryCache(JdbcTemplate jdbcTemplate,
+            @Value("${florax.history.capacity-per-sensor:10080}") int capacityPerSensor,
+            @Value("${florax.history.window-hours:168}") int windowHours,
+            @Value("${florax.history.max-sensors:500}") int maxSensors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacityPerSensor = capacityPerSensor;
+        this.windowMillis = windowHours * 3_600_000L;
+        this.recency = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                if (size() <= maxSensors)
+                    return false;
+                buffers.remove(eldest.getKey());
+                return true;
+            }
+        };
+    }
+
+    public static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Start of the buffered window right now; a range ending at or before it
+     * is never served from a buffer.
+     */
+    public long windowStart() {
+        return toMillis(LocalDateTime.now()) - windowMillis;
+    }
+
+    /**
+     * Buffer of the sensor, loading it from the database on first use.
+     */
+    public SensorHistoryBuffer buffer(Long sensorId) {
+        synchronized (recency) {
+            recency.put(sensorId, Boolean.TRUE);
+        }
+        SensorHistoryBuffer buffer = buffers.get(sensorId);
+        if (buffer != null)
+            return buffer;
+
+        long windowStart = windowStart();
+        SensorHistoryBuffer created = new SensorHistoryBuffer(capacityPerSensor, windowStart);
+        // Held while loading so that readers of the new buffer wait for it
+        synchronized (created) {
+            buffer = buffers.putIfAbsent(sensorId, created);
+            if (buffer != null)
+                return buffer;
+            try {
+                load(sensorId, created, windowStart);
+            } catch (RuntimeException e) {
+                buffers.remove(sensorId, created);
+                throw e;
+            }
+        }
+        return created;
+    }
+
+    @EventListener
+    public void onReadingsIngested(SensorReadingsIngestedEvent event) {
+        for (IngestedReading r : event.getReadings()) {
+            SensorHistoryBuffer buffer = buffers.get(r.getSensorId());
+            if (buffer != null && r.getRecordedAt() != null)
+                buffer.add(toMillis(r.getRecordedAt()), r.getValue());
+        }
+    }
+
+    public int getBufferedSensorCount() {
+        return buffers.size();
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private void load(Long sensorId, SensorHistoryBuffer buffer, long windowStart) {
+        long start = System.currentTimeMillis();
+        LocalDateTime since = LocalDateTime.ofEpochSecond(windowStart / 1000, 0, ZoneOffset.UTC);
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            Timestamp ts = rs.getTimestamp(1);
+            buffer.add(toMillis(ts.toLocalDateTime()), rs.getDouble(2));
+        }, sensorId, Timestamp.valueOf(since));
+        log.debug("History buffer of sensor {} loaded with {} readings in {} ms",
+                sensorId, buffer.size(), System.currentTimeMillis() - start);
+    }
+}
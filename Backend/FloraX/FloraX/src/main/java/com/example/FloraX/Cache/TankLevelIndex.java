@@ -0,0 +1,220 @@
+package com.example.FloraX.Cache;
+
+import com.example.FloraX.Enum.TankStatus;
+import com.example.FloraX.Repository.Projection.TankLevel;
+import com.example.FloraX.Repository.WaterTankRepository;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of every water tank: owner, capacity, the level last written
+ * to water_tanks with the time it was recorded, and a short ring of recent
+ * level samples per tank.
+ *
+ * Loaded once at startup and kept current by the tank level ingestion, which
+ * is the only writer of tank levels. Tanks created later are added with
+ * register() the first time a level is reported for them. The recording time
+ * of the stored level starts unknown, so after a restart the first reading
+ * of a tank is applied whatever its age.
+ */
+@Component
+@Slf4j
+public class TankLevelIndex {
+
+    // Samples kept per tank for the level slope, oldest overwritten first
+    private static final int SAMPLES_PER_TANK = 64;
+
+    @Value
+    public static class Snapshot implements TankLevel {
+        Long tankId;
+        Long userId;
+        Long gardenId;
+        Double capacityLiters;
+        Double currentLevelLiters;
+        TankStatus status;
+    }
+
+    private static final class Tank {
+        final Long tankId;
+        final Long userId;
+        final Long gardenId;
+        final Double capacityLiters;
+        volatile Double currentLevelLiters;
+        volatile TankStatus status;
+        long levelRecordedAt = Long.MIN_VALUE;
+
+        final long[] sampleTimes = new long[SAMPLES_PER_TANK];
+        final double[] sampleLevels = new double[SAMPLES_PER_TANK];
+        int head;
+        int count;
+
+        Tank(TankLevel level) {
+            this.tankId = level.getTankId();
+            this.userId = level.getUserId();
+            this.gardenId = level.getGardenId();
+            this.capacityLiters = level.getCapacityLiters();
+            this.currentLevelLiters = level.getCurrentLevelLiters();
+            this.status = level.getStatus();
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(tankId, userId, gardenId, capacityLiters, currentLevelLiters, status);
+        }
+    }
+
+    private final WaterTankRepository waterTankRepository;
+
+    private final Map<Long, Tank> tanks = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> tanksByUser = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> tanksByGarden = new ConcurrentHashMap<>();
+    private volatile boolean warm;
+
+    public TankLevelIndex(WaterTankRepository waterTankRepository) {
+        this.waterTankRepository = waterTankRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            waterTankRepository.findAllLevels().forEach(this::register);
+            warm = true;
+            log.info("Tank level index warmed with {} tanks", tanks.size());
+        } catch (RuntimeException e) {
+            log.error("Tank level index warm-up failed, tank forecasts are disabled", e);
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public boolean contains(Long tankId) {
+        return tanks.containsKey(tankId);
+    }
+
+    public void register(TankLevel level) {
+        if (tanks.putIfAbsent(level.getTankId(), new Tank(level)) != null)
+            return;
+        if (level.getUserId() != null)
+            tanksByUser.computeIfAbsent(level.getUserId(), u -> ConcurrentHashMap.newKeySet()).add(level.getTankId());
+        if (level.getGardenId() != null)
+            tanksByGarden.computeIfAbsent(level.getGardenId(), g -> ConcurrentHashMap.newKeySet()).add(level.getTankId());
+    }
+
+    public Snapshot get(Long tankId) {
+        Tank tank = tanks.get(tankId);
+        return tank != null ? tank.snapshot() : null;
+    }
+
+    public List<Snapshot> forUser(Long userId) {
+        Set<Long> ids = tanksByUser.getOrDefault(userId, Set.of());
+        List<Snapshot> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Tank tank = tanks.get(id);
+            if (tank != null)
+                result.add(tank.snapshot());
+        }
+        return result;
+    }
+
+    public int countInGarden(Long gardenId) {
+        return tanksByGarden.getOrDefault(gardenId, Set.of()).size();
+    }
+
+    /**
+     * Records the level and status that were just written to water_tanks.
+     */
+    public void update(Long tankId, double levelLiters, TankStatus status) {
+        Tank tank = tanks.get(tankId);
+        if (tank != null) {
+            tank.currentLevelLiters = levelLiters;
+            tank.status = status;
+        }
+    }
+
+    /**
+     * Moves the recording time of the tank's level forward to timeMillis
+     * before that level is written; false if a newer level was applied
+     * already, so a late reading never overwrites it. Equal times pass, so
+     * a failed write can be retried.
+     */
+    public boolean advanceLevelTime(Long tankId, long timeMillis) {
+        Tank tank = tanks.get(tankId);
+        if (tank == null)
+            return false;
+        synchronized (tank) {
+            if (timeMillis < tank.levelRecordedAt)
+                return false;
+            tank.levelRecordedAt = timeMillis;
+            return true;
+        }
+    }
+
+    /**
+     * Adds a level sample for the slope. Samples older than the newest one
+     * are ignored, so late readings never bend the trend backwards.
+     */
+    public void addSample(Long tankId, long timeMillis, double levelLiters) {
+        Tank tank = tanks.get(tankId);
+        if (tank == null)
+            return;
+        synchronized (tank) {
+            if (tank.count > 0) {
+                int newest = (tank.head + SAMPLES_PER_TANK - 1) % SAMPLES_PER_TANK;
+                if (timeMillis <= tank.sampleTimes[newest])
+                    return;
+            }
+            tank.sampleTimes[tank.head] = timeMillis;
+            tank.sampleLevels[tank.head] = levelLiters;
+            tank.head = (tank.head + 1) % SAMPLES_PER_TANK;
+            if (tank.count < SAMPLES_PER_TANK)
+                tank.count++;
+        }
+    }
+
+    /**
+     * Least-squares slope of the samples taken at or after sinceMillis, in
+     * liters per hour (negative while the tank drains), or null when fewer
+     * than two samples fall in the window.
+     */
+    public Double slopeLitersPerHour(Long tankId, long sinceMillis) {
+        Tank tank = tanks.get(tankId);
+        if (tank == null)
+            return null;
+        synchronized (tank) {
+            int n = 0;
+            double sumT = 0, sumL = 0, sumTT = 0, sumTL = 0;
+            long origin = 0;
+            for (int i = 0; i < tank.count; i++) {
+                int idx = (tank.head + SAMPLES_PER_TANK - tank.count + i) % SAMPLES_PER_TANK;
+                long time = tank.sampleTimes[idx];
+                if (time < sinceMillis)
+                    continue;
+                if (n == 0)
+                    origin = time;
+                // Hours since the first sample in the window keeps the sums small
+                double t = (time - origin) / 3_600_000.0;
+                double l = tank.sampleLevels[idx];
+                sumT += t;
+                sumL += l;
+                sumTT += t * t;
+                sumTL += t * l;
+                n++;
+            }
+            double denominator = n * sumTT - sumT * sumT;
+            if (n < 2 || denominator <= 0)
+                return null;
+            return (n * sumTL - sumT * sumL) / denominator;
+        }
+    }
+
+    public int size() {
+        return tanks.size();
+    }
+}
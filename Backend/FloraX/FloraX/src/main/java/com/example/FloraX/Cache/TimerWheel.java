@@ -0,0 +1,104 @@
+package com.example.FloraX.Cache;
+
+/**
+ * Hashed timer wheel of (id, deadline) entries with tickMillis resolution.
+ * schedule() is O(1); advance() only visits the slots of the ticks that
+ * elapsed, and an entry whose deadline lies a full revolution or more ahead
+ * simply stays in its slot until a later pass. Not thread-safe; callers
+ * synchronize.
+ *
+ * Ids are not deduplicated: cancelling is left to the caller, which checks
+ * on expiry whether the (id, deadline) entry is still the current one.
+ */
+public class TimerWheel {
+
+    @FunctionalInterface
+    public interface ExpiryListener {
+        void expired(long id, long deadlineMillis);
+    }
+
+    private final long tickMillis;
+    private final int mask;
+    private final long[][] slots;
+    private final int[] sizes;
+    private long nextTick;
+    private int size;
+
+    public TimerWheel(int slotCount, long tickMillis, long nowMillis) {
+        int capacity = Integer.highestOneBit(Math.max(2, slotCount) - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = capacity - 1;
+        this.slots = new long[capacity][];
+        this.sizes = new int[capacity];
+        this.nextTick = nowMillis / tickMillis;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules the id to expire at deadlineMillis; past deadlines expire on
+     * the next advance().
+     */
+    public void schedule(long id, long deadlineMillis) {
+        long tick = Math.max(deadlineMillis / tickMillis, nextTick);
+        int slot = (int) (tick & mask);
+        long[] entries = slots[slot];
+        int n = sizes[slot];
+        if (entries == null) {
+            entries = slots[slot] = new long[8];
+        } else if (n * 2 == entries.length) {
+            long[] grown = new long[entries.length * 2];
+            System.arraycopy(entries, 0, grown, 0, entries.length);
+            entries = slots[slot] = grown;
+        }
+        entries[n * 2] = id;
+        entries[n * 2 + 1] = deadlineMillis;
+        sizes[slot] = n + 1;
+        size++;
+    }
+
+    /**
+     * Expires every entry whose deadline is at or before nowMillis. The
+     * callback may schedule new entries, including for the same id.
+     */
+    public void advance(long nowMillis, ExpiryListener listener) {
+        long nowTick = nowMillis / tickMillis;
+        // One revolution visits every slot
+        long lastTick = Math.min(nowTick, nextTick + mask);
+        for (long tick = nextTick; tick <= lastTick; tick++) {
+            int slot = (int) (tick & mask);
+            long[] entries = slots[slot];
+            int n = sizes[slot];
+            if (n == 0)
+                continue;
+            // Compact the entries that stay, collect the expired ones
+            int kept = 0;
+            long[] due = new long[n * 2];
+            int dueCount = 0;
+            for (int i = 0; i < n; i++) {
+                long id = entries[i * 2];
+                long deadline = entries[i * 2 + 1];
+                if (deadline <= nowMillis) {
+                    due[dueCount * 2] = id;
+                    due[dueCount * 2 + 1] = deadline;
+                    dueCount++;
+                } else {
+                    entries[kept * 2] = id;
+                    entries[kept * 2 + 1] = deadline;
+                    kept++;
+                }
+            }
+            sizes[slot] = kept;
+            size -= dueCount;
+            nextTick = tick + 1;
+            for (int i = 0; i < dueCount; i++)
+                listener.expired(due[i * 2], due[i * 2 + 1]);
+        }
+        // After a gap longer than one revolution the remaining ticks are caught up by later calls.
+        // The current tick is only partly over, so it is visited again: its slot may hold
+        // entries due later within it
+        nextTick = lastTick < nowTick ? lastTick + 1 : nowTick;
+    }
+}
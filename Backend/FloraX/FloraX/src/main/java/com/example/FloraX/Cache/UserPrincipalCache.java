@@ -0,0 +1,65 @@
+package com.example.FloraX.Cache;
+
+import com.example.FloraX.Config.AuthenticatedUser;
+import com.example.FloraX.Entity.Users;
+import com.example.FloraX.Repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Verified JWTs and resolved principals, so an authenticated request needs
+ * neither a signature check nor a user query once its token has been seen.
+ *
+ * Entries live for florax.auth.cache-ttl-seconds at most (never past the
+ * token's own expiry), so a role change takes up to that long to apply.
+ * A miss is loaded in a short transaction of its own, on the primary, so
+ * the connection goes back to the pool before a caller outside a
+ * transaction (the dashboard fan-out) goes on to take others.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExpiringCache<String, AuthenticatedUser> byToken;
+    private final ExpiringCache<String, AuthenticatedUser> byEmail;
+
+    public UserPrincipalCache(UserRepository userRepository, PlatformTransactionManager transactionManager,
+            @Value("${florax.auth.cache-ttl-seconds:300}") long ttlSeconds,
+            @Value("${florax.auth.cache-max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.byToken = new ExpiringCache<>(maxEntries, ttlSeconds * 1000);
+        this.byEmail = new ExpiringCache<>(maxEntries, ttlSeconds * 1000);
+    }
+
+    /**
+     * Principal of a token verified earlier, or null.
+     */
+    public AuthenticatedUser getByToken(String token) {
+        return byToken.get(token);
+    }
+
+    public void putToken(String token, AuthenticatedUser user, long expiresAt) {
+        byToken.put(token, user, expiresAt);
+    }
+
+    /**
+     * Principal for the email, loading the user on a miss.
+     */
+    public AuthenticatedUser getByEmail(String email) {
+        AuthenticatedUser user = byEmail.get(email);
+        if (user != null)
+            return user;
+        user = transactionTemplate.execute(status -> {
+            Users entity = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+            return new AuthenticatedUser(entity.getUserId(), entity.getEmail(), entity.getName(), entity.getRole());
+        });
+        byEmail.put(email, user);
+        return user;
+    }
+}
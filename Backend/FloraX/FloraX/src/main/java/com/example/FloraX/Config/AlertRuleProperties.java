@@ -0,0 +1,88 @@
+package com.example.FloraX.Config;
+
+import com.example.FloraX.Enum.SensorType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Alert rule settings (florax.alerts.*).
+ *
+ * A reading outside its type's valid range raises SENSOR_FAULT; a tank
+ * below lowWaterRatio of its capacity raises LOW_WATER. Ranges can be overridden per SensorType, e.g.
+ * florax.alerts.valid-ranges.TEMPERATURE.max=60; a bound that is not set
+ * keeps its default (here min=-40).
+ */
+@Data
+@ConfigurationProperties(prefix = "florax.alerts")
+public class AlertRuleProperties {
+
+    private boolean enabled = true;
+
+    // Fraction of capacity below which a tank is low
+    private double lowWaterRatio = 0.2;
+
+    private static final Map<SensorType, Range> DEFAULT_RANGES = Map.of(
+            SensorType.MOISTURE, new Range(0.0, 100.0),
+            SensorType.HUMIDITY, new Range(0.0, 100.0),
+            SensorType.TEMPERATURE, new Range(-40.0, 85.0));
+
+    // Overrides; either bound may be left out
+    private Map<SensorType, Range> validRanges = new EnumMap<>(SensorType.class);
+
+    // Defaults merged with the overrides, built on first use after binding
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile Map<SensorType, Range> effectiveRanges;
+
+    public void setValidRanges(Map<SensorType, Range> validRanges) {
+        this.validRanges = validRanges;
+        this.effectiveRanges = null;
+    }
+
+    public Range rangeFor(SensorType type) {
+        if (type == null)
+            return null;
+        Map<SensorType, Range> ranges = effectiveRanges;
+        if (ranges == null) {
+            ranges = new EnumMap<>(SensorType.class);
+            for (SensorType t : SensorType.values()) {
+                Range fallback = DEFAULT_RANGES.get(t);
+                Range override = validRanges.get(t);
+                Double min = override != null && override.getMin() != null ? override.getMin()
+                        : fallback != null ? fallback.getMin() : null;
+                Double max = override != null && override.getMax() != null ? override.getMax()
+                        : fallback != null ? fallback.getMax() : null;
+                if (min != null || max != null)
+                    ranges.put(t, new Range(min != null ? min : Double.NEGATIVE_INFINITY,
+                            max != null ? max : Double.POSITIVE_INFINITY));
+            }
+            effectiveRanges = ranges;
+        }
+        return ranges.get(type);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Range {
+        // Null when bound from properties that only set the other bound
+        private Double min;
+        private Double max;
+
+        public boolean contains(double value) {
+            return value >= min && value <= max;
+        }
+    }
+}
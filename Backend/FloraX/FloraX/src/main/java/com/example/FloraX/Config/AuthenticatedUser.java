@@ -0,0 +1,37 @@
+package com.example.FloraX.Config;
+
+import com.example.FloraX.Enum.UserRole;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal of a JWT-authenticated request. Carries the user id so services
+ * do not have to look the user up again; holds no password.
+ */
+@Value
+public class AuthenticatedUser implements UserDetails {
+    Long userId;
+    String email;
+    String name;
+    UserRole role;
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return role != null ? List.of(new SimpleGrantedAuthority("ROLE_" + role.name())) : List.of();
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.FloraX.Config;
+
+import com.example.FloraX.Cache.DashboardVersions;
+import com.example.FloraX.Cache.UserPrincipalCache;
+import com.example.FloraX.Service.Impl.RequestCoalescer;
+import com.example.FloraX.Service.Impl.UserDashboardServiceImpl;
+import com.example.FloraX.Service.UserDashboardService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Puts a RequestCoalescer in front of UserDashboardService. Every get*
+ * method is coalesced on (method, userId, the user's DashboardVersions
+ * version, whether reads are pinned to the primary, remaining arguments),
+ * so a read that must see the primary never gets a replica's result:
+ * identical concurrent loads, e.g. the web
+ * and mobile apps opening together or a client retrying, share one
+ * execution, and a write that commits starts a new key. Other methods
+ * (valve, pump and alert commands) always run, as does getDeviceCommand:
+ * command status moves on acks that do not change the version.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "florax.dashboard.coalescing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DashboardCoalescingConfig {
+
+    private static final Set<String> NOT_COALESCED = Set.of("getDeviceCommand");
+
+    @Bean
+    @Primary
+    public UserDashboardService coalescingUserDashboardService(UserDashboardServiceImpl target,
+            RequestCoalescer coalescer,
+            UserPrincipalCache principalCache,
+            DashboardVersions versions) {
+        return (UserDashboardService) Proxy.newProxyInstance(UserDashboardService.class.getClassLoader(),
+                new Class<?>[] { UserDashboardService.class },
+                (proxy, method, args) -> {
+                    if (!method.getName().startsWith("get") || NOT_COALESCED.contains(method.getName()) || args == null || !(args[0] instanceof String email))
+                        return invoke(target, method, args);
+
+                    Long userId = principalCache.getByEmail(email).getUserId();
+                    List<Object> key = new ArrayList<>(args.length + 2);
+                    key.add(userId);
+                    key.add(versions.current(userId));
+                    key.add(PrimaryReads.isPinned());
+                    for (int i = 1; i < args.length; i++)
+                        key.add(args[i]);
+                    return coalescer.execute(method.getName(), key, () -> invoke(target, method, args));
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Exception {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof Exception cause)
+                throw cause;
+            if (e.getCause() instanceof Error error)
+                throw error;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.FloraX.Config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Makes every SQL statement take latencyMs longer, to rehearse a slow
+ * database. Only registered when florax.datasource.fault.enabled=true; it
+ * then wraps the dataSource bean, and the latency can be changed at runtime
+ * (from tests, or PUT /api/admin/faults/datasource-latency).
+ *
+ * The delay is spent when a statement executes, on its connection, so it
+ * holds a pool connection the way a slow query does.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "florax.datasource.fault", name = "enabled", havingValue = "true")
+public class DataSourceLatencyFault implements BeanPostProcessor {
+
+    private volatile long latencyMs;
+
+    public DataSourceLatencyFault(@Value("${florax.datasource.fault.latency-ms:0}") long latencyMs) {
+        this.latencyMs = Math.max(0, latencyMs);
+    }
+
+    public long getLatencyMs() {
+        return latencyMs;
+    }
+
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = Math.max(0, latencyMs);
+        log.warn("Injected database latency set to {} ms", this.latencyMs);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || !"dataSource".equals(beanName))
+            return bean;
+        log.warn("Database latency fault injection is enabled ({} ms per statement)", latencyMs);
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return (Connection) slow(super.getConnection(), Connection.class);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return (Connection) slow(super.getConnection(username, password), Connection.class);
+            }
+        };
+    }
+
+    // Proxies a connection or statement; statements it creates are proxied too, and pause before executing
+    private Object slow(Object target, Class<?> type) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+            }
+            if (Statement.class.isAssignableFrom(type) && method.getName().startsWith("execute"))
+                pause();
+            Object result = invoke(target, method, args);
+            if (result != null && Statement.class.isAssignableFrom(method.getReturnType()))
+                return slow(result, method.getReturnType());
+            return result;
+        });
+    }
+
+    private void pause() throws SQLException {
+        long delay = latencyMs;
+        if (delay <= 0)
+            return;
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted during injected latency", e);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.FloraX.Config;
+
+import com.example.FloraX.Dto.DataSourcePoolStatsDTO;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions to read replicas and everything else to the
+ * primary pool.
+ *
+ * The exposed DataSource is a LazyConnectionDataSourceProxy: the JDBC
+ * connection is only fetched at the first statement, after the transaction
+ * manager has marked it read-only, so @Transactional(readOnly = true) (and
+ * Spring Data's read methods) pick a replica while writes, and reads
+ * outside a transaction, stay on the primary.
+ *
+ * Replica lag is the age of the replica_heartbeat row, written on the
+ * primary and read back from each replica every check. A replica that lags
+ * more than maxLagMs, cannot be read or fails to hand out a connection is
+ * skipped until the next good check; with no usable replica, reads fall
+ * back to the primary. Reads pinned through PrimaryReads always go to the
+ * primary.
+ */
+@Slf4j
+public class DataSourceRouter implements AutoCloseable {
+
+    private static final String WRITE_HEARTBEAT = "UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1";
+    private static final String READ_HEARTBEAT = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+
+    private final Pool primary;
+    private final List<Pool> replicas = new ArrayList<>();
+    private final long maxLagMs;
+    private final DataSource dataSource;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder readFallbacks = new LongAdder();
+
+    public DataSourceRouter(HikariDataSource primary, List<HikariDataSource> replicas, long maxLagMs) {
+        this.primary = new Pool(primary, "PRIMARY");
+        this.primary.healthy = true;
+        replicas.forEach(r -> this.replicas.add(new Pool(r, "REPLICA")));
+        this.maxLagMs = maxLagMs;
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(this.primary);
+        proxy.setReadOnlyDataSource(new ReplicaDataSource());
+        this.dataSource = proxy;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    // ── Lag checks ────────────────────────────────────────────────────────────
+
+    // Replicas start as unusable, so reads stay on the primary until the first check
+    @Scheduled(fixedDelayString = "${florax.datasource.routing.lag-check-ms:1000}")
+    public void checkLag() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            primary.jdbc.update(WRITE_HEARTBEAT, Timestamp.valueOf(now));
+        } catch (Exception e) {
+            log.warn("Could not write replica heartbeat on the primary: {}", e.getMessage());
+        }
+        for (Pool replica : replicas) {
+            try {
+                Timestamp beat = replica.jdbc.queryForObject(READ_HEARTBEAT, Timestamp.class);
+                long lag = beat != null ? Math.max(0, Duration.between(beat.toLocalDateTime(), now).toMillis()) : -1;
+                replica.lagMs = lag >= 0 ? lag : null;
+                setHealthy(replica, lag >= 0 && lag <= maxLagMs,
+                        lag >= 0 ? "lag " + lag + " ms" : "no heartbeat row");
+            } catch (Exception e) {
+                replica.lagMs = null;
+                setHealthy(replica, false, e.getMessage());
+            }
+        }
+    }
+
+    private void setHealthy(Pool replica, boolean healthy, String reason) {
+        if (replica.healthy == healthy)
+            return;
+        replica.healthy = healthy;
+        if (healthy)
+            log.info("Read replica {} is back in rotation ({})", replica.name, reason);
+        else
+            log.warn("Read replica {} taken out of rotation: {}", replica.name, reason);
+    }
+
+    // ── Routing ───────────────────────────────────────────────────────────────
+
+    private Connection readOnlyConnection() throws SQLException {
+        if (PrimaryReads.isPinned())
+            return primary.getConnection();
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Pool replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (!replica.healthy)
+                continue;
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                setHealthy(replica, false, e.getMessage());
+            }
+        }
+        readFallbacks.increment();
+        return primary.getConnection();
+    }
+
+    // ── Metrics ───────────────────────────────────────────────────────────────
+
+    public List<DataSourcePoolStatsDTO> getStats() {
+        List<DataSourcePoolStatsDTO> stats = new ArrayList<>(replicas.size() + 1);
+        stats.add(primary.stats(readFallbacks.sum()));
+        replicas.forEach(r -> stats.add(r.stats(0)));
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(r -> r.pool.close());
+        primary.pool.close();
+    }
+
+    // ── Pools ─────────────────────────────────────────────────────────────────
+
+    private static class Pool extends DelegatingDataSource {
+
+        private final HikariDataSource pool;
+        private final String name;
+        private final String role;
+        private final JdbcTemplate jdbc;
+        private final LongAdder routed = new LongAdder();
+        private volatile boolean healthy;
+        private volatile Long lagMs;
+
+        Pool(HikariDataSource pool, String role) {
+            super(pool);
+            this.pool = pool;
+            this.name = pool.getPoolName();
+            this.role = role;
+            this.jdbc = new JdbcTemplate(pool);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            routed.increment();
+            return connection;
+        }
+
+        DataSourcePoolStatsDTO stats(long readFallbacks) {
+            // Null until the pool has handed out its first connection
+            HikariPoolMXBean mx = pool.getHikariPoolMXBean();
+            return DataSourcePoolStatsDTO.builder()
+                    .pool(name)
+                    .role(role)
+                    .healthy(healthy)
+                    .lagMs(lagMs)
+                    .connectionsRouted(routed.sum())
+                    .readFallbacks(readFallbacks)
+                    .activeConnections(mx != null ? mx.getActiveConnections() : 0)
+                    .idleConnections(mx != null ? mx.getIdleConnections() : 0)
+                    .totalConnections(mx != null ? mx.getTotalConnections() : 0)
+                    .threadsAwaitingConnection(mx != null ? mx.getThreadsAwaitingConnection() : 0)
+                    .build();
+        }
+    }
+
+    private class ReplicaDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readOnlyConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLException("Replica connections use the configured credentials");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.FloraX.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource with a DataSourceRouter when
+ * florax.datasource.routing.enabled=true. The primary pool is still built
+ * from spring.datasource.* and spring.datasource.hikari.*.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "florax.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public DataSourceRouter dataSourceRouter(DataSourceProperties dataSourceProperties,
+            DataSourceRoutingProperties routingProperties,
+            Environment environment) {
+        if (routingProperties.getReplicas().isEmpty())
+            throw new IllegalStateException("florax.datasource.routing.enabled is set but no replicas are configured");
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < routingProperties.getReplicas().size(); i++) {
+            DataSourceRoutingProperties.Replica r = routingProperties.getReplicas().get(i);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(r.getUrl());
+            replica.setUsername(r.getUsername());
+            replica.setPassword(r.getPassword());
+            replica.setMaximumPoolSize(r.getMaximumPoolSize());
+            replicas.add(replica);
+        }
+        return new DataSourceRouter(primary, replicas, routingProperties.getMaxLagMs());
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceRouter router) {
+        return router.getDataSource();
+    }
+}
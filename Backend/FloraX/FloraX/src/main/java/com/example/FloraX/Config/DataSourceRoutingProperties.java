@@ -0,0 +1,36 @@
+package com.example.FloraX.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-replica routing settings (florax.datasource.routing.*).
+ *
+ * When enabled, read-only transactions are served by the replicas listed
+ * here and everything else by spring.datasource. A replica whose heartbeat
+ * is older than maxLagMs (or cannot be read) gets no reads until it catches
+ * up; with no usable replica, reads fall back to the primary. Replicas are
+ * configured by index, e.g. florax.datasource.routing.replicas[0].url=...
+ */
+@Data
+@ConfigurationProperties(prefix = "florax.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled = false;
+
+    // Heartbeat age above which a replica is considered lagging
+    private long maxLagMs = 5000;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
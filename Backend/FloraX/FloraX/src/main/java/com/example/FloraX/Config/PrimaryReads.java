@@ -0,0 +1,41 @@
+package com.example.FloraX.Config;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the read-only transactions of the current thread to the primary, so
+ * a user who has just changed something reads it back even while the
+ * replicas lag. DataSourceRouter checks the pin when a read-only
+ * transaction fetches its connection; without routing there is nothing to
+ * pin and it has no effect.
+ *
+ * The pin belongs to a thread: work handed to another thread carries it
+ * over through propagate().
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static boolean isPinned() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    // Runs work with this thread's reads on the primary
+    public static <T> T call(Supplier<T> work) {
+        Boolean previous = PINNED.get();
+        PINNED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            PINNED.set(previous);
+        }
+    }
+
+    // work, pinned wherever it runs if the calling thread is pinned now
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        return isPinned() ? () -> call(work) : work;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.FloraX.Config;
+
+import com.example.FloraX.Enum.SensorType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Retention and partitioning settings for sensor_readings (florax.readings.*).
+ *
+ * Raw readings older than rawDays are downsampled into 5-minute and hourly
+ * min/avg/max buckets and deleted; 5-minute buckets are kept for
+ * fiveMinuteDays and hourly buckets for hourlyDays. A value of 0 keeps the
+ * data forever. Policies can be overridden per SensorType, e.g.
+ * florax.readings.types.TEMPERATURE.raw-days=3; a field that is not set
+ * keeps the value of florax.readings.defaults.
+ */
+@Data
+@ConfigurationProperties(prefix = "florax.readings")
+public class SensorReadingStorageProperties {
+
+    private boolean retentionEnabled = true;
+
+    // Raw readings downsampled and deleted per transaction
+    private int chunkHours = 1;
+
+    private Policy defaults = new Policy(7, 90, 730);
+    // Overrides; any field may be left out
+    private Map<SensorType, Policy> types = new EnumMap<>(SensorType.class);
+
+    private Partitioning partitioning = new Partitioning();
+
+    // Defaults merged with the overrides, built on first use after binding
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile Map<SensorType, Policy> effectivePolicies;
+
+    public void setDefaults(Policy defaults) {
+        this.defaults = defaults;
+        this.effectivePolicies = null;
+    }
+
+    public void setTypes(Map<SensorType, Policy> types) {
+        this.types = types;
+        this.effectivePolicies = null;
+    }
+
+    public Policy policyFor(SensorType type) {
+        Map<SensorType, Policy> policies = effectivePolicies;
+        if (policies == null) {
+            policies = new EnumMap<>(SensorType.class);
+            for (SensorType t : SensorType.values()) {
+                Policy override = types.get(t);
+                policies.put(t, override == null ? defaults : new Policy(
+                        override.getRawDays() != null ? override.getRawDays() : defaults.getRawDays(),
+                        override.getFiveMinuteDays() != null ? override.getFiveMinuteDays() : defaults.getFiveMinuteDays(),
+                        override.getHourlyDays() != null ? override.getHourlyDays() : defaults.getHourlyDays()));
+            }
+            effectivePolicies = policies;
+        }
+        return policies.get(type);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Policy {
+        // Null when bound from a per-type override that leaves the field out
+        private Integer rawDays;
+        private Integer fiveMinuteDays;
+        private Integer hourlyDays;
+    }
+
+    @Data
+    public static class Partitioning {
+        // Converts sensor_readings to monthly RANGE partitions on first start (MySQL only)
+        private boolean enabled = false;
+        private int monthsAhead = 3;
+    }
+}
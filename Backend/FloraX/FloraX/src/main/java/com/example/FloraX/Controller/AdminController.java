@@ -0,0 +1,99 @@
+package com.example.FloraX.Controller;
+
+import com.example.FloraX.Config.DataSourceLatencyFault;
+import com.example.FloraX.Config.DataSourceRouter;
+import com.example.FloraX.Dto.DashboardReadGuardStatsDTO;
+import com.example.FloraX.Dto.DataSourcePoolStatsDTO;
+import com.example.FloraX.Dto.ReadingMaintenanceResultDTO;
+import com.example.FloraX.Dto.RequestCoalescingStatsDTO;
+import com.example.FloraX.Dto.RollupRebuildResultDTO;
+import com.example.FloraX.Service.Impl.DashboardReadGuard;
+import com.example.FloraX.Service.Impl.RequestCoalescer;
+import com.example.FloraX.Service.SensorReadingRetentionService;
+import com.example.FloraX.Service.WaterUsageRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:5174" })
+public class AdminController {
+
+    private final WaterUsageRollupService rollupService;
+    private final SensorReadingRetentionService retentionService;
+    private final ObjectProvider<DataSourceRouter> dataSourceRouter;
+    private final RequestCoalescer requestCoalescer;
+    private final DashboardReadGuard dashboardReadGuard;
+    private final ObjectProvider<DataSourceLatencyFault> latencyFault;
+
+    /**
+     * POST /api/admin/rollups/water-usage/rebuild?since=2025-01-01T00:00:00
+     * Recomputes water usage buckets from irrigation_logs (all history when since is omitted).
+     */
+    @PostMapping("/rollups/water-usage/rebuild")
+    public ResponseEntity<RollupRebuildResultDTO> rebuildWaterUsage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        return ResponseEntity.ok(rollupService.rebuild(since));
+    }
+
+    /**
+     * POST /api/admin/readings/maintenance
+     * Runs the sensor reading downsampling / retention / partition pass now.
+     */
+    @PostMapping("/readings/maintenance")
+    public ResponseEntity<ReadingMaintenanceResultDTO> runReadingMaintenance() {
+        return ResponseEntity.ok(retentionService.runMaintenance());
+    }
+
+    /**
+     * GET /api/admin/datasources
+     * Connection pool usage, routed connections and replica lag per pool
+     * (empty when read-replica routing is disabled).
+     */
+    @GetMapping("/datasources")
+    public ResponseEntity<List<DataSourcePoolStatsDTO>> getDataSourceStats() {
+        DataSourceRouter router = dataSourceRouter.getIfAvailable();
+        return ResponseEntity.ok(router != null ? router.getStats() : List.of());
+    }
+
+    /**
+     * GET /api/admin/coalescing
+     * Dashboard reads per method: calls, executions, and calls served by an
+     * identical in-flight or just-completed call.
+     */
+    @GetMapping("/coalescing")
+    public ResponseEntity<List<RequestCoalescingStatsDTO>> getCoalescingStats() {
+        return ResponseEntity.ok(requestCoalescer.getStats());
+    }
+
+    /**
+     * GET /api/admin/dashboard-guard
+     * Circuit breaker state, bulkhead usage and stale responses of the
+     * dashboard read path.
+     */
+    @GetMapping("/dashboard-guard")
+    public ResponseEntity<DashboardReadGuardStatsDTO> getDashboardGuardStats() {
+        return ResponseEntity.ok(dashboardReadGuard.getStats());
+    }
+
+    /**
+     * PUT /api/admin/faults/datasource-latency?ms=2000
+     * Sets the latency added to every SQL statement (404 unless
+     * florax.datasource.fault.enabled=true).
+     */
+    @PutMapping("/faults/datasource-latency")
+    public ResponseEntity<Long> setDataSourceLatency(@RequestParam long ms) {
+        DataSourceLatencyFault fault = latencyFault.getIfAvailable();
+        if (fault == null)
+            return ResponseEntity.notFound().build();
+        fault.setLatencyMs(ms);
+        return ResponseEntity.ok(fault.getLatencyMs());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.FloraX.Controller;
+
+import com.example.FloraX.Service.DashboardStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:5174" })
+public class DashboardStreamController {
+
+    private final DashboardStreamService streamService;
+
+    /**
+     * GET /api/dashboard/stream — Server-Sent Events with dashboard deltas.
+     * Events: zone-moisture, valve-status, alert, tank-level (DashboardDeltaDTO).
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(Authentication auth) {
+        return streamService.subscribe(auth.getName());
+    }
+}
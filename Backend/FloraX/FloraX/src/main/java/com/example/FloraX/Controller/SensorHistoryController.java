@@ -0,0 +1,55 @@
+package com.example.FloraX.Controller;
+
+import com.example.FloraX.Dto.SensorHistoryDTO;
+import com.example.FloraX.Dto.ZoneHistoryDTO;
+import com.example.FloraX.Enum.HistoryResolution;
+import com.example.FloraX.Enum.SensorType;
+import com.example.FloraX.Service.SensorHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:5174" })
+public class SensorHistoryController {
+
+    private final SensorHistoryService historyService;
+
+    /**
+     * GET /api/dashboard/sensors/{sensorId}/history?from=&to=&resolution=
+     * Defaults to the last 24 hours; resolution (RAW, FIVE_MINUTES, HOUR, DAY)
+     * is picked from the range when omitted.
+     */
+    @GetMapping("/sensors/{sensorId}/history")
+    public ResponseEntity<SensorHistoryDTO> getSensorHistory(Authentication auth,
+            @PathVariable Long sensorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) HistoryResolution resolution) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusHours(24);
+        return ResponseEntity.ok(historyService.getSensorHistory(auth.getName(), sensorId, start, end, resolution));
+    }
+
+    /**
+     * GET /api/dashboard/zones/{zoneId}/history?type=MOISTURE&from=&to=&resolution=
+     * One series per sensor of the given type (MOISTURE by default) in the zone.
+     */
+    @GetMapping("/zones/{zoneId}/history")
+    public ResponseEntity<ZoneHistoryDTO> getZoneHistory(Authentication auth,
+            @PathVariable Long zoneId,
+            @RequestParam(required = false) SensorType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) HistoryResolution resolution) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusHours(24);
+        return ResponseEntity.ok(historyService.getZoneHistory(auth.getName(), zoneId, type, start, end, resolution));
+    }
+}
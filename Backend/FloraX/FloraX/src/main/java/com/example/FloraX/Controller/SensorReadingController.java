@@ -0,0 +1,41 @@
+package com.example.FloraX.Controller;
+
+import com.example.FloraX.Dto.IngestionResultDTO;
+import com.example.FloraX.Dto.SensorReadingRequest;
+import com.example.FloraX.Service.SensorReadingIngestionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sensors")
+@RequiredArgsConstructor
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:5174" })
+public class SensorReadingController {
+
+    private final SensorReadingIngestionService ingestionService;
+
+    /**
+     * POST /api/sensors/readings — batch of readings from a field gateway.
+     * 202 when queued, 503 + Retry-After when the ingestion buffer is full,
+     * 413 when the batch is larger than the buffer and has to be split.
+     * Readings for sensors of other users count as rejected.
+     */
+    @PostMapping("/readings")
+    public ResponseEntity<IngestionResultDTO> ingest(Authentication auth, @RequestBody List<SensorReadingRequest> readings) {
+        IngestionResultDTO result = ingestionService.ingest(auth.getName(), readings);
+        if (result.isTooLarge())
+            return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).body(result);
+        if (result.isBufferFull()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(result);
+        }
+        return ResponseEntity.accepted().body(result);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.FloraX.Controller;
+
+import com.example.FloraX.Dto.IngestionResultDTO;
+import com.example.FloraX.Dto.TankLevelRequest;
+import com.example.FloraX.Service.TankLevelService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tanks")
+@RequiredArgsConstructor
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:5174" })
+public class TankLevelController {
+
+    private final TankLevelService tankLevelService;
+
+    /**
+     * POST /api/tanks/levels — batch of tank level readings from a field gateway.
+     * 202 when queued, 503 + Retry-After when the buffer is full.
+     * Levels for tanks of other users count as rejected.
+     */
+    @PostMapping("/levels")
+    public ResponseEntity<IngestionResultDTO> ingest(Authentication auth, @RequestBody List<TankLevelRequest> readings) {
+        IngestionResultDTO result = tankLevelService.ingest(auth.getName(), readings);
+        if (result.isBufferFull()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(result);
+        }
+        return ResponseEntity.accepted().body(result);
+    }
+}
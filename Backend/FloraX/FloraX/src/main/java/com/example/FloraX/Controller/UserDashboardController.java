@@ -1,36 +1,91 @@
 package com.example.FloraX.Controller;
 
+import com.example.FloraX.Cache.DashboardVersions;
+import com.example.FloraX.Config.AuthenticatedUser;
+import com.example.FloraX.Config.PrimaryReads;
 import com.example.FloraX.Dto.*;
+import com.example.FloraX.Service.Impl.DashboardReadGuard;
 import com.example.FloraX.Service.UserDashboardService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/dashboard")
 @RequiredArgsConstructor
-@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:5174" })
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:5174" }, exposedHeaders = { HttpHeaders.AGE, UserDashboardController.STALE_HEADER })
 public class UserDashboardController {
 
     private final UserDashboardService dashboardService;
+    private final DashboardVersions dashboardVersions;
+    private final DashboardReadGuard readGuard;
+
+    // Set on responses served from the last good result while the database is degraded
+    static final String STALE_HEADER = "X-Dashboard-Stale";
 
     // Private helper — extracts email from JWT via Spring Security
     private String email(Authentication auth) {
         return auth.getName();
     }
 
+    // GETs carry the user's data version as ETag; a matching If-None-Match is
+    // answered 304 before the service is called. Otherwise the body is loaded
+    // through DashboardReadGuard, which may return an earlier one marked stale.
+    // Right after a change of the user's the body is read from the primary, so
+    // it is never older than its tag
+    private <T> ResponseEntity<T> conditional(Authentication auth, WebRequest request, Supplier<T> body) {
+        Long userId = ((AuthenticatedUser) auth.getPrincipal()).getUserId();
+        String etag = dashboardVersions.etag(userId);
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+
+        Supplier<T> load = dashboardVersions.readsPrimary(userId) ? () -> PrimaryReads.call(body) : body;
+        DashboardReadGuard.Result<T> result = readGuard.read(userId, requestKey(request), etag, load);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(result.etag()).cacheControl(cacheControl);
+        if (result.stale())
+            response.header(STALE_HEADER, "true").header(HttpHeaders.AGE, String.valueOf(result.ageSeconds()));
+        return response.body(result.body());
+    }
+
+    private static String requestKey(WebRequest request) {
+        HttpServletRequest servletRequest = ((NativeWebRequest) request).getNativeRequest(HttpServletRequest.class);
+        String query = servletRequest.getQueryString();
+        return query != null ? servletRequest.getRequestURI() + "?" + query : servletRequest.getRequestURI();
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null)
+            return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/"))
+                tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag))
+                return true;
+        }
+        return false;
+    }
+
     // ══════════════════════════════════════════════════════════════════════════
     // 1. FULL DASHBOARD
     // ══════════════════════════════════════════════════════════════════════════
 
     /** GET /api/dashboard/me — complete dashboard snapshot */
     @GetMapping("/me")
-    public ResponseEntity<UserDashboardResponse> getMyDashboard(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getDashboard(email(auth)));
+    public ResponseEntity<UserDashboardResponse> getMyDashboard(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getDashboard(email(auth)));
     }
 
     // ══════════════════════════════════════════════════════════════════════════
@@ -39,8 +94,8 @@ public class UserDashboardController {
 
     /** GET /api/dashboard/summary — aggregated stat block */
     @GetMapping("/summary")
-    public ResponseEntity<DashboardSummaryDTO> getSummary(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getDashboardSummary(email(auth)));
+    public ResponseEntity<DashboardSummaryDTO> getSummary(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getDashboardSummary(email(auth)));
     }
 
     // ══════════════════════════════════════════════════════════════════════════
@@ -49,14 +104,17 @@ public class UserDashboardController {
 
     /** GET /api/dashboard/gardens — all gardens with zones, alerts, logs */
     @GetMapping("/gardens")
-    public ResponseEntity<List<GardenDTO>> getGardens(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getAllGardens(email(auth)));
+    public ResponseEntity<List<GardenDTO>> getGardens(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getAllGardens(email(auth)));
     }
 
     /** GET /api/dashboard/gardens/{gardenId} */
     @GetMapping("/gardens/{gardenId}")
-    public ResponseEntity<GardenDTO> getGarden(Authentication auth, @PathVariable Long gardenId) {
-        return ResponseEntity.ok(dashboardService.getGardenById(email(auth), gardenId));
+    public ResponseEntity<GardenDTO> getGarden(
+            Authentication auth,
+            WebRequest request,
+            @PathVariable Long gardenId) {
+        return conditional(auth, request, () -> dashboardService.getGardenById(email(auth), gardenId));
     }
 
     // ══════════════════════════════════════════════════════════════════════════
@@ -65,32 +123,35 @@ public class UserDashboardController {
 
     /** GET /api/dashboard/zones — all zones with live moisture + status */
     @GetMapping("/zones")
-    public ResponseEntity<List<ZoneDTO>> getZones(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getAllZones(email(auth)));
+    public ResponseEntity<List<ZoneDTO>> getZones(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getAllZones(email(auth)));
     }
 
     /** GET /api/dashboard/gardens/{gardenId}/zones */
     @GetMapping("/gardens/{gardenId}/zones")
-    public ResponseEntity<List<ZoneDTO>> getZonesByGarden(Authentication auth, @PathVariable Long gardenId) {
-        return ResponseEntity.ok(dashboardService.getZonesByGarden(email(auth), gardenId));
+    public ResponseEntity<List<ZoneDTO>> getZonesByGarden(
+            Authentication auth,
+            WebRequest request,
+            @PathVariable Long gardenId) {
+        return conditional(auth, request, () -> dashboardService.getZonesByGarden(email(auth), gardenId));
     }
 
     /** GET /api/dashboard/zones/{zoneId} */
     @GetMapping("/zones/{zoneId}")
-    public ResponseEntity<ZoneDTO> getZone(Authentication auth, @PathVariable Long zoneId) {
-        return ResponseEntity.ok(dashboardService.getZoneById(email(auth), zoneId));
+    public ResponseEntity<ZoneDTO> getZone(Authentication auth, WebRequest request, @PathVariable Long zoneId) {
+        return conditional(auth, request, () -> dashboardService.getZoneById(email(auth), zoneId));
     }
 
     /** GET /api/dashboard/zones/alert — zones below moisture threshold */
     @GetMapping("/zones/alert")
-    public ResponseEntity<List<ZoneDTO>> getAlertZones(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getAlertZones(email(auth)));
+    public ResponseEntity<List<ZoneDTO>> getAlertZones(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getAlertZones(email(auth)));
     }
 
     /** GET /api/dashboard/zones/active — zones being irrigated now */
     @GetMapping("/zones/active")
-    public ResponseEntity<List<ZoneDTO>> getActiveZones(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getActiveIrrigationZones(email(auth)));
+    public ResponseEntity<List<ZoneDTO>> getActiveZones(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getActiveIrrigationZones(email(auth)));
     }
 
     // ══════════════════════════════════════════════════════════════════════════
@@ -99,20 +160,23 @@ public class UserDashboardController {
 
     /** GET /api/dashboard/sensors — all sensors with latest readings */
     @GetMapping("/sensors")
-    public ResponseEntity<List<SensorDTO>> getSensors(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getAllSensors(email(auth)));
+    public ResponseEntity<List<SensorDTO>> getSensors(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getAllSensors(email(auth)));
     }
 
     /** GET /api/dashboard/zones/{zoneId}/sensors */
     @GetMapping("/zones/{zoneId}/sensors")
-    public ResponseEntity<List<SensorDTO>> getSensorsByZone(Authentication auth, @PathVariable Long zoneId) {
-        return ResponseEntity.ok(dashboardService.getSensorsByZone(email(auth), zoneId));
+    public ResponseEntity<List<SensorDTO>> getSensorsByZone(
+            Authentication auth,
+            WebRequest request,
+            @PathVariable Long zoneId) {
+        return conditional(auth, request, () -> dashboardService.getSensorsByZone(email(auth), zoneId));
     }
 
     /** GET /api/dashboard/sensors/faulty — faulty + inactive sensors */
     @GetMapping("/sensors/faulty")
-    public ResponseEntity<List<SensorDTO>> getFaultySensors(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getFaultySensors(email(auth)));
+    public ResponseEntity<List<SensorDTO>> getFaultySensors(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getFaultySensors(email(auth)));
     }
 
     // ══════════════════════════════════════════════════════════════════════════
@@ -121,55 +185,92 @@ public class UserDashboardController {
 
     /** GET /api/dashboard/irrigation/today */
     @GetMapping("/irrigation/today")
-    public ResponseEntity<List<IrrigationLogDTO>> getTodayLogs(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getTodayIrrigationLogs(email(auth)));
+    public ResponseEntity<List<IrrigationLogDTO>> getTodayLogs(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getTodayIrrigationLogs(email(auth)));
     }
 
     /** GET /api/dashboard/irrigation/weekly */
     @GetMapping("/irrigation/weekly")
-    public ResponseEntity<List<IrrigationLogDTO>> getWeeklyLogs(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getWeeklyIrrigationLogs(email(auth)));
+    public ResponseEntity<List<IrrigationLogDTO>> getWeeklyLogs(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getWeeklyIrrigationLogs(email(auth)));
     }
 
     /** GET /api/dashboard/irrigation/monthly */
     @GetMapping("/irrigation/monthly")
-    public ResponseEntity<List<IrrigationLogDTO>> getMonthlyLogs(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getMonthlyIrrigationLogs(email(auth)));
+    public ResponseEntity<List<IrrigationLogDTO>> getMonthlyLogs(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getMonthlyIrrigationLogs(email(auth)));
     }
 
     /** GET /api/dashboard/irrigation/recent?limit=10 */
     @GetMapping("/irrigation/recent")
     public ResponseEntity<List<IrrigationLogDTO>> getRecentLogs(
             Authentication auth,
+            WebRequest request,
             @RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(dashboardService.getRecentIrrigationLogs(email(auth), limit));
+        return conditional(auth, request, () -> dashboardService.getRecentIrrigationLogs(email(auth), limit));
     }
 
     /** GET /api/dashboard/zones/{zoneId}/irrigation?limit=10 */
     @GetMapping("/zones/{zoneId}/irrigation")
     public ResponseEntity<List<IrrigationLogDTO>> getLogsByZone(
             Authentication auth,
+            WebRequest request,
             @PathVariable Long zoneId,
             @RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(dashboardService.getIrrigationLogsByZone(email(auth), zoneId, limit));
+        return conditional(auth, request,
+                () -> dashboardService.getIrrigationLogsByZone(email(auth), zoneId, limit));
+    }
+
+    /** GET /api/dashboard/irrigation/logs?cursor=&size=20 — keyset-paginated, newest first */
+    @GetMapping("/irrigation/logs")
+    public ResponseEntity<IrrigationLogPageDTO> getLogPage(
+            Authentication auth,
+            WebRequest request,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return conditional(auth, request, () -> dashboardService.getIrrigationLogPage(email(auth), cursor, size));
+    }
+
+    /** GET /api/dashboard/gardens/{gardenId}/irrigation/logs?cursor=&size=20 */
+    @GetMapping("/gardens/{gardenId}/irrigation/logs")
+    public ResponseEntity<IrrigationLogPageDTO> getGardenLogPage(
+            Authentication auth,
+            WebRequest request,
+            @PathVariable Long gardenId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return conditional(auth, request,
+                () -> dashboardService.getGardenIrrigationLogPage(email(auth), gardenId, cursor, size));
+    }
+
+    /** GET /api/dashboard/zones/{zoneId}/irrigation/logs?cursor=&size=20 */
+    @GetMapping("/zones/{zoneId}/irrigation/logs")
+    public ResponseEntity<IrrigationLogPageDTO> getZoneLogPage(
+            Authentication auth,
+            WebRequest request,
+            @PathVariable Long zoneId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return conditional(auth, request,
+                () -> dashboardService.getZoneIrrigationLogPage(email(auth), zoneId, cursor, size));
     }
 
     /** GET /api/dashboard/water-usage/today */
     @GetMapping("/water-usage/today")
-    public ResponseEntity<Double> getWaterUsageToday(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getTotalWaterUsedToday(email(auth)));
+    public ResponseEntity<Double> getWaterUsageToday(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getTotalWaterUsedToday(email(auth)));
     }
 
     /** GET /api/dashboard/water-usage/weekly */
     @GetMapping("/water-usage/weekly")
-    public ResponseEntity<Double> getWaterUsageWeekly(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getTotalWaterUsedThisWeek(email(auth)));
+    public ResponseEntity<Double> getWaterUsageWeekly(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getTotalWaterUsedThisWeek(email(auth)));
     }
 
     /** GET /api/dashboard/water-usage/monthly */
     @GetMapping("/water-usage/monthly")
-    public ResponseEntity<Double> getWaterUsageMonthly(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getTotalWaterUsedThisMonth(email(auth)));
+    public ResponseEntity<Double> getWaterUsageMonthly(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getTotalWaterUsedThisMonth(email(auth)));
     }
 
     // ══════════════════════════════════════════════════════════════════════════
@@ -178,41 +279,45 @@ public class UserDashboardController {
 
     /** GET /api/dashboard/alerts — active alerts */
     @GetMapping("/alerts")
-    public ResponseEntity<List<AlertDTO>> getActiveAlerts(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getActiveAlerts(email(auth)));
+    public ResponseEntity<List<AlertDTO>> getActiveAlerts(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getActiveAlerts(email(auth)));
     }
 
     /** GET /api/dashboard/alerts/resolved-today */
     @GetMapping("/alerts/resolved-today")
-    public ResponseEntity<List<AlertDTO>> getResolvedToday(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getResolvedAlertsToday(email(auth)));
+    public ResponseEntity<List<AlertDTO>> getResolvedToday(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getResolvedAlertsToday(email(auth)));
     }
 
     /** GET /api/dashboard/alerts/recent?limit=10 */
     @GetMapping("/alerts/recent")
     public ResponseEntity<List<AlertDTO>> getRecentAlerts(
             Authentication auth,
+            WebRequest request,
             @RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(dashboardService.getRecentAlerts(email(auth), limit));
+        return conditional(auth, request, () -> dashboardService.getRecentAlerts(email(auth), limit));
     }
 
     /** GET /api/dashboard/gardens/{gardenId}/alerts */
     @GetMapping("/gardens/{gardenId}/alerts")
-    public ResponseEntity<List<AlertDTO>> getAlertsByGarden(Authentication auth, @PathVariable Long gardenId) {
-        return ResponseEntity.ok(dashboardService.getAlertsByGarden(email(auth), gardenId));
+    public ResponseEntity<List<AlertDTO>> getAlertsByGarden(
+            Authentication auth,
+            WebRequest request,
+            @PathVariable Long gardenId) {
+        return conditional(auth, request, () -> dashboardService.getAlertsByGarden(email(auth), gardenId));
     }
 
     /**
      * GET /api/dashboard/alerts/count-by-type — { "LOW_WATER": 2, "DRY_SOIL": 1 }
      */
     @GetMapping("/alerts/count-by-type")
-    public ResponseEntity<Map<String, Long>> getAlertsByType(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getAlertCountByType(email(auth)));
+    public ResponseEntity<Map<String, Long>> getAlertsByType(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getAlertCountByType(email(auth)));
     }
 
     /** PUT /api/dashboard/alerts/{alertId}/resolve */
     @PutMapping("/alerts/{alertId}/resolve")
-    public ResponseEntity<Void> resolveAlert(Authentication auth, @PathVariable Long alertId) {
+    public ResponseEntity<Void> resolveAlert(Authentication auth, WebRequest request, @PathVariable Long alertId) {
         dashboardService.resolveAlert(email(auth), alertId);
         return ResponseEntity.noContent().build();
     }
@@ -223,20 +328,23 @@ public class UserDashboardController {
 
     /** GET /api/dashboard/tanks — all tanks with fill percentage */
     @GetMapping("/tanks")
-    public ResponseEntity<List<WaterTankDTO>> getTanks(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getAllWaterTanks(email(auth)));
+    public ResponseEntity<List<WaterTankDTO>> getTanks(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getAllWaterTanks(email(auth)));
     }
 
     /** GET /api/dashboard/gardens/{gardenId}/tanks */
     @GetMapping("/gardens/{gardenId}/tanks")
-    public ResponseEntity<List<WaterTankDTO>> getTanksByGarden(Authentication auth, @PathVariable Long gardenId) {
-        return ResponseEntity.ok(dashboardService.getWaterTanksByGarden(email(auth), gardenId));
+    public ResponseEntity<List<WaterTankDTO>> getTanksByGarden(
+            Authentication auth,
+            WebRequest request,
+            @PathVariable Long gardenId) {
+        return conditional(auth, request, () -> dashboardService.getWaterTanksByGarden(email(auth), gardenId));
     }
 
     /** GET /api/dashboard/tanks/low — tanks that are LOW or EMPTY */
     @GetMapping("/tanks/low")
-    public ResponseEntity<List<WaterTankDTO>> getLowTanks(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getLowWaterTanks(email(auth)));
+    public ResponseEntity<List<WaterTankDTO>> getLowTanks(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getLowWaterTanks(email(auth)));
     }
 
     // ══════════════════════════════════════════════════════════════════════════
@@ -245,41 +353,85 @@ public class UserDashboardController {
 
     /** GET /api/dashboard/valves — all valves with current status */
     @GetMapping("/valves")
-    public ResponseEntity<List<ValveDTO>> getValves(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getAllValves(email(auth)));
+    public ResponseEntity<List<ValveDTO>> getValves(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getAllValves(email(auth)));
     }
 
     /** GET /api/dashboard/zones/{zoneId}/valves */
     @GetMapping("/zones/{zoneId}/valves")
-    public ResponseEntity<List<ValveDTO>> getValvesByZone(Authentication auth, @PathVariable Long zoneId) {
-        return ResponseEntity.ok(dashboardService.getValvesByZone(email(auth), zoneId));
+    public ResponseEntity<List<ValveDTO>> getValvesByZone(
+            Authentication auth,
+            WebRequest request,
+            @PathVariable Long zoneId) {
+        return conditional(auth, request, () -> dashboardService.getValvesByZone(email(auth), zoneId));
     }
 
     /** GET /api/dashboard/valves/open — valves currently irrigating */
     @GetMapping("/valves/open")
-    public ResponseEntity<List<ValveDTO>> getOpenValves(Authentication auth) {
-        return ResponseEntity.ok(dashboardService.getOpenValves(email(auth)));
+    public ResponseEntity<List<ValveDTO>> getOpenValves(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getOpenValves(email(auth)));
     }
 
     // ══════════════════════════════════════════════════════════════════════════
     // 10. VALVE CONTROL OPERATIONS
     // ══════════════════════════════════════════════════════════════════════════
 
+    // Commands are queued and answered with 202; the valve status changes once
+    // the valve acknowledges, see /commands/{commandId}. An Idempotency-Key
+    // header makes a retried request return the command queued the first time.
+
     /** PUT /api/dashboard/valves/{valveId}/open — open a valve */
     @PutMapping("/valves/{valveId}/open")
-    public ResponseEntity<ValveDTO> openValve(Authentication auth, @PathVariable Long valveId) {
-        return ResponseEntity.ok(dashboardService.openValve(email(auth), valveId));
+    public ResponseEntity<ValveDTO> openValve(Authentication auth, WebRequest request, @PathVariable Long valveId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.accepted().body(dashboardService.openValve(email(auth), valveId, idempotencyKey));
     }
 
     /** PUT /api/dashboard/valves/{valveId}/close — close a valve */
     @PutMapping("/valves/{valveId}/close")
-    public ResponseEntity<ValveDTO> closeValve(Authentication auth, @PathVariable Long valveId) {
-        return ResponseEntity.ok(dashboardService.closeValve(email(auth), valveId));
+    public ResponseEntity<ValveDTO> closeValve(Authentication auth, @PathVariable Long valveId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.accepted().body(dashboardService.closeValve(email(auth), valveId, idempotencyKey));
     }
 
     /** PUT /api/dashboard/valves/{valveId}/toggle — toggle valve state */
     @PutMapping("/valves/{valveId}/toggle")
-    public ResponseEntity<ValveDTO> toggleValve(Authentication auth, @PathVariable Long valveId) {
-        return ResponseEntity.ok(dashboardService.toggleValve(email(auth), valveId));
+    public ResponseEntity<ValveDTO> toggleValve(Authentication auth, @PathVariable Long valveId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.accepted().body(dashboardService.toggleValve(email(auth), valveId, idempotencyKey));
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // 11. PUMP OPERATIONS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /** GET /api/dashboard/pumps — all pumps with current status */
+    @GetMapping("/pumps")
+    public ResponseEntity<List<PumpDTO>> getPumps(Authentication auth, WebRequest request) {
+        return conditional(auth, request, () -> dashboardService.getAllPumps(email(auth)));
+    }
+
+    /** PUT /api/dashboard/pumps/{pumpId}/start — start a pump */
+    @PutMapping("/pumps/{pumpId}/start")
+    public ResponseEntity<PumpDTO> startPump(Authentication auth, WebRequest request, @PathVariable Long pumpId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.accepted().body(dashboardService.startPump(email(auth), pumpId, idempotencyKey));
+    }
+
+    /** PUT /api/dashboard/pumps/{pumpId}/stop — stop a pump */
+    @PutMapping("/pumps/{pumpId}/stop")
+    public ResponseEntity<PumpDTO> stopPump(Authentication auth, @PathVariable Long pumpId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.accepted().body(dashboardService.stopPump(email(auth), pumpId, idempotencyKey));
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // 12. DEVICE COMMANDS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /** GET /api/dashboard/commands/{commandId} — delivery status of a valve or pump command */
+    @GetMapping("/commands/{commandId}")
+    public ResponseEntity<DeviceCommandDTO> getCommand(Authentication auth, @PathVariable String commandId) {
+        return ResponseEntity.ok(dashboardService.getDeviceCommand(email(auth), commandId));
     }
 }
@@ -0,0 +1,27 @@
+package com.example.FloraX.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DashboardDeltaDTO {
+    private String type; // ZONE_MOISTURE, VALVE_STATUS, ALERT, TANK_LEVEL
+    private Long gardenId;
+    private Long zoneId;
+    private Long valveId;
+    private Long alertId;
+    private Long tankId;
+    private Double value; // moisture (%) or tank level (litres)
+    private Double fillPercentage; // tank only
+    private String status; // irrigation / valve / alert / tank status
+    private String alertType;
+    private String message;
+    private LocalDateTime timestamp;
+}
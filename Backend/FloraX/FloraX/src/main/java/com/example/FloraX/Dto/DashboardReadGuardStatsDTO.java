@@ -0,0 +1,20 @@
+package com.example.FloraX.Dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DashboardReadGuardStatsDTO {
+    private String state; // CLOSED, OPEN or HALF_OPEN
+    private int windowCalls;
+    private int windowFailures; // failed, rejected or slow reads in the window
+    private int readsInFlight;
+    private int connectionsInUse; // by reads and their fan-out chunks
+    private int maxConnections;
+    private long readsRejected;
+    private long staleServed;
+    private long refreshesStarted;
+    private int keptResults;
+}
@@ -0,0 +1,20 @@
+package com.example.FloraX.Dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DataSourcePoolStatsDTO {
+    private String pool;
+    private String role; // PRIMARY or REPLICA
+    private boolean healthy;
+    private Long lagMs; // heartbeat age, null for the primary or when unknown
+    private long connectionsRouted;
+    private long readFallbacks; // primary only: read-only connections served because no replica was usable
+    private int activeConnections;
+    private int idleConnections;
+    private int totalConnections;
+    private int threadsAwaitingConnection;
+}
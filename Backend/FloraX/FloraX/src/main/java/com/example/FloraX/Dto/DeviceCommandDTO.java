@@ -0,0 +1,25 @@
+package com.example.FloraX.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeviceCommandDTO {
+    private String commandId;
+    private String deviceType; // VALVE, PUMP
+    private Long deviceId;
+    private String action; // OPEN, CLOSE, START, STOP
+    private String status; // PENDING, SENT, ACKED, FAILED, SUPERSEDED
+    private Integer attempts;
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+    private LocalDateTime ackedAt;
+    private String lastError;
+}
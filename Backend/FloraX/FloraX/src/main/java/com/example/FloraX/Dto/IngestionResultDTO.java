@@ -0,0 +1,17 @@
+package com.example.FloraX.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class IngestionResultDTO {
+    private int accepted; // queued for insertion
+    private int rejected; // unknown or foreign device, or missing value
+    private boolean bufferFull; // nothing was queued, retry later
+    private boolean tooLarge; // more readings than the buffer holds, split the batch
+}
@@ -0,0 +1,19 @@
+package com.example.FloraX.Dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of irrigation logs, newest first. Pass nextCursor back as
+ * ?cursor= to get the following page; it is null on the last page.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class IrrigationLogPageDTO {
+    private List<IrrigationLogDTO> logs;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,21 @@
+package com.example.FloraX.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PumpDTO {
+    private Long pumpId;
+    private Long tankId;
+    private String status; // ON, OFF
+    private LocalDateTime lastActivatedAt;
+    private String commandId; // set when a command was just queued
+    private String pendingAction; // START, STOP until the pump acknowledges it
+}
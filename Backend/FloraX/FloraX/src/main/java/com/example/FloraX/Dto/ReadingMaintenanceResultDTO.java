@@ -0,0 +1,17 @@
+package com.example.FloraX.Dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReadingMaintenanceResultDTO {
+    private long downsampledReadings;
+    private long expiredRollups;
+    private List<String> createdPartitions;
+    private List<String> droppedPartitions;
+    private long durationMs;
+}
@@ -0,0 +1,16 @@
+package com.example.FloraX.Dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RequestCoalescingStatsDTO {
+    private String operation;
+    private long calls;
+    private long executions;
+    private long joinedInFlight; // waited for an identical call that was running
+    private long reusedResults; // served from a call completed within the reuse window
+    private long collapsed; // joinedInFlight + reusedResults
+}
@@ -0,0 +1,17 @@
+package com.example.FloraX.Dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RollupRebuildResultDTO {
+    private LocalDateTime since;
+    private int deletedBuckets;
+    private int hourlyBuckets;
+    private int dailyBuckets;
+    private long durationMs;
+}
@@ -0,0 +1,30 @@
+package com.example.FloraX.Dto;
+
+import com.example.FloraX.Enum.HistoryResolution;
+import com.example.FloraX.Enum.SensorType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reading history of one sensor as parallel arrays. timestamps are epoch
+ * millis (bucket start for aggregated resolutions); values hold the reading
+ * (RAW) or the bucket average, with min / max only set for aggregated data.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SensorHistoryDTO {
+    private Long sensorId;
+    private Long zoneId;
+    private SensorType sensorType;
+    private HistoryResolution resolution;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long[] timestamps;
+    private double[] values;
+    private double[] min;
+    private double[] max;
+    private boolean truncated; // more than florax.history.max-points in range
+}
@@ -0,0 +1,19 @@
+package com.example.FloraX.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SensorReadingRequest {
+    private Long sensorId; // either sensorId or serialNumber must be set
+    private String serialNumber;
+    private Double value;
+    private LocalDateTime recordedAt; // defaults to server time when missing
+}
@@ -0,0 +1,18 @@
+package com.example.FloraX.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TankLevelRequest {
+    private Long tankId;
+    private Double levelLiters;
+    private LocalDateTime recordedAt; // defaults to server time when missing
+}
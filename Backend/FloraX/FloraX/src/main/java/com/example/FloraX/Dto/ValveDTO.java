@@ -20,4 +20,6 @@ public class ValveDTO {
     private LocalDateTime lastActivatedAt;
     private String lastActivatedAtFormatted; // human-readable format
     private Boolean isActive; // true if OPEN, false if CLOSED
+    private String commandId; // set when a command was just queued
+    private String pendingAction; // OPEN, CLOSE until the valve acknowledges it
 }
\ No newline at end of file
@@ -15,4 +15,5 @@ public class WaterTankDTO {
     private Double currentLevelLiters;
     private Double fillPercentage; // (currentLevel / capacity) * 100
     private String status; // FULL, NORMAL, LOW, CRITICAL, EMPTY
+    private Double hoursUntilEmpty; // forecast, null when the tank is not draining
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.example.FloraX.Dto;
+
+import com.example.FloraX.Enum.SensorType;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ZoneHistoryDTO {
+    private Long zoneId;
+    private SensorType sensorType;
+    private List<SensorHistoryDTO> sensors;
+}
@@ -8,21 +8,31 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "alerts")
+@Table(name = "alerts", indexes = {
+        // Per-user counts by status, and RESOLVED alerts of a day
+        @Index(name = "idx_alerts_garden_status_created", columnList = "garden_id, status, created_at"),
+        // Newest alerts of a garden whatever their status
+        @Index(name = "idx_alerts_garden_created", columnList = "garden_id, created_at"),
+        // ACTIVE alert keys loaded into ActiveAlertIndex, read from the index alone
+        @Index(name = "idx_alerts_status_keys", columnList = "status, alert_type, garden_id, zone_id, sensor_id")
+})
 public class Alerts {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long alertId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "garden_id")
     private Gardens garden;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "zone_id")
     private Zones zone;
 
+    // The faulty sensor of a SENSOR_FAULT alert, which is raised per sensor; null otherwise
+    private Long sensorId;
+
     @Enumerated(EnumType.STRING)
     private AlertType alertType;
 
@@ -44,6 +54,9 @@ public class Alerts {
     public Zones getZone() { return zone; }
     public void setZone(Zones zone) { this.zone = zone; }
 
+    public Long getSensorId() { return sensorId; }
+    public void setSensorId(Long sensorId) { this.sensorId = sensorId; }
+
     public AlertType getAlertType() { return alertType; }
     public void setAlertType(AlertType alertType) { this.alertType = alertType; }
 
@@ -0,0 +1,109 @@
+package com.example.FloraX.Entity;
+
+
+import com.example.FloraX.Enum.CommandAction;
+import com.example.FloraX.Enum.CommandStatus;
+import com.example.FloraX.Enum.DeviceType;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One actuation command for a valve or pump. commandSeq orders the commands
+ * of a device; commandId is the idempotency key, chosen by the client or
+ * generated, and is what the device acknowledges. user_id and garden_id are
+ * copied from the device so the queue never joins back to it.
+ */
+@Entity
+@Table(name = "device_commands",
+        uniqueConstraints = @UniqueConstraint(name = "uk_device_commands_command_id", columnNames = "command_id"),
+        indexes = {
+                // Dispatcher scan: open commands in queue order
+                @Index(name = "idx_device_commands_status_seq", columnList = "status, command_seq"),
+                @Index(name = "idx_device_commands_device", columnList = "device_type, device_id, status")
+        })
+public class DeviceCommands {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long commandSeq;
+
+    @Column(nullable = false, length = 64)
+    private String commandId;
+
+    private Long userId;
+    private Long gardenId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeviceType deviceType;
+
+    @Column(nullable = false)
+    private Long deviceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CommandAction action;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CommandStatus status;
+
+    private int attempts;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime sentAt;
+    private LocalDateTime ackedAt;
+
+    private String lastError;
+
+    // Acks and the dispatcher may touch the same command concurrently
+    @Version
+    private Long version;
+
+    // Getters and Setters
+    public Long getCommandSeq() { return commandSeq; }
+    public void setCommandSeq(Long commandSeq) { this.commandSeq = commandSeq; }
+
+    public String getCommandId() { return commandId; }
+    public void setCommandId(String commandId) { this.commandId = commandId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getGardenId() { return gardenId; }
+    public void setGardenId(Long gardenId) { this.gardenId = gardenId; }
+
+    public DeviceType getDeviceType() { return deviceType; }
+    public void setDeviceType(DeviceType deviceType) { this.deviceType = deviceType; }
+
+    public Long getDeviceId() { return deviceId; }
+    public void setDeviceId(Long deviceId) { this.deviceId = deviceId; }
+
+    public CommandAction getAction() { return action; }
+    public void setAction(CommandAction action) { this.action = action; }
+
+    public CommandStatus getStatus() { return status; }
+    public void setStatus(CommandStatus status) { this.status = status; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public LocalDateTime getSentAt() { return sentAt; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+
+    public LocalDateTime getAckedAt() { return ackedAt; }
+    public void setAckedAt(LocalDateTime ackedAt) { this.ackedAt = ackedAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
@@ -2,11 +2,13 @@ package com.example.FloraX.Entity;
 
 
 
+import com.example.FloraX.Cache.OwnershipEntityListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@EntityListeners(OwnershipEntityListener.class)
 @Table(name = "gardens")
 public class Gardens {
 
@@ -14,7 +16,7 @@ public class Gardens {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long gardenId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private Users user;
 
@@ -7,18 +7,25 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "irrigation_logs")
+@Table(name = "irrigation_logs", indexes = {
+        // Keyset pages per zone: ORDER BY start_time DESC, log_id DESC
+        @Index(name = "idx_irrigation_logs_zone_start", columnList = "zone_id, start_time, log_id"),
+        // Runs still open (end_time IS NULL) per trigger type
+        @Index(name = "idx_irrigation_logs_open", columnList = "end_time, trigger_type"),
+        // Water usage rollup rebuilds read every log from a point in time on
+        @Index(name = "idx_irrigation_logs_start", columnList = "start_time")
+})
 public class IrrigationLogs {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long logId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "zone_id")
     private Zones zone;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "valve_id")
     private Valves valve;
 
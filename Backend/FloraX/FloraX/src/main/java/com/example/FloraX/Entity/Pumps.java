@@ -1,11 +1,13 @@
 package com.example.FloraX.Entity;
 
 
+import com.example.FloraX.Cache.OwnershipEntityListener;
 import com.example.FloraX.Enum.PumpStatus;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(OwnershipEntityListener.class)
 @Table(name = "pumps")
 public class Pumps {
 
@@ -13,7 +15,7 @@ public class Pumps {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long pumpId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tank_id")
     private WaterTanks tank;
 
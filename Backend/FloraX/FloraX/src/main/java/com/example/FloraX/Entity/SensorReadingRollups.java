@@ -0,0 +1,67 @@
+package com.example.FloraX.Entity;
+
+
+import com.example.FloraX.Enum.RollupGranularity;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Min / max / sum of a sensor's readings over a 5-minute or hourly bucket,
+ * kept after the raw readings have expired. The sum (rather than the
+ * average) is stored so buckets can be merged; see getAvgValue().
+ */
+@Entity
+@Table(name = "sensor_reading_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sensor_reading_bucket",
+                columnNames = { "sensor_id", "granularity", "bucket_start" }),
+        indexes = @Index(name = "idx_sensor_reading_rollups_bucket", columnList = "granularity, bucket_start"))
+public class SensorReadingRollups {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long rollupId;
+
+    @Column(nullable = false)
+    private Long sensorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RollupGranularity granularity;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    private Double minValue;
+    private Double maxValue;
+    private Double sumValue;
+    private Long sampleCount;
+
+    // Getters and Setters
+    public Long getRollupId() { return rollupId; }
+    public void setRollupId(Long rollupId) { this.rollupId = rollupId; }
+
+    public Long getSensorId() { return sensorId; }
+    public void setSensorId(Long sensorId) { this.sensorId = sensorId; }
+
+    public RollupGranularity getGranularity() { return granularity; }
+    public void setGranularity(RollupGranularity granularity) { this.granularity = granularity; }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+
+    public Double getMinValue() { return minValue; }
+    public void setMinValue(Double minValue) { this.minValue = minValue; }
+
+    public Double getMaxValue() { return maxValue; }
+    public void setMaxValue(Double maxValue) { this.maxValue = maxValue; }
+
+    public Double getSumValue() { return sumValue; }
+    public void setSumValue(Double sumValue) { this.sumValue = sumValue; }
+
+    public Long getSampleCount() { return sampleCount; }
+    public void setSampleCount(Long sampleCount) { this.sampleCount = sampleCount; }
+
+    public Double getAvgValue() {
+        return (sumValue != null && sampleCount != null && sampleCount > 0) ? sumValue / sampleCount : null;
+    }
+}
@@ -5,15 +5,19 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sensor_readings")
+@Table(name = "sensor_readings", indexes = {
+        @Index(name = "idx_sensor_readings_sensor_time", columnList = "sensor_id, recorded_at"),
+        @Index(name = "idx_sensor_readings_time", columnList = "recorded_at")
+})
 public class SensorReadings {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long readingId;
 
-    @ManyToOne
-    @JoinColumn(name = "sensor_id")
+    // No FK constraint: MySQL cannot partition a table that has foreign keys
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sensor_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Sensors sensor;
 
     private Double value;
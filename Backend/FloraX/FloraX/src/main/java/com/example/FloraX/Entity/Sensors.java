@@ -1,5 +1,6 @@
 package com.example.FloraX.Entity;
 
+import com.example.FloraX.Cache.OwnershipEntityListener;
 import com.example.FloraX.Enum.SensorStatus;
 import com.example.FloraX.Enum.SensorType;
 import jakarta.persistence.*;
@@ -7,14 +8,22 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "sensors")
+@EntityListeners(OwnershipEntityListener.class)
+@Table(name = "sensors", indexes = {
+        @Index(name = "idx_sensors_zone_status", columnList = "zone_id, status"),
+        @Index(name = "idx_sensors_zone_type", columnList = "zone_id, sensor_type"),
+        // Liveness sweep and retention jobs select sensors across all zones
+        @Index(name = "idx_sensors_status", columnList = "status"),
+        @Index(name = "idx_sensors_type", columnList = "sensor_type"),
+        @Index(name = "idx_sensors_serial_number", columnList = "serial_number")
+})
 public class Sensors {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long sensorId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "zone_id")
     private Zones zone;
 
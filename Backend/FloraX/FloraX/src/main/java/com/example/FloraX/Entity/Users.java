@@ -7,7 +7,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = "UK6dotkott2kjsp8vw4d0m25fb7", columnNames = "email")
+})
 public class Users  {
 
     @Id
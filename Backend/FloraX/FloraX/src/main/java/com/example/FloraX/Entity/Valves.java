@@ -1,6 +1,7 @@
 package com.example.FloraX.Entity;
 
 
+import com.example.FloraX.Cache.OwnershipEntityListener;
 import com.example.FloraX.Enum.PowerSource;
 import com.example.FloraX.Enum.ValveStatus;
 import jakarta.persistence.*;
@@ -8,14 +9,17 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "valves")
+@EntityListeners(OwnershipEntityListener.class)
+@Table(name = "valves", indexes = {
+        @Index(name = "idx_valves_zone_status", columnList = "zone_id, valve_status")
+})
 public class Valves {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long valveId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "zone_id")
     private Zones zone;
 
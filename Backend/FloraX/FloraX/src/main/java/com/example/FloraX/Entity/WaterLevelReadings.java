@@ -5,14 +5,16 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "water_level_readings")
+@Table(name = "water_level_readings", indexes = {
+        @Index(name = "idx_water_level_readings_tank_recorded", columnList = "tank_id, recorded_at")
+})
 public class WaterLevelReadings {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long readingId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tank_id")
     private WaterTanks tank;
 
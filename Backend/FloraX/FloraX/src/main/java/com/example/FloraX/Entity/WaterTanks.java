@@ -1,19 +1,23 @@
 package com.example.FloraX.Entity;
 
 
+import com.example.FloraX.Cache.OwnershipEntityListener;
 import com.example.FloraX.Enum.TankStatus;
 import jakarta.persistence.*;
 import java.util.List;
 
 @Entity
-@Table(name = "water_tanks")
+@EntityListeners(OwnershipEntityListener.class)
+@Table(name = "water_tanks", indexes = {
+        @Index(name = "idx_water_tanks_garden_status", columnList = "garden_id, status")
+})
 public class WaterTanks {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long tankId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "garden_id")
     private Gardens garden;
 
@@ -0,0 +1,69 @@
+package com.example.FloraX.Entity;
+
+
+import com.example.FloraX.Enum.RollupGranularity;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Water used per zone and hour / day bucket, maintained incrementally as
+ * irrigation logs are written. garden_id and user_id are copied from the
+ * zone so garden and user totals are a single indexed range scan.
+ */
+@Entity
+@Table(name = "water_usage_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_water_usage_bucket",
+                columnNames = { "granularity", "bucket_start", "zone_id" }),
+        indexes = {
+                @Index(name = "idx_water_usage_user", columnList = "user_id, granularity, bucket_start"),
+                @Index(name = "idx_water_usage_garden", columnList = "garden_id, granularity, bucket_start"),
+                // Rebuilds delete every bucket from a point in time on
+                @Index(name = "idx_water_usage_bucket", columnList = "bucket_start")
+        })
+public class WaterUsageRollups {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long rollupId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private RollupGranularity granularity;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private Long zoneId;
+
+    private Long gardenId;
+    private Long userId;
+
+    private Double totalVolume;
+    private Long eventCount;
+
+    // Getters and Setters
+    public Long getRollupId() { return rollupId; }
+    public void setRollupId(Long rollupId) { this.rollupId = rollupId; }
+
+    public RollupGranularity getGranularity() { return granularity; }
+    public void setGranularity(RollupGranularity granularity) { this.granularity = granularity; }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+
+    public Long getZoneId() { return zoneId; }
+    public void setZoneId(Long zoneId) { this.zoneId = zoneId; }
+
+    public Long getGardenId() { return gardenId; }
+    public void setGardenId(Long gardenId) { this.gardenId = gardenId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Double getTotalVolume() { return totalVolume; }
+    public void setTotalVolume(Double totalVolume) { this.totalVolume = totalVolume; }
+
+    public Long getEventCount() { return eventCount; }
+    public void setEventCount(Long eventCount) { this.eventCount = eventCount; }
+}
@@ -1,12 +1,14 @@
 package com.example.FloraX.Entity;
 
 
+import com.example.FloraX.Cache.OwnershipEntityListener;
 import com.example.FloraX.Enum.SunlightExposure;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@EntityListeners(OwnershipEntityListener.class)
 @Table(name = "zones")
 public class Zones {
 
@@ -14,7 +16,7 @@ public class Zones {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long zoneId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "garden_id")
     private Gardens garden;
 
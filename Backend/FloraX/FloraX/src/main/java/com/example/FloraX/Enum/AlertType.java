@@ -1,5 +1,5 @@
 package com.example.FloraX.Enum;
 
 public enum AlertType {
-    LOW_WATER, SENSOR_FAULT, DRY_SOIL
-}
\ No newline at end of file
+    LOW_WATER, SENSOR_FAULT, DRY_SOIL, IRRIGATION_FAULT
+}
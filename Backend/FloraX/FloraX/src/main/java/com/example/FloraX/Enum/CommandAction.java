@@ -0,0 +1,6 @@
+package com.example.FloraX.Enum;
+
+// OPEN/CLOSE drive valves, START/STOP drive pumps
+public enum CommandAction {
+    OPEN, CLOSE, START, STOP
+}
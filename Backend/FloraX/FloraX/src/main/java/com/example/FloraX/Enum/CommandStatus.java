@@ -0,0 +1,6 @@
+package com.example.FloraX.Enum;
+
+// PENDING -> SENT -> ACKED or FAILED; a PENDING command replaced by a newer one for the same device is SUPERSEDED
+public enum CommandStatus {
+    PENDING, SENT, ACKED, FAILED, SUPERSEDED
+}
@@ -0,0 +1,26 @@
+package com.example.FloraX.Enum;
+
+public enum HistoryResolution {
+    RAW(0), FIVE_MINUTES(300_000L), HOUR(3_600_000L), DAY(86_400_000L);
+
+    private final long bucketMillis;
+
+    HistoryResolution(long bucketMillis) {
+        this.bucketMillis = bucketMillis;
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    // Resolution that keeps a chart of the given range to a few thousand points
+    public static HistoryResolution forRange(long rangeMillis) {
+        if (rangeMillis <= DAY.bucketMillis)
+            return RAW;
+        if (rangeMillis <= 7 * DAY.bucketMillis)
+            return FIVE_MINUTES;
+        if (rangeMillis <= 90 * DAY.bucketMillis)
+            return HOUR;
+        return DAY;
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.FloraX.Enum;
+
+public enum RollupGranularity {
+    FIVE_MINUTES, HOUR, DAY
+}
@@ -0,0 +1,24 @@
+package com.example.FloraX.Event;
+
+import com.example.FloraX.Enum.AlertStatus;
+import com.example.FloraX.Enum.AlertType;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when an alert is raised or resolved.
+ */
+@Value
+public class AlertChangedEvent {
+    Long userId;
+    Long gardenId;
+    Long zoneId;
+    // Set for SENSOR_FAULT only
+    Long sensorId;
+    Long alertId;
+    AlertType alertType;
+    AlertStatus status;
+    String message;
+    LocalDateTime createdAt;
+}
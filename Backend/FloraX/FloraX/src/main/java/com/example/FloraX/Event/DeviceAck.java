@@ -0,0 +1,13 @@
+package com.example.FloraX.Event;
+
+import lombok.Value;
+
+/**
+ * A device's answer to one command. error is null when success is true.
+ */
+@Value
+public class DeviceAck {
+    String commandId;
+    boolean success;
+    String error;
+}
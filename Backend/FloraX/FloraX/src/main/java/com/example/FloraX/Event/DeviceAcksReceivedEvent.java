@@ -0,0 +1,14 @@
+package com.example.FloraX.Event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published by a DeviceGateway when acknowledgements come back from the
+ * devices. Acks may be duplicated or arrive after a retry was sent.
+ */
+@Value
+public class DeviceAcksReceivedEvent {
+    List<DeviceAck> acks;
+}
@@ -0,0 +1,23 @@
+package com.example.FloraX.Event;
+
+import com.example.FloraX.Enum.CommandAction;
+import com.example.FloraX.Enum.DeviceType;
+import lombok.Value;
+
+/**
+ * Published once a command has become FAILED, after its transaction
+ * committed; the device kept the state it had. zoneId is set for valves in
+ * a zone and null otherwise.
+ */
+@Value
+public class DeviceCommandFailedEvent {
+    Long userId;
+    Long gardenId;
+    Long zoneId;
+    String commandId;
+    DeviceType deviceType;
+    Long deviceId;
+    CommandAction action;
+    int attempts;
+    String error;
+}
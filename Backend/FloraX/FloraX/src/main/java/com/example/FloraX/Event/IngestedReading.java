@@ -0,0 +1,15 @@
+package com.example.FloraX.Event;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * A sensor reading that has been written to sensor_readings.
+ */
+@Value
+public class IngestedReading {
+    long sensorId;
+    double value;
+    LocalDateTime recordedAt;
+}
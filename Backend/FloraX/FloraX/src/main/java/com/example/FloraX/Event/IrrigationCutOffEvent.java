@@ -0,0 +1,19 @@
+package com.example.FloraX.Event;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when automatic irrigation ends a run at max-run-minutes while
+ * the zone is still below moistureThresholdMax. The zone is not watered
+ * automatically again before resumesAt.
+ */
+@Value
+public class IrrigationCutOffEvent {
+    Long userId;
+    Long gardenId;
+    Long zoneId;
+    long runMinutes;
+    LocalDateTime resumesAt;
+}
@@ -0,0 +1,19 @@
+package com.example.FloraX.Event;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when an irrigation log is created or its water volume changes.
+ * A new log carries eventCountDelta = 1; an update to an existing log
+ * carries 0 and the difference in waterVolumeUsed.
+ */
+@Value
+public class IrrigationLoggedEvent {
+    Long logId;
+    Long zoneId;
+    LocalDateTime startTime;
+    double volumeDelta;
+    int eventCountDelta;
+}
@@ -0,0 +1,14 @@
+package com.example.FloraX.Event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published after a batch of readings has been committed to sensor_readings.
+ * Listeners receive the readings in insertion order.
+ */
+@Value
+public class SensorReadingsIngestedEvent {
+    List<IngestedReading> readings;
+}
@@ -0,0 +1,18 @@
+package com.example.FloraX.Event;
+
+import com.example.FloraX.Enum.SensorStatus;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when liveness tracking moves a sensor to ACTIVE, INACTIVE or
+ * FAULTY. lastSeenAt is the time of its latest reading.
+ */
+@Value
+public class SensorStatusChangedEvent {
+    Long sensorId;
+    Long zoneId;
+    SensorStatus status;
+    LocalDateTime lastSeenAt;
+}
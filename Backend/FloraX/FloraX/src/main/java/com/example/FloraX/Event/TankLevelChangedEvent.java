@@ -0,0 +1,17 @@
+package com.example.FloraX.Event;
+
+import com.example.FloraX.Enum.TankStatus;
+import lombok.Value;
+
+/**
+ * Published when a water tank's current level or status changes.
+ */
+@Value
+public class TankLevelChangedEvent {
+    Long userId;
+    Long gardenId;
+    Long tankId;
+    Double currentLevelLiters;
+    Double capacityLiters;
+    TankStatus status;
+}
@@ -0,0 +1,19 @@
+package com.example.FloraX.Event;
+
+import com.example.FloraX.Enum.ValveStatus;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published whenever a valve is opened, closed or toggled.
+ */
+@Value
+public class ValveStatusChangedEvent {
+    Long userId;
+    Long gardenId;
+    Long zoneId;
+    Long valveId;
+    ValveStatus status;
+    LocalDateTime lastActivatedAt;
+}
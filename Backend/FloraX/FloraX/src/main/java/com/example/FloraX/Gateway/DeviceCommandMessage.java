@@ -0,0 +1,18 @@
+package com.example.FloraX.Gateway;
+
+import com.example.FloraX.Enum.CommandAction;
+import com.example.FloraX.Enum.DeviceType;
+import lombok.Value;
+
+/**
+ * A command as it goes out to a garden gateway. A retry carries the same
+ * commandId, so a device that already applied it only acknowledges again.
+ */
+@Value
+public class DeviceCommandMessage {
+    String commandId;
+    DeviceType deviceType;
+    Long deviceId;
+    CommandAction action;
+    int attempt;
+}
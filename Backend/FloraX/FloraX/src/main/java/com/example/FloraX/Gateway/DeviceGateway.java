@@ -0,0 +1,18 @@
+package com.example.FloraX.Gateway;
+
+import java.util.List;
+
+/**
+ * Transport between the command queue and the gateways that drive the valves
+ * and pumps of a garden (one gateway per garden).
+ *
+ * send hands a batch over and returns without waiting for the devices; the
+ * answers come back later as DeviceAcksReceivedEvent. A command that is
+ * never answered is resent by the queue after its ack timeout, so a
+ * transport may drop messages but must not block. The implementation is
+ * chosen with florax.actuation.transport.
+ */
+public interface DeviceGateway {
+
+    void send(Long gardenId, List<DeviceCommandMessage> commands);
+}
@@ -0,0 +1,94 @@
+package com.example.FloraX.Gateway;
+
+import com.example.FloraX.Event.DeviceAck;
+import com.example.FloraX.Event.DeviceAcksReceivedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-in for the garden gateways (florax.actuation.transport=simulator,
+ * the default). Every batch is answered after latency-ms; each command fails
+ * with probability failure-rate. Like a real device it remembers the commands
+ * it applied, so a retry of one of them is acknowledged without being applied
+ * twice.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "florax.actuation", name = "transport", havingValue = "simulator", matchIfMissing = true)
+public class SimulatedDeviceGateway implements DeviceGateway {
+
+    private static final int REMEMBERED_COMMANDS = 100_000;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final long latencyMs;
+    private final double failureRate;
+
+    private final ScheduledExecutorService devices = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "device-simulator");
+        t.setDaemon(true);
+        return t;
+    });
+    // Only touched by the devices thread
+    private final Map<String, DeviceAck> applied = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DeviceAck> eldest) {
+            return size() > REMEMBERED_COMMANDS;
+        }
+    };
+
+    public SimulatedDeviceGateway(ApplicationEventPublisher eventPublisher,
+            @Value("${florax.actuation.simulator.latency-ms:200}") long latencyMs,
+            @Value("${florax.actuation.simulator.failure-rate:0.0}") double failureRate) {
+        this.eventPublisher = eventPublisher;
+        this.latencyMs = latencyMs;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public void send(Long gardenId, List<DeviceCommandMessage> commands) {
+        List<DeviceCommandMessage> batch = List.copyOf(commands);
+        devices.schedule(() -> answer(gardenId, batch), latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void answer(Long gardenId, List<DeviceCommandMessage> commands) {
+        List<DeviceAck> acks = new ArrayList<>(commands.size());
+        for (DeviceCommandMessage c : commands) {
+            DeviceAck ack = applied.get(c.getCommandId());
+            if (ack == null) {
+                if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                    ack = new DeviceAck(c.getCommandId(), false,
+                            "Simulated fault on " + c.getDeviceType() + " " + c.getDeviceId());
+                } else {
+                    ack = new DeviceAck(c.getCommandId(), true, null);
+                    applied.put(c.getCommandId(), ack);
+                }
+            }
+            acks.add(ack);
+        }
+        log.debug("Gateway of garden {} answered {} commands", gardenId, acks.size());
+        try {
+            eventPublisher.publishEvent(new DeviceAcksReceivedEvent(acks));
+        } catch (Exception e) {
+            // Unanswered commands are resent after their ack timeout
+            log.warn("Could not deliver {} acks from garden {}: {}", acks.size(), gardenId, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        devices.shutdownNow();
+    }
+}
@@ -3,6 +3,7 @@ package com.example.FloraX.Mapper;
 import com.example.FloraX.Dto.*;
 import com.example.FloraX.Entity.*;
 import com.example.FloraX.Enum.AlertStatus;
+import com.example.FloraX.Repository.Projection.TankLevel;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
@@ -37,12 +38,14 @@ public class DashboardMapper {
     }
 
     private String resolveZoneStatus(Zones zone, Double moisture) {
+        return resolveZoneStatus(zone.getMoistureThresholdMin(), zone.getMoistureThresholdMax(), moisture);
+    }
+
+    public String resolveZoneStatus(Double min, Double max, Double moisture) {
         if (moisture == null)
             return "UNKNOWN";
-        Double min = zone.getMoistureThresholdMin();
         if (min != null && moisture < min)
             return "ALERT";
-        Double max = zone.getMoistureThresholdMax();
         if (max != null && moisture >= max)
             return "IDLE";
         return "ACTIVE";
@@ -82,17 +85,21 @@ public class DashboardMapper {
     // ── Sensor ────────────────────────────────────────────────────────────────
 
     public SensorDTO toSensorDTO(Sensors sensor, SensorReadings latestReading) {
+        return toSensorDTO(sensor,
+                latestReading != null ? latestReading.getValue() : null,
+                latestReading != null ? latestReading.getRecordedAt() : null);
+    }
+
+    public SensorDTO toSensorDTO(Sensors sensor, Double latestValue, LocalDateTime recordedAt) {
         return SensorDTO.builder()
                 .sensorId(sensor.getSensorId())
                 .sensorType(sensor.getSensorType() != null ? sensor.getSensorType().name() : null)
                 .serialNumber(sensor.getSerialNumber())
                 .status(sensor.getStatus() != null ? sensor.getStatus().name() : null)
                 .installationDate(sensor.getInstallationDate())
-                .latestReading(latestReading != null ? latestReading.getValue() : null)
-                .recordedAt(latestReading != null ? latestReading.getRecordedAt() : null)
-                .recordedAtFormatted(latestReading != null && latestReading.getRecordedAt() != null
-                        ? latestReading.getRecordedAt().format(DISPLAY_FMT)
-                        : null)
+                .latestReading(latestValue)
+                .recordedAt(recordedAt)
+                .recordedAtFormatted(recordedAt != null ? recordedAt.format(DISPLAY_FMT) : null)
                 .build();
     }
 
@@ -114,6 +121,23 @@ public class DashboardMapper {
                 .build();
     }
 
+    public WaterTankDTO toWaterTankDTO(TankLevel tank, Double hoursUntilEmpty) {
+        Double fillPct = null;
+        if (tank.getCapacityLiters() != null && tank.getCurrentLevelLiters() != null
+                && tank.getCapacityLiters() > 0) {
+            fillPct = Math.round(
+                    (tank.getCurrentLevelLiters() / tank.getCapacityLiters()) * 1000.0) / 10.0;
+        }
+        return WaterTankDTO.builder()
+                .tankId(tank.getTankId())
+                .capacityLiters(tank.getCapacityLiters())
+                .currentLevelLiters(tank.getCurrentLevelLiters())
+                .fillPercentage(fillPct)
+                .status(tank.getStatus() != null ? tank.getStatus().name() : null)
+                .hoursUntilEmpty(hoursUntilEmpty)
+                .build();
+    }
+
     // ── Valve ─────────────────────────────────────────────────────────────────
 
     public ValveDTO toValveDTO(Valves valve) {
@@ -126,6 +150,34 @@ public class DashboardMapper {
                 .build();
     }
 
+    // ── Pump ──────────────────────────────────────────────────────────────────
+
+    public PumpDTO toPumpDTO(Pumps pump) {
+        return PumpDTO.builder()
+                .pumpId(pump.getPumpId())
+                .tankId(pump.getTank() != null ? pump.getTank().getTankId() : null)
+                .status(pump.getStatus() != null ? pump.getStatus().name() : null)
+                .lastActivatedAt(pump.getLastActivatedAt())
+                .build();
+    }
+
+    // ── Device command ────────────────────────────────────────────────────────
+
+    public DeviceCommandDTO toCommandDTO(DeviceCommands command) {
+        return DeviceCommandDTO.builder()
+                .commandId(command.getCommandId())
+                .deviceType(command.getDeviceType().name())
+                .deviceId(command.getDeviceId())
+                .action(command.getAction().name())
+                .status(command.getStatus().name())
+                .attempts(command.getAttempts())
+                .createdAt(command.getCreatedAt())
+                .sentAt(command.getSentAt())
+                .ackedAt(command.getAckedAt())
+                .lastError(command.getLastError())
+                .build();
+    }
+
     // ── Garden ────────────────────────────────────────────────────────────────
 
     public GardenDTO toGardenDTO(Gardens garden,
@@ -2,23 +2,66 @@ package com.example.FloraX.Repository;
 
 import com.example.FloraX.Entity.Alerts;
 import com.example.FloraX.Enum.AlertStatus;
+import com.example.FloraX.Repository.Projection.ActiveAlertKey;
+import com.example.FloraX.Repository.Projection.AlertTypeCount;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AlertRepository extends JpaRepository<Alerts, Long> {
 
     // Active alerts for a specific garden
+    @EntityGraph(attributePaths = "zone")
     List<Alerts> findByGardenGardenIdAndStatus(Long gardenId, AlertStatus status);
 
     // All active alerts for a user across all gardens
+    @EntityGraph(attributePaths = "zone")
     @Query("SELECT a FROM Alerts a WHERE a.garden.user.userId = :userId AND a.status = :status ORDER BY a.createdAt DESC")
     List<Alerts> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") AlertStatus status);
 
     // Recent alerts for a garden (last 5)
+    @EntityGraph(attributePaths = "zone")
     List<Alerts> findTop5ByGardenGardenIdOrderByCreatedAtDesc(Long gardenId);
-}
\ No newline at end of file
+
+    // Recent alerts (last 5) of every garden in the set, in one query
+    @EntityGraph(attributePaths = "zone")
+    @Query("SELECT a FROM Alerts a WHERE a.alertId IN (" +
+            "SELECT x.alertId FROM (" +
+            "SELECT al.alertId AS alertId, ROW_NUMBER() OVER (" +
+            "PARTITION BY al.garden.gardenId ORDER BY al.createdAt DESC) AS rn " +
+            "FROM Alerts al WHERE al.garden.gardenId IN :gardenIds) x " +
+            "WHERE x.rn <= 5)")
+    List<Alerts> findTop5PerGarden(@Param("gardenIds") Collection<Long> gardenIds);
+
+    // Alert with its garden loaded, for ownership checks
+    @EntityGraph(attributePaths = "garden")
+    Optional<Alerts> findWithGardenByAlertId(Long alertId);
+
+    // Type, garden and zone of every ACTIVE alert
+    @Query("SELECT a.alertId AS alertId, a.alertType AS alertType, g.gardenId AS gardenId, z.zoneId AS zoneId, " +
+            "a.sensorId AS sensorId FROM Alerts a LEFT JOIN a.garden g LEFT JOIN a.zone z " +
+            "WHERE a.status = com.example.FloraX.Enum.AlertStatus.ACTIVE")
+    List<ActiveAlertKey> findActiveKeys();
+
+    // Alerts of a user with a given status, per type
+    @Query("SELECT a.alertType AS alertType, COUNT(a) AS total FROM Alerts a " +
+            "WHERE a.garden.user.userId = :userId AND a.status = :status GROUP BY a.alertType")
+    List<AlertTypeCount> countByUserIdAndStatusPerType(@Param("userId") Long userId,
+            @Param("status") AlertStatus status);
+
+    // Alerts of a user with a given status created in [from, to)
+    @Query("SELECT COUNT(a) FROM Alerts a WHERE a.garden.user.userId = :userId AND a.status = :status " +
+            "AND a.createdAt >= :from AND a.createdAt < :to")
+    long countByUserIdAndStatusCreatedBetween(@Param("userId") Long userId,
+            @Param("status") AlertStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+}
@@ -1,6 +1,7 @@
 package com.example.FloraX.Repository;
 
 import com.example.FloraX.Entity.Alerts;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,5 +9,6 @@ import java.util.List;
 
 @Repository
 public interface AlertsRepository extends JpaRepository<Alerts, Long> {
+    @EntityGraph(attributePaths = "zone")
     List<Alerts> findByZone_Garden_GardenIdOrderByCreatedAtDesc(Long gardenId);
 }
@@ -0,0 +1,38 @@
+package com.example.FloraX.Repository;
+
+import com.example.FloraX.Entity.DeviceCommands;
+import com.example.FloraX.Enum.CommandStatus;
+import com.example.FloraX.Enum.DeviceType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DeviceCommandsRepository extends JpaRepository<DeviceCommands, Long> {
+
+    Optional<DeviceCommands> findByCommandId(String commandId);
+
+    List<DeviceCommands> findByCommandIdIn(Collection<String> commandIds);
+
+    // Open commands in queue order, for the dispatcher
+    List<DeviceCommands> findByStatusInOrderByCommandSeq(Collection<CommandStatus> statuses, Pageable page);
+
+    // Open commands of one device, oldest first
+    List<DeviceCommands> findByDeviceTypeAndDeviceIdAndStatusInOrderByCommandSeq(DeviceType deviceType,
+            Long deviceId, Collection<CommandStatus> statuses);
+
+    // Supersedes the device's PENDING commands in one statement; a command the
+    // dispatcher has claimed meanwhile is no longer PENDING and is left alone
+    @Modifying
+    @Query("UPDATE DeviceCommands c SET c.status = com.example.FloraX.Enum.CommandStatus.SUPERSEDED, " +
+            "c.version = c.version + 1 WHERE c.deviceType = :deviceType AND c.deviceId = :deviceId " +
+            "AND c.status = com.example.FloraX.Enum.CommandStatus.PENDING")
+    int supersedePending(@Param("deviceType") DeviceType deviceType, @Param("deviceId") Long deviceId);
+}
@@ -11,4 +11,8 @@ public interface GardenRepository extends JpaRepository<Gardens, Long> {
 
     List<Gardens> findByUserUserId(Long userId);
 
+    long countByUserUserId(Long userId);
+
+    boolean existsByGardenIdAndUserUserId(Long gardenId, Long userId);
+
 }
\ No newline at end of file
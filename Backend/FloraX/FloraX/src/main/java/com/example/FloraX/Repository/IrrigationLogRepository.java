@@ -1,25 +1,63 @@
 package com.example.FloraX.Repository;
 
 import com.example.FloraX.Entity.IrrigationLogs;
+import com.example.FloraX.Enum.TriggerType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface IrrigationLogRepository extends JpaRepository<IrrigationLogs, Long> {
 
     // Last 5 logs for a garden
+    @EntityGraph(attributePaths = "zone")
     List<IrrigationLogs> findTop5ByZoneGardenGardenIdOrderByStartTimeDesc(Long gardenId);
 
     // All logs for a garden since a given time (for today's stats)
     List<IrrigationLogs> findByZoneGardenGardenIdAndStartTimeAfter(Long gardenId, LocalDateTime since);
 
     // All logs across all gardens belonging to a user since a given time
+    @EntityGraph(attributePaths = "zone")
     @Query("SELECT il FROM IrrigationLogs il WHERE il.zone.garden.user.userId = :userId AND il.startTime >= :since")
     List<IrrigationLogs> findByUserIdAndStartTimeAfter(@Param("userId") Long userId,
             @Param("since") LocalDateTime since);
+
+    // Last 5 logs of every garden in the set, in one query
+    @Query("SELECT il FROM IrrigationLogs il LEFT JOIN FETCH il.zone WHERE il.logId IN (" +
+            "SELECT x.logId FROM (" +
+            "SELECT l.logId AS logId, ROW_NUMBER() OVER (" +
+            "PARTITION BY l.zone.garden.gardenId ORDER BY l.startTime DESC) AS rn " +
+            "FROM IrrigationLogs l WHERE l.zone.garden.gardenId IN :gardenIds) x " +
+            "WHERE x.rn <= 5)")
+    List<IrrigationLogs> findTop5PerGarden(@Param("gardenIds") Collection<Long> gardenIds);
+
+    // Newest logs of a zone, first keyset page
+    @Query("SELECT il FROM IrrigationLogs il LEFT JOIN FETCH il.zone " +
+            "WHERE il.zone.zoneId = :zoneId AND il.startTime IS NOT NULL " +
+            "ORDER BY il.startTime DESC, il.logId DESC")
+    List<IrrigationLogs> findPageByZone(@Param("zoneId") Long zoneId, Limit limit);
+
+    // Next keyset page of a zone: logs strictly after (startTime, logId) in descending order
+    @Query("SELECT il FROM IrrigationLogs il LEFT JOIN FETCH il.zone " +
+            "WHERE il.zone.zoneId = :zoneId AND (il.startTime < :startTime " +
+            "OR (il.startTime = :startTime AND il.logId < :logId)) " +
+            "ORDER BY il.startTime DESC, il.logId DESC")
+    List<IrrigationLogs> findPageByZoneBefore(@Param("zoneId") Long zoneId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("logId") Long logId,
+            Limit limit);
+
+    @Query("SELECT il FROM IrrigationLogs il LEFT JOIN FETCH il.zone WHERE il.logId IN :ids")
+    List<IrrigationLogs> findAllWithZoneByIds(@Param("ids") Collection<Long> ids);
+
+    // Runs still in progress (no end time yet) started by the given trigger
+    @Query("SELECT il FROM IrrigationLogs il WHERE il.triggerType = :triggerType AND il.endTime IS NULL")
+    List<IrrigationLogs> findOpenByTriggerType(@Param("triggerType") TriggerType triggerType);
 }
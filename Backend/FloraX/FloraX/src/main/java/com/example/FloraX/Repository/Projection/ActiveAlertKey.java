@@ -0,0 +1,18 @@
+package com.example.FloraX.Repository.Projection;
+
+import com.example.FloraX.Enum.AlertType;
+
+/**
+ * Identity of an ACTIVE alert, used to deduplicate new alerts.
+ */
+public interface ActiveAlertKey {
+    Long getAlertId();
+
+    AlertType getAlertType();
+
+    Long getGardenId();
+
+    Long getZoneId();
+
+    Long getSensorId();
+}
@@ -0,0 +1,12 @@
+package com.example.FloraX.Repository.Projection;
+
+import com.example.FloraX.Enum.AlertType;
+
+/**
+ * Number of alerts per type.
+ */
+public interface AlertTypeCount {
+    AlertType getAlertType();
+
+    Long getTotal();
+}
@@ -0,0 +1,10 @@
+package com.example.FloraX.Repository.Projection;
+
+/**
+ * Water used by one garden over a time window.
+ */
+public interface GardenVolume {
+    Long getGardenId();
+
+    Double getTotalVolume();
+}
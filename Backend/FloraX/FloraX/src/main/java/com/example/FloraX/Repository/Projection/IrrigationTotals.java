@@ -0,0 +1,10 @@
+package com.example.FloraX.Repository.Projection;
+
+/**
+ * Event count and water volume of a set of irrigation logs, summed in SQL.
+ */
+public interface IrrigationTotals {
+    Long getEventCount();
+
+    Double getTotalVolume();
+}
@@ -0,0 +1,20 @@
+package com.example.FloraX.Repository.Projection;
+
+import com.example.FloraX.Enum.SensorType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest reading of a sensor together with the sensor's zone and type.
+ */
+public interface LatestSensorReading {
+    Long getSensorId();
+
+    Long getZoneId();
+
+    SensorType getSensorType();
+
+    Double getValue();
+
+    LocalDateTime getRecordedAt();
+}
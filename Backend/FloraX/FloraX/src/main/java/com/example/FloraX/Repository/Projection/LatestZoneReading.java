@@ -0,0 +1,14 @@
+package com.example.FloraX.Repository.Projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest sensor reading of a zone, as returned by the batched dashboard queries.
+ */
+public interface LatestZoneReading {
+    Long getZoneId();
+
+    Double getValue();
+
+    LocalDateTime getRecordedAt();
+}
@@ -0,0 +1,14 @@
+package com.example.FloraX.Repository.Projection;
+
+import com.example.FloraX.Enum.SensorType;
+
+/**
+ * Zone and type of a sensor, without loading the entity graph.
+ */
+public interface SensorPlacement {
+    Long getSensorId();
+
+    Long getZoneId();
+
+    SensorType getSensorType();
+}
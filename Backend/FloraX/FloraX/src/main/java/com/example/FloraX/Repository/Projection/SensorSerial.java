@@ -0,0 +1,10 @@
+package com.example.FloraX.Repository.Projection;
+
+/**
+ * Serial number to sensor id mapping, used to resolve readings sent by gateways.
+ */
+public interface SensorSerial {
+    String getSerialNumber();
+
+    Long getSensorId();
+}
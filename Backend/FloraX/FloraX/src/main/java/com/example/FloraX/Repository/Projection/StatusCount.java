@@ -0,0 +1,10 @@
+package com.example.FloraX.Repository.Projection;
+
+/**
+ * Number of rows per status value (enum name).
+ */
+public interface StatusCount {
+    String getStatus();
+
+    Long getTotal();
+}
@@ -0,0 +1,20 @@
+package com.example.FloraX.Repository.Projection;
+
+import com.example.FloraX.Enum.TankStatus;
+
+/**
+ * Owner, capacity and current level of a water tank.
+ */
+public interface TankLevel {
+    Long getTankId();
+
+    Long getGardenId();
+
+    Long getUserId();
+
+    Double getCapacityLiters();
+
+    Double getCurrentLevelLiters();
+
+    TankStatus getStatus();
+}
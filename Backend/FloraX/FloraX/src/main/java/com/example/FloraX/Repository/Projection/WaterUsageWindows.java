@@ -0,0 +1,16 @@
+package com.example.FloraX.Repository.Projection;
+
+/**
+ * Water used today, this week and this month, summed from rollup buckets.
+ */
+public interface WaterUsageWindows {
+    Double getTodayVolume();
+
+    Long getTodayCount();
+
+    Double getWeekVolume();
+
+    Long getWeekCount();
+
+    Double getMonthVolume();
+}
@@ -0,0 +1,16 @@
+package com.example.FloraX.Repository.Projection;
+
+/**
+ * Owner and moisture thresholds of a zone, used to route live updates.
+ */
+public interface ZoneRouting {
+    Long getZoneId();
+
+    Long getGardenId();
+
+    Long getUserId();
+
+    Double getMoistureThresholdMin();
+
+    Double getMoistureThresholdMax();
+}
@@ -0,0 +1,19 @@
+package com.example.FloraX.Repository;
+
+import com.example.FloraX.Entity.Pumps;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PumpsRepository extends JpaRepository<Pumps, Long> {
+
+    // All pumps for a user across all tanks
+    @EntityGraph(attributePaths = "tank")
+    @Query("SELECT p FROM Pumps p WHERE p.tank.garden.user.userId = :userId")
+    List<Pumps> findAllByUserId(@Param("userId") Long userId);
+}
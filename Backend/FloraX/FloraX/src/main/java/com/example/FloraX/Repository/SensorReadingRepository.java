@@ -1,9 +1,18 @@
 package com.example.FloraX.Repository;
 
 import com.example.FloraX.Entity.SensorReadings;
+import com.example.FloraX.Enum.SensorType;
+import com.example.FloraX.Repository.Projection.LatestSensorReading;
+import com.example.FloraX.Repository.Projection.LatestZoneReading;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +21,42 @@ public interface SensorReadingRepository extends JpaRepository<SensorReadings, L
     Optional<SensorReadings>
     findTopBySensorZoneZoneIdOrderByRecordedAtDesc(Long zoneId);
 
+    // Latest reading (any sensor) of each zone in one query.
+    // A zone may appear more than once when two readings share the same timestamp.
+    @Query("SELECT s.zone.zoneId AS zoneId, r.value AS value, r.recordedAt AS recordedAt " +
+            "FROM SensorReadings r JOIN r.sensor s " +
+            "WHERE s.zone.zoneId IN :zoneIds " +
+            "AND r.recordedAt = (SELECT MAX(r2.recordedAt) FROM SensorReadings r2 " +
+            "WHERE r2.sensor.zone.zoneId = s.zone.zoneId)")
+    List<LatestZoneReading> findLatestByZoneIds(@Param("zoneIds") Collection<Long> zoneIds);
+
+    Optional<SensorReadings>
+    findTopBySensorZoneZoneIdAndSensorSensorTypeOrderByRecordedAtDesc(Long zoneId, SensorType sensorType);
+
+    Optional<SensorReadings>
+    findTopBySensorSensorIdOrderByRecordedAtDesc(Long sensorId);
+
+    // Latest reading of every sensor in one aggregate query (used to warm LatestReadingCache)
+    @Query("SELECT s.sensorId AS sensorId, s.zone.zoneId AS zoneId, s.sensorType AS sensorType, " +
+            "r.value AS value, r.recordedAt AS recordedAt " +
+            "FROM SensorReadings r JOIN r.sensor s " +
+            "JOIN (SELECT r2.sensor.sensorId AS sensorId, MAX(r2.recordedAt) AS maxRecordedAt " +
+            "FROM SensorReadings r2 GROUP BY r2.sensor.sensorId) m " +
+            "ON m.sensorId = s.sensorId AND m.maxRecordedAt = r.recordedAt")
+    List<LatestSensorReading> findLatestPerSensor();
+
+    // Oldest raw reading of a sensor type recorded before the given time (retention job)
+    @Query("SELECT MIN(r.recordedAt) FROM SensorReadings r " +
+            "WHERE r.sensor.sensorType = :sensorType AND r.recordedAt < :before")
+    LocalDateTime findOldestRecordedAt(@Param("sensorType") SensorType sensorType,
+            @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query(value = "DELETE FROM sensor_readings WHERE recorded_at >= :from AND recorded_at < :to " +
+            "AND sensor_id IN (SELECT s.sensor_id FROM sensors s WHERE s.sensor_type = :sensorType)",
+            nativeQuery = true)
+    int deleteRange(@Param("sensorType") String sensorType,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
 }
\ No newline at end of file
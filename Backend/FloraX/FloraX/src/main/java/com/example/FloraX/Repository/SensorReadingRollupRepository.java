@@ -0,0 +1,64 @@
+package com.example.FloraX.Repository;
+
+import com.example.FloraX.Entity.SensorReadingRollups;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SensorReadingRollupRepository extends JpaRepository<SensorReadingRollups, Long> {
+
+    // Folds raw readings of one sensor type into 5-minute buckets; existing buckets are merged
+    @Modifying
+    @Query(value = "INSERT INTO sensor_reading_rollups " +
+            "(sensor_id, granularity, bucket_start, min_value, max_value, sum_value, sample_count) " +
+            "SELECT r.sensor_id, 'FIVE_MINUTES', " +
+            "TIMESTAMPADD(MINUTE, FLOOR(MINUTE(r.recorded_at) / 5) * 5, " +
+            "TIMESTAMPADD(HOUR, HOUR(r.recorded_at), CAST(r.recorded_at AS DATE))), " +
+            "MIN(r.value), MAX(r.value), SUM(r.value), COUNT(r.value) " +
+            "FROM sensor_readings r JOIN sensors s ON s.sensor_id = r.sensor_id " +
+            "WHERE s.sensor_type = :sensorType AND r.recorded_at >= :from AND r.recorded_at < :to " +
+            "AND r.value IS NOT NULL " +
+            "GROUP BY r.sensor_id, TIMESTAMPADD(MINUTE, FLOOR(MINUTE(r.recorded_at) / 5) * 5, " +
+            "TIMESTAMPADD(HOUR, HOUR(r.recorded_at), CAST(r.recorded_at AS DATE))) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "min_value = LEAST(min_value, VALUES(min_value)), " +
+            "max_value = GREATEST(max_value, VALUES(max_value)), " +
+            "sum_value = sum_value + VALUES(sum_value), " +
+            "sample_count = sample_count + VALUES(sample_count)", nativeQuery = true)
+    int rollupFiveMinutes(@Param("sensorType") String sensorType,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    // Folds raw readings of one sensor type into hourly buckets; existing buckets are merged
+    @Modifying
+    @Query(value = "INSERT INTO sensor_reading_rollups " +
+            "(sensor_id, granularity, bucket_start, min_value, max_value, sum_value, sample_count) " +
+            "SELECT r.sensor_id, 'HOUR', TIMESTAMPADD(HOUR, HOUR(r.recorded_at), CAST(r.recorded_at AS DATE)), " +
+            "MIN(r.value), MAX(r.value), SUM(r.value), COUNT(r.value) " +
+            "FROM sensor_readings r JOIN sensors s ON s.sensor_id = r.sensor_id " +
+            "WHERE s.sensor_type = :sensorType AND r.recorded_at >= :from AND r.recorded_at < :to " +
+            "AND r.value IS NOT NULL " +
+            "GROUP BY r.sensor_id, TIMESTAMPADD(HOUR, HOUR(r.recorded_at), CAST(r.recorded_at AS DATE)) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "min_value = LEAST(min_value, VALUES(min_value)), " +
+            "max_value = GREATEST(max_value, VALUES(max_value)), " +
+            "sum_value = sum_value + VALUES(sum_value), " +
+            "sample_count = sample_count + VALUES(sample_count)", nativeQuery = true)
+    int rollupHourly(@Param("sensorType") String sensorType,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query(value = "DELETE FROM sensor_reading_rollups WHERE granularity = :granularity " +
+            "AND bucket_start < :before " +
+            "AND sensor_id IN (SELECT s.sensor_id FROM sensors s WHERE s.sensor_type = :sensorType)",
+            nativeQuery = true)
+    int deleteExpired(@Param("granularity") String granularity,
+            @Param("sensorType") String sensorType,
+            @Param("before") LocalDateTime before);
+}
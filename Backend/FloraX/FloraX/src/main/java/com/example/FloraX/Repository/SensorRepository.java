@@ -2,12 +2,19 @@ package com.example.FloraX.Repository;
 
 import com.example.FloraX.Entity.Sensors;
 import com.example.FloraX.Enum.SensorStatus;
+import com.example.FloraX.Enum.SensorType;
+import com.example.FloraX.Repository.Projection.SensorPlacement;
+import com.example.FloraX.Repository.Projection.SensorSerial;
+import com.example.FloraX.Repository.Projection.StatusCount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SensorRepository extends JpaRepository<Sensors, Long> {
@@ -21,4 +28,40 @@ public interface SensorRepository extends JpaRepository<Sensors, Long> {
     // All sensors across all zones of a user
     @Query("SELECT s FROM Sensors s WHERE s.zone.garden.user.userId = :userId")
     List<Sensors> findAllByUserId(@Param("userId") Long userId);
+
+    // Sensors of a user per status
+    @Query("SELECT s.status AS status, COUNT(s) AS total FROM Sensors s " +
+            "WHERE s.zone.garden.user.userId = :userId GROUP BY s.status")
+    List<StatusCount> countByUserIdPerStatus(@Param("userId") Long userId);
+
+    // Ids among the given ones that belong to an existing sensor
+    @Query("SELECT s.sensorId FROM Sensors s WHERE s.sensorId IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Sensor ids for a set of serial numbers
+    @Query("SELECT s.serialNumber AS serialNumber, s.sensorId AS sensorId FROM Sensors s WHERE s.serialNumber IN :serials")
+    List<SensorSerial> findBySerialNumbers(@Param("serials") Collection<String> serials);
+
+    // Zone and type of the given sensors
+    @Query("SELECT s.sensorId AS sensorId, s.zone.zoneId AS zoneId, s.sensorType AS sensorType FROM Sensors s WHERE s.sensorId IN :ids")
+    List<SensorPlacement> findPlacementsByIds(@Param("ids") Collection<Long> ids);
+
+    // Zone and type of a sensor, if it belongs to the user
+    @Query("SELECT s.sensorId AS sensorId, s.zone.zoneId AS zoneId, s.sensorType AS sensorType FROM Sensors s " +
+            "WHERE s.sensorId = :sensorId AND s.zone.garden.user.userId = :userId")
+    Optional<SensorPlacement> findPlacementForUser(@Param("userId") Long userId, @Param("sensorId") Long sensorId);
+
+    // Sensors of one type in a zone, if the zone belongs to the user
+    @Query("SELECT s.sensorId AS sensorId, s.zone.zoneId AS zoneId, s.sensorType AS sensorType FROM Sensors s " +
+            "WHERE s.zone.zoneId = :zoneId AND s.sensorType = :sensorType AND s.zone.garden.user.userId = :userId " +
+            "ORDER BY s.sensorId")
+    List<SensorPlacement> findPlacementsInZoneForUser(@Param("userId") Long userId, @Param("zoneId") Long zoneId,
+            @Param("sensorType") SensorType sensorType);
+
+    @Query("SELECT s.sensorId FROM Sensors s WHERE s.status = :status")
+    List<Long> findIdsByStatus(@Param("status") SensorStatus status);
+
+    @Modifying
+    @Query("UPDATE Sensors s SET s.status = :status WHERE s.sensorId IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") SensorStatus status);
 }
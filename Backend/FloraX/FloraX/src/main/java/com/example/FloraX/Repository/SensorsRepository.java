@@ -1,6 +1,7 @@
 package com.example.FloraX.Repository;
 
 import com.example.FloraX.Entity.Sensors;
+import com.example.FloraX.Enum.SensorType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,5 +11,5 @@ import java.util.Optional;
 @Repository
 public interface SensorsRepository extends JpaRepository<Sensors, Long> {
     List<Sensors> findByZone_Garden_GardenId(Long gardenId);
-    Optional<Sensors> findByZone_ZoneIdAndSensorType(Long zoneId, String sensorType);
+    Optional<Sensors> findByZone_ZoneIdAndSensorType(Long zoneId, SensorType sensorType);
 }
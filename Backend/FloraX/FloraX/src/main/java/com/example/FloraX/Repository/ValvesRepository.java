@@ -2,26 +2,46 @@ package com.example.FloraX.Repository;
 
 import com.example.FloraX.Entity.Valves;
 import com.example.FloraX.Enum.ValveStatus;
+import com.example.FloraX.Repository.Projection.StatusCount;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ValvesRepository extends JpaRepository<Valves, Long> {
 
+    @EntityGraph(attributePaths = "zone")
     List<Valves> findByZone_ZoneId(Long zoneId);
 
     // All valves for a garden
+    @EntityGraph(attributePaths = "zone")
     List<Valves> findByZone_Garden_GardenId(Long gardenId);
 
     // All valves for a user across all zones
+    @EntityGraph(attributePaths = "zone")
     @Query("SELECT v FROM Valves v WHERE v.zone.garden.user.userId = :userId")
     List<Valves> findAllByUserId(@Param("userId") Long userId);
 
     // Valves with specific status for a user (OPEN, CLOSED, FAULTY)
+    @EntityGraph(attributePaths = "zone")
     @Query("SELECT v FROM Valves v WHERE v.zone.garden.user.userId = :userId AND v.valveStatus = :status")
     List<Valves> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") ValveStatus status);
+
+    @EntityGraph(attributePaths = "zone")
+    Optional<Valves> findWithZoneByValveId(Long valveId);
+
+    // Valves with their zone and garden loaded, for events
+    @EntityGraph(attributePaths = { "zone", "zone.garden" })
+    List<Valves> findWithOwnerByValveIdIn(Collection<Long> valveIds);
+
+    // Valves of a user per status
+    @Query("SELECT v.valveStatus AS status, COUNT(v) AS total FROM Valves v " +
+            "WHERE v.zone.garden.user.userId = :userId GROUP BY v.valveStatus")
+    List<StatusCount> countByUserIdPerStatus(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -2,11 +2,13 @@ package com.example.FloraX.Repository;
 
 import com.example.FloraX.Entity.WaterTanks;
 import com.example.FloraX.Enum.TankStatus;
+import com.example.FloraX.Repository.Projection.TankLevel;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,4 +23,21 @@ public interface WaterTankRepository extends JpaRepository<WaterTanks, Long> {
     // Tanks with specific status for a user (LOW, CRITICAL, EMPTY)
     @Query("SELECT t FROM WaterTanks t WHERE t.garden.user.userId = :userId AND t.status = :status")
     List<WaterTanks> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") TankStatus status);
-}
\ No newline at end of file
+
+    // Level and owner of a user's tanks
+    @Query("SELECT t.tankId AS tankId, g.gardenId AS gardenId, u.userId AS userId, " +
+            "t.capacityLiters AS capacityLiters, t.currentLevelLiters AS currentLevelLiters, t.status AS status " +
+            "FROM WaterTanks t JOIN t.garden g JOIN g.user u WHERE u.userId = :userId")
+    List<TankLevel> findLevelsByUserId(@Param("userId") Long userId);
+
+    // Level and owner of every tank, loaded once at startup
+    @Query("SELECT t.tankId AS tankId, g.gardenId AS gardenId, u.userId AS userId, " +
+            "t.capacityLiters AS capacityLiters, t.currentLevelLiters AS currentLevelLiters, t.status AS status " +
+            "FROM WaterTanks t LEFT JOIN t.garden g LEFT JOIN g.user u")
+    List<TankLevel> findAllLevels();
+
+    @Query("SELECT t.tankId AS tankId, g.gardenId AS gardenId, u.userId AS userId, " +
+            "t.capacityLiters AS capacityLiters, t.currentLevelLiters AS currentLevelLiters, t.status AS status " +
+            "FROM WaterTanks t LEFT JOIN t.garden g LEFT JOIN g.user u WHERE t.tankId IN :tankIds")
+    List<TankLevel> findLevelsByTankIds(@Param("tankIds") Collection<Long> tankIds);
+}
@@ -0,0 +1,96 @@
+package com.example.FloraX.Repository;
+
+import com.example.FloraX.Entity.WaterUsageRollups;
+import com.example.FloraX.Enum.RollupGranularity;
+import com.example.FloraX.Repository.Projection.GardenVolume;
+import com.example.FloraX.Repository.Projection.IrrigationTotals;
+import com.example.FloraX.Repository.Projection.WaterUsageWindows;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WaterUsageRollupRepository extends JpaRepository<WaterUsageRollups, Long> {
+
+    boolean existsByGranularity(RollupGranularity granularity);
+
+    // Adds volume / events to a bucket, creating it on first use
+    @Modifying
+    @Query(value = "INSERT INTO water_usage_rollups " +
+            "(granularity, bucket_start, zone_id, garden_id, user_id, total_volume, event_count) " +
+            "VALUES (:granularity, :bucketStart, :zoneId, :gardenId, :userId, :volume, :events) " +
+            "ON DUPLICATE KEY UPDATE total_volume = total_volume + VALUES(total_volume), " +
+            "event_count = event_count + VALUES(event_count)", nativeQuery = true)
+    void addToBucket(@Param("granularity") String granularity,
+            @Param("bucketStart") LocalDateTime bucketStart,
+            @Param("zoneId") Long zoneId,
+            @Param("gardenId") Long gardenId,
+            @Param("userId") Long userId,
+            @Param("volume") double volume,
+            @Param("events") long events);
+
+    // Total of a user's buckets starting at or after a given time
+    @Query("SELECT COALESCE(SUM(r.eventCount), 0) AS eventCount, COALESCE(SUM(r.totalVolume), 0) AS totalVolume " +
+            "FROM WaterUsageRollups r WHERE r.userId = :userId AND r.granularity = :granularity " +
+            "AND r.bucketStart >= :since")
+    IrrigationTotals sumByUserIdSince(@Param("userId") Long userId,
+            @Param("granularity") RollupGranularity granularity,
+            @Param("since") LocalDateTime since);
+
+    // Today / week / month totals of a user from daily buckets, in one range scan
+    @Query("SELECT " +
+            "COALESCE(SUM(CASE WHEN r.bucketStart >= :today THEN r.totalVolume ELSE 0 END), 0) AS todayVolume, " +
+            "COALESCE(SUM(CASE WHEN r.bucketStart >= :today THEN r.eventCount ELSE 0 END), 0) AS todayCount, " +
+            "COALESCE(SUM(CASE WHEN r.bucketStart >= :week THEN r.totalVolume ELSE 0 END), 0) AS weekVolume, " +
+            "COALESCE(SUM(CASE WHEN r.bucketStart >= :week THEN r.eventCount ELSE 0 END), 0) AS weekCount, " +
+            "COALESCE(SUM(CASE WHEN r.bucketStart >= :month THEN r.totalVolume ELSE 0 END), 0) AS monthVolume " +
+            "FROM WaterUsageRollups r WHERE r.userId = :userId AND r.granularity = com.example.FloraX.Enum.RollupGranularity.DAY " +
+            "AND r.bucketStart >= :from")
+    WaterUsageWindows sumWindowsByUserId(@Param("userId") Long userId,
+            @Param("today") LocalDateTime today,
+            @Param("week") LocalDateTime week,
+            @Param("month") LocalDateTime month,
+            @Param("from") LocalDateTime from);
+
+    // Water used per garden from buckets starting at or after a given time
+    @Query("SELECT r.gardenId AS gardenId, COALESCE(SUM(r.totalVolume), 0) AS totalVolume " +
+            "FROM WaterUsageRollups r WHERE r.granularity = :granularity AND r.bucketStart >= :since " +
+            "AND r.gardenId IS NOT NULL GROUP BY r.gardenId")
+    List<GardenVolume> sumVolumeByGardenSince(@Param("granularity") RollupGranularity granularity,
+            @Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM WaterUsageRollups r WHERE r.bucketStart >= :since")
+    int deleteSince(@Param("since") LocalDateTime since);
+
+    // Rebuilds hourly buckets from irrigation_logs
+    @Modifying
+    @Query(value = "INSERT INTO water_usage_rollups " +
+            "(granularity, bucket_start, zone_id, garden_id, user_id, total_volume, event_count) " +
+            "SELECT 'HOUR', TIMESTAMPADD(HOUR, HOUR(l.start_time), CAST(l.start_time AS DATE)), l.zone_id, z.garden_id, g.user_id, " +
+            "COALESCE(SUM(l.water_volume_used), 0), COUNT(*) " +
+            "FROM irrigation_logs l JOIN zones z ON z.zone_id = l.zone_id " +
+            "LEFT JOIN gardens g ON g.garden_id = z.garden_id " +
+            "WHERE l.start_time >= :since " +
+            "GROUP BY TIMESTAMPADD(HOUR, HOUR(l.start_time), CAST(l.start_time AS DATE)), l.zone_id, z.garden_id, g.user_id",
+            nativeQuery = true)
+    int rebuildHourlySince(@Param("since") LocalDateTime since);
+
+    // Rebuilds daily buckets from irrigation_logs
+    @Modifying
+    @Query(value = "INSERT INTO water_usage_rollups " +
+            "(granularity, bucket_start, zone_id, garden_id, user_id, total_volume, event_count) " +
+            "SELECT 'DAY', CAST(l.start_time AS DATE), l.zone_id, z.garden_id, g.user_id, " +
+            "COALESCE(SUM(l.water_volume_used), 0), COUNT(*) " +
+            "FROM irrigation_logs l JOIN zones z ON z.zone_id = l.zone_id " +
+            "LEFT JOIN gardens g ON g.garden_id = z.garden_id " +
+            "WHERE l.start_time >= :since " +
+            "GROUP BY CAST(l.start_time AS DATE), l.zone_id, z.garden_id, g.user_id",
+            nativeQuery = true)
+    int rebuildDailySince(@Param("since") LocalDateTime since);
+}
@@ -1,9 +1,13 @@
 package com.example.FloraX.Repository;
 
 import com.example.FloraX.Entity.Zones;
+import com.example.FloraX.Repository.Projection.ZoneRouting;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +15,19 @@ public interface ZoneRepository extends JpaRepository<Zones, Long> {
 
     List<Zones> findByGardenGardenId(Long gardenId);
 
+    // All zones of a set of gardens in one query
+    List<Zones> findByGardenGardenIdIn(Collection<Long> gardenIds);
+
+    // Owner and thresholds of the given zones
+    @Query("SELECT z.zoneId AS zoneId, z.garden.gardenId AS gardenId, z.garden.user.userId AS userId, " +
+            "z.moistureThresholdMin AS moistureThresholdMin, z.moistureThresholdMax AS moistureThresholdMax " +
+            "FROM Zones z WHERE z.zoneId IN :zoneIds")
+    List<ZoneRouting> findRoutingByZoneIds(@Param("zoneIds") Collection<Long> zoneIds);
+
+    @Query("SELECT z.zoneId FROM Zones z WHERE z.garden.gardenId = :gardenId")
+    List<Long> findIdsByGardenId(@Param("gardenId") Long gardenId);
+
+    @Query("SELECT z.zoneId FROM Zones z WHERE z.garden.user.userId = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
 }
@@ -0,0 +1,28 @@
+package com.example.FloraX.Service;
+
+/**
+ * Service interface for the alert rules. Readings and tank levels are
+ * evaluated as they arrive (see the event listeners of the implementation):
+ * <ul>
+ *   <li>DRY_SOIL — zone moisture below moistureThresholdMin</li>
+ *   <li>LOW_WATER — tank below florax.alerts.low-water-ratio of capacity</li>
+ *   <li>SENSOR_FAULT — reading outside the sensor type's valid range, or a
+ *       sensor marked FAULTY by liveness tracking</li>
+ *   <li>IRRIGATION_FAULT — an automatic run cut off at max-run-minutes
+ *       before the zone got wet, or a valve or pump command that failed
+ *       after max-attempts</li>
+ * </ul>
+ * At most one ACTIVE alert exists per type, garden and zone, and for
+ * SENSOR_FAULT per sensor. DRY_SOIL and LOW_WATER resolve themselves once
+ * the condition clears, SENSOR_FAULT once the sensor is ACTIVE again or
+ * reports an in-range value; IRRIGATION_FAULT stays until resolved by the
+ * user.
+ */
+public interface AlertRuleService {
+
+    /**
+     * Re-evaluates the zone's DRY_SOIL rule against its latest moisture,
+     * e.g. after its thresholds were changed.
+     */
+    void evaluateZone(Long zoneId);
+}
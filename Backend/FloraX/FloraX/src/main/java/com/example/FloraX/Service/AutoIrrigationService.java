@@ -0,0 +1,22 @@
+package com.example.FloraX.Service;
+
+/**
+ * Service interface for closed-loop irrigation. A zone's valves are opened
+ * when its latest moisture drops below moistureThresholdMin and closed again
+ * once it reaches moistureThresholdMax; every run is recorded as an
+ * IrrigationLogs row with TriggerType.AUTO.
+ */
+public interface AutoIrrigationService {
+
+    /**
+     * Queues an evaluation of the zone against its latest moisture.
+     * Returns immediately; evaluations of the same zone are serialized and
+     * repeated requests while one is pending are merged.
+     */
+    void evaluate(Long zoneId);
+
+    /**
+     * Number of automatic runs currently in progress.
+     */
+    int getActiveRunCount();
+}
@@ -0,0 +1,23 @@
+package com.example.FloraX.Service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service interface for live dashboard updates over Server-Sent Events.
+ *
+ * Clients load the full snapshot once (/api/dashboard/me) and then receive
+ * only deltas: zone moisture changes, valve status flips, alerts and tank
+ * level changes for gardens they own.
+ */
+public interface DashboardStreamService {
+
+    /**
+     * Opens a stream for the authenticated user.
+     */
+    SseEmitter subscribe(String email);
+
+    /**
+     * Number of currently open streams, across all users.
+     */
+    int getSubscriberCount();
+}
@@ -0,0 +1,52 @@
+package com.example.FloraX.Service;
+
+import com.example.FloraX.Dto.DeviceCommandDTO;
+import com.example.FloraX.Enum.CommandAction;
+import com.example.FloraX.Enum.DeviceType;
+import com.example.FloraX.Event.DeviceAck;
+
+import java.util.List;
+
+/**
+ * Service interface for valve and pump actuation.
+ * Commands are queued in device_commands and delivered to the garden
+ * gateways in the background; the state stored in valves and pumps only
+ * changes once the device acknowledges the command, for automatic
+ * irrigation as for users, and a command that fails for good publishes a
+ * DeviceCommandFailedEvent.
+ */
+public interface DeviceCommandService {
+
+    /**
+     * Queues a command for a device. commandId is the idempotency key:
+     * submitting an id again returns the existing command, and null
+     * generates a new id. Commands of the device still waiting to be sent
+     * are superseded by the new one.
+     */
+    DeviceCommandDTO submit(Long userId, Long gardenId, DeviceType deviceType, Long deviceId,
+            CommandAction action, String commandId);
+
+    /**
+     * Returns the action of the newest unacknowledged command of a device,
+     * or null if it has none.
+     */
+    CommandAction pendingAction(DeviceType deviceType, Long deviceId);
+
+    /**
+     * Returns one of the user's commands, for acknowledgement tracking.
+     */
+    DeviceCommandDTO getCommand(Long userId, String commandId);
+
+    /**
+     * Sends the due commands to the gateways, at most one in flight per
+     * device and in submission order, and retries unacknowledged ones.
+     */
+    void dispatch();
+
+    /**
+     * Records device acknowledgements and applies acknowledged commands to
+     * the valves and pumps. Failed commands are retried with backoff until
+     * max-attempts.
+     */
+    void acknowledge(List<DeviceAck> acks);
+}
@@ -0,0 +1,274 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Cache.ActiveAlertIndex;
+import com.example.FloraX.Cache.ExpiringCache;
+import com.example.FloraX.Cache.LatestReadingCache;
+import com.example.FloraX.Config.AlertRuleProperties;
+import com.example.FloraX.Entity.Alerts;
+import com.example.FloraX.Enum.AlertStatus;
+import com.example.FloraX.Enum.AlertType;
+import com.example.FloraX.Enum.SensorStatus;
+import com.example.FloraX.Enum.SensorType;
+import com.example.FloraX.Event.AlertChangedEvent;
+import com.example.FloraX.Event.DeviceCommandFailedEvent;
+import com.example.FloraX.Event.IngestedReading;
+import com.example.FloraX.Event.IrrigationCutOffEvent;
+import com.example.FloraX.Event.SensorReadingsIngestedEvent;
+import com.example.FloraX.Event.SensorStatusChangedEvent;
+import com.example.FloraX.Event.TankLevelChangedEvent;
+import com.example.FloraX.Repository.AlertRepository;
+import com.example.FloraX.Repository.GardenRepository;
+import com.example.FloraX.Repository.Projection.ZoneRouting;
+import com.example.FloraX.Repository.ZoneRepository;
+import com.example.FloraX.Service.AlertRuleService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of AlertRuleService.
+ *
+ * Rules run on the thread that publishes the reading or tank event and only
+ * touch memory (LatestReadingCache, ActiveAlertIndex, cached zone
+ * thresholds) unless an alert has to be raised or resolved, so a noisy
+ * sensor costs one hash lookup per reading rather than one INSERT.
+ */
+@Service
+@Slf4j
+public class AlertRuleServiceImpl implements AlertRuleService {
+
+    private final AlertRuleProperties properties;
+    private final LatestReadingCache readingCache;
+    private final ActiveAlertIndex alertIndex;
+    private final AlertRepository alertRepository;
+    private final GardenRepository gardenRepository;
+    private final ZoneRepository zoneRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ExpiringCache<Long, ZoneRouting> zones;
+    // Tanks currently below the low-water ratio, per garden
+    private final Map<Long, Set<Long>> lowTanks = new ConcurrentHashMap<>();
+    // Serializes raise and resolve, which write inside the lock (a ReentrantLock
+    // does not pin the carrier of a virtual thread waiting on JDBC)
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public AlertRuleServiceImpl(AlertRuleProperties properties,
+            LatestReadingCache readingCache,
+            ActiveAlertIndex alertIndex,
+            AlertRepository alertRepository,
+            GardenRepository gardenRepository,
+            ZoneRepository zoneRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${florax.alerts.zone-cache-seconds:60}") long zoneCacheSeconds) {
+        this.properties = properties;
+        this.readingCache = readingCache;
+        this.alertIndex = alertIndex;
+        this.alertRepository = alertRepository;
+        this.gardenRepository = gardenRepository;
+        this.zoneRepository = zoneRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.zones = new ExpiringCache<>(100_000, zoneCacheSeconds * 1000);
+    }
+
+    // ── Rules ─────────────────────────────────────────────────────────────────
+
+    // LatestReadingCache runs first (highest precedence), so zone values include this batch
+    @EventListener
+    public void onReadingsIngested(SensorReadingsIngestedEvent event) {
+        if (!properties.isEnabled() || !alertIndex.isWarm())
+            return;
+        Set<Long> moistureZones = new HashSet<>();
+        for (IngestedReading r : event.getReadings()) {
+            LatestReadingCache.Placement p = readingCache.placementOf(r.getSensorId());
+            if (p == null || p.getZoneId() == null)
+                continue;
+            AlertRuleProperties.Range range = properties.rangeFor(p.getSensorType());
+            if (range != null && !range.contains(r.getValue())) {
+                raiseForSensor(p.getZoneId(), r.getSensorId(), String.format(
+                        "Sensor %d (%s) reported %.1f, outside the valid range %.1f to %.1f",
+                        r.getSensorId(), p.getSensorType(), r.getValue(), range.getMin(), range.getMax()));
+                continue;
+            }
+            resolveForSensor(p.getZoneId(), r.getSensorId());
+            if (p.getSensorType() == SensorType.MOISTURE)
+                moistureZones.add(p.getZoneId());
+        }
+        moistureZones.forEach(this::evaluateMoisture);
+    }
+
+    @EventListener
+    public void onTankLevelChanged(TankLevelChangedEvent event) {
+        if (!properties.isEnabled() || !alertIndex.isWarm() || event.getGardenId() == null
+                || event.getCurrentLevelLiters() == null || event.getCapacityLiters() == null
+                || event.getCapacityLiters() <= 0)
+            return;
+        double ratio = event.getCurrentLevelLiters() / event.getCapacityLiters();
+        Set<Long> low = lowTanks.computeIfAbsent(event.getGardenId(), g -> ConcurrentHashMap.newKeySet());
+        if (ratio < properties.getLowWaterRatio()) {
+            low.add(event.getTankId());
+            raise(AlertType.LOW_WATER, event.getUserId(), event.getGardenId(), null, String.format(
+                    "Water tank %d is at %.0f%% (%.0f of %.0f liters)", event.getTankId(), ratio * 100,
+                    event.getCurrentLevelLiters(), event.getCapacityLiters()));
+        } else {
+            low.remove(event.getTankId());
+            if (low.isEmpty())
+                resolve(AlertType.LOW_WATER, event.getUserId(), event.getGardenId(), null);
+        }
+    }
+
+    @EventListener
+    public void onSensorStatusChanged(SensorStatusChangedEvent event) {
+        if (!properties.isEnabled() || !alertIndex.isWarm() || event.getZoneId() == null)
+            return;
+        if (event.getStatus() == SensorStatus.ACTIVE) {
+            resolveForSensor(event.getZoneId(), event.getSensorId());
+            return;
+        }
+        if (event.getStatus() != SensorStatus.FAULTY)
+            return;
+        raiseForSensor(event.getZoneId(), event.getSensorId(), String.format(
+                "Sensor %d has not reported since %s", event.getSensorId(),
+                event.getLastSeenAt() != null ? event.getLastSeenAt().withNano(0) : "installation"));
+    }
+
+    @EventListener
+    public void onIrrigationCutOff(IrrigationCutOffEvent event) {
+        if (!properties.isEnabled() || !alertIndex.isWarm())
+            return;
+        raise(AlertType.IRRIGATION_FAULT, event.getUserId(), event.getGardenId(), event.getZoneId(), String.format(
+                "Automatic irrigation stopped after %d minutes without reaching the zone maximum; paused until %s",
+                event.getRunMinutes(), event.getResumesAt().withNano(0)));
+    }
+
+    @EventListener
+    public void onDeviceCommandFailed(DeviceCommandFailedEvent event) {
+        if (!properties.isEnabled() || !alertIndex.isWarm() || event.getGardenId() == null)
+            return;
+        raise(AlertType.IRRIGATION_FAULT, event.getUserId(), event.getGardenId(), event.getZoneId(), String.format(
+                "%s %d did not carry out %s after %d attempts: %s", event.getDeviceType(), event.getDeviceId(),
+                event.getAction(), event.getAttempts(), event.getError()));
+    }
+
+    @Override
+    public void evaluateZone(Long zoneId) {
+        if (properties.isEnabled() && alertIndex.isWarm())
+            evaluateMoisture(zoneId);
+    }
+
+    private void evaluateMoisture(Long zoneId) {
+        ZoneRouting zone = zone(zoneId);
+        LatestReadingCache.Reading moisture = readingCache.latestForZone(zoneId, SensorType.MOISTURE);
+        if (zone == null || moisture == null || zone.getMoistureThresholdMin() == null)
+            return;
+        if (moisture.getValue() < zone.getMoistureThresholdMin()) {
+            raise(AlertType.DRY_SOIL, zone.getUserId(), zone.getGardenId(), zoneId, String.format(
+                    "Soil moisture %.1f%% is below the zone minimum of %.1f%%",
+                    moisture.getValue(), zone.getMoistureThresholdMin()));
+        } else {
+            resolve(AlertType.DRY_SOIL, zone.getUserId(), zone.getGardenId(), zoneId);
+        }
+    }
+
+    // ── Alert writes (only on transitions) ────────────────────────────────────
+
+    // One SENSOR_FAULT per sensor, so a second faulty sensor in the zone is reported too
+    private void raiseForSensor(Long zoneId, Long sensorId, String message) {
+        ZoneRouting zone = zone(zoneId);
+        if (zone != null)
+            raise(AlertType.SENSOR_FAULT, zone.getUserId(), zone.getGardenId(), zoneId, sensorId, message);
+    }
+
+    // A sensor that reports again, or reports an in-range value, is no longer faulty
+    private void resolveForSensor(Long zoneId, Long sensorId) {
+        ZoneRouting zone = zone(zoneId);
+        if (zone != null)
+            resolve(AlertType.SENSOR_FAULT, zone.getUserId(), zone.getGardenId(), zoneId, sensorId);
+    }
+
+    private void raise(AlertType type, Long userId, Long gardenId, Long zoneId, String message) {
+        raise(type, userId, gardenId, zoneId, null, message);
+    }
+
+    // Locked so two threads cannot both see "no active alert" and insert twice
+    private void raise(AlertType type, Long userId, Long gardenId, Long zoneId, Long sensorId, String message) {
+        writeLock.lock();
+        try {
+            if (alertIndex.find(type, gardenId, zoneId, sensorId) != null)
+                return;
+            LocalDateTime now = LocalDateTime.now();
+            Alerts alert = transactionTemplate.execute(status -> {
+                Alerts a = new Alerts();
+                a.setGarden(gardenRepository.getReferenceById(gardenId));
+                if (zoneId != null)
+                    a.setZone(zoneRepository.getReferenceById(zoneId));
+                a.setSensorId(sensorId);
+                a.setAlertType(type);
+                a.setStatus(AlertStatus.ACTIVE);
+                a.setMessage(message);
+                a.setCreatedAt(now);
+                return alertRepository.save(a);
+            });
+            log.info("Raised {} alert {} for garden {} zone {}: {}", type, alert.getAlertId(), gardenId, zoneId,
+                    message);
+            // Also registers the alert in ActiveAlertIndex
+            eventPublisher.publishEvent(new AlertChangedEvent(userId, gardenId, zoneId, sensorId,
+                    alert.getAlertId(), type, AlertStatus.ACTIVE, message, now));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void resolve(AlertType type, Long userId, Long gardenId, Long zoneId) {
+        resolve(type, userId, gardenId, zoneId, null);
+    }
+
+    private void resolve(AlertType type, Long userId, Long gardenId, Long zoneId, Long sensorId) {
+        // Nothing to resolve in the common case: skip the lock
+        if (alertIndex.find(type, gardenId, zoneId, sensorId) == null)
+            return;
+        writeLock.lock();
+        try {
+            Long alertId = alertIndex.find(type, gardenId, zoneId, sensorId);
+            if (alertId == null)
+                return;
+            Alerts alert = transactionTemplate.execute(status -> alertRepository.findById(alertId)
+                    .map(a -> {
+                        a.setStatus(AlertStatus.RESOLVED);
+                        return alertRepository.save(a);
+                    })
+                    .orElse(null));
+            log.info("Resolved {} alert {} for garden {} zone {}", type, alertId, gardenId, zoneId);
+            eventPublisher.publishEvent(new AlertChangedEvent(userId, gardenId, zoneId, sensorId, alertId, type,
+                    AlertStatus.RESOLVED,
+                    alert != null ? alert.getMessage() : null,
+                    alert != null ? alert.getCreatedAt() : null));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private ZoneRouting zone(Long zoneId) {
+        ZoneRouting zone = zones.get(zoneId);
+        if (zone == null) {
+            List<ZoneRouting> found = zoneRepository.findRoutingByZoneIds(List.of(zoneId));
+            if (found.isEmpty())
+                return null;
+            zone = found.get(0);
+            zones.put(zoneId, zone);
+        }
+        return zone;
+    }
+}
@@ -0,0 +1,381 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Cache.ExpiringCache;
+import com.example.FloraX.Cache.LatestReadingCache;
+import com.example.FloraX.Entity.IrrigationLogs;
+import com.example.FloraX.Entity.Valves;
+import com.example.FloraX.Enum.CommandAction;
+import com.example.FloraX.Enum.DeviceType;
+import com.example.FloraX.Enum.SensorType;
+import com.example.FloraX.Enum.TriggerType;
+import com.example.FloraX.Enum.ValveStatus;
+import com.example.FloraX.Event.DeviceCommandFailedEvent;
+import com.example.FloraX.Event.IngestedReading;
+import com.example.FloraX.Event.IrrigationCutOffEvent;
+import com.example.FloraX.Event.IrrigationLoggedEvent;
+import com.example.FloraX.Event.SensorReadingsIngestedEvent;
+import com.example.FloraX.Event.ValveStatusChangedEvent;
+import com.example.FloraX.Repository.IrrigationLogRepository;
+import com.example.FloraX.Repository.Projection.ZoneRouting;
+import com.example.FloraX.Repository.ValvesRepository;
+import com.example.FloraX.Repository.ZoneRepository;
+import com.example.FloraX.Service.AutoIrrigationService;
+import com.example.FloraX.Service.DeviceCommandService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of AutoIrrigationService.
+ *
+ * Nothing polls the zones: a zone is evaluated when one of its moisture
+ * sensors reports (SensorReadingsIngestedEvent), using the value already in
+ * LatestReadingCache. Evaluations are sharded by zoneId over single-threaded
+ * workers, so one zone is never evaluated concurrently and no locking is
+ * needed; a zone is queued at most once at a time, which bounds every
+ * worker queue by the number of zones.
+ *
+ * Runs in progress are kept in memory and recovered at startup from AUTO
+ * logs without an end time. A run also ends when its valves are closed by
+ * hand or when it exceeds max-run-minutes (checked by a periodic sweep of
+ * the active runs only).
+ *
+ * A zone is not watered again right after such a run: one closed by hand is
+ * held off for manual-hold-off-minutes, or until its moisture reaches
+ * moistureThresholdMin again, whichever comes first; one cut off at
+ * max-run-minutes while still dry waits cooldown-minutes whatever the
+ * moisture says (a stuck probe or an empty tank would read dry forever) and
+ * raises an IRRIGATION_FAULT alert through IrrigationCutOffEvent.
+ *
+ * A run only queues device commands; like a user's, they change the stored
+ * valve state when the valve acknowledges them. "Closed by hand" means a
+ * user's CLOSE command was acknowledged by the valve. An OPEN that fails
+ * after max-attempts (DeviceCommandFailedEvent, which also raises an
+ * IRRIGATION_FAULT alert) ends the run and pauses the zone for
+ * cooldown-minutes.
+ */
+@Service
+@Slf4j
+public class AutoIrrigationServiceImpl implements AutoIrrigationService {
+
+    @lombok.Value
+    private static class ActiveRun {
+        Long logId;
+        LocalDateTime startTime;
+        List<Long> valveIds;
+    }
+
+    @lombok.Value
+    private static class Suppression {
+        LocalDateTime until;
+        // Manual hold-offs end early once the zone is no longer dry
+        boolean liftedByRecovery;
+    }
+
+    private final LatestReadingCache readingCache;
+    private final ZoneRepository zoneRepository;
+    private final ValvesRepository valvesRepository;
+    private final IrrigationLogRepository irrigationLogRepository;
+    private final DeviceCommandService deviceCommandService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long maxRunMinutes;
+    private final double flowLitersPerMinute;
+    private final long manualHoldOffMinutes;
+    private final long cooldownMinutes;
+
+    private final ExecutorService[] shards;
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final Map<Long, ActiveRun> activeRuns = new ConcurrentHashMap<>();
+    private final Set<Long> closedByHand = ConcurrentHashMap.newKeySet();
+    private final Set<Long> failedToOpen = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Suppression> suppressed = new ConcurrentHashMap<>();
+    private final ExpiringCache<Long, ZoneRouting> zones;
+
+    public AutoIrrigationServiceImpl(LatestReadingCache readingCache,
+            ZoneRepository zoneRepository,
+            ValvesRepository valvesRepository,
+            IrrigationLogRepository irrigationLogRepository,
+            DeviceCommandService deviceCommandService,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${florax.irrigation.auto.enabled:true}") boolean enabled,
+            @Value("${florax.irrigation.auto.workers:4}") int workers,
+            @Value("${florax.irrigation.auto.max-run-minutes:60}") long maxRunMinutes,
+            @Value("${florax.irrigation.auto.flow-liters-per-minute:10}") double flowLitersPerMinute,
+            @Value("${florax.irrigation.auto.zone-cache-seconds:60}") long zoneCacheSeconds,
+            @Value("${florax.irrigation.auto.manual-hold-off-minutes:120}") long manualHoldOffMinutes,
+            @Value("${florax.irrigation.auto.cooldown-minutes:240}") long cooldownMinutes) {
+        this.readingCache = readingCache;
+        this.zoneRepository = zoneRepository;
+        this.valvesRepository = valvesRepository;
+        this.irrigationLogRepository = irrigationLogRepository;
+        this.deviceCommandService = deviceCommandService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.maxRunMinutes = maxRunMinutes;
+        this.flowLitersPerMinute = flowLitersPerMinute;
+        this.manualHoldOffMinutes = manualHoldOffMinutes;
+        this.cooldownMinutes = cooldownMinutes;
+        this.zones = new ExpiringCache<>(100_000, zoneCacheSeconds * 1000);
+        this.shards = new ExecutorService[Math.max(1, workers)];
+        for (int i = 0; i < shards.length; i++) {
+            String name = "auto-irrigation-" + i;
+            shards[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, name);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    // ── Lifecycle ─────────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverActiveRuns() {
+        if (!enabled)
+            return;
+        try {
+            for (IrrigationLogs run : irrigationLogRepository.findOpenByTriggerType(TriggerType.AUTO)) {
+                Long zoneId = run.getZone().getZoneId();
+                List<Long> valveIds = valvesRepository.findByZone_ZoneId(zoneId).stream()
+                        .filter(v -> v.getValveStatus() == ValveStatus.OPEN || deviceCommandService.pendingAction(
+                                DeviceType.VALVE, v.getValveId()) == CommandAction.OPEN)
+                        .map(Valves::getValveId)
+                        .collect(Collectors.toList());
+                activeRuns.put(zoneId, new ActiveRun(run.getLogId(), run.getStartTime(), valveIds));
+                if (valveIds.isEmpty())
+                    closedByHand.add(zoneId);
+                evaluate(zoneId);
+            }
+            log.info("Automatic irrigation started with {} workers, {} runs in progress",
+                    shards.length, activeRuns.size());
+        } catch (RuntimeException e) {
+            log.error("Could not recover automatic irrigation runs", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ExecutorService shard : shards)
+            shard.shutdown();
+        for (ExecutorService shard : shards)
+            shard.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // ── Triggers ──────────────────────────────────────────────────────────────
+
+    // LatestReadingCache runs first (highest precedence), so evaluations see these values
+    @EventListener
+    public void onReadingsIngested(SensorReadingsIngestedEvent event) {
+        if (!enabled)
+            return;
+        Set<Long> zoneIds = new HashSet<>();
+        for (IngestedReading r : event.getReadings()) {
+            LatestReadingCache.Placement p = readingCache.placementOf(r.getSensorId());
+            if (p != null && p.getZoneId() != null && p.getSensorType() == SensorType.MOISTURE)
+                zoneIds.add(p.getZoneId());
+        }
+        zoneIds.forEach(this::evaluate);
+    }
+
+    // A run whose valves were closed by hand is finished on the next evaluation
+    @EventListener
+    public void onValveStatusChanged(ValveStatusChangedEvent event) {
+        if (!enabled || event.getStatus() != ValveStatus.CLOSED)
+            return;
+        ActiveRun run = activeRuns.get(event.getZoneId());
+        if (run != null && run.getValveIds().contains(event.getValveId())) {
+            closedByHand.add(event.getZoneId());
+            evaluate(event.getZoneId());
+        }
+    }
+
+    // A valve of a run that could not be opened ends the run on the next evaluation
+    @EventListener
+    public void onDeviceCommandFailed(DeviceCommandFailedEvent event) {
+        if (!enabled || event.getDeviceType() != DeviceType.VALVE || event.getAction() != CommandAction.OPEN)
+            return;
+        ActiveRun run = event.getZoneId() != null ? activeRuns.get(event.getZoneId()) : null;
+        if (run != null && run.getValveIds().contains(event.getDeviceId())) {
+            failedToOpen.add(event.getZoneId());
+            evaluate(event.getZoneId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${florax.irrigation.auto.sweep-interval-ms:60000}")
+    public void sweepActiveRuns() {
+        LocalDateTime limit = LocalDateTime.now().minusMinutes(maxRunMinutes);
+        activeRuns.forEach((zoneId, run) -> {
+            if (run.getStartTime().isBefore(limit))
+                evaluate(zoneId);
+        });
+    }
+
+    @Override
+    public void evaluate(Long zoneId) {
+        if (!enabled || zoneId == null || !queued.add(zoneId))
+            return;
+        shards[Math.floorMod(zoneId.hashCode(), shards.length)].execute(() -> {
+            // Dequeue first so a reading arriving during evaluation queues another pass
+            queued.remove(zoneId);
+            try {
+                evaluateNow(zoneId);
+            } catch (RuntimeException e) {
+                log.warn("Automatic irrigation failed for zone {}", zoneId, e);
+            }
+        });
+    }
+
+    @Override
+    public int getActiveRunCount() {
+        return activeRuns.size();
+    }
+
+    // ── Evaluation (worker thread of the zone's shard) ────────────────────────
+
+    private void evaluateNow(Long zoneId) {
+        ZoneRouting zone = zone(zoneId);
+        if (zone == null)
+            return;
+        LatestReadingCache.Reading moisture = readingCache.latestForZone(zoneId, SensorType.MOISTURE);
+        ActiveRun run = activeRuns.get(zoneId);
+
+        LocalDateTime now = LocalDateTime.now();
+
+        if (run != null) {
+            boolean wet = moisture != null && zone.getMoistureThresholdMax() != null
+                    && moisture.getValue() >= zone.getMoistureThresholdMax();
+            long minutes = Duration.between(run.getStartTime(), now).toMinutes();
+            boolean byHand = closedByHand.contains(zoneId);
+            boolean failed = failedToOpen.contains(zoneId);
+            if (!wet && !byHand && !failed && minutes < maxRunMinutes)
+                return;
+            finishRun(zone, run, now);
+            if (failed) {
+                // Already alerted by the failed command
+                suppressed.put(zoneId, new Suppression(now.plusMinutes(cooldownMinutes), false));
+                log.warn("Zone {} valve did not open, automatic irrigation paused for {} min", zoneId,
+                        cooldownMinutes);
+            } else if (byHand) {
+                suppressed.put(zoneId, new Suppression(now.plusMinutes(manualHoldOffMinutes), true));
+            } else if (!wet) {
+                LocalDateTime resumesAt = now.plusMinutes(cooldownMinutes);
+                suppressed.put(zoneId, new Suppression(resumesAt, false));
+                log.warn("Zone {} still dry after {} min of automatic irrigation, paused until {}",
+                        zoneId, minutes, resumesAt);
+                eventPublisher.publishEvent(new IrrigationCutOffEvent(zone.getUserId(), zone.getGardenId(),
+                        zoneId, minutes, resumesAt));
+            }
+        } else if (moisture != null && zone.getMoistureThresholdMin() != null) {
+            boolean dry = moisture.getValue() < zone.getMoistureThresholdMin();
+            if (!isSuppressed(zoneId, dry, now) && dry)
+                startRun(zone);
+        }
+    }
+
+    // Drops the zone's suppression once it has expired, or recovered for a manual hold-off
+    private boolean isSuppressed(Long zoneId, boolean dry, LocalDateTime now) {
+        Suppression suppression = suppressed.get(zoneId);
+        if (suppression == null)
+            return false;
+        if (now.isBefore(suppression.getUntil()) && (dry || !suppression.isLiftedByRecovery()))
+            return true;
+        suppressed.remove(zoneId);
+        return false;
+    }
+
+    private void startRun(ZoneRouting zone) {
+        LocalDateTime now = LocalDateTime.now();
+        ActiveRun run = transactionTemplate.execute(status -> {
+            List<Valves> valves = valvesRepository.findByZone_ZoneId(zone.getZoneId());
+            // No valves to drive, someone is already watering by hand, or a user's command is on its way
+            if (valves.isEmpty() || valves.stream().anyMatch(v -> v.getValveStatus() == ValveStatus.OPEN
+                    || deviceCommandService.pendingAction(DeviceType.VALVE, v.getValveId()) != null))
+                return null;
+            submitCommands(zone, valves, CommandAction.OPEN);
+
+            IrrigationLogs entry = new IrrigationLogs();
+            entry.setZone(zoneRepository.getReferenceById(zone.getZoneId()));
+            entry.setValve(valves.get(0));
+            entry.setStartTime(now);
+            entry.setWaterVolumeUsed(0.0);
+            entry.setTriggerType(TriggerType.AUTO);
+            irrigationLogRepository.save(entry);
+            eventPublisher.publishEvent(new IrrigationLoggedEvent(entry.getLogId(), zone.getZoneId(), now, 0.0, 1));
+            return new ActiveRun(entry.getLogId(), now,
+                    valves.stream().map(Valves::getValveId).collect(Collectors.toList()));
+        });
+        if (run == null)
+            return;
+        activeRuns.put(zone.getZoneId(), run);
+        log.debug("Zone {} below {}: opening {} valves", zone.getZoneId(), zone.getMoistureThresholdMin(),
+                run.getValveIds().size());
+    }
+
+    private void finishRun(ZoneRouting zone, ActiveRun run, LocalDateTime now) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Valves open or still on their way there; the others are already closed
+            List<Valves> valves = valvesRepository.findAllById(run.getValveIds()).stream()
+                    .filter(v -> v.getValveStatus() == ValveStatus.OPEN
+                            || deviceCommandService.pendingAction(DeviceType.VALVE, v.getValveId()) != null)
+                    .collect(Collectors.toList());
+            submitCommands(zone, valves, CommandAction.CLOSE);
+
+            irrigationLogRepository.findById(run.getLogId()).ifPresent(entry -> {
+                double volume = Math.round(Duration.between(run.getStartTime(), now).toSeconds() / 60.0
+                        * flowLitersPerMinute * run.getValveIds().size() * 10.0) / 10.0;
+                double previous = entry.getWaterVolumeUsed() != null ? entry.getWaterVolumeUsed() : 0.0;
+                entry.setEndTime(now);
+                entry.setWaterVolumeUsed(volume);
+                irrigationLogRepository.save(entry);
+                eventPublisher.publishEvent(new IrrigationLoggedEvent(entry.getLogId(), zone.getZoneId(),
+                        entry.getStartTime(), volume - previous, 0));
+            });
+        });
+        // Removed before our CLOSE commands are acknowledged, so onValveStatusChanged ignores them
+        activeRuns.remove(zone.getZoneId());
+        closedByHand.remove(zone.getZoneId());
+        failedToOpen.remove(zone.getZoneId());
+        log.debug("Zone {} irrigation finished after {} min", zone.getZoneId(),
+                Duration.between(run.getStartTime(), now).toMinutes());
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private ZoneRouting zone(Long zoneId) {
+        ZoneRouting zone = zones.get(zoneId);
+        if (zone == null) {
+            List<ZoneRouting> found = zoneRepository.findRoutingByZoneIds(List.of(zoneId));
+            if (found.isEmpty())
+                return null;
+            zone = found.get(0);
+            zones.put(zoneId, zone);
+        }
+        return zone;
+    }
+
+    // The valve state changes when the valve acknowledges
+    private void submitCommands(ZoneRouting zone, List<Valves> valves, CommandAction action) {
+        for (Valves v : valves)
+            deviceCommandService.submit(zone.getUserId(), zone.getGardenId(), DeviceType.VALVE, v.getValveId(),
+                    action, null);
+    }
+}
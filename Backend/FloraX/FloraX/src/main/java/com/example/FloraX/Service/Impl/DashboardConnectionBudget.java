@@ -0,0 +1,124 @@
+package com.example.FloraX.Service.Impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The pool connections dashboard reads may hold at once, shared by
+ * DashboardReadGuard and DashboardFanout.
+ *
+ * A permit stands for one connection. A thread that holds one runs all of
+ * its dashboard transactions on it, one after another, including fan-out
+ * chunks that found no spare permit; a chunk that did gets its own virtual
+ * thread. Spare permits are only ever taken without waiting, so a read
+ * that holds a permit never waits for another one, and maxConnections is
+ * kept below the pool size so writes and sign-in always find a connection.
+ */
+@Slf4j
+@Component
+public class DashboardConnectionBudget {
+
+    private final Semaphore permits;
+    private final int maxConnections;
+    // Nesting depth of the calling thread on its permit; 0 when it holds none
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    public DashboardConnectionBudget(@Value("${florax.dashboard.max-connections:5}") int maxConnections,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        int bounded = Math.max(1, Math.min(maxConnections, poolSize - 1));
+        if (bounded != maxConnections)
+            log.warn("florax.dashboard.max-connections={} lowered to {} for a pool of {} connections",
+                    maxConnections, bounded, poolSize);
+        this.permits = new Semaphore(bounded);
+        this.maxConnections = bounded;
+    }
+
+    /**
+     * Takes a permit for the calling thread, waiting up to timeoutMs; true at
+     * once if it already holds one. Every true must be paired with exit().
+     */
+    public boolean tryEnter(long timeoutMs) {
+        int[] d = depth.get();
+        if (d[0] > 0) {
+            d[0]++;
+            return true;
+        }
+        try {
+            if (!permits.tryAcquire(Math.max(0, timeoutMs), TimeUnit.MILLISECONDS))
+                return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a dashboard connection", e);
+        }
+        d[0] = 1;
+        return true;
+    }
+
+    public void exit() {
+        int[] d = depth.get();
+        if (--d[0] <= 0) {
+            depth.remove();
+            permits.release();
+        }
+    }
+
+    /**
+     * Runs work on the calling thread's permit, or on one waited for if it
+     * holds none.
+     */
+    public <T> T call(Supplier<T> work) {
+        int[] d = depth.get();
+        if (d[0] == 0) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a dashboard connection", e);
+            }
+        }
+        d[0]++;
+        try {
+            return work.get();
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Starts task on the executor with a permit of its own if one is free
+     * right now, and returns false without starting it otherwise.
+     */
+    boolean tryRunOnSpare(Executor executor, Runnable task) {
+        if (!permits.tryAcquire())
+            return false;
+        try {
+            executor.execute(() -> {
+                depth.get()[0] = 1;
+                try {
+                    task.run();
+                } finally {
+                    exit();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            return false;
+        }
+    }
+
+    public int getConnectionsInUse() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Config.PrimaryReads;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs the per-garden part of the dashboard builders in parallel.
+ *
+ * A user's gardens are split into chunks of gardensPerTask, each loaded in
+ * its own read-only transaction, and the results are joined in garden
+ * order. Every transaction runs on a DashboardConnectionBudget permit: the
+ * calling thread's, held for the whole call, and for each further chunk a
+ * spare one if it is free right now, on its own virtual thread. Chunks
+ * without a spare permit run one after another on the caller's, so a busy
+ * pool slows a dashboard down instead of failing it. The first failure of
+ * a chunk, in garden order, is rethrown to the caller. Chunks on another
+ * thread keep the caller's PrimaryReads pin.
+ * Callers must not hold a transaction (and so a connection) of their own.
+ */
+@Component
+public class DashboardFanout {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final DashboardConnectionBudget budget;
+    private final int gardensPerTask;
+    private final TransactionTemplate readOnly;
+    private final TransactionTemplate primary;
+
+    public DashboardFanout(PlatformTransactionManager transactionManager,
+            DashboardConnectionBudget budget,
+            @Value("${florax.dashboard.fanout.gardens-per-task:4}") int gardensPerTask) {
+        this.budget = budget;
+        this.gardensPerTask = Math.max(1, gardensPerTask);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.primary = new TransactionTemplate(transactionManager);
+    }
+
+    // Short read-only transaction on the calling thread
+    public <T> T inTransaction(Supplier<T> work) {
+        return budget.call(() -> readOnly.execute(status -> work.get()));
+    }
+
+    // Short read-write transaction on the calling thread, which is never routed to a read replica
+    public <T> T onPrimary(Supplier<T> work) {
+        return budget.call(() -> primary.execute(status -> work.get()));
+    }
+
+    // Maps chunks of items through task, each chunk in its own read-only transaction
+    public <P, R> List<R> map(List<P> items, Function<List<P>, List<R>> task) {
+        if (items.size() <= gardensPerTask)
+            return items.isEmpty() ? List.of() : inTransaction(() -> task.apply(items));
+        return budget.call(() -> mapChunks(items, task));
+    }
+
+    // On the caller's permit, which runs every chunk that gets no spare one
+    private <P, R> List<R> mapChunks(List<P> items, Function<List<P>, List<R>> task) {
+        List<List<P>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += gardensPerTask)
+            chunks.add(items.subList(from, Math.min(from + gardensPerTask, items.size())));
+
+        // Tasks on a spare permit run to the end even if another chunk fails, then release it
+        List<CompletableFuture<List<R>>> futures = new ArrayList<>(Collections.nCopies(chunks.size(), null));
+        for (int i = 1; i < chunks.size(); i++) {
+            List<P> chunk = chunks.get(i);
+            CompletableFuture<List<R>> future = new CompletableFuture<>();
+            Supplier<List<R>> work = PrimaryReads.propagate(() -> inTransaction(() -> task.apply(chunk)));
+            if (!budget.tryRunOnSpare(executor, () -> complete(future, work)))
+                break;
+            futures.set(i, future);
+        }
+
+        List<R> results = new ArrayList<>(items.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            List<P> chunk = chunks.get(i);
+            if (futures.get(i) == null)
+                results.addAll(inTransaction(() -> task.apply(chunk)));
+            else
+                results.addAll(join(futures.get(i)));
+        }
+        return results;
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, Supplier<T> work) {
+        try {
+            future.complete(work.get());
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw new RuntimeException("Dashboard fan-out failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading gardens", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Dto.DashboardReadGuardStatsDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Degradation mode of the dashboard read path, for when the database slows
+ * down or fails.
+ *
+ * Bulkhead: a read starts only once it holds a DashboardConnectionBudget
+ * permit, waiting up to acquireTimeoutMs for one. The same budget bounds
+ * the fan-out chunks of the reads, so together they never hold more than
+ * florax.dashboard.max-connections pool connections; the rest of the pool
+ * stays free for valve and pump commands, alert updates and sign-in, which
+ * do not pass through here.
+ *
+ * Circuit breaker: a read that fails on the database, is turned away by the
+ * bulkhead or takes longer than slowCallMs is a failure. When at least
+ * failureRateThreshold percent of the last windowSize reads failed, the
+ * breaker opens for openMs; then halfOpenCalls reads are let through, and
+ * it closes once they all succeed, or opens again on the first failure.
+ *
+ * Stale-while-revalidate: the last good result of each (user, request) is
+ * kept, for up to maxEntries pairs (the least recently used is dropped).
+ * While the breaker is open, or when a read fails on the database, that
+ * result is returned marked stale, and one background refresh per pair
+ * replaces it once the database answers. A pair without a kept result is
+ * read from the database anyway, within the bulkhead.
+ */
+@Slf4j
+@Component
+public class DashboardReadGuard {
+
+    public record Result<T>(T body, String etag, boolean stale, long ageSeconds) {
+    }
+
+    private record Key(Long userId, String request) {
+    }
+
+    private record Good(Object body, String etag, long loadedAt) {
+    }
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final DashboardConnectionBudget budget;
+    private final long acquireTimeoutMs;
+    private final long slowCallMs;
+    private final int failureRateThreshold;
+    private final long openMs;
+    private final int halfOpenCalls;
+    private final int maxEntries;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+    private final LinkedHashMap<Key, Good> lastGood = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder staleServed = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    // Breaker state, guarded by this
+    private final boolean[] window;
+    private int windowCalls;
+    private int windowFailures;
+    private int windowNext;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenAdmitted;
+    private int halfOpenSucceeded;
+
+    public DashboardReadGuard(DashboardConnectionBudget budget,
+            @Value("${florax.dashboard.guard.acquire-timeout-ms:500}") long acquireTimeoutMs,
+            @Value("${florax.dashboard.guard.slow-call-ms:2000}") long slowCallMs,
+            @Value("${florax.dashboard.guard.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${florax.dashboard.guard.window-size:20}") int windowSize,
+            @Value("${florax.dashboard.guard.open-ms:15000}") long openMs,
+            @Value("${florax.dashboard.guard.half-open-calls:3}") int halfOpenCalls,
+            @Value("${florax.dashboard.guard.max-entries:5000}") int maxEntries) {
+        this.budget = budget;
+        this.acquireTimeoutMs = Math.max(0, acquireTimeoutMs);
+        this.slowCallMs = slowCallMs;
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.openMs = openMs;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Loads a dashboard response for the user, or returns the kept one marked
+     * stale. request identifies the response (path and query); etag is the
+     * tag the loaded body is served with.
+     */
+    public <T> Result<T> read(Long userId, String request, String etag, Supplier<T> load) {
+        Key key = new Key(userId, request);
+        Good last = kept(key);
+        if (last != null && !allowCall()) {
+            refreshInBackground(key, etag, load);
+            return stale(last);
+        }
+
+        if (!budget.tryEnter(acquireTimeoutMs)) {
+            rejected.increment();
+            record(false);
+            if (last != null)
+                return stale(last);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Dashboard is busy, try again shortly");
+        }
+        inFlight.incrementAndGet();
+        try {
+            T body = timed(load);
+            keep(key, body, etag);
+            return new Result<>(body, etag, false, 0);
+        } catch (RuntimeException e) {
+            if (last == null || !isDatabaseFailure(e))
+                throw e;
+            log.warn("Dashboard read {} failed, serving the last good result: {}", request, e.getMessage());
+            return stale(last);
+        } finally {
+            inFlight.decrementAndGet();
+            budget.exit();
+        }
+    }
+
+    // Runs load and reports the outcome to the breaker
+    private <T> T timed(Supplier<T> load) {
+        long start = System.nanoTime();
+        try {
+            T body = load.get();
+            record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) <= slowCallMs);
+            return body;
+        } catch (RuntimeException e) {
+            // An unknown or foreign id still means the database answered
+            record(!isDatabaseFailure(e));
+            throw e;
+        }
+    }
+
+    // At most one per key; skipped when no connection is free, the next stale read tries again
+    private <T> void refreshInBackground(Key key, String etag, Supplier<T> load) {
+        if (!refreshing.add(key))
+            return;
+        refreshes.increment();
+        executor.execute(() -> {
+            try {
+                if (!budget.tryEnter(0))
+                    return;
+                try {
+                    keep(key, timed(load), etag);
+                } finally {
+                    budget.exit();
+                }
+            } catch (RuntimeException e) {
+                log.debug("Background refresh of dashboard read {} failed: {}", key.request(), e.getMessage());
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Result<T> stale(Good good) {
+        staleServed.increment();
+        long age = TimeUnit.MILLISECONDS.toSeconds(Math.max(0, System.currentTimeMillis() - good.loadedAt()));
+        return new Result<>((T) good.body(), good.etag(), true, age);
+    }
+
+    private static boolean isDatabaseFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause())
+            if (t instanceof DataAccessException || t instanceof TransactionException || t instanceof SQLException)
+                return true;
+        return false;
+    }
+
+    // ── Kept results ──────────────────────────────────────────────────────────
+
+    private Good kept(Key key) {
+        synchronized (lastGood) {
+            return lastGood.get(key);
+        }
+    }
+
+    private void keep(Key key, Object body, String etag) {
+        synchronized (lastGood) {
+            lastGood.put(key, new Good(body, etag, System.currentTimeMillis()));
+            if (lastGood.size() > maxEntries)
+                lastGood.pollFirstEntry();
+        }
+    }
+
+    // ── Circuit breaker ───────────────────────────────────────────────────────
+
+    private synchronized boolean allowCall() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMs) {
+            state = State.HALF_OPEN;
+            halfOpenAdmitted = 0;
+            halfOpenSucceeded = 0;
+            log.info("Dashboard read breaker half-open, trying {} reads", halfOpenCalls);
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> halfOpenAdmitted++ < halfOpenCalls;
+        };
+    }
+
+    private synchronized void record(boolean ok) {
+        switch (state) {
+            case CLOSED -> {
+                if (windowCalls == window.length) {
+                    if (window[windowNext])
+                        windowFailures--;
+                } else {
+                    windowCalls++;
+                }
+                window[windowNext] = !ok;
+                if (!ok)
+                    windowFailures++;
+                windowNext = (windowNext + 1) % window.length;
+                if (windowCalls == window.length && windowFailures * 100 >= failureRateThreshold * windowCalls)
+                    open(windowFailures + " of the last " + windowCalls + " reads failed or were slow");
+            }
+            case HALF_OPEN -> {
+                if (!ok)
+                    open("a trial read failed or was slow");
+                else if (++halfOpenSucceeded >= halfOpenCalls)
+                    close();
+            }
+            case OPEN -> {
+                // Late results of reads started before the breaker opened
+            }
+        }
+    }
+
+    private void open(String reason) {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        log.warn("Dashboard read breaker open for {} ms: {}", openMs, reason);
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        windowCalls = 0;
+        windowFailures = 0;
+        windowNext = 0;
+        log.info("Dashboard read breaker closed");
+    }
+
+    // ── Metrics ───────────────────────────────────────────────────────────────
+
+    public DashboardReadGuardStatsDTO getStats() {
+        DashboardReadGuardStatsDTO.DashboardReadGuardStatsDTOBuilder stats = DashboardReadGuardStatsDTO.builder()
+                .readsInFlight(inFlight.get())
+                .connectionsInUse(budget.getConnectionsInUse())
+                .maxConnections(budget.getMaxConnections())
+                .readsRejected(rejected.sum())
+                .staleServed(staleServed.sum())
+                .refreshesStarted(refreshes.sum());
+        synchronized (lastGood) {
+            stats.keptResults(lastGood.size());
+        }
+        synchronized (this) {
+            stats.state(state.name()).windowCalls(windowCalls).windowFailures(windowFailures);
+        }
+        return stats.build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.FloraX.Service.Impl;
 
+import com.example.FloraX.Cache.LatestReadingCache;
 import com.example.FloraX.Dto.*;
 import com.example.FloraX.Entity.*;
+import com.example.FloraX.Enum.SensorType;
 import com.example.FloraX.Mapper.DashboardMapper;
 import com.example.FloraX.Repository.*;
 import com.example.FloraX.Service.DashboardService;
+import com.example.FloraX.Service.IrrigationLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -27,13 +30,14 @@ public class DashboardServiceImpl implements DashboardService {
 
     private final DashboardMapper dashboardMapper;
     private final ZonesRepository zonesRepository;
-    private final SensorReadingsRepository sensorReadingsRepository;
     private final IrrigationLogsRepository irrigationLogsRepository;
     private final AlertsRepository alertsRepository;
     private final SensorsRepository sensorsRepository;
     private final WaterTanksRepository waterTanksRepository;
     private final ValvesRepository valvesRepository;
     private final GardensRepository gardensRepository;
+    private final LatestReadingCache readingCache;
+    private final IrrigationLogService irrigationLogService;
 
     @Override
     public GardenDTO getGardenDashboard(Long gardenId) {
@@ -96,15 +100,7 @@ public class DashboardServiceImpl implements DashboardService {
     public List<IrrigationLogDTO> getRecentIrrigationLogs(Long gardenId, int limit) {
         log.debug("Fetching {} recent irrigation logs for garden: {}", limit, gardenId);
         
-        List<IrrigationLogs> logs = irrigationLogsRepository
-                .findByZone_Garden_GardenIdOrderByStartTimeDesc(gardenId)
-                .stream()
-                .limit(limit)
-                .collect(Collectors.toList());
-        
-        return logs.stream()
-                .map(dashboardMapper::toLogDTO)
-                .collect(Collectors.toList());
+        return irrigationLogService.getGardenLogs(gardenId, null, limit).getLogs();
     }
 
     @Override
@@ -115,10 +111,10 @@ public class DashboardServiceImpl implements DashboardService {
         
         return sensors.stream()
                 .map(sensor -> {
-                    SensorReadings latestReading = sensorReadingsRepository
-                            .findTopBySensor_SensorIdOrderByRecordedAtDesc(sensor.getSensorId())
-                            .orElse(null);
-                    return dashboardMapper.toSensorDTO(sensor, latestReading);
+                    LatestReadingCache.Reading latest = readingCache.latestForSensor(sensor.getSensorId());
+                    return latest != null
+                            ? dashboardMapper.toSensorDTO(sensor, latest.getValue(), latest.getRecordedAt())
+                            : dashboardMapper.toSensorDTO(sensor, null);
                 })
                 .collect(Collectors.toList());
     }
@@ -173,14 +169,10 @@ public class DashboardServiceImpl implements DashboardService {
 
     /**
      * Helper method to get the latest moisture reading for a zone.
+     * Served from LatestReadingCache.
      */
     private Double getLatestZoneReading(Long zoneId) {
-        return sensorsRepository.findByZone_ZoneIdAndSensorType(zoneId, "MOISTURE")
-                .stream()
-                .findFirst()
-                .flatMap(sensor -> sensorReadingsRepository
-                        .findTopBySensor_SensorIdOrderByRecordedAtDesc(sensor.getSensorId())
-                        .map(SensorReadings::getValue))
-                .orElse(null);
+        LatestReadingCache.Reading latest = readingCache.latestForZone(zoneId, SensorType.MOISTURE);
+        return latest != null ? latest.getValue() : null;
     }
 }
@@ -0,0 +1,187 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Cache.DashboardVersions;
+import com.example.FloraX.Cache.OwnershipIndex;
+import com.example.FloraX.Dto.GardenDTO;
+import com.example.FloraX.Event.AlertChangedEvent;
+import com.example.FloraX.Event.IrrigationLoggedEvent;
+import com.example.FloraX.Repository.Projection.IrrigationTotals;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Materialized /me dashboards of the most recently active users.
+ *
+ * A snapshot holds one slice per garden, as built by UserDashboardServiceImpl
+ * (garden fields, zones, latest logs and alerts), and the day's irrigation
+ * totals. Events only mark what they touch: an alert marks its garden, an
+ * irrigation log its garden and the totals, and the next read reloads just
+ * those. Moisture is not part of a snapshot; it is taken from
+ * LatestReadingCache on every read, so readings never invalidate one. Edits
+ * of gardens or zones (the layout version of DashboardVersions) and a new day
+ * discard the snapshot.
+ *
+ * A snapshot is registered before its data is loaded, so changes committed
+ * while it is being built are marked on it too. At most max-users snapshots
+ * are kept; the one read least recently is evicted first. With enabled=false
+ * nothing is kept and every read builds the dashboard afresh.
+ */
+@Component
+public class DashboardSnapshots {
+
+    // A garden's part of the dashboard, with the start of each zone's last irrigation
+    public record GardenSlice(GardenDTO garden, Map<Long, LocalDateTime> lastIrrigatedByZone) {
+    }
+
+    public static final class Snapshot {
+        private final LocalDate day;
+        private final long layoutVersion;
+        private final Set<Long> staleGardens = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean staleTotals = new AtomicBoolean();
+        private volatile Map<Long, GardenSlice> gardens;
+        private volatile long irrigationsToday;
+        private volatile double waterUsedToday;
+
+        private Snapshot(LocalDate day, long layoutVersion) {
+            this.day = day;
+            this.layoutVersion = layoutVersion;
+        }
+
+        public void fill(List<GardenSlice> slices, IrrigationTotals today) {
+            Map<Long, GardenSlice> byGarden = new LinkedHashMap<>();
+            for (GardenSlice slice : slices)
+                byGarden.put(slice.garden().getGardenId(), slice);
+            setToday(today);
+            gardens = byGarden;
+        }
+
+        // Copy on write: readers keep iterating the map they started with
+        public synchronized void replace(List<GardenSlice> slices) {
+            Map<Long, GardenSlice> byGarden = new LinkedHashMap<>(gardens);
+            for (GardenSlice slice : slices)
+                byGarden.replace(slice.garden().getGardenId(), slice);
+            gardens = byGarden;
+        }
+
+        public void setToday(IrrigationTotals today) {
+            irrigationsToday = today.getEventCount() != null ? today.getEventCount() : 0L;
+            waterUsedToday = today.getTotalVolume() != null ? today.getTotalVolume() : 0.0;
+        }
+
+        // Marks are cleared before reloading, so a change during the reload marks again
+        public Set<Long> takeStaleGardens() {
+            Set<Long> taken = new HashSet<>();
+            for (Iterator<Long> it = staleGardens.iterator(); it.hasNext(); ) {
+                taken.add(it.next());
+                it.remove();
+            }
+            return taken;
+        }
+
+        public boolean takeStaleTotals() {
+            return staleTotals.getAndSet(false);
+        }
+
+        public Collection<GardenSlice> gardens() {
+            return gardens.values();
+        }
+
+        public long getIrrigationsToday() {
+            return irrigationsToday;
+        }
+
+        public double getWaterUsedToday() {
+            return waterUsedToday;
+        }
+
+        private boolean isReady() {
+            return gardens != null;
+        }
+    }
+
+    private final DashboardVersions versions;
+    private final OwnershipIndex ownership;
+    private final boolean enabled;
+    private final int maxUsers;
+
+    // Insertion order, moved to the end on every read
+    private final LinkedHashMap<Long, Snapshot> snapshots = new LinkedHashMap<>();
+
+    public DashboardSnapshots(DashboardVersions versions,
+            OwnershipIndex ownership,
+            @Value("${florax.dashboard.snapshot.enabled:true}") boolean enabled,
+            @Value("${florax.dashboard.snapshot.max-users:1000}") int maxUsers) {
+        this.versions = versions;
+        this.ownership = ownership;
+        this.enabled = enabled;
+        this.maxUsers = Math.max(1, maxUsers);
+    }
+
+    /**
+     * The user's snapshot if it is complete and current, otherwise null.
+     */
+    public synchronized Snapshot get(Long userId) {
+        if (!enabled)
+            return null;
+        Snapshot snapshot = snapshots.remove(userId);
+        if (snapshot == null)
+            return null;
+        if (!snapshot.day.equals(LocalDate.now()) || snapshot.layoutVersion != versions.layoutVersion(userId))
+            return null;
+        snapshots.put(userId, snapshot);
+        return snapshot.isReady() ? snapshot : null;
+    }
+
+    /**
+     * Registers an empty snapshot for the user, to be filled by the caller
+     * (not registered when snapshots are disabled).
+     */
+    public synchronized Snapshot begin(Long userId) {
+        Snapshot snapshot = new Snapshot(LocalDate.now(), versions.layoutVersion(userId));
+        if (!enabled)
+            return snapshot;
+        snapshots.remove(userId);
+        snapshots.put(userId, snapshot);
+        if (snapshots.size() > maxUsers)
+            snapshots.pollFirstEntry();
+        return snapshot;
+    }
+
+    public synchronized int size() {
+        return snapshots.size();
+    }
+
+    // ── Domain events ─────────────────────────────────────────────────────────
+    // Applied once the change has committed, or at once outside a transaction
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlertChanged(AlertChangedEvent event) {
+        Snapshot snapshot = peek(event.getUserId());
+        if (snapshot != null && event.getGardenId() != null)
+            snapshot.staleGardens.add(event.getGardenId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIrrigationLogged(IrrigationLoggedEvent event) {
+        Snapshot snapshot = peek(ownership.ownerOfZone(event.getZoneId()));
+        if (snapshot == null)
+            return;
+        long gardenId = ownership.gardenOfZone(event.getZoneId());
+        if (gardenId > 0)
+            snapshot.staleGardens.add(gardenId);
+        if (event.getStartTime() == null || !event.getStartTime().toLocalDate().isBefore(snapshot.day))
+            snapshot.staleTotals.set(true);
+    }
+
+    // Looks a snapshot up without counting as a read
+    private synchronized Snapshot peek(Long userId) {
+        return userId != null ? snapshots.get(userId) : null;
+    }
+}
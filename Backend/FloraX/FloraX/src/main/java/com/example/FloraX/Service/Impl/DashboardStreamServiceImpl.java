@@ -0,0 +1,284 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Cache.ExpiringCache;
+import com.example.FloraX.Cache.LatestReadingCache;
+import com.example.FloraX.Cache.UserPrincipalCache;
+import com.example.FloraX.Dto.DashboardDeltaDTO;
+import com.example.FloraX.Enum.SensorType;
+import com.example.FloraX.Event.*;
+import com.example.FloraX.Mapper.DashboardMapper;
+import com.example.FloraX.Repository.Projection.ZoneRouting;
+import com.example.FloraX.Repository.ZoneRepository;
+import com.example.FloraX.Service.DashboardStreamService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of DashboardStreamService.
+ *
+ * SseEmitter runs on servlet async support, so an idle stream holds a socket
+ * but no request thread. Each subscriber owns a small mailbox drained on a
+ * virtual thread: deltas reach a client in order, and a slow client never
+ * blocks the thread that published the event or other subscribers.
+ *
+ * The mailbox is bounded. A client that falls that far behind is
+ * disconnected rather than sent a stream with holes in it; on reconnect it
+ * reloads the dashboard and is current again.
+ *
+ * Zone owners and moisture thresholds are cached for zone-cache-seconds,
+ * so a threshold or ownership change reaches the deltas within that time.
+ */
+@Service
+@Slf4j
+public class DashboardStreamServiceImpl implements DashboardStreamService {
+
+    private final UserPrincipalCache principalCache;
+    private final ZoneRepository zoneRepository;
+    private final LatestReadingCache readingCache;
+    private final DashboardMapper mapper;
+    private final long timeoutMs;
+    private final int mailboxCapacity;
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExpiringCache<Long, ZoneRouting> zoneRoutes;
+
+    public DashboardStreamServiceImpl(UserPrincipalCache principalCache,
+            ZoneRepository zoneRepository,
+            LatestReadingCache readingCache,
+            DashboardMapper mapper,
+            @Value("${florax.stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${florax.stream.mailbox-capacity:256}") int mailboxCapacity,
+            @Value("${florax.stream.zone-cache-seconds:60}") long zoneCacheSeconds) {
+        this.principalCache = principalCache;
+        this.zoneRepository = zoneRepository;
+        this.readingCache = readingCache;
+        this.mapper = mapper;
+        this.timeoutMs = timeoutMs;
+        this.mailboxCapacity = mailboxCapacity;
+        this.zoneRoutes = new ExpiringCache<>(100_000, zoneCacheSeconds * 1000);
+    }
+
+    @Override
+    public SseEmitter subscribe(String email) {
+        Long userId = principalCache.getByEmail(email).getUserId();
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        subscriber.enqueue(SseEmitter.event().name("ready").data("connected"));
+        return emitter;
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // DOMAIN EVENTS → DELTAS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @EventListener
+    public void onReadingsIngested(SensorReadingsIngestedEvent event) {
+        if (subscribers.isEmpty())
+            return;
+
+        // Latest moisture reading per zone in this batch
+        Map<Long, IngestedReading> latestByZone = new HashMap<>();
+        for (IngestedReading r : event.getReadings()) {
+            LatestReadingCache.Placement p = readingCache.placementOf(r.getSensorId());
+            if (p == null || p.getZoneId() == null || p.getSensorType() != SensorType.MOISTURE)
+                continue;
+            latestByZone.merge(p.getZoneId(), r,
+                    (a, b) -> b.getRecordedAt().isBefore(a.getRecordedAt()) ? a : b);
+        }
+        if (latestByZone.isEmpty())
+            return;
+
+        Map<Long, ZoneRouting> routes = resolveRoutes(latestByZone.keySet());
+        latestByZone.forEach((zoneId, r) -> {
+            ZoneRouting route = routes.get(zoneId);
+            if (route == null || !subscribers.containsKey(route.getUserId()))
+                return;
+            publish(route.getUserId(), "zone-moisture", DashboardDeltaDTO.builder()
+                    .type("ZONE_MOISTURE")
+                    .gardenId(route.getGardenId())
+                    .zoneId(zoneId)
+                    .value(r.getValue())
+                    .status(mapper.resolveZoneStatus(route.getMoistureThresholdMin(),
+                            route.getMoistureThresholdMax(), r.getValue()))
+                    .timestamp(r.getRecordedAt())
+                    .build());
+        });
+    }
+
+    @EventListener
+    public void onValveStatusChanged(ValveStatusChangedEvent event) {
+        publish(event.getUserId(), "valve-status", DashboardDeltaDTO.builder()
+                .type("VALVE_STATUS")
+                .gardenId(event.getGardenId())
+                .zoneId(event.getZoneId())
+                .valveId(event.getValveId())
+                .status(event.getStatus() != null ? event.getStatus().name() : null)
+                .timestamp(event.getLastActivatedAt())
+                .build());
+    }
+
+    @EventListener
+    public void onAlertChanged(AlertChangedEvent event) {
+        publish(event.getUserId(), "alert", DashboardDeltaDTO.builder()
+                .type("ALERT")
+                .gardenId(event.getGardenId())
+                .zoneId(event.getZoneId())
+                .alertId(event.getAlertId())
+                .alertType(event.getAlertType() != null ? event.getAlertType().name() : null)
+                .status(event.getStatus() != null ? event.getStatus().name() : null)
+                .message(event.getMessage())
+                .timestamp(event.getCreatedAt())
+                .build());
+    }
+
+    @EventListener
+    public void onTankLevelChanged(TankLevelChangedEvent event) {
+        Double fillPct = null;
+        if (event.getCapacityLiters() != null && event.getCurrentLevelLiters() != null
+                && event.getCapacityLiters() > 0) {
+            fillPct = Math.round(
+                    (event.getCurrentLevelLiters() / event.getCapacityLiters()) * 1000.0) / 10.0;
+        }
+        publish(event.getUserId(), "tank-level", DashboardDeltaDTO.builder()
+                .type("TANK_LEVEL")
+                .gardenId(event.getGardenId())
+                .tankId(event.getTankId())
+                .value(event.getCurrentLevelLiters())
+                .fillPercentage(fillPct)
+                .status(event.getStatus() != null ? event.getStatus().name() : null)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
+    // Comment line every 25s so proxies keep the connection open and dead
+    // clients are detected
+    @Scheduled(fixedRateString = "${florax.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(s -> s.enqueue(SseEmitter.event().comment("ping"))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+        senders.shutdown();
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private void publish(Long userId, String name, DashboardDeltaDTO delta) {
+        if (userId == null)
+            return;
+        Set<Subscriber> set = subscribers.get(userId);
+        if (set == null)
+            return;
+        for (Subscriber s : set)
+            s.enqueue(SseEmitter.event().name(name).data(delta));
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    // Cached routes of the zones, loading the missing or expired ones in one query
+    private Map<Long, ZoneRouting> resolveRoutes(Set<Long> zoneIds) {
+        Map<Long, ZoneRouting> routes = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        for (Long zoneId : zoneIds) {
+            ZoneRouting route = zoneRoutes.get(zoneId);
+            if (route != null)
+                routes.put(zoneId, route);
+            else
+                missing.add(zoneId);
+        }
+        if (!missing.isEmpty()) {
+            for (ZoneRouting z : zoneRepository.findRoutingByZoneIds(missing)) {
+                zoneRoutes.put(z.getZoneId(), z);
+                routes.put(z.getZoneId(), z);
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * One open stream. Events are queued and sent by at most one virtual
+     * thread at a time, which keeps them in order.
+     */
+    private final class Subscriber {
+        final Long userId;
+        final SseEmitter emitter;
+        final Queue<SseEmitter.SseEventBuilder> mailbox = new LinkedBlockingQueue<>(mailboxCapacity);
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed.get())
+                return;
+            if (!mailbox.offer(event)) {
+                overflow();
+                return;
+            }
+            if (draining.compareAndSet(false, true))
+                senders.execute(this::drain);
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder next;
+                while ((next = mailbox.poll()) != null)
+                    emitter.send(next);
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping dashboard stream for user {}: {}", userId, e.getMessage());
+                closed.set(true);
+                mailbox.clear();
+                remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event may have arrived between the last poll and releasing the flag
+            if (!mailbox.isEmpty() && draining.compareAndSet(false, true))
+                senders.execute(this::drain);
+        }
+
+        private void overflow() {
+            if (!closed.compareAndSet(false, true))
+                return;
+            log.warn("Dashboard stream for user {} fell {} events behind, disconnecting", userId, mailboxCapacity);
+            mailbox.clear();
+            remove(this);
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Dto.DeviceCommandDTO;
+import com.example.FloraX.Entity.DeviceCommands;
+import com.example.FloraX.Entity.Pumps;
+import com.example.FloraX.Entity.Valves;
+import com.example.FloraX.Enum.CommandAction;
+import com.example.FloraX.Enum.CommandStatus;
+import com.example.FloraX.Enum.DeviceType;
+import com.example.FloraX.Enum.PumpStatus;
+import com.example.FloraX.Enum.ValveStatus;
+import com.example.FloraX.Event.DeviceAck;
+import com.example.FloraX.Event.DeviceCommandFailedEvent;
+import com.example.FloraX.Event.DeviceAcksReceivedEvent;
+import com.example.FloraX.Event.ValveStatusChangedEvent;
+import com.example.FloraX.Gateway.DeviceCommandMessage;
+import com.example.FloraX.Gateway.DeviceGateway;
+import com.example.FloraX.Mapper.DashboardMapper;
+import com.example.FloraX.Repository.DeviceCommandsRepository;
+import com.example.FloraX.Repository.PumpsRepository;
+import com.example.FloraX.Repository.ValvesRepository;
+import com.example.FloraX.Service.DeviceCommandService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of DeviceCommandService.
+ *
+ * HTTP requests and automatic irrigation only insert rows into
+ * device_commands; the dispatcher scans the open commands in queue order,
+ * keeps the oldest one of each device in flight and hands them to the
+ * DeviceGateway in per-garden batches without waiting for the answers, so
+ * a slow device only delays its own next command. A command is resent when
+ * its ack does not arrive within ack-timeout-ms, or with exponential backoff
+ * after a negative ack, and becomes FAILED after max-attempts sends.
+ *
+ * An acknowledged command is applied to its valve or pump, whoever sent it;
+ * valve changes publish a ValveStatusChangedEvent once committed, and a
+ * command that becomes FAILED publishes a DeviceCommandFailedEvent, so the
+ * stored state never claims a position the device did not confirm and the
+ * failure is not only logged. Commands carry a
+ * version, so an ack racing with a resend of the same command makes one of
+ * the two transactions fail and retry instead of overwriting the other.
+ */
+@Service
+@Slf4j
+public class DeviceCommandServiceImpl implements DeviceCommandService {
+
+    private static final List<CommandStatus> OPEN = List.of(CommandStatus.PENDING, CommandStatus.SENT);
+    private static final int MAX_COMMAND_ID_LENGTH = 64;
+    private static final int MAX_ERROR_LENGTH = 255;
+    private static final int ACK_TRANSACTION_ATTEMPTS = 3;
+
+    private final DeviceCommandsRepository commandsRepository;
+    private final ValvesRepository valvesRepository;
+    private final PumpsRepository pumpsRepository;
+    private final DeviceGateway gateway;
+    private final DashboardMapper mapper;
+    private final TransactionTemplate transactionTemplate;
+    // Commands with a client id are inserted on their own, so a duplicate key does not doom the caller's transaction
+    private final TransactionTemplate separate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int scanLimit;
+    private final int maxAttempts;
+    private final long ackTimeoutMs;
+    private final long retryBackoffMs;
+    // One dispatch at a time; it waits on the database and the gateway, so no synchronized
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+
+    public DeviceCommandServiceImpl(DeviceCommandsRepository commandsRepository,
+            ValvesRepository valvesRepository,
+            PumpsRepository pumpsRepository,
+            DeviceGateway gateway,
+            DashboardMapper mapper,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${florax.actuation.batch-size:200}") int batchSize,
+            @Value("${florax.actuation.scan-limit:5000}") int scanLimit,
+            @Value("${florax.actuation.max-attempts:5}") int maxAttempts,
+            @Value("${florax.actuation.ack-timeout-ms:5000}") long ackTimeoutMs,
+            @Value("${florax.actuation.retry-backoff-ms:1000}") long retryBackoffMs) {
+        this.commandsRepository = commandsRepository;
+        this.valvesRepository = valvesRepository;
+        this.pumpsRepository = pumpsRepository;
+        this.gateway = gateway;
+        this.mapper = mapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.separate = new TransactionTemplate(transactionManager);
+        this.separate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = Math.max(1, batchSize);
+        this.scanLimit = Math.max(1, scanLimit);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.ackTimeoutMs = ackTimeoutMs;
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    // ── Queue ─────────────────────────────────────────────────────────────────
+
+    @Override
+    public DeviceCommandDTO submit(Long userId, Long gardenId, DeviceType deviceType, Long deviceId,
+            CommandAction action, String commandId) {
+        if (commandId == null) {
+            String generated = UUID.randomUUID().toString();
+            return transactionTemplate.execute(status ->
+                    insert(userId, gardenId, deviceType, deviceId, action, generated));
+        }
+        if (commandId.isBlank() || commandId.length() > MAX_COMMAND_ID_LENGTH)
+            throw new RuntimeException("Command id must be 1 to " + MAX_COMMAND_ID_LENGTH + " characters");
+        Optional<DeviceCommands> existing = commandsRepository.findByCommandId(commandId);
+        if (existing.isPresent())
+            return sameCommand(existing.get(), userId, deviceType, deviceId, action);
+        try {
+            return separate.execute(status -> insert(userId, gardenId, deviceType, deviceId, action, commandId));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent submit of the same id won uk_device_commands_command_id; read it in a fresh snapshot
+            DeviceCommands stored = separate.execute(status -> commandsRepository.findByCommandId(commandId)
+                    .orElse(null));
+            if (stored == null)
+                throw e;
+            return sameCommand(stored, userId, deviceType, deviceId, action);
+        }
+    }
+
+    private DeviceCommandDTO sameCommand(DeviceCommands c, Long userId, DeviceType deviceType, Long deviceId,
+            CommandAction action) {
+        if (!Objects.equals(c.getUserId(), userId) || c.getDeviceType() != deviceType
+                || !c.getDeviceId().equals(deviceId) || c.getAction() != action)
+            throw new RuntimeException("Command id " + c.getCommandId() + " was already used for another command");
+        return mapper.toCommandDTO(c);
+    }
+
+    private DeviceCommandDTO insert(Long userId, Long gardenId, DeviceType deviceType, Long deviceId,
+            CommandAction action, String commandId) {
+        // Only the newest wish for a device matters until it has been sent
+        commandsRepository.supersedePending(deviceType, deviceId);
+
+        LocalDateTime now = LocalDateTime.now();
+        DeviceCommands command = new DeviceCommands();
+        command.setCommandId(commandId);
+        command.setUserId(userId);
+        command.setGardenId(gardenId);
+        command.setDeviceType(deviceType);
+        command.setDeviceId(deviceId);
+        command.setAction(action);
+        command.setStatus(CommandStatus.PENDING);
+        command.setCreatedAt(now);
+        command.setNextAttemptAt(now);
+        // Flushed here so a duplicate id fails inside this transaction
+        return mapper.toCommandDTO(commandsRepository.saveAndFlush(command));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommandAction pendingAction(DeviceType deviceType, Long deviceId) {
+        List<DeviceCommands> open = commandsRepository.findByDeviceTypeAndDeviceIdAndStatusInOrderByCommandSeq(
+                deviceType, deviceId, OPEN);
+        return open.isEmpty() ? null : open.get(open.size() - 1).getAction();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DeviceCommandDTO getCommand(Long userId, String commandId) {
+        return commandsRepository.findByCommandId(commandId)
+                .filter(c -> Objects.equals(c.getUserId(), userId))
+                .map(mapper::toCommandDTO)
+                .orElseThrow(() -> new RuntimeException("Command not found: " + commandId));
+    }
+
+    // ── Dispatch ──────────────────────────────────────────────────────────────
+
+    @Override
+    @Scheduled(fixedDelayString = "${florax.actuation.dispatch-interval-ms:250}")
+    public void dispatch() {
+        dispatchLock.lock();
+        try {
+            Map<Long, List<DeviceCommandMessage>> outbound;
+            List<DeviceCommandFailedEvent> failures = new ArrayList<>();
+            try {
+                outbound = transactionTemplate.execute(status -> claimDueCommands(LocalDateTime.now(), failures));
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // An ack changed one of the commands meanwhile; nothing was sent, the next run retries
+                log.debug("Dispatch skipped: {}", e.getMessage());
+                return;
+            }
+            failures.forEach(eventPublisher::publishEvent);
+            // Sent after commit, so an ack can never find its command still PENDING
+            outbound.forEach((gardenId, messages) -> {
+                for (int from = 0; from < messages.size(); from += batchSize) {
+                    List<DeviceCommandMessage> batch = messages.subList(from,
+                            Math.min(from + batchSize, messages.size()));
+                    try {
+                        gateway.send(gardenId, batch);
+                    } catch (Exception e) {
+                        // Resent after the ack timeout like any unanswered command
+                        log.warn("Could not send {} commands to the gateway of garden {}: {}",
+                                batch.size(), gardenId, e.getMessage());
+                    }
+                }
+            });
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    private Map<Long, List<DeviceCommandMessage>> claimDueCommands(LocalDateTime now,
+            List<DeviceCommandFailedEvent> failures) {
+        Map<Long, List<DeviceCommandMessage>> outbound = new LinkedHashMap<>();
+        List<DeviceCommands> failed = new ArrayList<>();
+        Set<String> devices = new HashSet<>();
+        LocalDateTime ackDeadline = now.minusNanos(ackTimeoutMs * 1_000_000);
+
+        for (DeviceCommands c : commandsRepository.findByStatusInOrderByCommandSeq(OPEN,
+                PageRequest.of(0, scanLimit))) {
+            // The oldest open command of a device blocks the ones behind it
+            if (!devices.add(c.getDeviceType() + ":" + c.getDeviceId()))
+                continue;
+            if (c.getStatus() == CommandStatus.SENT) {
+                if (c.getSentAt() != null && c.getSentAt().isAfter(ackDeadline))
+                    continue;
+                if (c.getAttempts() >= maxAttempts) {
+                    fail(c, "No acknowledgement after " + c.getAttempts() + " attempts");
+                    failed.add(c);
+                    continue;
+                }
+            } else if (c.getNextAttemptAt() != null && c.getNextAttemptAt().isAfter(now)) {
+                continue;
+            }
+            c.setStatus(CommandStatus.SENT);
+            c.setAttempts(c.getAttempts() + 1);
+            c.setSentAt(now);
+            outbound.computeIfAbsent(c.getGardenId(), g -> new ArrayList<>())
+                    .add(new DeviceCommandMessage(c.getCommandId(), c.getDeviceType(), c.getDeviceId(),
+                            c.getAction(), c.getAttempts()));
+        }
+        failures.addAll(failureEvents(failed));
+        return outbound;
+    }
+
+    // ── Acknowledgements ──────────────────────────────────────────────────────
+
+    @EventListener
+    public void onAcksReceived(DeviceAcksReceivedEvent event) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                acknowledge(event.getAcks());
+                return;
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt == ACK_TRANSACTION_ATTEMPTS) {
+                    // The commands stay SENT, are resent and acknowledged again
+                    log.warn("Dropped {} acks after {} conflicting attempts", event.getAcks().size(), attempt);
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void acknowledge(List<DeviceAck> acks) {
+        if (acks.isEmpty())
+            return;
+        List<Object> events = transactionTemplate.execute(status -> applyAcks(acks, LocalDateTime.now()));
+        events.forEach(eventPublisher::publishEvent);
+    }
+
+    // Valve changes and failures, published once the transaction has committed
+    private List<Object> applyAcks(List<DeviceAck> acks, LocalDateTime now) {
+        Map<String, DeviceAck> byCommandId = new LinkedHashMap<>();
+        for (DeviceAck ack : acks)
+            byCommandId.put(ack.getCommandId(), ack);
+
+        List<DeviceCommands> acked = new ArrayList<>();
+        List<DeviceCommands> failed = new ArrayList<>();
+        for (DeviceCommands c : commandsRepository.findByCommandIdIn(byCommandId.keySet())) {
+            // Duplicate or late answers for commands that are already settled
+            if (c.getStatus() != CommandStatus.SENT && c.getStatus() != CommandStatus.PENDING)
+                continue;
+            DeviceAck ack = byCommandId.get(c.getCommandId());
+            if (ack.isSuccess()) {
+                c.setStatus(CommandStatus.ACKED);
+                c.setAckedAt(now);
+                c.setLastError(null);
+                acked.add(c);
+            } else if (c.getAttempts() >= maxAttempts) {
+                fail(c, ack.getError());
+                failed.add(c);
+            } else {
+                c.setStatus(CommandStatus.PENDING);
+                c.setLastError(truncate(ack.getError()));
+                c.setNextAttemptAt(now.plusNanos(backoffMs(c.getAttempts()) * 1_000_000));
+            }
+        }
+
+        applyToPumps(acked, now);
+        List<Object> events = new ArrayList<>(applyToValves(acked, now));
+        events.addAll(failureEvents(failed));
+        return events;
+    }
+
+    private List<ValveStatusChangedEvent> applyToValves(List<DeviceCommands> acked, LocalDateTime now) {
+        Map<Long, DeviceCommands> byValve = new HashMap<>();
+        for (DeviceCommands c : acked)
+            if (c.getDeviceType() == DeviceType.VALVE)
+                byValve.put(c.getDeviceId(), c);
+        if (byValve.isEmpty())
+            return List.of();
+
+        List<ValveStatusChangedEvent> changes = new ArrayList<>();
+        for (Valves valve : valvesRepository.findWithOwnerByValveIdIn(byValve.keySet())) {
+            DeviceCommands c = byValve.get(valve.getValveId());
+            ValveStatus target = c.getAction() == CommandAction.OPEN ? ValveStatus.OPEN : ValveStatus.CLOSED;
+            // A repeated command for the state the valve is already in
+            if (valve.getValveStatus() == target)
+                continue;
+            valve.setValveStatus(target);
+            if (target == ValveStatus.OPEN)
+                valve.setLastActivatedAt(now);
+            changes.add(new ValveStatusChangedEvent(c.getUserId(), c.getGardenId(),
+                    valve.getZone() != null ? valve.getZone().getZoneId() : null,
+                    valve.getValveId(), target, valve.getLastActivatedAt()));
+        }
+        return changes;
+    }
+
+    private void applyToPumps(List<DeviceCommands> acked, LocalDateTime now) {
+        Map<Long, DeviceCommands> byPump = new HashMap<>();
+        for (DeviceCommands c : acked)
+            if (c.getDeviceType() == DeviceType.PUMP)
+                byPump.put(c.getDeviceId(), c);
+        for (Pumps pump : pumpsRepository.findAllById(byPump.keySet())) {
+            PumpStatus target = byPump.get(pump.getPumpId()).getAction() == CommandAction.START
+                    ? PumpStatus.ON : PumpStatus.OFF;
+            if (pump.getStatus() == target)
+                continue;
+            pump.setStatus(target);
+            if (target == PumpStatus.ON)
+                pump.setLastActivatedAt(now);
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private void fail(DeviceCommands c, String error) {
+        c.setStatus(CommandStatus.FAILED);
+        c.setLastError(truncate(error));
+        log.warn("Command {} ({} {} {}) failed after {} attempts: {}", c.getCommandId(), c.getAction(),
+                c.getDeviceType(), c.getDeviceId(), c.getAttempts(), error);
+    }
+
+    private List<DeviceCommandFailedEvent> failureEvents(List<DeviceCommands> failed) {
+        if (failed.isEmpty())
+            return List.of();
+        Map<Long, Long> zoneByValve = new HashMap<>();
+        List<Long> valveIds = failed.stream()
+                .filter(c -> c.getDeviceType() == DeviceType.VALVE)
+                .map(DeviceCommands::getDeviceId)
+                .toList();
+        if (!valveIds.isEmpty())
+            for (Valves valve : valvesRepository.findWithOwnerByValveIdIn(valveIds))
+                if (valve.getZone() != null)
+                    zoneByValve.put(valve.getValveId(), valve.getZone().getZoneId());
+
+        List<DeviceCommandFailedEvent> events = new ArrayList<>();
+        for (DeviceCommands c : failed)
+            events.add(new DeviceCommandFailedEvent(c.getUserId(), c.getGardenId(),
+                    c.getDeviceType() == DeviceType.VALVE ? zoneByValve.get(c.getDeviceId()) : null,
+                    c.getCommandId(), c.getDeviceType(), c.getDeviceId(), c.getAction(), c.getAttempts(),
+                    c.getLastError()));
+        return events;
+    }
+
+    private long backoffMs(int attempts) {
+        return retryBackoffMs << Math.min(Math.max(attempts - 1, 0), 10);
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
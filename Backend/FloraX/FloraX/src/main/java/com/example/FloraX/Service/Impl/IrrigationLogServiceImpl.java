@@ -0,0 +1,146 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Dto.IrrigationLogPageDTO;
+import com.example.FloraX.Entity.IrrigationLogs;
+import com.example.FloraX.Mapper.DashboardMapper;
+import com.example.FloraX.Repository.IrrigationLogRepository;
+import com.example.FloraX.Repository.ZoneRepository;
+import com.example.FloraX.Service.IrrigationLogService;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of IrrigationLogService.
+ *
+ * A zone page is a single indexed range read. Garden and user pages run one
+ * UNION ALL query with a LIMITed branch per zone (each an index range read),
+ * keep the newest size + 1 ids and then load those logs by id. Logs without
+ * a startTime cannot be placed in the order and are not returned.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class IrrigationLogServiceImpl implements IrrigationLogService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private static final String BRANCH_FIRST = "(SELECT log_id, start_time FROM irrigation_logs " +
+            "WHERE zone_id = ? AND start_time IS NOT NULL ORDER BY start_time DESC, log_id DESC LIMIT ?)";
+    private static final String BRANCH_AFTER = "(SELECT log_id, start_time FROM irrigation_logs " +
+            "WHERE zone_id = ? AND (start_time < ? OR (start_time = ? AND log_id < ?)) " +
+            "ORDER BY start_time DESC, log_id DESC LIMIT ?)";
+
+    private final IrrigationLogRepository irrigationLogRepository;
+    private final ZoneRepository zoneRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DashboardMapper mapper;
+
+    // A position in the (startTime, logId) descending order
+    @Value
+    private static class Cursor {
+        LocalDateTime startTime;
+        long logId;
+    }
+
+    @Override
+    public IrrigationLogPageDTO getZoneLogs(Long zoneId, String cursor, int size) {
+        int pageSize = clamp(size);
+        Cursor after = decode(cursor);
+        List<IrrigationLogs> logs = after == null
+                ? irrigationLogRepository.findPageByZone(zoneId, Limit.of(pageSize + 1))
+                : irrigationLogRepository.findPageByZoneBefore(zoneId, after.getStartTime(), after.getLogId(),
+                        Limit.of(pageSize + 1));
+        return page(logs, pageSize);
+    }
+
+    @Override
+    public IrrigationLogPageDTO getGardenLogs(Long gardenId, String cursor, int size) {
+        return multiZonePage(zoneRepository.findIdsByGardenId(gardenId), cursor, size);
+    }
+
+    @Override
+    public IrrigationLogPageDTO getUserLogs(Long userId, String cursor, int size) {
+        return multiZonePage(zoneRepository.findIdsByUserId(userId), cursor, size);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private IrrigationLogPageDTO multiZonePage(List<Long> zoneIds, String cursor, int size) {
+        int pageSize = clamp(size);
+        Cursor after = decode(cursor);
+        if (zoneIds.isEmpty())
+            return page(List.of(), pageSize);
+        if (zoneIds.size() == 1)
+            return getZoneLogs(zoneIds.get(0), cursor, size);
+
+        StringJoiner sql = new StringJoiner(" UNION ALL ", "", " ORDER BY 2 DESC, 1 DESC LIMIT ?");
+        List<Object> args = new ArrayList<>();
+        for (Long zoneId : zoneIds) {
+            if (after == null) {
+                sql.add(BRANCH_FIRST);
+                args.add(zoneId);
+            } else {
+                Timestamp ts = Timestamp.valueOf(after.getStartTime());
+                sql.add(BRANCH_AFTER);
+                args.addAll(List.of(zoneId, ts, ts, after.getLogId()));
+            }
+            args.add(pageSize + 1);
+        }
+        args.add(pageSize + 1);
+
+        List<Long> ids = jdbcTemplate.query(sql.toString(), (rs, i) -> rs.getLong(1), args.toArray());
+        if (ids.isEmpty())
+            return page(List.of(), pageSize);
+        Map<Long, IrrigationLogs> byId = irrigationLogRepository.findAllWithZoneByIds(ids).stream()
+                .collect(Collectors.toMap(IrrigationLogs::getLogId, Function.identity()));
+        List<IrrigationLogs> ordered = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return page(ordered, pageSize);
+    }
+
+    // logs holds up to pageSize + 1 entries; the extra one only signals another page
+    private IrrigationLogPageDTO page(List<IrrigationLogs> logs, int pageSize) {
+        boolean hasMore = logs.size() > pageSize;
+        List<IrrigationLogs> content = hasMore ? logs.subList(0, pageSize) : logs;
+        IrrigationLogs last = content.isEmpty() ? null : content.get(content.size() - 1);
+        return IrrigationLogPageDTO.builder()
+                .logs(content.stream().map(mapper::toLogDTO).collect(Collectors.toList()))
+                .nextCursor(hasMore && last != null ? encode(last) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static String encode(IrrigationLogs log) {
+        String raw = log.getStartTime() + "|" + log.getLogId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Dto.RequestCoalescingStatsDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-flight execution of identical calls.
+ *
+ * The first call for a key runs; calls with the same key that arrive while
+ * it runs wait for it and get the same result (or exception), and calls
+ * within reuse-ms after it completed get that result without running at
+ * all. Failures are never reused. Callers choose keys that change whenever
+ * the result may change, so reuse never hides a committed write.
+ *
+ * Counters per operation tell how many calls were served by another call's
+ * execution, in flight or afterwards.
+ */
+@Component
+public class RequestCoalescer {
+
+    private record FlightKey(String operation, List<Object> key) {
+    }
+
+    private static final class Flight {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        // 0 while running
+        volatile long completedAt;
+    }
+
+    private static final class Counters {
+        final LongAdder calls = new LongAdder();
+        final LongAdder executions = new LongAdder();
+        final LongAdder joinedInFlight = new LongAdder();
+        final LongAdder reusedResults = new LongAdder();
+    }
+
+    private final long reuseMs;
+    private final Map<FlightKey, Flight> flights = new ConcurrentHashMap<>();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(@Value("${florax.dashboard.coalescing.reuse-ms:500}") long reuseMs) {
+        this.reuseMs = Math.max(0, reuseMs);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, List<Object> key, Callable<T> call) throws Exception {
+        Counters c = counters.computeIfAbsent(operation, op -> new Counters());
+        c.calls.increment();
+        FlightKey flightKey = new FlightKey(operation, key);
+
+        while (true) {
+            Flight flight = new Flight();
+            Flight current = flights.putIfAbsent(flightKey, flight);
+            if (current == null)
+                return run(flightKey, flight, call, c);
+
+            long completedAt = current.completedAt;
+            if (completedAt == 0) {
+                c.joinedInFlight.increment();
+                return (T) await(current);
+            }
+            if (System.currentTimeMillis() - completedAt <= reuseMs) {
+                c.reusedResults.increment();
+                return (T) await(current);
+            }
+            flights.remove(flightKey, current);
+        }
+    }
+
+    private <T> T run(FlightKey key, Flight flight, Callable<T> call, Counters c) throws Exception {
+        c.executions.increment();
+        T value;
+        try {
+            value = call.call();
+        } catch (Exception | Error e) {
+            flights.remove(key, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+        flight.completedAt = System.currentTimeMillis();
+        flight.result.complete(value);
+        if (reuseMs == 0)
+            flights.remove(key, flight);
+        return value;
+    }
+
+    private static Object await(Flight flight) throws Exception {
+        try {
+            return flight.result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause)
+                throw cause;
+            if (e.getCause() instanceof Error error)
+                throw error;
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for an identical request", e);
+        }
+    }
+
+    // Completed flights past the reuse window are otherwise only dropped when their key is seen again
+    @Scheduled(fixedDelay = 10_000)
+    public void sweep() {
+        long cutoff = System.currentTimeMillis() - reuseMs;
+        flights.values().removeIf(f -> f.completedAt != 0 && f.completedAt < cutoff);
+    }
+
+    public List<RequestCoalescingStatsDTO> getStats() {
+        List<RequestCoalescingStatsDTO> stats = new ArrayList<>();
+        counters.forEach((operation, c) -> {
+            long joined = c.joinedInFlight.sum();
+            long reused = c.reusedResults.sum();
+            stats.add(RequestCoalescingStatsDTO.builder()
+                    .operation(operation)
+                    .calls(c.calls.sum())
+                    .executions(c.executions.sum())
+                    .joinedInFlight(joined)
+                    .reusedResults(reused)
+                    .collapsed(joined + reused)
+                    .build());
+        });
+        stats.sort(Comparator.comparing(RequestCoalescingStatsDTO::getOperation));
+        return stats;
+    }
+}
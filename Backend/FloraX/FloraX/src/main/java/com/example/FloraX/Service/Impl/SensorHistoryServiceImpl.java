@@ -0,0 +1,314 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Cache.OwnershipIndex;
+import com.example.FloraX.Cache.SensorHistoryBuffer;
+import com.example.FloraX.Cache.SensorHistoryCache;
+import com.example.FloraX.Cache.UserPrincipalCache;
+import com.example.FloraX.Config.AuthenticatedUser;
+import com.example.FloraX.Config.SensorReadingStorageProperties;
+import com.example.FloraX.Dto.SensorHistoryDTO;
+import com.example.FloraX.Dto.ZoneHistoryDTO;
+import com.example.FloraX.Enum.HistoryResolution;
+import com.example.FloraX.Enum.RollupGranularity;
+import com.example.FloraX.Enum.SensorType;
+import com.example.FloraX.Repository.Projection.SensorPlacement;
+import com.example.FloraX.Repository.SensorRepository;
+import com.example.FloraX.Service.SensorHistoryService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of SensorHistoryService.
+ *
+ * A request is split at the point from which the sensor's SensorHistoryBuffer
+ * is complete: the newer part is read from the buffer, the older part from
+ * MySQL with plain JDBC (raw rows, or sensor_reading_rollups unioned with
+ * raw rows aggregated in SQL). Points are accumulated straight into primitive
+ * arrays, so a week-long chart never materialises SensorReadings entities.
+ *
+ * What MySQL still holds depends on the age of the data and the sensor
+ * type's retention policy: raw rows for rawDays, then 5-minute buckets for
+ * fiveMinuteDays and hourly ones for hourlyDays. The part of a range whose
+ * requested resolution has expired is read from the finest rollups that
+ * still cover it, and a resolution picked by default is never finer than
+ * what is kept at the start of the range.
+ */
+@Service
+public class SensorHistoryServiceImpl implements SensorHistoryService {
+
+    private static final String RAW_SQL = "SELECT recorded_at, value FROM sensor_readings " +
+            "WHERE sensor_id = ? AND recorded_at >= ? AND recorded_at < ? AND value IS NOT NULL " +
+            "ORDER BY recorded_at LIMIT ?";
+
+    private static final String FIVE_MINUTE_BUCKET = "TIMESTAMPADD(MINUTE, FLOOR(MINUTE(recorded_at) / 5) * 5, " +
+            "TIMESTAMPADD(HOUR, HOUR(recorded_at), CAST(recorded_at AS DATE)))";
+    private static final String HOUR_BUCKET = "TIMESTAMPADD(HOUR, HOUR(recorded_at), CAST(recorded_at AS DATE))";
+
+    // Raw readings still present and rollups of deleted ones never overlap in time
+    private static final String FIVE_MINUTE_SQL = bucketSql(FIVE_MINUTE_BUCKET);
+    private static final String HOUR_SQL = bucketSql(HOUR_BUCKET);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SensorHistoryCache historyCache;
+    private final UserPrincipalCache principalCache;
+    private final SensorRepository sensorRepository;
+    private final OwnershipIndex ownership;
+    private final SensorReadingStorageProperties storageProperties;
+    private final int maxPoints;
+
+    public SensorHistoryServiceImpl(JdbcTemplate jdbcTemplate,
+            SensorHistoryCache historyCache,
+            UserPrincipalCache principalCache,
+            SensorRepository sensorRepository,
+            OwnershipIndex ownership,
+            SensorReadingStorageProperties storageProperties,
+            @Value("${florax.history.max-points:20000}") int maxPoints) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.historyCache = historyCache;
+        this.principalCache = principalCache;
+        this.sensorRepository = sensorRepository;
+        this.ownership = ownership;
+        this.storageProperties = storageProperties;
+        this.maxPoints = maxPoints;
+    }
+
+    @Override
+    public SensorHistoryDTO getSensorHistory(String email, Long sensorId, LocalDateTime from, LocalDateTime to,
+            HistoryResolution resolution) {
+        AuthenticatedUser user = principalCache.getByEmail(email);
+        SensorPlacement sensor = sensorRepository.findPlacementForUser(user.getUserId(), sensorId)
+                .orElseThrow(() -> new RuntimeException("Sensor " + sensorId + " does not belong to user"));
+        return history(sensor, from, to, resolve(resolution, sensor.getSensorType(), from, to));
+    }
+
+    @Override
+    public ZoneHistoryDTO getZoneHistory(String email, Long zoneId, SensorType sensorType, LocalDateTime from,
+            LocalDateTime to, HistoryResolution resolution) {
+        AuthenticatedUser user = principalCache.getByEmail(email);
+        if (!ownership.ownsZone(user.getUserId(), zoneId))
+            throw new RuntimeException("Zone " + zoneId + " does not belong to user");
+
+        SensorType type = sensorType != null ? sensorType : SensorType.MOISTURE;
+        HistoryResolution res = resolve(resolution, type, from, to);
+        List<SensorHistoryDTO> sensors = sensorRepository
+                .findPlacementsInZoneForUser(user.getUserId(), zoneId, type).stream()
+                .map(s -> history(s, from, to, res))
+                .collect(Collectors.toList());
+        return ZoneHistoryDTO.builder()
+                .zoneId(zoneId)
+                .sensorType(type)
+                .sensors(sensors)
+                .build();
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private HistoryResolution resolve(HistoryResolution resolution, SensorType type, LocalDateTime from,
+            LocalDateTime to) {
+        if (!from.isBefore(to))
+            throw new RuntimeException("History range is empty: from must be before to");
+        if (resolution != null)
+            return resolution;
+        long fromMs = SensorHistoryCache.toMillis(from);
+        HistoryResolution picked = HistoryResolution.forRange(SensorHistoryCache.toMillis(to) - fromMs);
+        // Never finer than what is still kept at the start of the range
+        if (picked == HistoryResolution.RAW && fromMs < keptFrom(type, HistoryResolution.RAW))
+            picked = HistoryResolution.FIVE_MINUTES;
+        if (picked == HistoryResolution.FIVE_MINUTES && fromMs < keptFrom(type, HistoryResolution.FIVE_MINUTES))
+            picked = HistoryResolution.HOUR;
+        return picked;
+    }
+
+    // Wall-clock millis from which the type's data is still kept at the given resolution
+    private long keptFrom(SensorType type, HistoryResolution resolution) {
+        SensorReadingStorageProperties.Policy policy = storageProperties.policyFor(type);
+        long raw = retainedFrom(policy.getRawDays());
+        return switch (resolution) {
+            case RAW -> raw;
+            // Rollup reads include the raw rows not rolled up yet
+            case FIVE_MINUTES -> Math.min(raw, retainedFrom(policy.getFiveMinuteDays()));
+            case HOUR, DAY -> Math.min(raw, retainedFrom(policy.getHourlyDays()));
+        };
+    }
+
+    // Same cut-off as SensorReadingRetentionServiceImpl; 0 days keeps the data forever
+    private static long retainedFrom(int days) {
+        return days > 0 ? SensorHistoryCache.toMillis(LocalDate.now().minusDays(days).atStartOfDay()) : Long.MIN_VALUE;
+    }
+
+    private SensorHistoryDTO history(SensorPlacement sensor, LocalDateTime from, LocalDateTime to,
+            HistoryResolution resolution) {
+        long bucket = resolution.getBucketMillis();
+        long fromMs = SensorHistoryCache.toMillis(from);
+        long toMs = SensorHistoryCache.toMillis(to);
+        if (bucket > 0)
+            fromMs = Math.floorDiv(fromMs, bucket) * bucket;
+
+        Series series = new Series(bucket, maxPoints);
+        // A range that ends before the buffered window neither loads nor touches a buffer
+        if (toMs <= historyCache.windowStart()) {
+            readDatabase(series, sensor, resolution, fromMs, toMs);
+        } else {
+            SensorHistoryBuffer buffer = historyCache.buffer(sensor.getSensorId());
+            long split = Math.max(fromMs, buffer.coveredFrom());
+            if (bucket > 0)
+                split = Math.floorDiv(split + bucket - 1, bucket) * bucket;
+            split = Math.min(split, toMs);
+
+            if (fromMs < split)
+                readDatabase(series, sensor, resolution, fromMs, split);
+            if (split < toMs)
+                buffer.forEachBetween(split, toMs, series::add);
+        }
+
+        return series.toDTO(SensorHistoryDTO.builder()
+                .sensorId(sensor.getSensorId())
+                .zoneId(sensor.getZoneId())
+                .sensorType(sensor.getSensorType())
+                .resolution(resolution)
+                .from(from)
+                .to(to));
+    }
+
+    // Oldest part first: each resolution from the requested one up to HOUR reads the
+    // part of the range that the next finer one no longer covers
+    private void readDatabase(Series series, SensorPlacement sensor, HistoryResolution resolution, long fromMs,
+            long toMs) {
+        List<HistoryResolution> levels = switch (resolution) {
+            case RAW -> List.of(HistoryResolution.RAW, HistoryResolution.FIVE_MINUTES, HistoryResolution.HOUR);
+            case FIVE_MINUTES -> List.of(HistoryResolution.FIVE_MINUTES, HistoryResolution.HOUR);
+            case HOUR, DAY -> List.of(resolution);
+        };
+        long start = fromMs;
+        for (int i = levels.size() - 1; i >= 0 && start < toMs; i--) {
+            long end = i == 0 ? toMs : Math.min(toMs, keptFrom(sensor.getSensorType(), levels.get(i - 1)));
+            if (start < end) {
+                readDatabase(series, sensor.getSensorId(), levels.get(i), start, end);
+                start = end;
+            }
+        }
+    }
+
+    private void readDatabase(Series series, Long sensorId, HistoryResolution resolution, long fromMs, long toMs) {
+        Timestamp from = timestamp(fromMs);
+        Timestamp to = timestamp(toMs);
+        if (resolution == HistoryResolution.RAW) {
+            jdbcTemplate.query(RAW_SQL, rs -> {
+                series.add(SensorHistoryCache.toMillis(rs.getTimestamp(1).toLocalDateTime()), rs.getDouble(2));
+            }, sensorId, from, to, maxPoints + 1);
+            return;
+        }
+        boolean fiveMinutes = resolution == HistoryResolution.FIVE_MINUTES;
+        String granularity = (fiveMinutes ? RollupGranularity.FIVE_MINUTES : RollupGranularity.HOUR).name();
+        jdbcTemplate.query(fiveMinutes ? FIVE_MINUTE_SQL : HOUR_SQL, rs -> {
+            series.addBucket(SensorHistoryCache.toMillis(rs.getTimestamp(1).toLocalDateTime()),
+                    rs.getDouble(2), rs.getDouble(3), rs.getDouble(4), rs.getLong(5));
+        }, sensorId, granularity, from, to, sensorId, from, to);
+    }
+
+    private static String bucketSql(String bucket) {
+        return "SELECT bucket_start, min_value, max_value, sum_value, sample_count FROM sensor_reading_rollups " +
+                "WHERE sensor_id = ? AND granularity = ? AND bucket_start >= ? AND bucket_start < ? " +
+                "UNION ALL " +
+                "SELECT " + bucket + ", MIN(value), MAX(value), SUM(value), COUNT(value) FROM sensor_readings " +
+                "WHERE sensor_id = ? AND recorded_at >= ? AND recorded_at < ? AND value IS NOT NULL " +
+                "GROUP BY " + bucket + " ORDER BY 1";
+    }
+
+    private static Timestamp timestamp(long wallMillis) {
+        return Timestamp.valueOf(LocalDateTime.ofEpochSecond(Math.floorDiv(wallMillis, 1000L),
+                (int) Math.floorMod(wallMillis, 1000L) * 1_000_000, ZoneOffset.UTC));
+    }
+
+    /**
+     * Points of one series in primitive arrays; with a bucket size, consecutive
+     * inputs of the same bucket are merged into min / max / sum / count.
+     */
+    private static final class Series {
+        private final long bucket;
+        private final int maxPoints;
+        private long[] timestamps = new long[256];
+        private double[] min = new double[256];
+        private double[] max = new double[256];
+        private double[] sum = new double[256];
+        private long[] count = new long[256];
+        private int size;
+        private boolean truncated;
+
+        Series(long bucket, int maxPoints) {
+            this.bucket = bucket;
+            this.maxPoints = maxPoints;
+        }
+
+        boolean add(long timestamp, double value) {
+            return addBucket(timestamp, value, value, value, 1);
+        }
+
+        boolean addBucket(long timestamp, double bucketMin, double bucketMax, double bucketSum, long bucketCount) {
+            long key = bucket > 0 ? Math.floorDiv(timestamp, bucket) * bucket : timestamp;
+            if (bucket > 0 && size > 0 && timestamps[size - 1] == key) {
+                int last = size - 1;
+                min[last] = Math.min(min[last], bucketMin);
+                max[last] = Math.max(max[last], bucketMax);
+                sum[last] += bucketSum;
+                count[last] += bucketCount;
+                return true;
+            }
+            if (size == maxPoints) {
+                truncated = true;
+                return false;
+            }
+            if (size == timestamps.length)
+                grow();
+            timestamps[size] = key;
+            min[size] = bucketMin;
+            max[size] = bucketMax;
+            sum[size] = bucketSum;
+            count[size] = bucketCount;
+            size++;
+            return true;
+        }
+
+        SensorHistoryDTO toDTO(SensorHistoryDTO.SensorHistoryDTOBuilder builder) {
+            long[] epochMillis = new long[size];
+            double[] values = new double[size];
+            ZoneId zone = ZoneId.systemDefault();
+            for (int i = 0; i < size; i++) {
+                epochMillis[i] = toEpochMillis(timestamps[i], zone);
+                values[i] = count[i] > 0 ? sum[i] / count[i] : 0;
+            }
+            builder.timestamps(epochMillis).values(values).truncated(truncated);
+            if (bucket > 0)
+                builder.min(Arrays.copyOf(min, size)).max(Arrays.copyOf(max, size));
+            return builder.build();
+        }
+
+        private void grow() {
+            int capacity = Math.min(timestamps.length * 2, Math.max(maxPoints, 1));
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            min = Arrays.copyOf(min, capacity);
+            max = Arrays.copyOf(max, capacity);
+            sum = Arrays.copyOf(sum, capacity);
+            count = Arrays.copyOf(count, capacity);
+        }
+
+        private static long toEpochMillis(long wallMillis, ZoneId zone) {
+            if (zone.getRules().isFixedOffset())
+                return wallMillis - zone.getRules().getOffset(Instant.EPOCH).getTotalSeconds() * 1000L;
+            LocalDateTime local = LocalDateTime.ofEpochSecond(Math.floorDiv(wallMillis, 1000L),
+                    (int) Math.floorMod(wallMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+            return local.atZone(zone).toInstant().toEpochMilli();
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Cache.LatestReadingCache;
+import com.example.FloraX.Cache.LongLongHashMap;
+import com.example.FloraX.Cache.SensorHistoryCache;
+import com.example.FloraX.Cache.TimerWheel;
+import com.example.FloraX.Enum.SensorStatus;
+import com.example.FloraX.Event.IngestedReading;
+import com.example.FloraX.Event.SensorReadingsIngestedEvent;
+import com.example.FloraX.Event.SensorStatusChangedEvent;
+import com.example.FloraX.Repository.Projection.LatestSensorReading;
+import com.example.FloraX.Repository.SensorReadingRepository;
+import com.example.FloraX.Repository.SensorRepository;
+import com.example.FloraX.Service.SensorLivenessService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of SensorLivenessService.
+ *
+ * Last-seen times live in a primitive long-to-long map (epoch millis on
+ * the recorded_at clock) and silence deadlines in a timer wheel. A reading
+ * only updates the map; the wheel entry is not moved. When an entry expires
+ * the sensor is either re-armed from its newer last-seen time or moved to
+ * the next status, so the work per tick is proportional to the deadlines
+ * that fell due, and the sensors table is only written on transitions.
+ *
+ * Sensors set to INACTIVE or FAULTY by hand are picked up at startup and
+ * become ACTIVE again when they report.
+ *
+ * Status writes are made with the lock held, so the sensors table sees
+ * transitions in the order they happened here. A write that fails puts the
+ * sensors back to their earlier status; the transition is then made again
+ * on the next tick, or for a revival on the sensor's next reading.
+ */
+@Service
+@Slf4j
+public class SensorLivenessServiceImpl implements SensorLivenessService {
+
+    private static final int UPDATE_CHUNK = 1000;
+    private static final long ABSENT = Long.MIN_VALUE + 1;
+
+    private final SensorRepository sensorRepository;
+    private final SensorReadingRepository sensorReadingRepository;
+    private final LatestReadingCache readingCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long inactiveAfterMillis;
+    private final long faultyAfterMillis;
+
+    // Guards the state below and is held through status writes. A ReentrantLock,
+    // since the write blocks on JDBC and a virtual thread blocked inside
+    // synchronized would pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongLongHashMap lastSeen = new LongLongHashMap(1024);
+    private final LongLongHashMap status = new LongLongHashMap(1024);
+    private final LongLongHashMap armedDeadline = new LongLongHashMap(1024);
+    private final TimerWheel wheel;
+
+    public SensorLivenessServiceImpl(SensorRepository sensorRepository,
+            SensorReadingRepository sensorReadingRepository,
+            LatestReadingCache readingCache,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${florax.liveness.enabled:true}") boolean enabled,
+            @Value("${florax.liveness.inactive-after-minutes:30}") long inactiveAfterMinutes,
+            @Value("${florax.liveness.faulty-after-minutes:180}") long faultyAfterMinutes,
+            @Value("${florax.liveness.tick-ms:60000}") long tickMillis) {
+        this.sensorRepository = sensorRepository;
+        this.sensorReadingRepository = sensorReadingRepository;
+        this.readingCache = readingCache;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.inactiveAfterMillis = inactiveAfterMinutes * 60_000;
+        this.faultyAfterMillis = Math.max(faultyAfterMinutes * 60_000, inactiveAfterMillis);
+        // One revolution covers the faulty period, so entries rarely wait a second round
+        int slots = (int) Math.min(1 << 16, faultyAfterMillis / tickMillis + 1);
+        this.wheel = new TimerWheel(slots, tickMillis, now());
+    }
+
+    // ── Lifecycle ─────────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLastSeen() {
+        if (!enabled)
+            return;
+        try {
+            List<Long> inactive = sensorRepository.findIdsByStatus(SensorStatus.INACTIVE);
+            List<Long> faulty = sensorRepository.findIdsByStatus(SensorStatus.FAULTY);
+            List<LatestSensorReading> latest = sensorReadingRepository.findLatestPerSensor();
+            lock.lock();
+            try {
+                inactive.forEach(id -> status.put(id, SensorStatus.INACTIVE.ordinal()));
+                faulty.forEach(id -> status.put(id, SensorStatus.FAULTY.ordinal()));
+                for (LatestSensorReading r : latest) {
+                    if (r.getRecordedAt() != null && !lastSeen.containsKey(r.getSensorId())) {
+                        lastSeen.put(r.getSensorId(), SensorHistoryCache.toMillis(r.getRecordedAt()));
+                        arm(r.getSensorId());
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            log.info("Liveness tracking {} sensors ({} inactive, {} faulty)",
+                    latest.size(), inactive.size(), faulty.size());
+        } catch (RuntimeException e) {
+            log.error("Could not load sensor last-seen times", e);
+        }
+    }
+
+    // ── Tracking ──────────────────────────────────────────────────────────────
+
+    @EventListener
+    public void onReadingsIngested(SensorReadingsIngestedEvent event) {
+        if (!enabled)
+            return;
+        Transitions transitions = new Transitions();
+        List<SensorStatusChangedEvent> changed;
+        lock.lock();
+        try {
+            for (IngestedReading r : event.getReadings()) {
+                long id = r.getSensorId();
+                long seen = SensorHistoryCache.toMillis(r.getRecordedAt());
+                long previous = lastSeen.get(id, ABSENT);
+                if (seen > previous)
+                    lastSeen.put(id, seen);
+                if (statusOf(id) != SensorStatus.ACTIVE) {
+                    transitions.move(id, SensorStatus.ACTIVE);
+                    arm(id);
+                } else if (previous == ABSENT) {
+                    arm(id);
+                }
+            }
+            changed = persist(transitions);
+        } finally {
+            lock.unlock();
+        }
+        changed.forEach(eventPublisher::publishEvent);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${florax.liveness.tick-ms:60000}")
+    public void checkLiveness() {
+        if (!enabled)
+            return;
+        Transitions transitions = new Transitions();
+        List<SensorStatusChangedEvent> changed;
+        lock.lock();
+        try {
+            long now = now();
+            wheel.advance(now, (id, deadline) -> {
+                // Superseded by a later arm()
+                if (armedDeadline.get(id, ABSENT) != deadline)
+                    return;
+                long silence = now - lastSeen.get(id, now);
+                SensorStatus current = statusOf(id);
+                if (current == SensorStatus.ACTIVE && silence >= inactiveAfterMillis)
+                    transitions.move(id, SensorStatus.INACTIVE);
+                else if (current == SensorStatus.INACTIVE && silence >= faultyAfterMillis)
+                    transitions.move(id, SensorStatus.FAULTY);
+                arm(id);
+            });
+            changed = persist(transitions);
+        } finally {
+            lock.unlock();
+        }
+        changed.forEach(eventPublisher::publishEvent);
+    }
+
+    @Override
+    public int getTrackedSensorCount() {
+        lock.lock();
+        try {
+            return lastSeen.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    // Schedules the next deadline for the sensor's current status (none once FAULTY)
+    private void arm(long id) {
+        SensorStatus current = statusOf(id);
+        long seen = lastSeen.get(id, ABSENT);
+        if (seen == ABSENT || current == SensorStatus.FAULTY) {
+            armedDeadline.put(id, ABSENT);
+            return;
+        }
+        long deadline = seen + (current == SensorStatus.ACTIVE ? inactiveAfterMillis : faultyAfterMillis);
+        armedDeadline.put(id, deadline);
+        wheel.schedule(id, deadline);
+    }
+
+    private SensorStatus statusOf(long id) {
+        return SensorStatus.values()[(int) status.get(id, SensorStatus.ACTIVE.ordinal())];
+    }
+
+    /**
+     * Writes the transitions in one transaction (lock held) and returns the
+     * events to publish once the lock is released. On failure every sensor
+     * goes back to the status it had before and is re-armed.
+     */
+    private List<SensorStatusChangedEvent> persist(Transitions transitions) {
+        if (transitions.byStatus.isEmpty())
+            return List.of();
+        try {
+            transactionTemplate.executeWithoutResult(tx -> transitions.byStatus.forEach((newStatus, ids) -> {
+                for (int i = 0; i < ids.size(); i += UPDATE_CHUNK)
+                    sensorRepository.updateStatus(ids.subList(i, Math.min(i + UPDATE_CHUNK, ids.size())), newStatus);
+            }));
+        } catch (RuntimeException e) {
+            log.error("Could not update the status of {} sensors, will retry", transitions.previous.size(), e);
+            transitions.previous.forEach((id, previous) -> {
+                status.put(id, previous.ordinal());
+                arm(id);
+            });
+            return List.of();
+        }
+        List<SensorStatusChangedEvent> changed = new ArrayList<>();
+        transitions.byStatus.forEach((newStatus, ids) -> {
+            log.info("Marked {} sensors {}", ids.size(), newStatus);
+            for (Long id : ids) {
+                LatestReadingCache.Placement p = readingCache.placementOf(id);
+                long seen = lastSeen.get(id, ABSENT);
+                changed.add(new SensorStatusChangedEvent(id, p != null ? p.getZoneId() : null, newStatus,
+                        seen != ABSENT ? LocalDateTime.ofInstant(Instant.ofEpochMilli(seen), ZoneOffset.UTC) : null));
+            }
+        });
+        return changed;
+    }
+
+    private static long now() {
+        return SensorHistoryCache.toMillis(LocalDateTime.now());
+    }
+
+    /**
+     * Status changes made in memory under the lock and not written yet, with
+     * each sensor's status from before the first of them. The EnumMap writes
+     * INACTIVE before FAULTY, so a sensor that passed both in one tick ends
+     * up FAULTY.
+     */
+    private final class Transitions {
+        final Map<SensorStatus, List<Long>> byStatus = new EnumMap<>(SensorStatus.class);
+        final Map<Long, SensorStatus> previous = new HashMap<>();
+
+        void move(long id, SensorStatus newStatus) {
+            previous.putIfAbsent(id, statusOf(id));
+            status.put(id, newStatus.ordinal());
+            byStatus.computeIfAbsent(newStatus, s -> new ArrayList<>()).add(id);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Cache.OwnershipIndex;
+import com.example.FloraX.Cache.UserPrincipalCache;
+import com.example.FloraX.Dto.IngestionResultDTO;
+import com.example.FloraX.Dto.SensorReadingRequest;
+import com.example.FloraX.Event.IngestedReading;
+import com.example.FloraX.Event.SensorReadingsIngestedEvent;
+import com.example.FloraX.Repository.SensorRepository;
+import com.example.FloraX.Service.SensorReadingIngestionService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of SensorReadingIngestionService.
+ *
+ * SensorReadings uses IDENTITY ids, which disables Hibernate insert batching,
+ * so readings are written with JdbcTemplate.batchUpdate instead of
+ * repository.save. With rewriteBatchedStatements=true on the MySQL URL each
+ * batch becomes a multi-row INSERT.
+ *
+ * Buffer capacity is tracked with a semaphore whose permits are only released
+ * once a batch has been committed, so a slow or unavailable database pushes
+ * back on gateways instead of growing the heap. A batch larger than the
+ * whole buffer could never get its permits and is turned away up front.
+ *
+ * A gateway signs in as the grower it belongs to; readings for sensors of
+ * other users are rejected, since they drive auto-irrigation, alerts and
+ * liveness of those users' zones.
+ */
+@Service
+@Slf4j
+public class SensorReadingIngestionServiceImpl implements SensorReadingIngestionService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO sensor_readings (sensor_id, value, recorded_at) VALUES (?, ?, ?)";
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SensorRepository sensorRepository;
+    private final OwnershipIndex ownership;
+    private final UserPrincipalCache principalCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int bufferCapacity;
+    private final int batchSize;
+    private final long enqueueTimeoutMs;
+
+    private final Semaphore capacity;
+    private final Queue<IngestedReading> buffer = new ConcurrentLinkedQueue<>();
+    private final Set<Long> knownSensorIds = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> sensorIdBySerial = new ConcurrentHashMap<>();
+
+    // Held while flushing: the inserts block on JDBC, and a virtual thread blocked
+    // inside synchronized would pin its carrier
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Batch that failed to insert, retried on the next flush (under flushLock)
+    private List<IngestedReading> retryBatch;
+    private int retryAttempts;
+
+    public SensorReadingIngestionServiceImpl(JdbcTemplate jdbcTemplate,
+            SensorRepository sensorRepository,
+            OwnershipIndex ownership,
+            UserPrincipalCache principalCache,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${florax.ingestion.buffer-capacity:50000}") int bufferCapacity,
+            @Value("${florax.ingestion.batch-size:1000}") int batchSize,
+            @Value("${florax.ingestion.enqueue-timeout-ms:200}") long enqueueTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sensorRepository = sensorRepository;
+        this.ownership = ownership;
+        this.principalCache = principalCache;
+        this.eventPublisher = eventPublisher;
+        this.bufferCapacity = bufferCapacity;
+        this.batchSize = batchSize;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.capacity = new Semaphore(bufferCapacity);
+    }
+
+    @Override
+    public IngestionResultDTO ingest(String email, List<SensorReadingRequest> readings) {
+        if (readings == null || readings.isEmpty())
+            return IngestionResultDTO.builder().build();
+        if (readings.size() > bufferCapacity) {
+            log.warn("Rejecting batch of {} readings, larger than the ingestion buffer ({})",
+                    readings.size(), bufferCapacity);
+            return IngestionResultDTO.builder().rejected(readings.size()).tooLarge(true).build();
+        }
+
+        Long userId = principalCache.getByEmail(email).getUserId();
+        resolveUnknownSensors(readings);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<IngestedReading> valid = new ArrayList<>(readings.size());
+        for (SensorReadingRequest r : readings) {
+            Long sensorId = resolveSensorId(r);
+            if (sensorId == null || r.getValue() == null || !ownership.ownsSensor(userId, sensorId))
+                continue;
+            valid.add(new IngestedReading(sensorId, r.getValue(),
+                    r.getRecordedAt() != null ? r.getRecordedAt() : now));
+        }
+        int rejected = readings.size() - valid.size();
+
+        if (!valid.isEmpty() && !acquire(valid.size())) {
+            log.warn("Ingestion buffer full, rejecting batch of {} readings", readings.size());
+            return IngestionResultDTO.builder().rejected(readings.size()).bufferFull(true).build();
+        }
+        buffer.addAll(valid);
+
+        return IngestionResultDTO.builder().accepted(valid.size()).rejected(rejected).build();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${florax.ingestion.flush-interval-ms:200}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (retryBatch != null && !write(retryBatch))
+                return;
+
+            List<IngestedReading> batch = new ArrayList<>(batchSize);
+            IngestedReading next;
+            while ((next = buffer.poll()) != null) {
+                batch.add(next);
+                if (batch.size() == batchSize) {
+                    if (!write(batch))
+                        return;
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty())
+                write(batch);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void drainOnShutdown() {
+        flush();
+        if (!buffer.isEmpty() || retryBatch != null)
+            log.warn("Shutting down with {} unwritten readings", buffer.size()
+                    + (retryBatch != null ? retryBatch.size() : 0));
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private boolean acquire(int permits) {
+        try {
+            return capacity.tryAcquire(permits, enqueueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Inserts one batch. On failure the batch is kept for the next flush and
+     * its permits stay held; after MAX_FLUSH_ATTEMPTS it is dropped.
+     */
+    private boolean write(List<IngestedReading> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, r) -> {
+                ps.setLong(1, r.getSensorId());
+                ps.setDouble(2, r.getValue());
+                ps.setTimestamp(3, Timestamp.valueOf(r.getRecordedAt()));
+            });
+        } catch (RuntimeException e) {
+            retryAttempts = (batch == retryBatch) ? retryAttempts + 1 : 1;
+            if (retryAttempts < MAX_FLUSH_ATTEMPTS) {
+                log.warn("Failed to write {} readings (attempt {}), will retry", batch.size(), retryAttempts, e);
+                retryBatch = batch;
+            } else {
+                log.error("Dropping {} readings after {} failed attempts", batch.size(), retryAttempts, e);
+                retryBatch = null;
+                capacity.release(batch.size());
+            }
+            return false;
+        }
+        retryBatch = null;
+        capacity.release(batch.size());
+        eventPublisher.publishEvent(new SensorReadingsIngestedEvent(Collections.unmodifiableList(batch)));
+        return true;
+    }
+
+    private Long resolveSensorId(SensorReadingRequest r) {
+        if (r.getSensorId() != null)
+            return knownSensorIds.contains(r.getSensorId()) ? r.getSensorId() : null;
+        if (r.getSerialNumber() != null)
+            return sensorIdBySerial.get(r.getSerialNumber());
+        return null;
+    }
+
+    // One lookup per request for ids / serial numbers not seen before
+    private void resolveUnknownSensors(List<SensorReadingRequest> readings) {
+        Set<Long> unknownIds = readings.stream()
+                .map(SensorReadingRequest::getSensorId)
+                .filter(id -> id != null && !knownSensorIds.contains(id))
+                .collect(Collectors.toSet());
+        if (!unknownIds.isEmpty())
+            knownSensorIds.addAll(sensorRepository.findExistingIds(unknownIds));
+
+        Set<String> unknownSerials = readings.stream()
+                .filter(r -> r.getSensorId() == null)
+                .map(SensorReadingRequest::getSerialNumber)
+                .filter(sn -> sn != null && !sensorIdBySerial.containsKey(sn))
+                .collect(Collectors.toSet());
+        if (!unknownSerials.isEmpty())
+            sensorRepository.findBySerialNumbers(unknownSerials)
+                    .forEach(s -> sensorIdBySerial.put(s.getSerialNumber(), s.getSensorId()));
+    }
+}
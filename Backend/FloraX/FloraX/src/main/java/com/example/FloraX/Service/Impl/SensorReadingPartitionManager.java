@@ -0,0 +1,128 @@
+package com.example.FloraX.Service.Impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Monthly RANGE COLUMNS(recorded_at) partitions of sensor_readings (MySQL only).
+ *
+ * Partition pYYYYMM holds the readings of that month; p_future catches
+ * everything past the last monthly partition and is split as months are added.
+ * Dropping a month is a metadata operation, unlike a DELETE of millions of rows.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+class SensorReadingPartitionManager {
+
+    private static final String FUTURE = "p_future";
+    private static final DateTimeFormatter NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    boolean isSupported() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c ->
+                c.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase().contains("mysql");
+    }
+
+    boolean isPartitioned() {
+        return !partitionNames().isEmpty();
+    }
+
+    /**
+     * One-off conversion of the plain table. MySQL requires the partitioning
+     * column in the primary key and does not allow foreign keys, and the
+     * ALTER rebuilds the whole table.
+     */
+    void convert(int monthsAhead) {
+        long start = System.currentTimeMillis();
+        for (String fk : jdbcTemplate.queryForList(
+                "SELECT CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS " +
+                        "WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'sensor_readings'", String.class)) {
+            jdbcTemplate.execute("ALTER TABLE sensor_readings DROP FOREIGN KEY `" + fk + "`");
+        }
+        int undated = jdbcTemplate.update("DELETE FROM sensor_readings WHERE recorded_at IS NULL");
+        if (undated > 0)
+            log.warn("Deleted {} sensor readings without recorded_at before partitioning", undated);
+
+        jdbcTemplate.execute("ALTER TABLE sensor_readings MODIFY recorded_at DATETIME(6) NOT NULL, " +
+                "DROP PRIMARY KEY, ADD PRIMARY KEY (reading_id, recorded_at)");
+
+        LocalDateTime oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(recorded_at) FROM sensor_readings", LocalDateTime.class);
+        YearMonth first = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+        List<String> partitions = new ArrayList<>();
+        for (YearMonth m = first; !m.isAfter(YearMonth.now().plusMonths(monthsAhead)); m = m.plusMonths(1))
+            partitions.add(definition(m));
+        partitions.add("PARTITION " + FUTURE + " VALUES LESS THAN (MAXVALUE)");
+
+        jdbcTemplate.execute("ALTER TABLE sensor_readings PARTITION BY RANGE COLUMNS(recorded_at) (" +
+                String.join(", ", partitions) + ")");
+        log.info("sensor_readings partitioned into {} monthly partitions in {} ms",
+                partitions.size() - 1, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Splits p_future so that every month up to now + monthsAhead has its own partition.
+     */
+    List<String> ensureAhead(int monthsAhead) {
+        List<YearMonth> months = monthPartitions();
+        YearMonth next = months.isEmpty() ? YearMonth.now() : months.get(months.size() - 1).plusMonths(1);
+        List<String> created = new ArrayList<>();
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth m = next; !m.isAfter(YearMonth.now().plusMonths(monthsAhead)); m = m.plusMonths(1)) {
+            created.add(m.format(NAME));
+            definitions.add(definition(m));
+        }
+        if (created.isEmpty())
+            return created;
+        definitions.add("PARTITION " + FUTURE + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE sensor_readings REORGANIZE PARTITION " + FUTURE + " INTO (" +
+                String.join(", ", definitions) + ")");
+        return created;
+    }
+
+    /**
+     * Drops monthly partitions whose whole range is before the cutoff.
+     */
+    List<String> dropBefore(LocalDate cutoff) {
+        List<String> expired = monthPartitions().stream()
+                .filter(m -> !m.plusMonths(1).atDay(1).isAfter(cutoff))
+                .map(m -> m.format(NAME))
+                .collect(Collectors.toList());
+        if (!expired.isEmpty())
+            jdbcTemplate.execute("ALTER TABLE sensor_readings DROP PARTITION " + String.join(", ", expired));
+        return expired;
+    }
+
+    private List<YearMonth> monthPartitions() {
+        return partitionNames().stream()
+                .filter(n -> !FUTURE.equals(n))
+                .map(n -> YearMonth.parse(n, NAME))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private List<String> partitionNames() {
+        return jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'sensor_readings' " +
+                        "AND PARTITION_NAME IS NOT NULL ORDER BY PARTITION_ORDINAL_POSITION", String.class);
+    }
+
+    private static String definition(YearMonth month) {
+        return "PARTITION " + month.format(NAME) + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+}
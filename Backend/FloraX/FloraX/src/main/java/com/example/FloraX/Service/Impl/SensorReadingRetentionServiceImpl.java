@@ -0,0 +1,153 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Config.SensorReadingStorageProperties;
+import com.example.FloraX.Dto.ReadingMaintenanceResultDTO;
+import com.example.FloraX.Enum.RollupGranularity;
+import com.example.FloraX.Enum.SensorType;
+import com.example.FloraX.Repository.SensorReadingRepository;
+import com.example.FloraX.Repository.SensorReadingRollupRepository;
+import com.example.FloraX.Service.SensorReadingRetentionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of SensorReadingRetentionService.
+ *
+ * Raw readings past their type's rawDays are processed oldest first, one
+ * hour-aligned chunk per transaction: the chunk is folded into 5-minute and
+ * hourly buckets and then deleted, so an interrupted run resumes where it
+ * stopped without counting anything twice. Buckets are merged rather than
+ * overwritten, which also absorbs late readings for an already-rolled hour.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SensorReadingRetentionServiceImpl implements SensorReadingRetentionService {
+
+    private final SensorReadingStorageProperties properties;
+    private final SensorReadingRepository sensorReadingRepository;
+    private final SensorReadingRollupRepository rollupRepository;
+    private final SensorReadingPartitionManager partitionManager;
+    private final TransactionTemplate transactionTemplate;
+    // Scheduled and admin-triggered runs queue up; a lock, since a run holds it for minutes of SQL
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preparePartitions() {
+        if (!properties.getPartitioning().isEnabled())
+            return;
+        try {
+            if (!partitionManager.isSupported()) {
+                log.warn("sensor_readings partitioning is only available on MySQL, skipping");
+                return;
+            }
+            int monthsAhead = properties.getPartitioning().getMonthsAhead();
+            if (partitionManager.isPartitioned())
+                partitionManager.ensureAhead(monthsAhead);
+            else
+                partitionManager.convert(monthsAhead);
+        } catch (RuntimeException e) {
+            log.error("sensor_readings partition maintenance failed", e);
+        }
+    }
+
+    @Scheduled(cron = "${florax.readings.maintenance-cron:0 15 3 * * *}")
+    public void scheduledMaintenance() {
+        if (!properties.isRetentionEnabled())
+            return;
+        try {
+            runMaintenance();
+        } catch (RuntimeException e) {
+            log.error("Sensor reading maintenance failed", e);
+        }
+    }
+
+    @Override
+    public ReadingMaintenanceResultDTO runMaintenance() {
+        maintenanceLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            LocalDate today = LocalDate.now();
+
+            boolean partitioned = properties.getPartitioning().isEnabled()
+                    && partitionManager.isSupported() && partitionManager.isPartitioned();
+            List<String> created = partitioned
+                    ? partitionManager.ensureAhead(properties.getPartitioning().getMonthsAhead())
+                    : List.of();
+
+            long downsampled = 0;
+            long expired = 0;
+            for (SensorType type : SensorType.values()) {
+                SensorReadingStorageProperties.Policy policy = properties.policyFor(type);
+                if (policy.getRawDays() > 0)
+                    downsampled += downsample(type, today.minusDays(policy.getRawDays()).atStartOfDay());
+                expired += expire(RollupGranularity.FIVE_MINUTES, type, policy.getFiveMinuteDays(), today);
+                expired += expire(RollupGranularity.HOUR, type, policy.getHourlyDays(), today);
+            }
+
+            // Partitions hold every type, so a month goes only once the longest raw retention has passed
+            List<String> dropped = List.of();
+            boolean rawKeptForever = Arrays.stream(SensorType.values())
+                    .anyMatch(t -> properties.policyFor(t).getRawDays() <= 0);
+            if (partitioned && !rawKeptForever) {
+                int maxRawDays = Arrays.stream(SensorType.values())
+                        .mapToInt(t -> properties.policyFor(t).getRawDays()).max().orElse(0);
+                dropped = partitionManager.dropBefore(today.minusDays(maxRawDays));
+            }
+
+            long duration = System.currentTimeMillis() - start;
+            log.info("Sensor reading maintenance: {} readings downsampled, {} rollups expired, " +
+                    "partitions created {} dropped {} in {} ms", downsampled, expired, created, dropped, duration);
+            return ReadingMaintenanceResultDTO.builder()
+                    .downsampledReadings(downsampled)
+                    .expiredRollups(expired)
+                    .createdPartitions(created)
+                    .droppedPartitions(dropped)
+                    .durationMs(duration)
+                    .build();
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    private long downsample(SensorType type, LocalDateTime cutoff) {
+        long total = 0;
+        LocalDateTime oldest;
+        while ((oldest = sensorReadingRepository.findOldestRecordedAt(type, cutoff)) != null) {
+            LocalDateTime from = oldest.truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime chunkEnd = from.plusHours(Math.max(1, properties.getChunkHours()));
+            LocalDateTime to = chunkEnd.isAfter(cutoff) ? cutoff : chunkEnd;
+
+            Integer deleted = transactionTemplate.execute(status -> {
+                rollupRepository.rollupFiveMinutes(type.name(), from, to);
+                rollupRepository.rollupHourly(type.name(), from, to);
+                return sensorReadingRepository.deleteRange(type.name(), from, to);
+            });
+            if (deleted == null || deleted == 0)
+                break;
+            total += deleted;
+        }
+        return total;
+    }
+
+    private long expire(RollupGranularity granularity, SensorType type, int days, LocalDate today) {
+        if (days <= 0)
+            return 0;
+        LocalDateTime before = today.minusDays(days).atStartOfDay();
+        Integer deleted = transactionTemplate.execute(status ->
+                rollupRepository.deleteExpired(granularity.name(), type.name(), before));
+        return deleted != null ? deleted : 0;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Cache.SensorHistoryCache;
+import com.example.FloraX.Cache.TankLevelIndex;
+import com.example.FloraX.Dto.WaterTankDTO;
+import com.example.FloraX.Enum.RollupGranularity;
+import com.example.FloraX.Enum.TankStatus;
+import com.example.FloraX.Mapper.DashboardMapper;
+import com.example.FloraX.Repository.Projection.GardenVolume;
+import com.example.FloraX.Repository.WaterUsageRollupRepository;
+import com.example.FloraX.Service.TankForecastService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Implementation of TankForecastService.
+ *
+ * The drain rate of a tank is the larger of two estimates:
+ * - the least-squares slope of its level over the slope window, when the
+ *   level is falling, and
+ * - its garden's irrigation consumption over the consumption window (hourly
+ *   rollups of irrigation_logs), shared evenly between the garden's tanks.
+ * Taking the larger one keeps the forecast pessimistic: a tank that was just
+ * refilled still shows how long the usual irrigation would take to empty it.
+ */
+@Service
+@Slf4j
+public class TankForecastServiceImpl implements TankForecastService {
+
+    private final TankLevelIndex tankIndex;
+    private final DashboardMapper mapper;
+    private final WaterUsageRollupRepository rollupRepository;
+    private final long slopeWindowMillis;
+    private final long consumptionWindowHours;
+    private final double horizonHours;
+
+    // Liters per hour used by irrigation, per garden
+    private volatile Map<Long, Double> consumptionByGarden = Map.of();
+
+    public TankForecastServiceImpl(TankLevelIndex tankIndex,
+            DashboardMapper mapper,
+            WaterUsageRollupRepository rollupRepository,
+            @Value("${florax.tanks.forecast.slope-window-minutes:360}") long slopeWindowMinutes,
+            @Value("${florax.tanks.forecast.consumption-window-hours:72}") long consumptionWindowHours,
+            @Value("${florax.tanks.forecast.horizon-hours:24}") double horizonHours) {
+        this.tankIndex = tankIndex;
+        this.mapper = mapper;
+        this.rollupRepository = rollupRepository;
+        this.slopeWindowMillis = slopeWindowMinutes * 60_000;
+        this.consumptionWindowHours = consumptionWindowHours;
+        this.horizonHours = horizonHours;
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${florax.tanks.forecast.refresh-ms:900000}",
+            initialDelayString = "${florax.tanks.forecast.refresh-ms:900000}")
+    public void refreshConsumption() {
+        LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(consumptionWindowHours);
+        try {
+            Map<Long, Double> rates = new HashMap<>();
+            for (GardenVolume v : rollupRepository.sumVolumeByGardenSince(RollupGranularity.HOUR, since))
+                rates.put(v.getGardenId(), v.getTotalVolume() / consumptionWindowHours);
+            consumptionByGarden = rates;
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh tank consumption rates, keeping the previous ones", e);
+        }
+    }
+
+    @Override
+    public Double getHoursUntilEmpty(Long tankId) {
+        TankLevelIndex.Snapshot tank = tankIndex.get(tankId);
+        return tank != null ? hoursUntilEmpty(tank, SensorHistoryCache.toMillis(LocalDateTime.now())) : null;
+    }
+
+    @Override
+    public List<WaterTankDTO> getAtRiskTanks(Long userId) {
+        if (!tankIndex.isWarm())
+            return null;
+        long now = SensorHistoryCache.toMillis(LocalDateTime.now());
+        List<WaterTankDTO> result = new ArrayList<>();
+        for (TankLevelIndex.Snapshot tank : tankIndex.forUser(userId)) {
+            Double hours = hoursUntilEmpty(tank, now);
+            boolean low = tank.getStatus() == TankStatus.LOW || tank.getStatus() == TankStatus.EMPTY;
+            if (low || (hours != null && hours <= horizonHours))
+                result.add(mapper.toWaterTankDTO(tank, hours));
+        }
+        // EMPTY tanks forecast 0 hours, tanks without a forecast go last
+        result.sort(Comparator.comparing(WaterTankDTO::getHoursUntilEmpty,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        return result;
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private Double hoursUntilEmpty(TankLevelIndex.Snapshot tank, long nowMillis) {
+        Double level = tank.getCurrentLevelLiters();
+        if (level == null)
+            return null;
+        if (level <= 0 || tank.getStatus() == TankStatus.EMPTY)
+            return 0.0;
+        double drain = 0;
+        Double slope = tankIndex.slopeLitersPerHour(tank.getTankId(), nowMillis - slopeWindowMillis);
+        if (slope != null && slope < 0)
+            drain = -slope;
+        if (tank.getGardenId() != null) {
+            Double consumption = consumptionByGarden.get(tank.getGardenId());
+            int tanks = tankIndex.countInGarden(tank.getGardenId());
+            if (consumption != null && tanks > 0)
+                drain = Math.max(drain, consumption / tanks);
+        }
+        if (drain <= 0)
+            return null;
+        return Math.round(level / drain * 10.0) / 10.0;
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Cache.OwnershipIndex;
+import com.example.FloraX.Cache.SensorHistoryCache;
+import com.example.FloraX.Cache.TankLevelIndex;
+import com.example.FloraX.Cache.UserPrincipalCache;
+import com.example.FloraX.Dto.IngestionResultDTO;
+import com.example.FloraX.Dto.TankLevelRequest;
+import com.example.FloraX.Enum.TankStatus;
+import com.example.FloraX.Event.TankLevelChangedEvent;
+import com.example.FloraX.Repository.WaterTankRepository;
+import com.example.FloraX.Service.TankLevelService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of TankLevelService.
+ *
+ * Gauges report every few seconds but a tank's level only matters at the
+ * granularity of the flush interval, so the newest reading per tank is kept
+ * in a map and written with one batched UPDATE per flush. Raw readings are
+ * batch-inserted into water_level_readings alongside. A reading that
+ * arrives late, recorded before the level an earlier flush applied, only
+ * goes to the history.
+ *
+ * After a successful flush the level is recorded in TankLevelIndex and a
+ * TankLevelChangedEvent is published for each tank whose level moved.
+ * Levels are only accepted from the tank's owner, since a LOW or EMPTY
+ * status raises alerts for that user.
+ */
+@Service
+@Slf4j
+public class TankLevelServiceImpl implements TankLevelService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO water_level_readings (tank_id, water_level, recorded_at) VALUES (?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE water_tanks SET current_level_liters = ?, status = ? WHERE tank_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WaterTankRepository waterTankRepository;
+    private final TankLevelIndex tankIndex;
+    private final OwnershipIndex ownership;
+    private final UserPrincipalCache principalCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int bufferCapacity;
+    private final double lowRatio;
+    private final double emptyRatio;
+
+    private final Queue<Reading> readings = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    // Newest reading per tank since the last flush
+    private final Map<Long, Reading> pending = new ConcurrentHashMap<>();
+    // One flush at a time; not synchronized, which would pin a virtual thread during the writes
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @lombok.Value
+    private static class Reading {
+        Long tankId;
+        double levelLiters;
+        LocalDateTime recordedAt;
+    }
+
+    public TankLevelServiceImpl(JdbcTemplate jdbcTemplate,
+            WaterTankRepository waterTankRepository,
+            TankLevelIndex tankIndex,
+            OwnershipIndex ownership,
+            UserPrincipalCache principalCache,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${florax.tanks.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${florax.tanks.low-ratio:0.2}") double lowRatio,
+            @Value("${florax.tanks.empty-ratio:0.02}") double emptyRatio) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.waterTankRepository = waterTankRepository;
+        this.tankIndex = tankIndex;
+        this.ownership = ownership;
+        this.principalCache = principalCache;
+        this.eventPublisher = eventPublisher;
+        this.bufferCapacity = bufferCapacity;
+        this.lowRatio = lowRatio;
+        this.emptyRatio = emptyRatio;
+    }
+
+    @Override
+    public IngestionResultDTO ingest(String email, List<TankLevelRequest> requests) {
+        if (requests == null || requests.isEmpty())
+            return IngestionResultDTO.builder().build();
+
+        Long userId = principalCache.getByEmail(email).getUserId();
+        resolveUnknownTanks(requests);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Reading> valid = new ArrayList<>(requests.size());
+        for (TankLevelRequest r : requests) {
+            TankLevelIndex.Snapshot tank = r.getTankId() != null ? tankIndex.get(r.getTankId()) : null;
+            if (tank == null || r.getLevelLiters() == null || r.getLevelLiters().isNaN()
+                    || !ownership.ownsTank(userId, r.getTankId()))
+                continue;
+            double level = Math.max(0, r.getLevelLiters());
+            if (tank.getCapacityLiters() != null)
+                level = Math.min(level, tank.getCapacityLiters());
+            valid.add(new Reading(r.getTankId(), level, r.getRecordedAt() != null ? r.getRecordedAt() : now));
+        }
+        int rejected = requests.size() - valid.size();
+
+        if (buffered.addAndGet(valid.size()) > bufferCapacity) {
+            buffered.addAndGet(-valid.size());
+            log.warn("Tank level buffer full, rejecting batch of {} readings", requests.size());
+            return IngestionResultDTO.builder().rejected(requests.size()).bufferFull(true).build();
+        }
+        readings.addAll(valid);
+        for (Reading r : valid)
+            pending.merge(r.getTankId(), r, (a, b) -> b.getRecordedAt().isBefore(a.getRecordedAt()) ? a : b);
+
+        return IngestionResultDTO.builder().accepted(valid.size()).rejected(rejected).build();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${florax.tanks.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            writeReadings();
+            writeLevels();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void drainOnShutdown() {
+        flush();
+    }
+
+    // ── Writes ────────────────────────────────────────────────────────────────
+
+    private void writeReadings() {
+        List<Reading> batch = new ArrayList<>();
+        Reading next;
+        while ((next = readings.poll()) != null)
+            batch.add(next);
+        if (batch.isEmpty())
+            return;
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, 1000, (ps, r) -> {
+                ps.setLong(1, r.getTankId());
+                ps.setDouble(2, r.getLevelLiters());
+                ps.setTimestamp(3, Timestamp.valueOf(r.getRecordedAt()));
+            });
+        } catch (RuntimeException e) {
+            // History only; the coalesced level below is still applied
+            log.error("Dropping {} tank level readings", batch.size(), e);
+        } finally {
+            buffered.addAndGet(-batch.size());
+        }
+    }
+
+    private void writeLevels() {
+        if (pending.isEmpty())
+            return;
+        List<Reading> latest = new ArrayList<>(pending.size());
+        for (Long tankId : new ArrayList<>(pending.keySet())) {
+            Reading r = pending.remove(tankId);
+            if (r != null)
+                latest.add(r);
+        }
+
+        List<Reading> changed = new ArrayList<>(latest.size());
+        Map<Long, TankStatus> statuses = new HashMap<>();
+        for (Reading r : latest) {
+            TankLevelIndex.Snapshot tank = tankIndex.get(r.getTankId());
+            long recordedAt = SensorHistoryCache.toMillis(r.getRecordedAt());
+            tankIndex.addSample(r.getTankId(), recordedAt, r.getLevelLiters());
+            // Recorded before the level an earlier flush applied: history only
+            if (!tankIndex.advanceLevelTime(r.getTankId(), recordedAt))
+                continue;
+            TankStatus status = statusOf(r.getLevelLiters(), tank.getCapacityLiters());
+            if (tank.getCurrentLevelLiters() == null || tank.getCurrentLevelLiters() != r.getLevelLiters()
+                    || tank.getStatus() != status) {
+                changed.add(r);
+                statuses.put(r.getTankId(), status);
+            }
+        }
+        if (changed.isEmpty())
+            return;
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, changed, 1000, (ps, r) -> {
+                ps.setDouble(1, r.getLevelLiters());
+                ps.setString(2, statuses.get(r.getTankId()).name());
+                ps.setLong(3, r.getTankId());
+            });
+        } catch (RuntimeException e) {
+            // Put the levels back unless a newer reading arrived meanwhile
+            log.warn("Failed to update {} tank levels, will retry", changed.size(), e);
+            for (Reading r : changed)
+                pending.putIfAbsent(r.getTankId(), r);
+            return;
+        }
+
+        for (Reading r : changed) {
+            TankStatus status = statuses.get(r.getTankId());
+            tankIndex.update(r.getTankId(), r.getLevelLiters(), status);
+            TankLevelIndex.Snapshot tank = tankIndex.get(r.getTankId());
+            eventPublisher.publishEvent(new TankLevelChangedEvent(tank.getUserId(), tank.getGardenId(),
+                    tank.getTankId(), r.getLevelLiters(), tank.getCapacityLiters(), status));
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private TankStatus statusOf(double level, Double capacity) {
+        if (capacity == null || capacity <= 0)
+            return level > 0 ? TankStatus.NORMAL : TankStatus.EMPTY;
+        if (level <= capacity * emptyRatio)
+            return TankStatus.EMPTY;
+        return level < capacity * lowRatio ? TankStatus.LOW : TankStatus.NORMAL;
+    }
+
+    // One lookup per request for tanks not seen before
+    private void resolveUnknownTanks(List<TankLevelRequest> requests) {
+        Set<Long> unknown = requests.stream()
+                .map(TankLevelRequest::getTankId)
+                .filter(id -> id != null && !tankIndex.contains(id))
+                .collect(Collectors.toSet());
+        if (!unknown.isEmpty())
+            waterTankRepository.findLevelsByTankIds(unknown).forEach(tankIndex::register);
+    }
+}
@@ -1,13 +1,29 @@
 package com.example.FloraX.Service.Impl;
 
+import com.example.FloraX.Cache.LatestReadingCache;
+import com.example.FloraX.Cache.OwnershipIndex;
+import com.example.FloraX.Cache.UserPrincipalCache;
+import com.example.FloraX.Config.AuthenticatedUser;
 import com.example.FloraX.Dto.*;
 import com.example.FloraX.Entity.*;
 import com.example.FloraX.Enum.*;
+import com.example.FloraX.Event.AlertChangedEvent;
 import com.example.FloraX.Mapper.DashboardMapper;
 import com.example.FloraX.Repository.*;
+import com.example.FloraX.Repository.Projection.AlertTypeCount;
+import com.example.FloraX.Repository.Projection.IrrigationTotals;
+import com.example.FloraX.Repository.Projection.StatusCount;
+import com.example.FloraX.Repository.Projection.WaterUsageWindows;
+import com.example.FloraX.Service.DeviceCommandService;
+import com.example.FloraX.Service.IrrigationLogService;
+import com.example.FloraX.Service.TankForecastService;
 import com.example.FloraX.Service.UserDashboardService;
+import com.example.FloraX.Service.WaterUsageRollupService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.*;
 import java.util.*;
@@ -15,111 +31,244 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class UserDashboardServiceImpl implements UserDashboardService {
 
-        private final UserRepository userRepository;
+        private final UserPrincipalCache principalCache;
+        private final OwnershipIndex ownership;
         private final GardenRepository gardenRepository;
         private final ZoneRepository zoneRepository;
         private final SensorRepository sensorRepository;
-        private final SensorReadingRepository sensorReadingRepository;
         private final IrrigationLogRepository irrigationLogRepository;
+        private final IrrigationLogService irrigationLogService;
         private final AlertRepository alertRepository;
         private final WaterTankRepository waterTankRepository;
         private final ValvesRepository valvesRepository;
         private final DashboardMapper mapper;
+        private final LatestReadingCache readingCache;
+        private final WaterUsageRollupService waterUsageRollupService;
+        private final TankForecastService tankForecastService;
+        private final ApplicationEventPublisher eventPublisher;
+        private final DashboardFanout fanout;
+        private final PumpsRepository pumpsRepository;
+        private final DeviceCommandService deviceCommandService;
+        private final DashboardSnapshots snapshots;
 
         // ══════════════════════════════════════════════════════════════════════════
         // HELPERS
         // ══════════════════════════════════════════════════════════════════════════
 
-        private Users resolveUser(String email) {
-                return userRepository.findByEmail(email)
-                                .orElseThrow(() -> new RuntimeException("User not found: " + email));
+        private AuthenticatedUser resolveUser(String email) {
+                return principalCache.getByEmail(email);
         }
 
+        // Ownership checks are memory lookups (OwnershipIndex), no SQL
         private void verifyGardenOwnership(Long userId, Long gardenId) {
-                List<Gardens> gardens = gardenRepository.findByUserUserId(userId);
-                boolean owned = gardens.stream().anyMatch(g -> g.getGardenId().equals(gardenId));
-                if (!owned)
+                if (!ownership.ownsGarden(userId, gardenId))
                         throw new RuntimeException("Garden " + gardenId + " does not belong to user");
         }
 
+        private void verifyZoneOwnership(Long userId, Long zoneId) {
+                if (!ownership.ownsZone(userId, zoneId))
+                        throw new RuntimeException("Zone " + zoneId + " does not belong to user");
+        }
+
+        private static Map<String, Long> toMap(List<StatusCount> counts) {
+                Map<String, Long> map = new HashMap<>();
+                for (StatusCount c : counts)
+                        if (c.getStatus() != null)
+                                map.put(c.getStatus(), c.getTotal());
+                return map;
+        }
+
+        private Double latestZoneValue(Long zoneId) {
+                LatestReadingCache.Reading r = readingCache.latestForZone(zoneId);
+                return r != null ? r.getValue() : null;
+        }
+
+        private SensorDTO buildSensorDTO(Sensors sensor) {
+                LatestReadingCache.Reading r = readingCache.latestForSensor(sensor.getSensorId());
+                return r != null
+                                ? mapper.toSensorDTO(sensor, r.getValue(), r.getRecordedAt())
+                                : mapper.toSensorDTO(sensor, null);
+        }
+
         private ZoneDTO buildZoneDTO(Zones zone) {
-                Double latestReading = sensorReadingRepository
-                                .findTopBySensorZoneZoneIdOrderByRecordedAtDesc(zone.getZoneId())
-                                .map(SensorReadings::getValue)
-                                .orElse(null);
+                Double latestReading = latestZoneValue(zone.getZoneId());
                 Long gardenId = (zone.getGarden() != null) ? zone.getGarden().getGardenId() : null;
-                IrrigationLogs lastLog = (gardenId != null)
-                                ? irrigationLogRepository
-                                                .findTop5ByZoneGardenGardenIdOrderByStartTimeDesc(gardenId)
-                                                .stream()
-                                                .filter(l -> l.getZone() != null
-                                                                && l.getZone().getZoneId().equals(zone.getZoneId()))
-                                                .findFirst().orElse(null)
-                                : null;
+                List<IrrigationLogs> gardenLogs = (gardenId != null)
+                                ? irrigationLogRepository.findTop5ByZoneGardenGardenIdOrderByStartTimeDesc(gardenId)
+                                : List.of();
+                return buildZoneDTO(zone, latestReading, gardenLogs);
+        }
+
+        // The zone's last irrigation is taken from its garden's 5 most recent logs
+        private ZoneDTO buildZoneDTO(Zones zone, Double latestReading, List<IrrigationLogs> gardenLogs) {
+                IrrigationLogs lastLog = gardenLogs.stream()
+                                .filter(l -> l.getZone() != null
+                                                && l.getZone().getZoneId().equals(zone.getZoneId()))
+                                .findFirst().orElse(null);
                 return mapper.toZoneDTO(zone, latestReading, lastLog);
         }
 
+        // ── Batched loading ──────────────────────────────────────────────────────
+        // Loads zones, latest readings, recent logs and recent alerts for a set of
+        // gardens with one query each, whatever the number of gardens or zones.
+
+        private static final class GardenBatch {
+                final Map<Long, List<Zones>> zonesByGarden;
+                final Map<Long, Double> latestReadingByZone;
+                final Map<Long, List<IrrigationLogs>> recentLogsByGarden;
+                final Map<Long, List<Alerts>> recentAlertsByGarden;
+
+                GardenBatch(Map<Long, List<Zones>> zonesByGarden,
+                                Map<Long, Double> latestReadingByZone,
+                                Map<Long, List<IrrigationLogs>> recentLogsByGarden,
+                                Map<Long, List<Alerts>> recentAlertsByGarden) {
+                        this.zonesByGarden = zonesByGarden;
+                        this.latestReadingByZone = latestReadingByZone;
+                        this.recentLogsByGarden = recentLogsByGarden;
+                        this.recentAlertsByGarden = recentAlertsByGarden;
+                }
+
+                List<Zones> zones(Long gardenId) {
+                        return zonesByGarden.getOrDefault(gardenId, List.of());
+                }
+
+                List<IrrigationLogs> logs(Long gardenId) {
+                        return recentLogsByGarden.getOrDefault(gardenId, List.of());
+                }
+
+                List<Alerts> alerts(Long gardenId) {
+                        return recentAlertsByGarden.getOrDefault(gardenId, List.of());
+                }
+        }
+
+        private GardenBatch loadGardenBatch(List<Gardens> gardens, boolean withAlerts) {
+                return loadGardenBatch(gardens.stream().map(Gardens::getGardenId).collect(Collectors.toList()),
+                                withAlerts);
+        }
+
+        private GardenBatch loadGardenBatch(Collection<Long> gardenIds, boolean withAlerts) {
+                if (gardenIds.isEmpty())
+                        return new GardenBatch(Map.of(), Map.of(), Map.of(), Map.of());
+
+                Map<Long, List<Zones>> zonesByGarden = zoneRepository.findByGardenGardenIdIn(gardenIds).stream()
+                                .collect(Collectors.groupingBy(z -> z.getGarden().getGardenId(),
+                                                LinkedHashMap::new, Collectors.toList()));
+
+                List<Long> zoneIds = zonesByGarden.values().stream()
+                                .flatMap(List::stream).map(Zones::getZoneId).collect(Collectors.toList());
+                Map<Long, Double> readings = new HashMap<>();
+                readingCache.latestForZones(zoneIds).forEach((zoneId, r) -> readings.put(zoneId, r.getValue()));
+
+                Map<Long, List<IrrigationLogs>> logs = irrigationLogRepository.findTop5PerGarden(gardenIds).stream()
+                                .sorted(Comparator.comparing(IrrigationLogs::getStartTime,
+                                                Comparator.nullsLast(Comparator.reverseOrder())))
+                                .collect(Collectors.groupingBy(l -> l.getZone().getGarden().getGardenId()));
+
+                Map<Long, List<Alerts>> alerts = !withAlerts ? Map.of()
+                                : alertRepository.findTop5PerGarden(gardenIds).stream()
+                                                .sorted(Comparator.comparing(Alerts::getCreatedAt,
+                                                                Comparator.nullsLast(Comparator.reverseOrder())))
+                                                .collect(Collectors.groupingBy(a -> a.getGarden().getGardenId()));
+
+                return new GardenBatch(zonesByGarden, readings, logs, alerts);
+        }
+
+        private List<ZoneDTO> buildZoneDTOs(GardenBatch batch, Long gardenId) {
+                List<IrrigationLogs> gardenLogs = batch.logs(gardenId);
+                return batch.zones(gardenId).stream()
+                                .map(z -> buildZoneDTO(z, batch.latestReadingByZone.get(z.getZoneId()), gardenLogs))
+                                .collect(Collectors.toList());
+        }
+
+        // One batch per chunk of gardens; runs inside a DashboardFanout task
+        private List<GardenDTO> buildGardenDTOs(List<Gardens> gardens) {
+                GardenBatch batch = loadGardenBatch(gardens, true);
+                return gardens.stream()
+                                .map(g -> buildGardenDTO(batch, g))
+                                .collect(Collectors.toList());
+        }
+
+        // Same as buildGardenDTOs, keeping each zone's last irrigation time for snapshots
+        private List<DashboardSnapshots.GardenSlice> buildGardenSlices(List<Gardens> gardens) {
+                GardenBatch batch = loadGardenBatch(gardens, true);
+                List<DashboardSnapshots.GardenSlice> slices = new ArrayList<>(gardens.size());
+                for (Gardens g : gardens) {
+                        Map<Long, LocalDateTime> lastIrrigated = new HashMap<>();
+                        for (IrrigationLogs l : batch.logs(g.getGardenId()))
+                                if (l.getZone() != null)
+                                        lastIrrigated.putIfAbsent(l.getZone().getZoneId(), l.getStartTime());
+                        slices.add(new DashboardSnapshots.GardenSlice(buildGardenDTO(batch, g), lastIrrigated));
+                }
+                return slices;
+        }
+
+        private GardenDTO buildGardenDTO(GardenBatch batch, Gardens garden) {
+                Long gId = garden.getGardenId();
+                List<AlertDTO> alerts = batch.alerts(gId).stream()
+                                .map(mapper::toAlertDTO).collect(Collectors.toList());
+                List<IrrigationLogDTO> logs = batch.logs(gId).stream()
+                                .map(mapper::toLogDTO).collect(Collectors.toList());
+                return mapper.toGardenDTO(garden, buildZoneDTOs(batch, gId), alerts, logs);
+        }
+
         // ══════════════════════════════════════════════════════════════════════════
         // 1. FULL DASHBOARD
         // ══════════════════════════════════════════════════════════════════════════
 
+        // The builders below hold no transaction of their own: gardens are loaded
+        // in a short one, then fanned out in chunks, one transaction per chunk.
+
         @Override
+        @Transactional(propagation = Propagation.NOT_SUPPORTED)
         public UserDashboardResponse getDashboard(String email) {
-                Users user = resolveUser(email);
-                Long uid = user.getUserId();
-                List<Gardens> gardens = gardenRepository.findByUserUserId(uid);
+                AuthenticatedUser user = resolveUser(email);
+                DashboardSnapshots.Snapshot snapshot = snapshots.get(user.getUserId());
+                if (snapshot != null)
+                        refreshSnapshot(user.getUserId(), snapshot);
+                else
+                        snapshot = buildSnapshot(user.getUserId());
+
+                // Moisture is always current: it comes from the reading cache, not the snapshot
+                List<Long> zoneIds = new ArrayList<>();
+                for (DashboardSnapshots.GardenSlice slice : snapshot.gardens())
+                        for (ZoneDTO zone : slice.garden().getZones())
+                                zoneIds.add(zone.getZoneId());
+                Map<Long, LatestReadingCache.Reading> readings = readingCache.latestForZones(zoneIds);
 
-                int totalZones = 0, totalActiveAlerts = 0, totalIrrigationsToday = 0;
-                double totalWaterToday = 0.0, moistureSum = 0.0;
-                int moistureCount = 0;
-
-                LocalDateTime todayStart = LocalDate.now().atStartOfDay();
                 List<GardenDTO> gardenDTOs = new ArrayList<>();
+                int totalZones = 0, totalActiveAlerts = 0;
+                double moistureSum = 0.0;
+                int moistureCount = 0;
 
-                for (Gardens garden : gardens) {
-                        Long gId = garden.getGardenId();
-
-                        List<Zones> zones = zoneRepository.findByGardenGardenId(gId);
-                        List<ZoneDTO> zoneDTOs = new ArrayList<>();
-                        for (Zones zone : zones) {
-                                Double reading = sensorReadingRepository
-                                                .findTopBySensorZoneZoneIdOrderByRecordedAtDesc(zone.getZoneId())
-                                                .map(SensorReadings::getValue).orElse(null);
-                                IrrigationLogs lastLog = irrigationLogRepository
-                                                .findTop5ByZoneGardenGardenIdOrderByStartTimeDesc(gId)
-                                                .stream()
-                                                .filter(l -> l.getZone() != null
-                                                                && l.getZone().getZoneId().equals(zone.getZoneId()))
-                                                .findFirst().orElse(null);
-                                zoneDTOs.add(mapper.toZoneDTO(zone, reading, lastLog));
-                                if (reading != null) {
-                                        moistureSum += reading;
+                for (DashboardSnapshots.GardenSlice slice : snapshot.gardens()) {
+                        GardenDTO garden = slice.garden();
+                        List<ZoneDTO> zones = new ArrayList<>(garden.getZones().size());
+                        for (ZoneDTO zone : garden.getZones()) {
+                                LatestReadingCache.Reading r = readings.get(zone.getZoneId());
+                                ZoneDTO live = withLiveValues(zone, r != null ? r.getValue() : null,
+                                                slice.lastIrrigatedByZone().get(zone.getZoneId()));
+                                if (live.getCurrentMoisture() != null) {
+                                        moistureSum += live.getCurrentMoisture();
                                         moistureCount++;
                                 }
+                                zones.add(live);
                         }
+                        gardenDTOs.add(GardenDTO.builder()
+                                        .gardenId(garden.getGardenId())
+                                        .gardenName(garden.getGardenName())
+                                        .location(garden.getLocation())
+                                        .totalArea(garden.getTotalArea())
+                                        .totalZones(garden.getTotalZones())
+                                        .activeAlerts(garden.getActiveAlerts())
+                                        .zones(zones)
+                                        .recentIrrigations(garden.getRecentIrrigations())
+                                        .alerts(garden.getAlerts())
+                                        .build());
                         totalZones += zones.size();
-
-                        List<AlertDTO> alertDTOs = alertRepository
-                                        .findTop5ByGardenGardenIdOrderByCreatedAtDesc(gId)
-                                        .stream().map(mapper::toAlertDTO).collect(Collectors.toList());
-
-                        totalActiveAlerts += alertDTOs.stream()
-                                        .filter(a -> "ACTIVE".equals(a.getStatus())).count();
-
-                        List<IrrigationLogDTO> logDTOs = irrigationLogRepository
-                                        .findTop5ByZoneGardenGardenIdOrderByStartTimeDesc(gId)
-                                        .stream().map(mapper::toLogDTO).collect(Collectors.toList());
-
-                        List<IrrigationLogs> todayLogs = irrigationLogRepository
-                                        .findByZoneGardenGardenIdAndStartTimeAfter(gId, todayStart);
-                        totalIrrigationsToday += todayLogs.size();
-                        totalWaterToday += todayLogs.stream()
-                                        .mapToDouble(l -> l.getWaterVolumeUsed() != null ? l.getWaterVolumeUsed() : 0.0)
-                                        .sum();
-
-                        gardenDTOs.add(mapper.toGardenDTO(garden, zoneDTOs, alertDTOs, logDTOs));
+                        totalActiveAlerts += garden.getActiveAlerts();
                 }
 
                 double avgMoisture = moistureCount > 0
@@ -130,111 +279,125 @@ public class UserDashboardServiceImpl implements UserDashboardService {
                                 .userId(user.getUserId())
                                 .userName(user.getName())
                                 .email(user.getEmail())
-                                .totalGardens(gardens.size())
+                                .totalGardens(gardenDTOs.size())
                                 .totalZones(totalZones)
                                 .activeAlerts(totalActiveAlerts)
-                                .totalIrrigationsToday(totalIrrigationsToday)
+                                .totalIrrigationsToday((int) snapshot.getIrrigationsToday())
                                 .avgMoistureLevel(avgMoisture)
-                                .totalWaterUsedToday(Math.round(totalWaterToday * 10.0) / 10.0)
+                                .totalWaterUsedToday(Math.round(snapshot.getWaterUsedToday() * 10.0) / 10.0)
                                 .gardens(gardenDTOs)
                                 .build();
         }
 
+        private DashboardSnapshots.Snapshot buildSnapshot(Long uid) {
+                DashboardSnapshots.Snapshot snapshot = snapshots.begin(uid);
+                List<Gardens> gardens = new ArrayList<>();
+                IrrigationTotals today = fanout.inTransaction(() -> {
+                        gardens.addAll(gardenRepository.findByUserUserId(uid));
+                        return waterUsageRollupService.getToday(uid);
+                });
+                snapshot.fill(fanout.map(gardens, this::buildGardenSlices), today);
+                return snapshot;
+        }
+
+        // Reloads only the gardens and totals that events have marked. The marks are
+        // cleared first and come from commits a lagging replica may not have applied
+        // yet, so the reload reads the primary.
+        private void refreshSnapshot(Long uid, DashboardSnapshots.Snapshot snapshot) {
+                Set<Long> staleGardens = snapshot.takeStaleGardens();
+                boolean staleTotals = snapshot.takeStaleTotals();
+                if (staleGardens.isEmpty() && !staleTotals)
+                        return;
+                fanout.onPrimary(() -> {
+                        if (!staleGardens.isEmpty())
+                                snapshot.replace(buildGardenSlices(gardenRepository.findAllById(staleGardens)));
+                        if (staleTotals)
+                                snapshot.setToday(waterUsageRollupService.getToday(uid));
+                        return null;
+                });
+        }
+
+        private ZoneDTO withLiveValues(ZoneDTO zone, Double moisture, LocalDateTime lastIrrigated) {
+                return ZoneDTO.builder()
+                                .zoneId(zone.getZoneId())
+                                .zoneName(zone.getZoneName())
+                                .plantType(zone.getPlantType())
+                                .soilType(zone.getSoilType())
+                                .sunlightExposure(zone.getSunlightExposure())
+                                .moistureThresholdMin(zone.getMoistureThresholdMin())
+                                .moistureThresholdMax(zone.getMoistureThresholdMax())
+                                .currentMoisture(moisture)
+                                .moistureRaw(zone.getMoistureRaw())
+                                .irrigationStatus(mapper.resolveZoneStatus(zone.getMoistureThresholdMin(),
+                                                zone.getMoistureThresholdMax(), moisture))
+                                .lastIrrigatedAt(lastIrrigated != null ? mapper.formatRelative(lastIrrigated) : "Never")
+                                .sensors(zone.getSensors())
+                                .valves(zone.getValves())
+                                .build();
+        }
+
         // ══════════════════════════════════════════════════════════════════════════
         // 2. SUMMARY STATISTICS
         // ══════════════════════════════════════════════════════════════════════════
 
         @Override
         public DashboardSummaryDTO getDashboardSummary(String email) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 Long uid = user.getUserId();
 
-                List<Gardens> gardens = gardenRepository.findByUserUserId(uid);
-                int totalZones = 0;
-                for (Gardens g : gardens)
-                        totalZones += zoneRepository.findByGardenGardenId(g.getGardenId()).size();
+                // Counts and breakdowns only: projections, no entities
+                long totalGardens = gardenRepository.countByUserUserId(uid);
+                List<Long> zoneIds = zoneRepository.findIdsByUserId(uid);
 
-                List<Sensors> allSensors = sensorRepository.findAllByUserId(uid);
-                int activeSensors = (int) allSensors.stream().filter(s -> SensorStatus.ACTIVE == s.getStatus()).count();
-                int faultySensors = (int) allSensors.stream().filter(s -> SensorStatus.FAULTY == s.getStatus()).count();
+                Map<String, Long> sensorsByStatus = toMap(sensorRepository.countByUserIdPerStatus(uid));
+                long totalSensors = sensorsByStatus.values().stream().mapToLong(Long::longValue).sum();
+                Map<String, Long> valvesByStatus = toMap(valvesRepository.countByUserIdPerStatus(uid));
+                long totalValves = valvesByStatus.values().stream().mapToLong(Long::longValue).sum();
 
-                List<Valves> allValves = valvesRepository.findAllByUserId(uid);
-                int openValves = (int) allValves.stream().filter(v -> ValveStatus.OPEN == v.getValveStatus()).count();
-
-                List<WaterTanks> allTanks = waterTankRepository.findAllByUserId(uid);
-                List<WaterTankDTO> tankDTOs = allTanks.stream().map(mapper::toWaterTankDTO)
+                List<WaterTankDTO> tankDTOs = waterTankRepository.findLevelsByUserId(uid).stream()
+                                .map(t -> mapper.toWaterTankDTO(t, tankForecastService.getHoursUntilEmpty(t.getTankId())))
                                 .collect(Collectors.toList());
 
-                List<Alerts> activeAlerts = alertRepository.findByUserIdAndStatus(uid, AlertStatus.ACTIVE);
+                Map<AlertType, Long> activeByType = new EnumMap<>(AlertType.class);
+                for (AlertTypeCount c : alertRepository.countByUserIdAndStatusPerType(uid, AlertStatus.ACTIVE))
+                        if (c.getAlertType() != null)
+                                activeByType.put(c.getAlertType(), c.getTotal());
+                long activeAlerts = activeByType.values().stream().mapToLong(Long::longValue).sum();
 
-                // Moisture average
-                double moistSum = 0;
-                int moistCount = 0;
-                for (Gardens g : gardens) {
-                        for (Zones z : zoneRepository.findByGardenGardenId(g.getGardenId())) {
-                                Optional<Double> r = sensorReadingRepository
-                                                .findTopBySensorZoneZoneIdOrderByRecordedAtDesc(z.getZoneId())
-                                                .map(SensorReadings::getValue);
-                                if (r.isPresent()) {
-                                        moistSum += r.get();
-                                        moistCount++;
-                                }
-                        }
-                }
-                double avgMoisture = moistCount > 0 ? Math.round((moistSum / moistCount) * 10.0) / 10.0 : 0.0;
+                // Moisture average over the latest reading of each zone
+                OptionalDouble moisture = readingCache.latestForZones(zoneIds).values().stream()
+                                .mapToDouble(LatestReadingCache.Reading::getValue)
+                                .average();
+                double avgMoisture = moisture.isPresent() ? Math.round(moisture.getAsDouble() * 10.0) / 10.0 : 0.0;
 
-                // Water usage - today / week / month
+                // Water usage - today / week / month, from the daily rollup buckets
+                WaterUsageWindows water = waterUsageRollupService.getWindows(uid);
                 LocalDateTime todayStart = LocalDate.now().atStartOfDay();
-                LocalDateTime weekStart = LocalDate.now().minusDays(6).atStartOfDay();
-                LocalDateTime monthStart = LocalDate.now().withDayOfMonth(1).atStartOfDay();
-
-                List<IrrigationLogs> todayLogs = irrigationLogRepository.findByUserIdAndStartTimeAfter(uid, todayStart);
-                List<IrrigationLogs> weekLogs = irrigationLogRepository.findByUserIdAndStartTimeAfter(uid, weekStart);
-                List<IrrigationLogs> monthLogs = irrigationLogRepository.findByUserIdAndStartTimeAfter(uid, monthStart);
-
-                double waterToday = todayLogs.stream()
-                                .mapToDouble(l -> l.getWaterVolumeUsed() != null ? l.getWaterVolumeUsed() : 0).sum();
-                double waterWeek = weekLogs.stream()
-                                .mapToDouble(l -> l.getWaterVolumeUsed() != null ? l.getWaterVolumeUsed() : 0).sum();
-                double waterMonth = monthLogs.stream()
-                                .mapToDouble(l -> l.getWaterVolumeUsed() != null ? l.getWaterVolumeUsed() : 0).sum();
-
-                // Alert type breakdown — based on actual AlertType enum: LOW_WATER,
-                // SENSOR_FAULT, DRY_SOIL
-                long lowWaterAlerts = activeAlerts.stream().filter(a -> AlertType.LOW_WATER == a.getAlertType())
-                                .count();
-                long sensorFaultAlerts = activeAlerts.stream().filter(a -> AlertType.SENSOR_FAULT == a.getAlertType())
-                                .count();
-                long drySoilAlerts = activeAlerts.stream().filter(a -> AlertType.DRY_SOIL == a.getAlertType()).count();
 
                 // Resolved today
-                LocalDateTime todayEnd = todayStart.plusDays(1);
-                long resolvedToday = alertRepository.findByUserIdAndStatus(uid, AlertStatus.RESOLVED)
-                                .stream().filter(a -> a.getCreatedAt() != null
-                                                && !a.getCreatedAt().isBefore(todayStart)
-                                                && a.getCreatedAt().isBefore(todayEnd))
-                                .count();
+                long resolvedToday = alertRepository.countByUserIdAndStatusCreatedBetween(uid, AlertStatus.RESOLVED,
+                                todayStart, todayStart.plusDays(1));
 
                 return DashboardSummaryDTO.builder()
-                                .totalGardens(gardens.size())
-                                .totalZones(totalZones)
-                                .totalSensors(allSensors.size())
-                                .activeSensors(activeSensors)
-                                .faultySensors(faultySensors)
-                                .totalValves(allValves.size())
-                                .openValves(openValves)
-                                .totalWaterTanks(allTanks.size())
+                                .totalGardens((int) totalGardens)
+                                .totalZones(zoneIds.size())
+                                .totalSensors((int) totalSensors)
+                                .activeSensors(sensorsByStatus.getOrDefault(SensorStatus.ACTIVE.name(), 0L).intValue())
+                                .faultySensors(sensorsByStatus.getOrDefault(SensorStatus.FAULTY.name(), 0L).intValue())
+                                .totalValves((int) totalValves)
+                                .openValves(valvesByStatus.getOrDefault(ValveStatus.OPEN.name(), 0L).intValue())
+                                .totalWaterTanks(tankDTOs.size())
                                 .avgMoistureLevel(avgMoisture)
-                                .totalWaterUsedToday(Math.round(waterToday * 10.0) / 10.0)
-                                .totalWaterUsedThisWeek(Math.round(waterWeek * 10.0) / 10.0)
-                                .totalWaterUsedThisMonth(Math.round(waterMonth * 10.0) / 10.0)
-                                .totalIrrigationsToday(todayLogs.size())
-                                .totalIrrigationsThisWeek(weekLogs.size())
-                                .activeAlerts(activeAlerts.size())
+                                .totalWaterUsedToday(Math.round(water.getTodayVolume() * 10.0) / 10.0)
+                                .totalWaterUsedThisWeek(Math.round(water.getWeekVolume() * 10.0) / 10.0)
+                                .totalWaterUsedThisMonth(Math.round(water.getMonthVolume() * 10.0) / 10.0)
+                                .totalIrrigationsToday(water.getTodayCount().intValue())
+                                .totalIrrigationsThisWeek(water.getWeekCount().intValue())
+                                .activeAlerts((int) activeAlerts)
                                 .resolvedAlertsToday((int) resolvedToday)
-                                .lowMoistureAlerts((int) lowWaterAlerts)
-                                .highTemperatureAlerts((int) sensorFaultAlerts)
-                                .systemAlerts((int) drySoilAlerts)
+                                .lowMoistureAlerts(activeByType.getOrDefault(AlertType.LOW_WATER, 0L).intValue())
+                                .highTemperatureAlerts(activeByType.getOrDefault(AlertType.SENSOR_FAULT, 0L).intValue())
+                                .systemAlerts(activeByType.getOrDefault(AlertType.DRY_SOIL, 0L).intValue())
                                 .waterTanks(tankDTOs)
                                 .build();
         }
@@ -244,38 +407,20 @@ public class UserDashboardServiceImpl implements UserDashboardService {
         // ══════════════════════════════════════════════════════════════════════════
 
         @Override
+        @Transactional(propagation = Propagation.NOT_SUPPORTED)
         public List<GardenDTO> getAllGardens(String email) {
-                Users user = resolveUser(email);
-                return gardenRepository.findByUserUserId(user.getUserId()).stream()
-                                .map(g -> {
-                                        List<ZoneDTO> zones = zoneRepository.findByGardenGardenId(g.getGardenId())
-                                                        .stream().map(this::buildZoneDTO).collect(Collectors.toList());
-                                        List<AlertDTO> alerts = alertRepository
-                                                        .findTop5ByGardenGardenIdOrderByCreatedAtDesc(g.getGardenId())
-                                                        .stream().map(mapper::toAlertDTO).collect(Collectors.toList());
-                                        List<IrrigationLogDTO> logs = irrigationLogRepository
-                                                        .findTop5ByZoneGardenGardenIdOrderByStartTimeDesc(
-                                                                        g.getGardenId())
-                                                        .stream().map(mapper::toLogDTO).collect(Collectors.toList());
-                                        return mapper.toGardenDTO(g, zones, alerts, logs);
-                                }).collect(Collectors.toList());
+                AuthenticatedUser user = resolveUser(email);
+                List<Gardens> gardens = fanout.inTransaction(() -> gardenRepository.findByUserUserId(user.getUserId()));
+                return fanout.map(gardens, this::buildGardenDTOs);
         }
 
         @Override
         public GardenDTO getGardenById(String email, Long gardenId) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 verifyGardenOwnership(user.getUserId(), gardenId);
                 Gardens garden = gardenRepository.findById(gardenId)
                                 .orElseThrow(() -> new RuntimeException("Garden not found: " + gardenId));
-                List<ZoneDTO> zones = zoneRepository.findByGardenGardenId(gardenId)
-                                .stream().map(this::buildZoneDTO).collect(Collectors.toList());
-                List<AlertDTO> alerts = alertRepository
-                                .findTop5ByGardenGardenIdOrderByCreatedAtDesc(gardenId)
-                                .stream().map(mapper::toAlertDTO).collect(Collectors.toList());
-                List<IrrigationLogDTO> logs = irrigationLogRepository
-                                .findTop5ByZoneGardenGardenIdOrderByStartTimeDesc(gardenId)
-                                .stream().map(mapper::toLogDTO).collect(Collectors.toList());
-                return mapper.toGardenDTO(garden, zones, alerts, logs);
+                return buildGardenDTO(loadGardenBatch(List.of(gardenId), true), garden);
         }
 
         // ══════════════════════════════════════════════════════════════════════════
@@ -283,31 +428,36 @@ public class UserDashboardServiceImpl implements UserDashboardService {
         // ══════════════════════════════════════════════════════════════════════════
 
         @Override
+        @Transactional(propagation = Propagation.NOT_SUPPORTED)
         public List<ZoneDTO> getAllZones(String email) {
-                Users user = resolveUser(email);
-                return gardenRepository.findByUserUserId(user.getUserId()).stream()
-                                .flatMap(g -> zoneRepository.findByGardenGardenId(g.getGardenId()).stream())
-                                .map(this::buildZoneDTO)
-                                .collect(Collectors.toList());
+                AuthenticatedUser user = resolveUser(email);
+                List<Gardens> gardens = fanout.inTransaction(() -> gardenRepository.findByUserUserId(user.getUserId()));
+                return fanout.map(gardens, chunk -> {
+                        GardenBatch batch = loadGardenBatch(chunk, false);
+                        return chunk.stream()
+                                        .flatMap(g -> buildZoneDTOs(batch, g.getGardenId()).stream())
+                                        .collect(Collectors.toList());
+                });
         }
 
         @Override
         public List<ZoneDTO> getZonesByGarden(String email, Long gardenId) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 verifyGardenOwnership(user.getUserId(), gardenId);
-                return zoneRepository.findByGardenGardenId(gardenId).stream()
-                                .map(this::buildZoneDTO).collect(Collectors.toList());
+                return buildZoneDTOs(loadGardenBatch(List.of(gardenId), false), gardenId);
         }
 
         @Override
         public ZoneDTO getZoneById(String email, Long zoneId) {
-                resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
+                verifyZoneOwnership(user.getUserId(), zoneId);
                 Zones zone = zoneRepository.findById(zoneId)
                                 .orElseThrow(() -> new RuntimeException("Zone not found: " + zoneId));
                 return buildZoneDTO(zone);
         }
 
         @Override
+        @Transactional(propagation = Propagation.NOT_SUPPORTED)
         public List<ZoneDTO> getAlertZones(String email) {
                 return getAllZones(email).stream()
                                 .filter(z -> "ALERT".equals(z.getIrrigationStatus()))
@@ -315,6 +465,7 @@ public class UserDashboardServiceImpl implements UserDashboardService {
         }
 
         @Override
+        @Transactional(propagation = Propagation.NOT_SUPPORTED)
         public List<ZoneDTO> getActiveIrrigationZones(String email) {
                 return getAllZones(email).stream()
                                 .filter(z -> "ACTIVE".equals(z.getIrrigationStatus()))
@@ -327,32 +478,24 @@ public class UserDashboardServiceImpl implements UserDashboardService {
 
         @Override
         public List<SensorDTO> getAllSensors(String email) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 return sensorRepository.findAllByUserId(user.getUserId()).stream()
-                                .map(s -> {
-                                        SensorReadings latest = sensorReadingRepository
-                                                        .findTopBySensorZoneZoneIdOrderByRecordedAtDesc(
-                                                                        s.getZone().getZoneId())
-                                                        .orElse(null);
-                                        return mapper.toSensorDTO(s, latest);
-                                }).collect(Collectors.toList());
+                                .map(this::buildSensorDTO)
+                                .collect(Collectors.toList());
         }
 
         @Override
         public List<SensorDTO> getSensorsByZone(String email, Long zoneId) {
-                resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
+                verifyZoneOwnership(user.getUserId(), zoneId);
                 return sensorRepository.findByZoneZoneId(zoneId).stream()
-                                .map(s -> {
-                                        SensorReadings latest = sensorReadingRepository
-                                                        .findTopBySensorZoneZoneIdOrderByRecordedAtDesc(zoneId)
-                                                        .orElse(null);
-                                        return mapper.toSensorDTO(s, latest);
-                                }).collect(Collectors.toList());
+                                .map(this::buildSensorDTO)
+                                .collect(Collectors.toList());
         }
 
         @Override
         public List<SensorDTO> getFaultySensors(String email) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 List<SensorDTO> faulty = sensorRepository.findByUserIdAndStatus(user.getUserId(), SensorStatus.FAULTY)
                                 .stream().map(s -> mapper.toSensorDTO(s, null)).collect(Collectors.toList());
                 List<SensorDTO> inactive = sensorRepository
@@ -368,7 +511,7 @@ public class UserDashboardServiceImpl implements UserDashboardService {
 
         @Override
         public List<IrrigationLogDTO> getTodayIrrigationLogs(String email) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 return irrigationLogRepository
                                 .findByUserIdAndStartTimeAfter(user.getUserId(), LocalDate.now().atStartOfDay())
                                 .stream().map(mapper::toLogDTO).collect(Collectors.toList());
@@ -376,7 +519,7 @@ public class UserDashboardServiceImpl implements UserDashboardService {
 
         @Override
         public List<IrrigationLogDTO> getWeeklyIrrigationLogs(String email) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 return irrigationLogRepository
                                 .findByUserIdAndStartTimeAfter(user.getUserId(),
                                                 LocalDate.now().minusDays(6).atStartOfDay())
@@ -385,7 +528,7 @@ public class UserDashboardServiceImpl implements UserDashboardService {
 
         @Override
         public List<IrrigationLogDTO> getMonthlyIrrigationLogs(String email) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 return irrigationLogRepository
                                 .findByUserIdAndStartTimeAfter(user.getUserId(),
                                                 LocalDate.now().withDayOfMonth(1).atStartOfDay())
@@ -394,58 +537,52 @@ public class UserDashboardServiceImpl implements UserDashboardService {
 
         @Override
         public List<IrrigationLogDTO> getRecentIrrigationLogs(String email, int limit) {
-                Users user = resolveUser(email);
-                List<Gardens> gardens = gardenRepository.findByUserUserId(user.getUserId());
-                return gardens.stream()
-                                .flatMap(g -> irrigationLogRepository
-                                                .findTop5ByZoneGardenGardenIdOrderByStartTimeDesc(g.getGardenId())
-                                                .stream())
-                                .sorted(Comparator.comparing(IrrigationLogs::getStartTime,
-                                                Comparator.nullsLast(Comparator.reverseOrder())))
-                                .limit(limit)
-                                .map(mapper::toLogDTO)
-                                .collect(Collectors.toList());
+                return getIrrigationLogPage(email, null, limit).getLogs();
         }
 
         @Override
         public List<IrrigationLogDTO> getIrrigationLogsByZone(String email, Long zoneId, int limit) {
-                resolveUser(email);
-                return irrigationLogRepository.findAll().stream()
-                                .filter(l -> l.getZone() != null && l.getZone().getZoneId().equals(zoneId))
-                                .sorted(Comparator.comparing(IrrigationLogs::getStartTime,
-                                                Comparator.nullsLast(Comparator.reverseOrder())))
-                                .limit(limit)
-                                .map(mapper::toLogDTO)
-                                .collect(Collectors.toList());
+                return getZoneIrrigationLogPage(email, zoneId, null, limit).getLogs();
+        }
+
+        @Override
+        public IrrigationLogPageDTO getIrrigationLogPage(String email, String cursor, int size) {
+                AuthenticatedUser user = resolveUser(email);
+                return irrigationLogService.getUserLogs(user.getUserId(), cursor, size);
+        }
+
+        @Override
+        public IrrigationLogPageDTO getGardenIrrigationLogPage(String email, Long gardenId, String cursor, int size) {
+                AuthenticatedUser user = resolveUser(email);
+                verifyGardenOwnership(user.getUserId(), gardenId);
+                return irrigationLogService.getGardenLogs(gardenId, cursor, size);
+        }
+
+        @Override
+        public IrrigationLogPageDTO getZoneIrrigationLogPage(String email, Long zoneId, String cursor, int size) {
+                AuthenticatedUser user = resolveUser(email);
+                verifyZoneOwnership(user.getUserId(), zoneId);
+                return irrigationLogService.getZoneLogs(zoneId, cursor, size);
         }
 
         @Override
         public Double getTotalWaterUsedToday(String email) {
-                Users user = resolveUser(email);
-                return irrigationLogRepository
-                                .findByUserIdAndStartTimeAfter(user.getUserId(), LocalDate.now().atStartOfDay())
-                                .stream().mapToDouble(l -> l.getWaterVolumeUsed() != null ? l.getWaterVolumeUsed() : 0)
-                                .sum();
+                AuthenticatedUser user = resolveUser(email);
+                return waterUsageRollupService.getTotalSince(user.getUserId(), LocalDate.now().atStartOfDay());
         }
 
         @Override
         public Double getTotalWaterUsedThisWeek(String email) {
-                Users user = resolveUser(email);
-                return irrigationLogRepository
-                                .findByUserIdAndStartTimeAfter(user.getUserId(),
-                                                LocalDate.now().minusDays(6).atStartOfDay())
-                                .stream().mapToDouble(l -> l.getWaterVolumeUsed() != null ? l.getWaterVolumeUsed() : 0)
-                                .sum();
+                AuthenticatedUser user = resolveUser(email);
+                return waterUsageRollupService.getTotalSince(user.getUserId(),
+                                LocalDate.now().minusDays(6).atStartOfDay());
         }
 
         @Override
         public Double getTotalWaterUsedThisMonth(String email) {
-                Users user = resolveUser(email);
-                return irrigationLogRepository
-                                .findByUserIdAndStartTimeAfter(user.getUserId(),
-                                                LocalDate.now().withDayOfMonth(1).atStartOfDay())
-                                .stream().mapToDouble(l -> l.getWaterVolumeUsed() != null ? l.getWaterVolumeUsed() : 0)
-                                .sum();
+                AuthenticatedUser user = resolveUser(email);
+                return waterUsageRollupService.getTotalSince(user.getUserId(),
+                                LocalDate.now().withDayOfMonth(1).atStartOfDay());
         }
 
         // ══════════════════════════════════════════════════════════════════════════
@@ -454,14 +591,14 @@ public class UserDashboardServiceImpl implements UserDashboardService {
 
         @Override
         public List<AlertDTO> getActiveAlerts(String email) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 return alertRepository.findByUserIdAndStatus(user.getUserId(), AlertStatus.ACTIVE)
                                 .stream().map(mapper::toAlertDTO).collect(Collectors.toList());
         }
 
         @Override
         public List<AlertDTO> getResolvedAlertsToday(String email) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 LocalDateTime todayStart = LocalDate.now().atStartOfDay();
                 LocalDateTime todayEnd = todayStart.plusDays(1);
                 return alertRepository.findByUserIdAndStatus(user.getUserId(), AlertStatus.RESOLVED)
@@ -475,7 +612,7 @@ public class UserDashboardServiceImpl implements UserDashboardService {
 
         @Override
         public List<AlertDTO> getRecentAlerts(String email, int limit) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 List<Gardens> gardens = gardenRepository.findByUserUserId(user.getUserId());
                 return gardens.stream()
                                 .flatMap(g -> alertRepository
@@ -489,7 +626,7 @@ public class UserDashboardServiceImpl implements UserDashboardService {
 
         @Override
         public List<AlertDTO> getAlertsByGarden(String email, Long gardenId) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 verifyGardenOwnership(user.getUserId(), gardenId);
                 return alertRepository.findTop5ByGardenGardenIdOrderByCreatedAtDesc(gardenId)
                                 .stream().map(mapper::toAlertDTO).collect(Collectors.toList());
@@ -497,7 +634,7 @@ public class UserDashboardServiceImpl implements UserDashboardService {
 
         @Override
         public Map<String, Long> getAlertCountByType(String email) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 return alertRepository.findByUserIdAndStatus(user.getUserId(), AlertStatus.ACTIVE)
                                 .stream()
                                 .filter(a -> a.getAlertType() != null)
@@ -507,17 +644,23 @@ public class UserDashboardServiceImpl implements UserDashboardService {
         }
 
         @Override
+        @Transactional
         public void resolveAlert(String email, Long alertId) {
-                Users user = resolveUser(email);
-                Alerts alert = alertRepository.findById(alertId)
+                AuthenticatedUser user = resolveUser(email);
+                Alerts alert = alertRepository.findWithGardenByAlertId(alertId)
                                 .orElseThrow(() -> new RuntimeException("Alert not found: " + alertId));
                 // Ownership check via garden
-                if (alert.getGarden() == null ||
-                                !alert.getGarden().getUser().getUserId().equals(user.getUserId())) {
+                if (alert.getGarden() == null
+                                || !ownership.ownsGarden(user.getUserId(), alert.getGarden().getGardenId())) {
                         throw new RuntimeException("Alert does not belong to this user");
                 }
                 alert.setStatus(AlertStatus.RESOLVED);
                 alertRepository.save(alert);
+                eventPublisher.publishEvent(new AlertChangedEvent(user.getUserId(),
+                                alert.getGarden().getGardenId(),
+                                alert.getZone() != null ? alert.getZone().getZoneId() : null,
+                                alert.getSensorId(), alert.getAlertId(), alert.getAlertType(), alert.getStatus(),
+                                alert.getMessage(), alert.getCreatedAt()));
         }
 
         // ══════════════════════════════════════════════════════════════════════════
@@ -526,14 +669,14 @@ public class UserDashboardServiceImpl implements UserDashboardService {
 
         @Override
         public List<WaterTankDTO> getAllWaterTanks(String email) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 return waterTankRepository.findAllByUserId(user.getUserId())
                                 .stream().map(mapper::toWaterTankDTO).collect(Collectors.toList());
         }
 
         @Override
         public List<WaterTankDTO> getWaterTanksByGarden(String email, Long gardenId) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 verifyGardenOwnership(user.getUserId(), gardenId);
                 return waterTankRepository.findByGardenGardenId(gardenId)
                                 .stream().map(mapper::toWaterTankDTO).collect(Collectors.toList());
@@ -541,9 +684,12 @@ public class UserDashboardServiceImpl implements UserDashboardService {
 
         @Override
         public List<WaterTankDTO> getLowWaterTanks(String email) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 Long uid = user.getUserId();
-                // TankStatus has: NORMAL, LOW, EMPTY (no CRITICAL)
+                List<WaterTankDTO> atRisk = tankForecastService.getAtRiskTanks(uid);
+                if (atRisk != null)
+                        return atRisk;
+                // Tank index not warm yet: status only, no forecast
                 List<WaterTankDTO> low = waterTankRepository.findByUserIdAndStatus(uid, TankStatus.LOW)
                                 .stream().map(mapper::toWaterTankDTO).collect(Collectors.toList());
                 waterTankRepository.findByUserIdAndStatus(uid, TankStatus.EMPTY)
@@ -557,21 +703,22 @@ public class UserDashboardServiceImpl implements UserDashboardService {
 
         @Override
         public List<ValveDTO> getAllValves(String email) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 return valvesRepository.findAllByUserId(user.getUserId())
                                 .stream().map(mapper::toValveDTO).collect(Collectors.toList());
         }
 
         @Override
         public List<ValveDTO> getValvesByZone(String email, Long zoneId) {
-                resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
+                verifyZoneOwnership(user.getUserId(), zoneId);
                 return valvesRepository.findByZone_ZoneId(zoneId)
                                 .stream().map(mapper::toValveDTO).collect(Collectors.toList());
         }
 
         @Override
         public List<ValveDTO> getOpenValves(String email) {
-                Users user = resolveUser(email);
+                AuthenticatedUser user = resolveUser(email);
                 return valvesRepository.findByUserIdAndStatus(user.getUserId(), ValveStatus.OPEN)
                                 .stream().map(mapper::toValveDTO).collect(Collectors.toList());
         }
@@ -580,62 +727,117 @@ public class UserDashboardServiceImpl implements UserDashboardService {
         // 10. VALVE CONTROL OPERATIONS
         // ══════════════════════════════════════════════════════════════════════════
 
+        // Valves and pumps only change state when the device acknowledges the
+        // command; the DTO carries the queued command until then.
+
         @Override
-        public ValveDTO openValve(String email, Long valveId) {
-                Users user = resolveUser(email);
-                Valves valve = valvesRepository.findById(valveId)
-                                .orElseThrow(() -> new RuntimeException("Valve not found: " + valveId));
-                
-                // Verify ownership
-                if (!valve.getZone().getGarden().getUser().getUserId().equals(user.getUserId())) {
-                        throw new RuntimeException("Valve " + valveId + " does not belong to user");
-                }
-                
-                valve.setValveStatus(ValveStatus.OPEN);
-                valve.setLastActivatedAt(LocalDateTime.now());
-                valvesRepository.save(valve);
-                
-                return mapper.toValveDTO(valve);
+        @Transactional
+        public ValveDTO openValve(String email, Long valveId, String commandId) {
+                AuthenticatedUser user = resolveUser(email);
+                return queueValveCommand(user, ownedValve(user, valveId), CommandAction.OPEN, commandId);
         }
 
         @Override
-        public ValveDTO closeValve(String email, Long valveId) {
-                Users user = resolveUser(email);
-                Valves valve = valvesRepository.findById(valveId)
-                                .orElseThrow(() -> new RuntimeException("Valve not found: " + valveId));
-                
-                // Verify ownership
-                if (!valve.getZone().getGarden().getUser().getUserId().equals(user.getUserId())) {
-                        throw new RuntimeException("Valve " + valveId + " does not belong to user");
-                }
-                
-                valve.setValveStatus(ValveStatus.CLOSED);
-                valvesRepository.save(valve);
-                
-                return mapper.toValveDTO(valve);
+        @Transactional
+        public ValveDTO closeValve(String email, Long valveId, String commandId) {
+                AuthenticatedUser user = resolveUser(email);
+                return queueValveCommand(user, ownedValve(user, valveId), CommandAction.CLOSE, commandId);
         }
 
         @Override
-        public ValveDTO toggleValve(String email, Long valveId) {
-                Users user = resolveUser(email);
-                Valves valve = valvesRepository.findById(valveId)
-                                .orElseThrow(() -> new RuntimeException("Valve not found: " + valveId));
-                
-                // Verify ownership
-                if (!valve.getZone().getGarden().getUser().getUserId().equals(user.getUserId())) {
+        @Transactional
+        public ValveDTO toggleValve(String email, Long valveId, String commandId) {
+                AuthenticatedUser user = resolveUser(email);
+                Valves valve = ownedValve(user, valveId);
+
+                // Toggles what the valve will be once its queued commands are applied
+                CommandAction pending = deviceCommandService.pendingAction(DeviceType.VALVE, valveId);
+                boolean open = pending != null ? pending == CommandAction.OPEN
+                                : valve.getValveStatus() == ValveStatus.OPEN;
+                return queueValveCommand(user, valve, open ? CommandAction.CLOSE : CommandAction.OPEN, commandId);
+        }
+
+        private Valves ownedValve(AuthenticatedUser user, Long valveId) {
+                // Verify ownership before touching the valve
+                long owner = ownership.ownerOfValve(valveId);
+                if (owner == OwnershipIndex.UNKNOWN)
+                        throw new RuntimeException("Valve not found: " + valveId);
+                if (owner != user.getUserId())
                         throw new RuntimeException("Valve " + valveId + " does not belong to user");
-                }
-                
-                ValveStatus newStatus = valve.getValveStatus() == ValveStatus.OPEN 
-                        ? ValveStatus.CLOSED 
-                        : ValveStatus.OPEN;
-                
-                valve.setValveStatus(newStatus);
-                if (newStatus == ValveStatus.OPEN) {
-                        valve.setLastActivatedAt(LocalDateTime.now());
-                }
-                valvesRepository.save(valve);
-                
-                return mapper.toValveDTO(valve);
+                return valvesRepository.findWithZoneByValveId(valveId)
+                                .orElseThrow(() -> new RuntimeException("Valve not found: " + valveId));
+        }
+
+        private ValveDTO queueValveCommand(AuthenticatedUser user, Valves valve, CommandAction action,
+                        String commandId) {
+                DeviceCommandDTO command = deviceCommandService.submit(user.getUserId(),
+                                valve.getZone().getGarden().getGardenId(), DeviceType.VALVE, valve.getValveId(),
+                                action, commandId);
+                ValveDTO dto = mapper.toValveDTO(valve);
+                dto.setCommandId(command.getCommandId());
+                if (isOpen(command))
+                        dto.setPendingAction(command.getAction());
+                return dto;
+        }
+
+        private static boolean isOpen(DeviceCommandDTO command) {
+                return CommandStatus.PENDING.name().equals(command.getStatus())
+                                || CommandStatus.SENT.name().equals(command.getStatus());
+        }
+
+        // ══════════════════════════════════════════════════════════════════════════
+        // 11. PUMP OPERATIONS
+        // ══════════════════════════════════════════════════════════════════════════
+
+        @Override
+        public List<PumpDTO> getAllPumps(String email) {
+                AuthenticatedUser user = resolveUser(email);
+                return pumpsRepository.findAllByUserId(user.getUserId())
+                                .stream().map(mapper::toPumpDTO).collect(Collectors.toList());
+        }
+
+        @Override
+        @Transactional
+        public PumpDTO startPump(String email, Long pumpId, String commandId) {
+                AuthenticatedUser user = resolveUser(email);
+                return queuePumpCommand(user, ownedPump(user, pumpId), CommandAction.START, commandId);
+        }
+
+        @Override
+        @Transactional
+        public PumpDTO stopPump(String email, Long pumpId, String commandId) {
+                AuthenticatedUser user = resolveUser(email);
+                return queuePumpCommand(user, ownedPump(user, pumpId), CommandAction.STOP, commandId);
+        }
+
+        private Pumps ownedPump(AuthenticatedUser user, Long pumpId) {
+                long owner = ownership.ownerOfPump(pumpId);
+                if (owner == OwnershipIndex.UNKNOWN)
+                        throw new RuntimeException("Pump not found: " + pumpId);
+                if (owner != user.getUserId())
+                        throw new RuntimeException("Pump " + pumpId + " does not belong to user");
+                return pumpsRepository.findById(pumpId)
+                                .orElseThrow(() -> new RuntimeException("Pump not found: " + pumpId));
+        }
+
+        private PumpDTO queuePumpCommand(AuthenticatedUser user, Pumps pump, CommandAction action, String commandId) {
+                DeviceCommandDTO command = deviceCommandService.submit(user.getUserId(),
+                                ownership.gardenOfPump(pump.getPumpId()), DeviceType.PUMP, pump.getPumpId(),
+                                action, commandId);
+                PumpDTO dto = mapper.toPumpDTO(pump);
+                dto.setCommandId(command.getCommandId());
+                if (isOpen(command))
+                        dto.setPendingAction(command.getAction());
+                return dto;
+        }
+
+        // ══════════════════════════════════════════════════════════════════════════
+        // 12. DEVICE COMMANDS
+        // ══════════════════════════════════════════════════════════════════════════
+
+        @Override
+        public DeviceCommandDTO getDeviceCommand(String email, String commandId) {
+                AuthenticatedUser user = resolveUser(email);
+                return deviceCommandService.getCommand(user.getUserId(), commandId);
         }
 }
@@ -0,0 +1,152 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Dto.RollupRebuildResultDTO;
+import com.example.FloraX.Enum.RollupGranularity;
+import com.example.FloraX.Event.IrrigationLoggedEvent;
+import com.example.FloraX.Repository.Projection.IrrigationTotals;
+import com.example.FloraX.Repository.Projection.WaterUsageWindows;
+import com.example.FloraX.Repository.Projection.ZoneRouting;
+import com.example.FloraX.Repository.WaterUsageRollupRepository;
+import com.example.FloraX.Repository.ZoneRepository;
+import com.example.FloraX.Service.WaterUsageRollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of WaterUsageRollupService.
+ *
+ * Buckets are updated with a single INSERT ... ON DUPLICATE KEY UPDATE per
+ * granularity inside the transaction that writes the irrigation log, so a
+ * rolled-back log never reaches the totals. Totals are only as complete as
+ * the writers that publish IrrigationLoggedEvent; logs inserted directly in
+ * SQL need a rebuild (POST /api/admin/rollups/water-usage/rebuild).
+ */
+@Service
+@Slf4j
+public class WaterUsageRollupServiceImpl implements WaterUsageRollupService {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final WaterUsageRollupRepository rollupRepository;
+    private final ZoneRepository zoneRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean backfillOnStartup;
+
+    // Zones never change garden, so their owner ids are cached for good
+    private final Map<Long, ZoneRouting> zoneOwners = new ConcurrentHashMap<>();
+
+    public WaterUsageRollupServiceImpl(WaterUsageRollupRepository rollupRepository,
+            ZoneRepository zoneRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${florax.rollups.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.rollupRepository = rollupRepository;
+        this.zoneRepository = zoneRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    // Fills an empty rollup table from existing irrigation logs
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!backfillOnStartup)
+            return;
+        try {
+            if (rollupRepository.existsByGranularity(RollupGranularity.DAY))
+                return;
+            RollupRebuildResultDTO result = transactionTemplate.execute(status -> rebuild(null));
+            log.info("Water usage rollups backfilled: {} hourly / {} daily buckets in {} ms",
+                    result.getHourlyBuckets(), result.getDailyBuckets(), result.getDurationMs());
+        } catch (RuntimeException e) {
+            log.error("Water usage rollup backfill failed", e);
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void onIrrigationLogged(IrrigationLoggedEvent event) {
+        record(event.getZoneId(), event.getStartTime(), event.getVolumeDelta(), event.getEventCountDelta());
+    }
+
+    @Override
+    @Transactional
+    public void record(Long zoneId, LocalDateTime startTime, double volumeDelta, int eventCountDelta) {
+        if (zoneId == null || startTime == null || (volumeDelta == 0 && eventCountDelta == 0))
+            return;
+        ZoneRouting owner = ownerOf(zoneId);
+        Long gardenId = owner != null ? owner.getGardenId() : null;
+        Long userId = owner != null ? owner.getUserId() : null;
+
+        rollupRepository.addToBucket(RollupGranularity.HOUR.name(), startTime.truncatedTo(ChronoUnit.HOURS),
+                zoneId, gardenId, userId, volumeDelta, eventCountDelta);
+        rollupRepository.addToBucket(RollupGranularity.DAY.name(), startTime.toLocalDate().atStartOfDay(),
+                zoneId, gardenId, userId, volumeDelta, eventCountDelta);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public double getTotalSince(Long userId, LocalDateTime since) {
+        Double total = rollupRepository
+                .sumByUserIdSince(userId, RollupGranularity.DAY, since.toLocalDate().atStartOfDay())
+                .getTotalVolume();
+        return total != null ? total : 0.0;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IrrigationTotals getToday(Long userId) {
+        return rollupRepository.sumByUserIdSince(userId, RollupGranularity.DAY, LocalDate.now().atStartOfDay());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WaterUsageWindows getWindows(Long userId) {
+        LocalDate today = LocalDate.now();
+        LocalDateTime todayStart = today.atStartOfDay();
+        LocalDateTime weekStart = today.minusDays(6).atStartOfDay();
+        LocalDateTime monthStart = today.withDayOfMonth(1).atStartOfDay();
+        LocalDateTime from = weekStart.isBefore(monthStart) ? weekStart : monthStart;
+        return rollupRepository.sumWindowsByUserId(userId, todayStart, weekStart, monthStart, from);
+    }
+
+    @Override
+    @Transactional
+    public RollupRebuildResultDTO rebuild(LocalDateTime since) {
+        long start = System.currentTimeMillis();
+        LocalDateTime from = since != null ? since.toLocalDate().atStartOfDay() : EPOCH;
+
+        int deleted = rollupRepository.deleteSince(from);
+        int hourly = rollupRepository.rebuildHourlySince(from);
+        int daily = rollupRepository.rebuildDailySince(from);
+
+        return RollupRebuildResultDTO.builder()
+                .since(from)
+                .deletedBuckets(deleted)
+                .hourlyBuckets(hourly)
+                .dailyBuckets(daily)
+                .durationMs(System.currentTimeMillis() - start)
+                .build();
+    }
+
+    private ZoneRouting ownerOf(Long zoneId) {
+        ZoneRouting owner = zoneOwners.get(zoneId);
+        if (owner != null)
+            return owner;
+        List<ZoneRouting> found = zoneRepository.findRoutingByZoneIds(List.of(zoneId));
+        if (found.isEmpty())
+            return null;
+        zoneOwners.put(zoneId, found.get(0));
+        return found.get(0);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.FloraX.Service;
+
+import com.example.FloraX.Dto.IrrigationLogPageDTO;
+
+/**
+ * Service interface for keyset-paginated irrigation log queries.
+ *
+ * Pages are ordered by (startTime, logId) descending and read through the
+ * (zone_id, start_time, log_id) index, so the cost of a page depends on the
+ * page size (times the number of zones for garden / user pages), not on the
+ * size of irrigation_logs. Ownership is checked by the callers.
+ */
+public interface IrrigationLogService {
+
+    IrrigationLogPageDTO getZoneLogs(Long zoneId, String cursor, int size);
+
+    IrrigationLogPageDTO getGardenLogs(Long gardenId, String cursor, int size);
+
+    IrrigationLogPageDTO getUserLogs(Long userId, String cursor, int size);
+}
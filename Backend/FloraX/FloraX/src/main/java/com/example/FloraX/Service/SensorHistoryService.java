@@ -0,0 +1,31 @@
+package com.example.FloraX.Service;
+
+import com.example.FloraX.Dto.SensorHistoryDTO;
+import com.example.FloraX.Dto.ZoneHistoryDTO;
+import com.example.FloraX.Enum.HistoryResolution;
+import com.example.FloraX.Enum.SensorType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for sensor reading history (charts).
+ * The recent window is served from memory; older ranges come from
+ * sensor_readings and the downsampled sensor_reading_rollups.
+ */
+public interface SensorHistoryService {
+
+    /**
+     * History of one sensor owned by the user. A null resolution picks one
+     * from the length of the range and what retention keeps at its start;
+     * parts of the range older than the requested resolution is kept for
+     * come from the finest rollups that still cover them.
+     */
+    SensorHistoryDTO getSensorHistory(String email, Long sensorId, LocalDateTime from, LocalDateTime to,
+            HistoryResolution resolution);
+
+    /**
+     * History of every sensor of the given type in a zone owned by the user.
+     */
+    ZoneHistoryDTO getZoneHistory(String email, Long zoneId, SensorType sensorType, LocalDateTime from,
+            LocalDateTime to, HistoryResolution resolution);
+}
@@ -0,0 +1,22 @@
+package com.example.FloraX.Service;
+
+/**
+ * Service interface for sensor liveness. Every reading refreshes the
+ * sensor's last-seen time; a sensor silent for
+ * florax.liveness.inactive-after-minutes becomes INACTIVE, and after
+ * florax.liveness.faulty-after-minutes FAULTY. Its next reading makes it
+ * ACTIVE again. Only these transitions are written to the sensors table.
+ */
+public interface SensorLivenessService {
+
+    /**
+     * Applies the transitions of every sensor whose silence deadline has
+     * passed. Scheduled every florax.liveness.tick-ms; safe to run by hand.
+     */
+    void checkLiveness();
+
+    /**
+     * Number of sensors with a known last-seen time.
+     */
+    int getTrackedSensorCount();
+}
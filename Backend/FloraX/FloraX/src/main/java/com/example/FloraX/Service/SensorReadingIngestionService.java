@@ -0,0 +1,29 @@
+package com.example.FloraX.Service;
+
+import com.example.FloraX.Dto.IngestionResultDTO;
+import com.example.FloraX.Dto.SensorReadingRequest;
+
+import java.util.List;
+
+/**
+ * Service interface for high-volume sensor reading ingestion.
+ * Readings are validated, buffered in memory and written to sensor_readings
+ * in JDBC batches by a background flusher.
+ */
+public interface SensorReadingIngestionService {
+
+    /**
+     * Validates and queues a batch of readings sent by a field gateway.
+     * Readings are identified either by sensorId or by serialNumber;
+     * readings for sensors the user does not own are rejected.
+     * When the buffer cannot take the whole batch, nothing is queued and
+     * the result is flagged bufferFull so the caller can retry later.
+     * A batch larger than the buffer itself is flagged tooLarge instead.
+     */
+    IngestionResultDTO ingest(String email, List<SensorReadingRequest> readings);
+
+    /**
+     * Writes every buffered reading to the database.
+     */
+    void flush();
+}
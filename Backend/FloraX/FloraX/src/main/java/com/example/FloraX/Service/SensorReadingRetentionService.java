@@ -0,0 +1,18 @@
+package com.example.FloraX.Service;
+
+import com.example.FloraX.Dto.ReadingMaintenanceResultDTO;
+
+/**
+ * Service interface for the sensor_readings storage tier: downsampling of
+ * old raw readings, expiry of rollups and monthly partition maintenance.
+ * Policies are configured per SensorType (see SensorReadingStorageProperties).
+ */
+public interface SensorReadingRetentionService {
+
+    /**
+     * Runs one maintenance pass: creates upcoming partitions, downsamples and
+     * deletes expired raw readings, expires old rollups and drops partitions
+     * that no longer hold live data. Scheduled daily; safe to run by hand.
+     */
+    ReadingMaintenanceResultDTO runMaintenance();
+}
@@ -0,0 +1,30 @@
+package com.example.FloraX.Service;
+
+import com.example.FloraX.Dto.WaterTankDTO;
+
+import java.util.List;
+
+/**
+ * Service interface for water tank depletion forecasts.
+ * Forecasts are computed from memory (recent level samples and cached
+ * per-garden irrigation consumption), never from a query per request.
+ */
+public interface TankForecastService {
+
+    /**
+     * Estimated hours until the tank is empty, or null when it is not
+     * draining or not known.
+     */
+    Double getHoursUntilEmpty(Long tankId);
+
+    /**
+     * Tanks of the user that are LOW or EMPTY, or forecast to run dry within
+     * the forecast horizon, soonest first. Null until the tank index is warm.
+     */
+    List<WaterTankDTO> getAtRiskTanks(Long userId);
+
+    /**
+     * Reloads per-garden irrigation consumption from the hourly rollups.
+     */
+    void refreshConsumption();
+}
@@ -0,0 +1,26 @@
+package com.example.FloraX.Service;
+
+import com.example.FloraX.Dto.IngestionResultDTO;
+import com.example.FloraX.Dto.TankLevelRequest;
+
+import java.util.List;
+
+/**
+ * Service interface for water tank level telemetry.
+ * Every reading is kept in water_level_readings, while water_tanks is
+ * updated at most once per tank per flush interval with the newest level.
+ */
+public interface TankLevelService {
+
+    /**
+     * Validates and queues a batch of tank level readings. Readings for
+     * unknown tanks, tanks the user does not own or without a level are
+     * rejected; levels outside the tank's capacity are clamped.
+     */
+    IngestionResultDTO ingest(String email, List<TankLevelRequest> readings);
+
+    /**
+     * Writes buffered readings and the coalesced tank levels.
+     */
+    void flush();
+}
@@ -15,7 +15,8 @@ import java.util.List;
  * - Irrigation logs (daily / weekly / monthly)
  * - Alerts (active, resolved, by type)
  * - Water tank status
- * - Valve status
+ * - Valve status and control
+ * - Pump control and device command tracking
  *
  * All methods accept the authenticated user's email (extracted from JWT).
  */
@@ -141,6 +142,22 @@ public interface UserDashboardService {
      */
     List<IrrigationLogDTO> getIrrigationLogsByZone(String email, Long zoneId, int limit);
 
+    /**
+     * Returns one page of the user's irrigation logs, newest first.
+     * cursor is the nextCursor of the previous page, or null for the first.
+     */
+    IrrigationLogPageDTO getIrrigationLogPage(String email, String cursor, int size);
+
+    /**
+     * Returns one page of a garden's irrigation logs, newest first.
+     */
+    IrrigationLogPageDTO getGardenIrrigationLogPage(String email, Long gardenId, String cursor, int size);
+
+    /**
+     * Returns one page of a zone's irrigation logs, newest first.
+     */
+    IrrigationLogPageDTO getZoneIrrigationLogPage(String email, Long zoneId, String cursor, int size);
+
     /**
      * Returns the total water volume used today (litres) across all gardens.
      */
@@ -208,7 +225,8 @@ public interface UserDashboardService {
     List<WaterTankDTO> getWaterTanksByGarden(String email, Long gardenId);
 
     /**
-     * Returns tanks that are LOW or CRITICAL on water level.
+     * Returns tanks that are LOW or EMPTY, or forecast to run dry within the
+     * forecast horizon, soonest first with hoursUntilEmpty set.
      */
     List<WaterTankDTO> getLowWaterTanks(String email);
 
@@ -237,19 +255,51 @@ public interface UserDashboardService {
     // ══════════════════════════════════════════════════════════════════════════
 
     /**
-     * Opens a specific valve to start irrigation.
-     * Updates the valve status to OPEN and sets lastActivatedAt.
+     * Queues a command opening a specific valve. The valve status changes to
+     * OPEN (and lastActivatedAt is set) once the valve acknowledges it.
+     * commandId is an optional idempotency key.
      */
-    ValveDTO openValve(String email, Long valveId);
+    ValveDTO openValve(String email, Long valveId, String commandId);
 
     /**
-     * Closes a specific valve to stop irrigation.
-     * Updates the valve status to CLOSED.
+     * Queues a command closing a specific valve. The valve status changes to
+     * CLOSED once the valve acknowledges it.
      */
-    ValveDTO closeValve(String email, Long valveId);
+    ValveDTO closeValve(String email, Long valveId, String commandId);
+
+    /**
+     * Queues the command that toggles a valve (OPEN if closed, CLOSED if
+     * open), taking commands still in the queue into account.
+     */
+    ValveDTO toggleValve(String email, Long valveId, String commandId);
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // 11. PUMP OPERATIONS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Returns all pumps across all water tanks of the user.
+     */
+    List<PumpDTO> getAllPumps(String email);
+
+    /**
+     * Queues a command starting a pump. The pump status changes to ON once
+     * the pump acknowledges it.
+     */
+    PumpDTO startPump(String email, Long pumpId, String commandId);
+
+    /**
+     * Queues a command stopping a pump. The pump status changes to OFF once
+     * the pump acknowledges it.
+     */
+    PumpDTO stopPump(String email, Long pumpId, String commandId);
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // 12. DEVICE COMMANDS
+    // ══════════════════════════════════════════════════════════════════════════
 
     /**
-     * Toggles a valve's state (OPEN if closed, CLOSED if open).
+     * Returns the delivery status of one of the user's valve or pump commands.
      */
-    ValveDTO toggleValve(String email, Long valveId);
+    DeviceCommandDTO getDeviceCommand(String email, String commandId);
 }
@@ -0,0 +1,45 @@
+package com.example.FloraX.Service;
+
+import com.example.FloraX.Dto.RollupRebuildResultDTO;
+import com.example.FloraX.Repository.Projection.IrrigationTotals;
+import com.example.FloraX.Repository.Projection.WaterUsageWindows;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for pre-aggregated water usage.
+ *
+ * Every irrigation log adds its volume to an hourly and a daily bucket of its
+ * zone, so today / week / month totals read a handful of buckets instead of
+ * scanning irrigation_logs.
+ */
+public interface WaterUsageRollupService {
+
+    /**
+     * Adds water used (and optionally one irrigation event) to the buckets
+     * covering startTime. Joins the caller's transaction when there is one.
+     */
+    void record(Long zoneId, LocalDateTime startTime, double volumeDelta, int eventCountDelta);
+
+    /**
+     * Total water used by the user from the start of the given day.
+     */
+    double getTotalSince(Long userId, LocalDateTime since);
+
+    /**
+     * Irrigation count and water used by the user today, read from the same
+     * daily buckets as getWindows so the dashboard and the summary agree.
+     */
+    IrrigationTotals getToday(Long userId);
+
+    /**
+     * Today / last 7 days / this month totals of the user in one query.
+     */
+    WaterUsageWindows getWindows(Long userId);
+
+    /**
+     * Recomputes every bucket from the start of the given day (all history
+     * when null) from irrigation_logs.
+     */
+    RollupRebuildResultDTO rebuild(LocalDateTime since);
+}
@@ -0,0 +1,177 @@
+-- Baseline: the schema of florax_db.sql, the database Hibernate's
+-- ddl-auto=update created before migrations were introduced. Databases
+-- loaded from that dump have no history table; they are baselined at this
+-- version and start at V2.
+
+create table alerts (
+    alert_id bigint not null auto_increment,
+    alert_type enum ('DRY_SOIL','LOW_WATER','SENSOR_FAULT'),
+    created_at datetime(6),
+    message longtext,
+    status enum ('ACTIVE','RESOLVED'),
+    garden_id bigint,
+    zone_id bigint,
+    primary key (alert_id)
+) engine=InnoDB;
+
+create table gardens (
+    garden_id bigint not null auto_increment,
+    created_at datetime(6),
+    garden_name varchar(255),
+    location varchar(255),
+    total_area float(53),
+    user_id bigint,
+    primary key (garden_id)
+) engine=InnoDB;
+
+create table irrigation_logs (
+    log_id bigint not null auto_increment,
+    end_time datetime(6),
+    start_time datetime(6),
+    trigger_type enum ('AUTO','MANUAL'),
+    water_volume_used float(53),
+    valve_id bigint,
+    zone_id bigint,
+    primary key (log_id)
+) engine=InnoDB;
+
+create table pumps (
+    pump_id bigint not null auto_increment,
+    last_activated_at datetime(6),
+    status enum ('OFF','ON'),
+    tank_id bigint,
+    primary key (pump_id)
+) engine=InnoDB;
+
+create table sensors (
+    sensor_id bigint not null auto_increment,
+    installation_date date,
+    sensor_type enum ('HUMIDITY','MOISTURE','TEMPERATURE'),
+    serial_number varchar(255),
+    status enum ('ACTIVE','FAULTY','INACTIVE'),
+    zone_id bigint,
+    primary key (sensor_id)
+) engine=InnoDB;
+
+create table sensor_readings (
+    reading_id bigint not null auto_increment,
+    recorded_at datetime(6),
+    value float(53),
+    sensor_id bigint,
+    primary key (reading_id)
+) engine=InnoDB;
+
+-- password is a leftover of an earlier entity model; nothing maps it
+create table users (
+    user_id bigint not null auto_increment,
+    email varchar(255),
+    name varchar(255),
+    password varchar(255),
+    role enum ('ADMIN','TECHNICIAN','USER'),
+    created_at datetime(6),
+    password_hash varchar(255),
+    phone varchar(255),
+    primary key (user_id)
+) engine=InnoDB;
+
+create table valves (
+    valve_id bigint not null auto_increment,
+    last_activated_at datetime(6),
+    power_source enum ('BATTERY','SOLAR'),
+    valve_status enum ('CLOSED','OPEN'),
+    zone_id bigint,
+    primary key (valve_id)
+) engine=InnoDB;
+
+create table water_level_readings (
+    reading_id bigint not null auto_increment,
+    recorded_at datetime(6),
+    water_level float(53),
+    tank_id bigint,
+    primary key (reading_id)
+) engine=InnoDB;
+
+create table water_tanks (
+    tank_id bigint not null auto_increment,
+    capacity_liters float(53),
+    current_level_liters float(53),
+    status enum ('EMPTY','LOW','NORMAL'),
+    garden_id bigint,
+    primary key (tank_id)
+) engine=InnoDB;
+
+create table zones (
+    zone_id bigint not null auto_increment,
+    created_at datetime(6),
+    moisture_threshold_max float(53),
+    moisture_threshold_min float(53),
+    plant_type varchar(255),
+    soil_type varchar(255),
+    sunlight_exposure enum ('HIGH','LOW','MEDIUM'),
+    zone_name varchar(255),
+    garden_id bigint,
+    primary key (zone_id)
+) engine=InnoDB;
+
+alter table users
+   add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table alerts
+   add constraint FK3lq8291uckwxsn6fcjqpfyp4h
+   foreign key (garden_id)
+   references gardens (garden_id);
+
+alter table alerts
+   add constraint FKdd6jar16qt4328fukx1ew3xp
+   foreign key (zone_id)
+   references zones (zone_id);
+
+alter table gardens
+   add constraint FKf5ejdmdy30on4c9i4an99phgc
+   foreign key (user_id)
+   references users (user_id);
+
+alter table irrigation_logs
+   add constraint FKo3ah68grql4asql47pjsw5yrs
+   foreign key (valve_id)
+   references valves (valve_id);
+
+alter table irrigation_logs
+   add constraint FK1sxh9xpibhogydtvpdqdg6t6d
+   foreign key (zone_id)
+   references zones (zone_id);
+
+alter table pumps
+   add constraint FKe63fxul5l0uiub00d6pn6nlb5
+   foreign key (tank_id)
+   references water_tanks (tank_id);
+
+alter table sensors
+   add constraint FKjkil8gjcqvmrukveg25u3kr7d
+   foreign key (zone_id)
+   references zones (zone_id);
+
+alter table sensor_readings
+   add constraint FKd4ige1wwwq10mktsgk89fx30d
+   foreign key (sensor_id)
+   references sensors (sensor_id);
+
+alter table valves
+   add constraint FK2yg7vcg1nijfd1qnxojeqgxw8
+   foreign key (zone_id)
+   references zones (zone_id);
+
+alter table water_level_readings
+   add constraint FKyk0upb9t3cvfyog2p7tbrppe
+   foreign key (tank_id)
+   references water_tanks (tank_id);
+
+alter table water_tanks
+   add constraint FKmaxq6sft4aypgvvm21whoitfd
+   foreign key (garden_id)
+   references gardens (garden_id);
+
+alter table zones
+   add constraint FKgk9e10puaxb37oa91qi1odwfd
+   foreign key (garden_id)
+   references gardens (garden_id);
@@ -0,0 +1,64 @@
+-- Tables and indexes the entity model gained after florax_db.sql was
+-- dumped, which ddl-auto=update used to add on startup.
+
+-- Rollups of sensor readings per sensor and bucket (SensorHistoryService)
+create table sensor_reading_rollups (
+    max_value float(53),
+    min_value float(53),
+    sum_value float(53),
+    bucket_start datetime(6) not null,
+    rollup_id bigint not null auto_increment,
+    sample_count bigint,
+    sensor_id bigint not null,
+    granularity enum ('DAY','FIVE_MINUTES','HOUR') not null,
+    primary key (rollup_id)
+) engine=InnoDB;
+
+-- Water used per zone and bucket (WaterUsageRollupService)
+create table water_usage_rollups (
+    total_volume float(53),
+    bucket_start datetime(6) not null,
+    event_count bigint,
+    garden_id bigint,
+    rollup_id bigint not null auto_increment,
+    user_id bigint,
+    zone_id bigint not null,
+    granularity enum ('DAY','FIVE_MINUTES','HOUR') not null,
+    primary key (rollup_id)
+) engine=InnoDB;
+
+alter table sensor_reading_rollups
+   add constraint uk_sensor_reading_bucket unique (sensor_id, granularity, bucket_start);
+
+create index idx_sensor_reading_rollups_bucket
+   on sensor_reading_rollups (granularity, bucket_start);
+
+alter table water_usage_rollups
+   add constraint uk_water_usage_bucket unique (granularity, bucket_start, zone_id);
+
+create index idx_water_usage_user
+   on water_usage_rollups (user_id, granularity, bucket_start);
+
+create index idx_water_usage_garden
+   on water_usage_rollups (garden_id, granularity, bucket_start);
+
+-- Reading series: history, latest value and retention by time
+create index idx_sensor_readings_sensor_time
+   on sensor_readings (sensor_id, recorded_at);
+
+create index idx_sensor_readings_time
+   on sensor_readings (recorded_at);
+
+create index idx_water_level_readings_tank_recorded
+   on water_level_readings (tank_id, recorded_at);
+
+create index idx_alerts_garden_status_created
+   on alerts (garden_id, status, created_at);
+
+create index idx_irrigation_logs_zone_start
+   on irrigation_logs (zone_id, start_time, log_id);
+
+-- sensor_readings is range-partitioned by recorded_at (SensorReadingPartitionManager),
+-- which MySQL refuses for a table with foreign keys
+alter table sensor_readings
+   drop foreign key FKd4ige1wwwq10mktsgk89fx30d;
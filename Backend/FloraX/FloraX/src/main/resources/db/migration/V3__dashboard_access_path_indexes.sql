@@ -0,0 +1,51 @@
+-- Composite indexes for the repository queries that V1 and V2 only covered
+-- with a single-column foreign key index or not at all. Each one is mirrored as an
+-- @Index on its entity so create-drop schemas (tests, benchmarks) match.
+
+-- Top 5 alerts per garden (ORDER BY created_at DESC, no status filter)
+create index idx_alerts_garden_created
+   on alerts (garden_id, created_at);
+
+-- ActiveAlertIndex warm-up: WHERE status = 'ACTIVE', answered from the index
+create index idx_alerts_status_keys
+   on alerts (status, alert_type, garden_id, zone_id);
+
+-- Open AUTO runs: WHERE trigger_type = ? AND end_time IS NULL
+create index idx_irrigation_logs_open
+   on irrigation_logs (end_time, trigger_type);
+
+-- Water usage rollup rebuilds: WHERE start_time >= ?
+create index idx_irrigation_logs_start
+   on irrigation_logs (start_time);
+
+-- Sensors of a user per status, without touching the rows
+create index idx_sensors_zone_status
+   on sensors (zone_id, status);
+
+-- Sensor of a given type in a zone
+create index idx_sensors_zone_type
+   on sensors (zone_id, sensor_type);
+
+-- Liveness sweep: WHERE status = ?
+create index idx_sensors_status
+   on sensors (status);
+
+-- Rollup and retention jobs: sensor_id IN (... WHERE sensor_type = ?)
+create index idx_sensors_type
+   on sensors (sensor_type);
+
+-- Ingestion by serial number
+create index idx_sensors_serial_number
+   on sensors (serial_number);
+
+-- Valves of a user per status
+create index idx_valves_zone_status
+   on valves (zone_id, valve_status);
+
+-- Tank status by garden (low-water tanks of a user)
+create index idx_water_tanks_garden_status
+   on water_tanks (garden_id, status);
+
+-- Rollup rebuilds: DELETE ... WHERE bucket_start >= ?
+create index idx_water_usage_bucket
+   on water_usage_rollups (bucket_start);
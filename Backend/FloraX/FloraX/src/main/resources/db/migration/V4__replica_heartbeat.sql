@@ -0,0 +1,10 @@
+-- Single-row heartbeat written on the primary and read back from each read
+-- replica; its age on a replica is that replica's lag (see DataSourceRouter).
+
+create table replica_heartbeat (
+    id int not null,
+    beat_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+insert into replica_heartbeat (id, beat_at) values (1, current_timestamp(6));
@@ -0,0 +1,32 @@
+-- Persistent queue of valve and pump commands (see DeviceCommandService).
+
+create table device_commands (
+    attempts integer not null,
+    acked_at datetime(6),
+    command_seq bigint not null auto_increment,
+    created_at datetime(6),
+    device_id bigint not null,
+    garden_id bigint,
+    next_attempt_at datetime(6),
+    sent_at datetime(6),
+    user_id bigint,
+    version bigint,
+    command_id varchar(64) not null,
+    last_error varchar(255),
+    action enum ('CLOSE','OPEN','START','STOP') not null,
+    device_type enum ('PUMP','VALVE') not null,
+    status enum ('ACKED','FAILED','PENDING','SENT','SUPERSEDED') not null,
+    primary key (command_seq)
+) engine=InnoDB;
+
+-- Idempotency key
+alter table device_commands
+   add constraint uk_device_commands_command_id unique (command_id);
+
+-- Dispatcher scan: WHERE status IN ('PENDING','SENT') ORDER BY command_seq
+create index idx_device_commands_status_seq
+   on device_commands (status, command_seq);
+
+-- Open commands of one device (supersede, toggle)
+create index idx_device_commands_device
+   on device_commands (device_type, device_id, status);
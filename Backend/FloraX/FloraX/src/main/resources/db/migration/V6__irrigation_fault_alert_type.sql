@@ -0,0 +1,5 @@
+-- Alert raised when automatic irrigation cuts a run off at max-run-minutes
+-- without the zone getting wet (see AutoIrrigationServiceImpl).
+
+alter table alerts
+   modify column alert_type enum ('DRY_SOIL','IRRIGATION_FAULT','LOW_WATER','SENSOR_FAULT');
@@ -0,0 +1,11 @@
+-- SENSOR_FAULT alerts are raised once per sensor rather than once per zone,
+-- so the sensor becomes part of an ACTIVE alert's key (see ActiveAlertIndex).
+-- Null for every other alert type.
+
+alter table alerts
+   add column sensor_id bigint;
+
+drop index idx_alerts_status_keys on alerts;
+
+create index idx_alerts_status_keys
+   on alerts (status, alert_type, garden_id, zone_id, sensor_id);
@@ -0,0 +1,90 @@
+package com.example.FloraX.Cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LongLongHashMap against java.util.HashMap. Sixteen slots and keys that
+ * share a home slot give long probe runs, so removals have to shift
+ * entries back across the end of the table.
+ */
+class LongLongHashMapTest {
+
+    @Test
+    void removeKeepsTheRestOfAProbeRunReachable() {
+        LongLongHashMap map = new LongLongHashMap(8);
+        long[] keys = collidingKeys(5);
+        for (long key : keys)
+            map.put(key, key * 10);
+
+        map.remove(keys[1]);
+
+        assertThat(map.size()).isEqualTo(4);
+        assertThat(map.containsKey(keys[1])).isFalse();
+        for (long key : new long[] { keys[0], keys[2], keys[3], keys[4] })
+            assertThat(map.get(key, -1)).isEqualTo(key * 10);
+    }
+
+    @Test
+    void removingAnAbsentKeyChangesNothing() {
+        LongLongHashMap map = new LongLongHashMap(8);
+        map.put(1, 10);
+
+        map.remove(2);
+
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(map.get(1, -1)).isEqualTo(10);
+    }
+
+    @Test
+    void putIfAbsentKeepsTheFirstValue() {
+        LongLongHashMap map = new LongLongHashMap(8);
+        map.putIfAbsent(7, 1);
+        map.putIfAbsent(7, 2);
+
+        assertThat(map.get(7, -1)).isEqualTo(1);
+    }
+
+    @Test
+    void matchesHashMapUnderRandomPutsAndRemoves() {
+        Random random = new Random(42);
+        LongLongHashMap map = new LongLongHashMap(8);
+        Map<Long, Long> expected = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                long value = random.nextLong();
+                map.put(key, value);
+                expected.put(key, value);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = -1_000; key < 1_000; key++)
+            assertThat(map.get(key, Long.MIN_VALUE)).isEqualTo(expected.getOrDefault(key, Long.MIN_VALUE));
+        Map<Long, Long> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertThat(visited).isEqualTo(expected);
+    }
+
+    // Keys whose home is the last of the 16 slots (same mix as the map), so their probe run wraps around
+    private static long[] collidingKeys(int count) {
+        long[] keys = new long[count];
+        int found = 0;
+        for (long key = 1; found < count; key++) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            if ((((int) (h ^ (h >>> 32))) & 15) == 15)
+                keys[found++] = key;
+        }
+        return keys;
+    }
+}
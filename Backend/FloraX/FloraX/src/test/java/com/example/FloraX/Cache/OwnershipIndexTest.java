@@ -0,0 +1,76 @@
+package com.example.FloraX.Cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Ownership of garden 7 with the database mocked: gardens holds the
+ * garden_id -> user_id rows of the fake gardens table, which another
+ * instance changes behind the index's back.
+ */
+class OwnershipIndexTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final Map<Long, Long> gardens = new ConcurrentHashMap<>();
+    private OwnershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(inv -> {
+            String sql = inv.getArgument(0);
+            RowCallbackHandler handler = inv.getArgument(1);
+            if (sql.contains("FROM gardens"))
+                for (Map.Entry<Long, Long> row : gardens.entrySet())
+                    handler.processRow(row(row.getKey(), row.getValue()));
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        when(jdbcTemplate.queryForObject(contains("FROM gardens"), eq(Long.class), anyLong()))
+                .thenAnswer(inv -> gardens.get(inv.getArgument(2, Long.class)));
+        index = new OwnershipIndex(jdbcTemplate);
+        index.warmUp();
+    }
+
+    @Test
+    void readThroughEntryIsRefreshedByReload() {
+        // Created by another instance after the warm-up: read through
+        gardens.put(7L, 1L);
+        assertThat(index.ownsGarden(1L, 7L)).isTrue();
+
+        // Moved to user 2 elsewhere; the cached link holds until the reload
+        gardens.put(7L, 2L);
+        assertThat(index.ownsGarden(1L, 7L)).isTrue();
+        index.reload();
+
+        assertThat(index.ownsGarden(1L, 7L)).isFalse();
+        assertThat(index.ownsGarden(2L, 7L)).isTrue();
+    }
+
+    @Test
+    void reloadDropsRowsDeletedElsewhere() {
+        gardens.put(7L, 1L);
+        index.reload();
+        assertThat(index.ownsGarden(1L, 7L)).isTrue();
+
+        gardens.remove(7L);
+        index.reload();
+
+        assertThat(index.ownsGarden(1L, 7L)).isFalse();
+    }
+
+    private static ResultSet row(long id, long parent) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(id);
+        when(rs.getLong(2)).thenReturn(parent);
+        return rs;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.FloraX.Cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TimerWheel with 8 slots of 10 ms, starting at time 0, so one revolution
+ * covers 80 ms.
+ */
+class TimerWheelTest {
+
+    private final TimerWheel wheel = new TimerWheel(8, 10, 0);
+    private final List<Long> expired = new ArrayList<>();
+
+    @Test
+    void entriesExpireOnceTheirDeadlinePasses() {
+        wheel.schedule(1, 25);
+        wheel.schedule(2, 45);
+
+        wheel.advance(24, (id, deadline) -> expired.add(id));
+        assertThat(expired).isEmpty();
+
+        wheel.advance(30, (id, deadline) -> expired.add(id));
+        assertThat(expired).containsExactly(1L);
+
+        wheel.advance(50, (id, deadline) -> expired.add(id));
+        assertThat(expired).containsExactly(1L, 2L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void deadlineMoreThanARevolutionAheadWaitsForItsRound() {
+        // Same slot as tick 1, two revolutions later
+        wheel.schedule(1, 175);
+
+        wheel.advance(20, (id, deadline) -> expired.add(id));
+        wheel.advance(100, (id, deadline) -> expired.add(id));
+        assertThat(expired).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        wheel.advance(180, (id, deadline) -> expired.add(id));
+        assertThat(expired).containsExactly(1L);
+    }
+
+    @Test
+    void pastDeadlineExpiresOnTheNextAdvance() {
+        wheel.advance(100, (id, deadline) -> expired.add(id));
+        wheel.schedule(1, 5);
+
+        wheel.advance(100, (id, deadline) -> expired.add(id));
+
+        assertThat(expired).containsExactly(1L);
+    }
+
+    @Test
+    void gapLongerThanARevolutionStillExpiresEverything() {
+        for (long id = 0; id < 8; id++)
+            wheel.schedule(id, id * 10);
+
+        wheel.advance(1_000, (id, deadline) -> expired.add(id));
+
+        assertThat(expired).containsExactlyInAnyOrder(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void listenerCanRescheduleTheSameId() {
+        wheel.schedule(1, 10);
+
+        wheel.advance(10, (id, deadline) -> {
+            expired.add(id);
+            wheel.schedule(id, deadline + 30);
+        });
+        assertThat(expired).containsExactly(1L);
+        assertThat(wheel.size()).isEqualTo(1);
+
+        wheel.advance(40, (id, deadline) -> expired.add(id));
+        assertThat(expired).containsExactly(1L, 1L);
+    }
+
+    @Test
+    void slotGrowsPastItsInitialEntries() {
+        for (long id = 0; id < 100; id++)
+            wheel.schedule(id, 15);
+
+        wheel.advance(20, (id, deadline) -> expired.add(id));
+
+        assertThat(expired).hasSize(100).doesNotHaveDuplicates();
+    }
+}
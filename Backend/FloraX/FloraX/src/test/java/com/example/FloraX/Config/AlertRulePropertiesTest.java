@@ -0,0 +1,45 @@
+package com.example.FloraX.Config;
+
+import com.example.FloraX.Enum.SensorType;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Valid reading ranges bound the way Spring Boot binds florax.alerts.*.
+ */
+class AlertRulePropertiesTest {
+
+    @Test
+    void boundThatIsNotSetKeepsItsDefault() {
+        AlertRuleProperties properties = bind(Map.of("florax.alerts.valid-ranges.TEMPERATURE.max", "60"));
+
+        AlertRuleProperties.Range temperature = properties.rangeFor(SensorType.TEMPERATURE);
+        assertThat(temperature.getMin()).isEqualTo(-40.0);
+        assertThat(temperature.getMax()).isEqualTo(60.0);
+        assertThat(temperature.contains(-10)).isTrue();
+        assertThat(temperature.contains(61)).isFalse();
+        assertThat(properties.rangeFor(SensorType.MOISTURE).getMax()).isEqualTo(100.0);
+    }
+
+    @Test
+    void bothBoundsCanBeOverridden() {
+        AlertRuleProperties properties = bind(Map.of(
+                "florax.alerts.valid-ranges.HUMIDITY.min", "5",
+                "florax.alerts.valid-ranges.HUMIDITY.max", "95"));
+
+        AlertRuleProperties.Range humidity = properties.rangeFor(SensorType.HUMIDITY);
+        assertThat(humidity.getMin()).isEqualTo(5.0);
+        assertThat(humidity.getMax()).isEqualTo(95.0);
+    }
+
+    private static AlertRuleProperties bind(Map<String, String> values) {
+        return new Binder(new MapConfigurationPropertySource(values))
+                .bind("florax.alerts", AlertRuleProperties.class)
+                .get();
+    }
+}
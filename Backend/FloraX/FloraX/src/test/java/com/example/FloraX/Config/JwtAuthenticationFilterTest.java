@@ -0,0 +1,59 @@
+package com.example.FloraX.Config;
+
+import com.example.FloraX.Cache.UserPrincipalCache;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Bearer tokens signed by the real JwtService, with user lookups mocked.
+ */
+class JwtAuthenticationFilterTest {
+
+    private static final String EMAIL = "grower@florax.local";
+
+    private final JwtService jwtService = new JwtService();
+    private final UserPrincipalCache principalCache = mock(UserPrincipalCache.class);
+    private final FilterChain chain = mock(FilterChain.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, principalCache);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokenOfADeletedUserLeavesTheRequestAnonymous() throws Exception {
+        when(principalCache.getByEmail(EMAIL)).thenThrow(new UsernameNotFoundException("User not found: " + EMAIL));
+
+        filter.doFilter(request(), new MockHttpServletResponse(), chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(chain).doFilter(any(), any());
+    }
+
+    @Test
+    void databaseOutageIsNotTurnedIntoAnAuthenticationFailure() {
+        when(principalCache.getByEmail(EMAIL)).thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        assertThatThrownBy(() -> filter.doFilter(request(), new MockHttpServletResponse(), chain))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        verifyNoInteractions(chain);
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dashboard");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(EMAIL));
+        return request;
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.FloraX.Config;
+
+import com.example.FloraX.Controller.UserDashboardController;
+import com.example.FloraX.Dto.DataSourcePoolStatsDTO;
+import com.example.FloraX.Dto.GardenDTO;
+import com.example.FloraX.Dto.UserDashboardResponse;
+import com.example.FloraX.Entity.Users;
+import com.example.FloraX.Enum.AlertStatus;
+import com.example.FloraX.Enum.AlertType;
+import com.example.FloraX.Enum.UserRole;
+import com.example.FloraX.Event.AlertChangedEvent;
+import com.example.FloraX.Repository.UserRepository;
+import com.example.FloraX.Service.UserDashboardService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read-replica routing against two in-memory H2 databases. Both get the
+ * Flyway schema and a user 1 whose name tells which database answered;
+ * replication is simulated by writing the replica's heartbeat by hand.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY_URL,
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "florax.datasource.routing.enabled=true",
+        "florax.datasource.routing.replicas[0].url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "florax.datasource.routing.replicas[0].username=sa",
+        "florax.datasource.routing.replicas[0].password=",
+        "florax.datasource.routing.max-lag-ms=5000",
+        // Lag checks are driven by the test
+        "florax.datasource.routing.lag-check-ms=3600000",
+        "florax.readings.retention-enabled=false",
+        "florax.irrigation.auto.enabled=false",
+        "florax.liveness.enabled=false"
+})
+class ReadReplicaRoutingTest {
+
+    static final String PRIMARY_URL =
+            "jdbc:h2:mem:florax-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL =
+            "jdbc:h2:mem:florax-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1";
+
+    private static final String EMAIL = "grower@florax.local";
+
+    private static final JdbcTemplate PRIMARY = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    private static final JdbcTemplate REPLICA = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    static {
+        // The application migrates the primary itself
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    }
+
+    @Autowired DataSourceRouter router;
+    @Autowired UserRepository userRepository;
+    @Autowired UserDashboardService dashboardService;
+    @Autowired UserDashboardController dashboardController;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ApplicationEventPublisher eventPublisher;
+
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        for (JdbcTemplate db : new JdbcTemplate[] { PRIMARY, REPLICA }) {
+            db.update("DELETE FROM gardens");
+            db.update("DELETE FROM users");
+            db.update("INSERT INTO users (user_id, email, name, role, created_at) VALUES (1, ?, ?, 'USER', ?)",
+                    EMAIL, db == PRIMARY ? "primary" : "replica", Timestamp.valueOf(LocalDateTime.now()));
+        }
+        replicateHeartbeat(LocalDateTime.now());
+        router.checkLag();
+
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void readOnlyTransactionsAreServedByTheReplica() {
+        long routedBefore = replicaStats().getConnectionsRouted();
+
+        assertThat(nameReadOnly()).isEqualTo("replica");
+        assertThat(replicaStats().getConnectionsRouted()).isGreaterThan(routedBefore);
+    }
+
+    @Test
+    void dashboardReadsAreServedByTheReplica() {
+        for (JdbcTemplate db : new JdbcTemplate[] { PRIMARY, REPLICA })
+            db.update("INSERT INTO gardens (garden_id, user_id, garden_name) VALUES (1, 1, ?)",
+                    db == PRIMARY ? "primary garden" : "replica garden");
+
+        assertThat(dashboardService.getAllGardens(EMAIL))
+                .extracting(GardenDTO::getGardenName)
+                .containsExactly("replica garden");
+    }
+
+    @Test
+    void markedSnapshotGardensAreReloadedFromThePrimary() {
+        for (JdbcTemplate db : new JdbcTemplate[] { PRIMARY, REPLICA })
+            db.update("INSERT INTO gardens (garden_id, user_id, garden_name) VALUES (1, 1, ?)",
+                    db == PRIMARY ? "primary garden" : "replica garden");
+        assertThat(gardenNames(dashboardService.getDashboard(EMAIL))).containsExactly("replica garden");
+
+        // A change committed on the primary marks the garden; the replica has not caught up
+        eventPublisher.publishEvent(new AlertChangedEvent(1L, 1L, null, null, 99L, AlertType.LOW_WATER,
+                AlertStatus.RESOLVED, null, null));
+
+        assertThat(gardenNames(dashboardService.getDashboard(EMAIL))).containsExactly("primary garden");
+    }
+
+    @Test
+    void userWhoseDataJustChangedReadsTheirDashboardFromThePrimary() {
+        for (JdbcTemplate db : new JdbcTemplate[] { PRIMARY, REPLICA })
+            db.update("INSERT INTO gardens (garden_id, user_id, garden_name) VALUES (1, 1, ?)",
+                    db == PRIMARY ? "primary garden" : "replica garden");
+
+        // Committed on the primary; the replica has not caught up
+        eventPublisher.publishEvent(new AlertChangedEvent(1L, 1L, null, null, 99L, AlertType.LOW_WATER,
+                AlertStatus.RESOLVED, null, null));
+
+        Authentication auth = new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(1L, EMAIL, "x", UserRole.USER), null, List.of());
+        WebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/dashboard/gardens"));
+        assertThat(dashboardController.getGardens(auth, request).getBody())
+                .extracting(GardenDTO::getGardenName)
+                .containsExactly("primary garden");
+        assertThat(PrimaryReads.isPinned()).isFalse();
+        assertThat(dashboardService.getAllGardens(EMAIL))
+                .extracting(GardenDTO::getGardenName)
+                .containsExactly("replica garden");
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        String nameSeen = readWrite.execute(status -> {
+            Users user = new Users();
+            user.setEmail("new@florax.local");
+            user.setName("New");
+            user.setRole(UserRole.USER);
+            userRepository.save(user);
+            return userRepository.findById(1L).orElseThrow().getName();
+        });
+
+        assertThat(nameSeen).isEqualTo("primary");
+        assertThat(countByEmail(PRIMARY, "new@florax.local")).isEqualTo(1);
+        assertThat(countByEmail(REPLICA, "new@florax.local")).isZero();
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimaryUntilItCatchesUp() {
+        replicateHeartbeat(LocalDateTime.now().minusMinutes(5));
+        router.checkLag();
+        long fallbacksBefore = primaryStats().getReadFallbacks();
+
+        assertThat(replicaStats().isHealthy()).isFalse();
+        assertThat(replicaStats().getLagMs()).isGreaterThan(5000);
+        assertThat(nameReadOnly()).isEqualTo("primary");
+        assertThat(primaryStats().getReadFallbacks()).isGreaterThan(fallbacksBefore);
+
+        replicateHeartbeat(LocalDateTime.now());
+        router.checkLag();
+
+        assertThat(replicaStats().isHealthy()).isTrue();
+        assertThat(nameReadOnly()).isEqualTo("replica");
+    }
+
+    @Test
+    void unreadableReplicaIsTakenOutOfRotation() {
+        REPLICA.update("DELETE FROM replica_heartbeat");
+        router.checkLag();
+
+        assertThat(replicaStats().isHealthy()).isFalse();
+        assertThat(replicaStats().getLagMs()).isNull();
+        assertThat(nameReadOnly()).isEqualTo("primary");
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    // Name of user 1 as seen by a read-only transaction
+    private String nameReadOnly() {
+        return readOnly.execute(status -> userRepository.findById(1L).orElseThrow().getName());
+    }
+
+    private static List<String> gardenNames(UserDashboardResponse dashboard) {
+        return dashboard.getGardens().stream().map(GardenDTO::getGardenName).toList();
+    }
+
+    private static void replicateHeartbeat(LocalDateTime beatAt) {
+        REPLICA.update("DELETE FROM replica_heartbeat");
+        REPLICA.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", Timestamp.valueOf(beatAt));
+    }
+
+    private static int countByEmail(JdbcTemplate db, String email) {
+        return db.queryForObject("SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, email);
+    }
+
+    private DataSourcePoolStatsDTO primaryStats() {
+        return router.getStats().get(0);
+    }
+
+    private DataSourcePoolStatsDTO replicaStats() {
+        return router.getStats().get(1);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.FloraX.Config;
+
+import com.example.FloraX.Enum.SensorType;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Retention policies bound the way Spring Boot binds florax.readings.*.
+ */
+class SensorReadingStoragePropertiesTest {
+
+    @Test
+    void fieldThatIsNotOverriddenKeepsTheConfiguredDefault() {
+        SensorReadingStorageProperties properties = bind(Map.of(
+                "florax.readings.defaults.hourly-days", "3650",
+                "florax.readings.types.TEMPERATURE.raw-days", "3"));
+
+        SensorReadingStorageProperties.Policy temperature = properties.policyFor(SensorType.TEMPERATURE);
+        assertThat(temperature.getRawDays()).isEqualTo(3);
+        assertThat(temperature.getFiveMinuteDays()).isEqualTo(90);
+        assertThat(temperature.getHourlyDays()).isEqualTo(3650);
+    }
+
+    @Test
+    void typeWithoutOverrideUsesTheDefaults() {
+        SensorReadingStorageProperties properties = bind(Map.of("florax.readings.defaults.raw-days", "14"));
+
+        SensorReadingStorageProperties.Policy moisture = properties.policyFor(SensorType.MOISTURE);
+        assertThat(moisture.getRawDays()).isEqualTo(14);
+        assertThat(moisture.getFiveMinuteDays()).isEqualTo(90);
+        assertThat(moisture.getHourlyDays()).isEqualTo(730);
+    }
+
+    private static SensorReadingStorageProperties bind(Map<String, String> values) {
+        return new Binder(new MapConfigurationPropertySource(values))
+                .bind("florax.readings", SensorReadingStorageProperties.class)
+                .get();
+    }
+}
@@ -0,0 +1,521 @@
+package com.example.FloraX.Repository;
+
+import com.example.FloraX.Enum.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every query declared in Repository/ against MySQL with the Flyway
+ * schema and checks its EXPLAIN plan: no table may be read with a full table
+ * scan (type ALL) or a full index scan (type index).
+ *
+ * Not covered, because they read a whole table on purpose once at startup:
+ * WaterTankRepository.findAllLevels and SensorReadingRepository.findLatestPerSensor.
+ *
+ * Needs Docker; skipped when it is not available.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "florax.readings.retention-enabled=false",
+        "florax.irrigation.auto.enabled=false",
+        "florax.liveness.enabled=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(RepositoryQueryPlanTest.RecordingConfig.class)
+class RepositoryQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer mysql = new MySQLContainer("mysql:8.4");
+
+    private static final StatementRecorder RECORDER = new StatementRecorder();
+
+    // Enough rows per table that the optimizer prefers an index whenever one applies
+    private static final int USERS = 40;
+    private static final int GARDENS_PER_USER = 3;
+    private static final int ZONES_PER_GARDEN = 4;
+    private static final int SENSORS_PER_ZONE = 3;
+    private static final int READINGS_PER_SENSOR = 24;
+    private static final int LOGS_PER_ZONE = 12;
+    private static final int COMMANDS_PER_VALVE = 4;
+    private static final SensorType[] TYPES = { SensorType.MOISTURE, SensorType.TEMPERATURE, SensorType.HUMIDITY };
+
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired AlertRepository alertRepository;
+    @Autowired AlertsRepository alertsRepository;
+    @Autowired DeviceCommandsRepository deviceCommandsRepository;
+    @Autowired GardenRepository gardenRepository;
+    @Autowired IrrigationLogRepository irrigationLogRepository;
+    @Autowired IrrigationLogsRepository irrigationLogsRepository;
+    @Autowired PumpsRepository pumpsRepository;
+    @Autowired SensorReadingRepository sensorReadingRepository;
+    @Autowired SensorReadingRollupRepository sensorReadingRollupRepository;
+    @Autowired SensorReadingsRepository sensorReadingsRepository;
+    @Autowired SensorRepository sensorRepository;
+    @Autowired SensorsRepository sensorsRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired ValvesRepository valvesRepository;
+    @Autowired WaterTankRepository waterTankRepository;
+    @Autowired WaterUsageRollupRepository waterUsageRollupRepository;
+    @Autowired ZoneRepository zoneRepository;
+    @Autowired ZonesRepository zonesRepository;
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new RecordingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    // ── Queries ───────────────────────────────────────────────────────────────
+
+    Stream<Arguments> queries() {
+        LocalDateTime hourAgo = now.minusHours(1);
+        LocalDateTime today = now.toLocalDate().atStartOfDay();
+        List<Long> gardenIds = List.of(1L, 2L, 3L);
+        return Stream.of(
+                query("AlertRepository.findByGardenGardenIdAndStatus",
+                        () -> alertRepository.findByGardenGardenIdAndStatus(1L, AlertStatus.ACTIVE)),
+                query("AlertRepository.findByUserIdAndStatus",
+                        () -> alertRepository.findByUserIdAndStatus(1L, AlertStatus.ACTIVE)),
+                query("AlertRepository.findTop5ByGardenGardenIdOrderByCreatedAtDesc",
+                        () -> alertRepository.findTop5ByGardenGardenIdOrderByCreatedAtDesc(1L)),
+                query("AlertRepository.findTop5PerGarden",
+                        () -> alertRepository.findTop5PerGarden(gardenIds)),
+                query("AlertRepository.findWithGardenByAlertId",
+                        () -> alertRepository.findWithGardenByAlertId(1L)),
+                query("AlertRepository.findActiveKeys",
+                        () -> alertRepository.findActiveKeys()),
+                query("AlertRepository.countByUserIdAndStatusPerType",
+                        () -> alertRepository.countByUserIdAndStatusPerType(1L, AlertStatus.ACTIVE)),
+                query("AlertRepository.countByUserIdAndStatusCreatedBetween",
+                        () -> alertRepository.countByUserIdAndStatusCreatedBetween(1L, AlertStatus.RESOLVED,
+                                today, today.plusDays(1))),
+                query("AlertsRepository.findByZone_Garden_GardenIdOrderByCreatedAtDesc",
+                        () -> alertsRepository.findByZone_Garden_GardenIdOrderByCreatedAtDesc(1L)),
+
+                query("DeviceCommandsRepository.findByCommandId",
+                        () -> deviceCommandsRepository.findByCommandId("cmd-1")),
+                query("DeviceCommandsRepository.findByCommandIdIn",
+                        () -> deviceCommandsRepository.findByCommandIdIn(List.of("cmd-1", "cmd-2"))),
+                query("DeviceCommandsRepository.findByStatusInOrderByCommandSeq",
+                        () -> deviceCommandsRepository.findByStatusInOrderByCommandSeq(
+                                List.of(CommandStatus.PENDING, CommandStatus.SENT), PageRequest.of(0, 100))),
+                query("DeviceCommandsRepository.findByDeviceTypeAndDeviceIdAndStatusInOrderByCommandSeq",
+                        () -> deviceCommandsRepository.findByDeviceTypeAndDeviceIdAndStatusInOrderByCommandSeq(
+                                DeviceType.VALVE, 1L, List.of(CommandStatus.PENDING, CommandStatus.SENT))),
+
+                query("GardenRepository.findByUserUserId",
+                        () -> gardenRepository.findByUserUserId(1L)),
+                query("GardenRepository.countByUserUserId",
+                        () -> gardenRepository.countByUserUserId(1L)),
+                query("GardenRepository.existsByGardenIdAndUserUserId",
+                        () -> gardenRepository.existsByGardenIdAndUserUserId(1L, 1L)),
+
+                query("IrrigationLogRepository.findTop5ByZoneGardenGardenIdOrderByStartTimeDesc",
+                        () -> irrigationLogRepository.findTop5ByZoneGardenGardenIdOrderByStartTimeDesc(1L)),
+                query("IrrigationLogRepository.findByZoneGardenGardenIdAndStartTimeAfter",
+                        () -> irrigationLogRepository.findByZoneGardenGardenIdAndStartTimeAfter(1L, today)),
+                query("IrrigationLogRepository.findByUserIdAndStartTimeAfter",
+                        () -> irrigationLogRepository.findByUserIdAndStartTimeAfter(1L, today)),
+                query("IrrigationLogRepository.findTop5PerGarden",
+                        () -> irrigationLogRepository.findTop5PerGarden(gardenIds)),
+                query("IrrigationLogRepository.findPageByZone",
+                        () -> irrigationLogRepository.findPageByZone(1L, Limit.of(20))),
+                query("IrrigationLogRepository.findPageByZoneBefore",
+                        () -> irrigationLogRepository.findPageByZoneBefore(1L, now.minusHours(12), 100L, Limit.of(20))),
+                query("IrrigationLogRepository.findAllWithZoneByIds",
+                        () -> irrigationLogRepository.findAllWithZoneByIds(List.of(1L, 2L, 3L))),
+                query("IrrigationLogRepository.findOpenByTriggerType",
+                        () -> irrigationLogRepository.findOpenByTriggerType(TriggerType.AUTO)),
+                query("IrrigationLogsRepository.findTopByZone_ZoneIdOrderByStartTimeDesc",
+                        () -> irrigationLogsRepository.findTopByZone_ZoneIdOrderByStartTimeDesc(1L)),
+                query("IrrigationLogsRepository.findByZone_Garden_GardenIdOrderByStartTimeDesc",
+                        () -> irrigationLogsRepository.findByZone_Garden_GardenIdOrderByStartTimeDesc(1L)),
+                query("IrrigationLogsRepository.findByZone_Garden_GardenIdAndStartTimeAfter",
+                        () -> irrigationLogsRepository.findByZone_Garden_GardenIdAndStartTimeAfter(1L, today)),
+
+                query("PumpsRepository.findAllByUserId",
+                        () -> pumpsRepository.findAllByUserId(1L)),
+
+                query("SensorReadingRepository.findTopBySensorZoneZoneIdOrderByRecordedAtDesc",
+                        () -> sensorReadingRepository.findTopBySensorZoneZoneIdOrderByRecordedAtDesc(1L)),
+                query("SensorReadingRepository.findLatestByZoneIds",
+                        () -> sensorReadingRepository.findLatestByZoneIds(List.of(1L, 2L, 3L))),
+                query("SensorReadingRepository.findTopBySensorZoneZoneIdAndSensorSensorTypeOrderByRecordedAtDesc",
+                        () -> sensorReadingRepository.findTopBySensorZoneZoneIdAndSensorSensorTypeOrderByRecordedAtDesc(
+                                1L, SensorType.MOISTURE)),
+                query("SensorReadingRepository.findTopBySensorSensorIdOrderByRecordedAtDesc",
+                        () -> sensorReadingRepository.findTopBySensorSensorIdOrderByRecordedAtDesc(1L)),
+                query("SensorReadingRepository.findOldestRecordedAt",
+                        () -> sensorReadingRepository.findOldestRecordedAt(SensorType.MOISTURE, hourAgo)),
+                query("SensorReadingRepository.deleteRange",
+                        () -> sensorReadingRepository.deleteRange(SensorType.MOISTURE.name(),
+                                now.minusHours(3), now.minusHours(2))),
+                query("SensorReadingRollupRepository.rollupFiveMinutes",
+                        () -> sensorReadingRollupRepository.rollupFiveMinutes(SensorType.MOISTURE.name(),
+                                hourAgo, now)),
+                query("SensorReadingRollupRepository.rollupHourly",
+                        () -> sensorReadingRollupRepository.rollupHourly(SensorType.MOISTURE.name(), hourAgo, now)),
+                query("SensorReadingRollupRepository.deleteExpired",
+                        () -> sensorReadingRollupRepository.deleteExpired(RollupGranularity.HOUR.name(),
+                                SensorType.MOISTURE.name(), now.minusHours(5))),
+                query("SensorReadingsRepository.findTopBySensor_SensorIdOrderByRecordedAtDesc",
+                        () -> sensorReadingsRepository.findTopBySensor_SensorIdOrderByRecordedAtDesc(1L)),
+
+                query("SensorRepository.findByZoneZoneId",
+                        () -> sensorRepository.findByZoneZoneId(1L)),
+                query("SensorRepository.findByUserIdAndStatus",
+                        () -> sensorRepository.findByUserIdAndStatus(1L, SensorStatus.FAULTY)),
+                query("SensorRepository.findAllByUserId",
+                        () -> sensorRepository.findAllByUserId(1L)),
+                query("SensorRepository.countByUserIdPerStatus",
+                        () -> sensorRepository.countByUserIdPerStatus(1L)),
+                query("SensorRepository.findExistingIds",
+                        () -> sensorRepository.findExistingIds(List.of(1L, 2L, 3L))),
+                query("SensorRepository.findBySerialNumbers",
+                        () -> sensorRepository.findBySerialNumbers(List.of("SN-1", "SN-2"))),
+                query("SensorRepository.findPlacementsByIds",
+                        () -> sensorRepository.findPlacementsByIds(List.of(1L, 2L, 3L))),
+                query("SensorRepository.findPlacementForUser",
+                        () -> sensorRepository.findPlacementForUser(1L, 1L)),
+                query("SensorRepository.findPlacementsInZoneForUser",
+                        () -> sensorRepository.findPlacementsInZoneForUser(1L, 1L, SensorType.MOISTURE)),
+                query("SensorRepository.findIdsByStatus",
+                        () -> sensorRepository.findIdsByStatus(SensorStatus.FAULTY)),
+                query("SensorRepository.updateStatus",
+                        () -> sensorRepository.updateStatus(List.of(1L, 2L), SensorStatus.ACTIVE)),
+                query("SensorsRepository.findByZone_Garden_GardenId",
+                        () -> sensorsRepository.findByZone_Garden_GardenId(1L)),
+                query("SensorsRepository.findByZone_ZoneIdAndSensorType",
+                        () -> sensorsRepository.findByZone_ZoneIdAndSensorType(1L, SensorType.MOISTURE)),
+
+                query("UserRepository.findByEmail",
+                        () -> userRepository.findByEmail("user1@florax.local")),
+
+                query("ValvesRepository.findByZone_ZoneId",
+                        () -> valvesRepository.findByZone_ZoneId(1L)),
+                query("ValvesRepository.findByZone_Garden_GardenId",
+                        () -> valvesRepository.findByZone_Garden_GardenId(1L)),
+                query("ValvesRepository.findAllByUserId",
+                        () -> valvesRepository.findAllByUserId(1L)),
+                query("ValvesRepository.findByUserIdAndStatus",
+                        () -> valvesRepository.findByUserIdAndStatus(1L, ValveStatus.OPEN)),
+                query("ValvesRepository.findWithZoneByValveId",
+                        () -> valvesRepository.findWithZoneByValveId(1L)),
+                query("ValvesRepository.findWithOwnerByValveIdIn",
+                        () -> valvesRepository.findWithOwnerByValveIdIn(List.of(1L, 2L))),
+                query("ValvesRepository.countByUserIdPerStatus",
+                        () -> valvesRepository.countByUserIdPerStatus(1L)),
+
+                query("WaterTankRepository.findByGardenGardenId",
+                        () -> waterTankRepository.findByGardenGardenId(1L)),
+                query("WaterTankRepository.findAllByUserId",
+                        () -> waterTankRepository.findAllByUserId(1L)),
+                query("WaterTankRepository.findByUserIdAndStatus",
+                        () -> waterTankRepository.findByUserIdAndStatus(1L, TankStatus.LOW)),
+                query("WaterTankRepository.findLevelsByUserId",
+                        () -> waterTankRepository.findLevelsByUserId(1L)),
+                query("WaterTankRepository.findLevelsByTankIds",
+                        () -> waterTankRepository.findLevelsByTankIds(List.of(1L, 2L))),
+
+                query("WaterUsageRollupRepository.existsByGranularity",
+                        () -> waterUsageRollupRepository.existsByGranularity(RollupGranularity.DAY)),
+                query("WaterUsageRollupRepository.addToBucket",
+                        () -> waterUsageRollupRepository.addToBucket(RollupGranularity.DAY.name(), today,
+                                1L, 1L, 1L, 10.0, 1)),
+                query("WaterUsageRollupRepository.sumByUserIdSince",
+                        () -> waterUsageRollupRepository.sumByUserIdSince(1L, RollupGranularity.DAY, today)),
+                query("WaterUsageRollupRepository.sumWindowsByUserId",
+                        () -> waterUsageRollupRepository.sumWindowsByUserId(1L, today, today.minusDays(6),
+                                today.withDayOfMonth(1), today.minusDays(31))),
+                query("WaterUsageRollupRepository.sumVolumeByGardenSince",
+                        () -> waterUsageRollupRepository.sumVolumeByGardenSince(RollupGranularity.DAY, today)),
+                query("WaterUsageRollupRepository.deleteSince",
+                        () -> waterUsageRollupRepository.deleteSince(today)),
+                query("WaterUsageRollupRepository.rebuildHourlySince",
+                        () -> waterUsageRollupRepository.rebuildHourlySince(hourAgo)),
+                query("WaterUsageRollupRepository.rebuildDailySince",
+                        () -> waterUsageRollupRepository.rebuildDailySince(hourAgo)),
+
+                query("ZoneRepository.findByGardenGardenId",
+                        () -> zoneRepository.findByGardenGardenId(1L)),
+                query("ZoneRepository.findByGardenGardenIdIn",
+                        () -> zoneRepository.findByGardenGardenIdIn(gardenIds)),
+                query("ZoneRepository.findRoutingByZoneIds",
+                        () -> zoneRepository.findRoutingByZoneIds(List.of(1L, 2L))),
+                query("ZoneRepository.findIdsByGardenId",
+                        () -> zoneRepository.findIdsByGardenId(1L)),
+                query("ZoneRepository.findIdsByUserId",
+                        () -> zoneRepository.findIdsByUserId(1L)),
+                query("ZonesRepository.findByGarden_GardenId",
+                        () -> zonesRepository.findByGarden_GardenId(1L)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void queryDoesNotScanWholeTable(String query, Runnable invocation) {
+        List<RecordedStatement> statements = record(invocation);
+
+        assertThat(statements).as("SQL issued by %s", query).isNotEmpty();
+        for (RecordedStatement statement : statements)
+            assertThat(fullScans(statement)).as("%s%n%s", query, statement.sql()).isEmpty();
+    }
+
+    // ── Plans ─────────────────────────────────────────────────────────────────
+
+    // Runs the invocation in a rolled-back transaction and returns the statements it issued
+    private List<RecordedStatement> record(Runnable invocation) {
+        List<RecordedStatement> statements = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            RECORDER.start();
+            try {
+                invocation.run();
+            } finally {
+                statements.addAll(RECORDER.stop());
+                status.setRollbackOnly();
+            }
+        });
+        return statements;
+    }
+
+    // "table (type)" of every EXPLAIN row that reads a whole table or index
+    private List<String> fullScans(RecordedStatement statement) {
+        return jdbcTemplate.query("EXPLAIN " + statement.sql(),
+                ps -> {
+                    for (int i = 0; i < statement.params().size(); i++)
+                        ps.setObject(i + 1, statement.params().get(i));
+                },
+                (rs, rowNum) -> {
+                    String table = rs.getString("table");
+                    String type = rs.getString("type");
+                    // The INSERT row of INSERT ... SELECT has no access path; derived tables are
+                    // scanned by construction once their own rows were read through an index
+                    if ("INSERT".equals(rs.getString("select_type")) || table == null || table.startsWith("<"))
+                        return null;
+                    return "ALL".equals(type) || "index".equals(type) ? table + " (" + type + ")" : null;
+                })
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static Arguments query(String name, Runnable invocation) {
+        return Arguments.of(name, invocation);
+    }
+
+    // ── Data ──────────────────────────────────────────────────────────────────
+
+    @BeforeAll
+    void insertData() {
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> gardens = new ArrayList<>();
+        List<Object[]> tanks = new ArrayList<>();
+        List<Object[]> zones = new ArrayList<>();
+        List<Object[]> valves = new ArrayList<>();
+        List<Object[]> sensors = new ArrayList<>();
+        List<Object[]> readings = new ArrayList<>();
+        List<Object[]> readingRollups = new ArrayList<>();
+        List<Object[]> alerts = new ArrayList<>();
+        List<Object[]> logs = new ArrayList<>();
+        List<Object[]> usageRollups = new ArrayList<>();
+        List<Object[]> pumps = new ArrayList<>();
+        List<Object[]> commands = new ArrayList<>();
+
+        long gardenId = 0, zoneId = 0, sensorId = 0, alertId = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            users.add(new Object[] { userId, "user" + userId + "@florax.local", "User " + userId, ts(now) });
+            for (int g = 0; g < GARDENS_PER_USER; g++) {
+                gardenId++;
+                gardens.add(new Object[] { gardenId, userId, "Garden " + gardenId });
+                tanks.add(new Object[] { gardenId, gardenId, gardenId % 10 == 0 ? "LOW" : "NORMAL" });
+                pumps.add(new Object[] { gardenId, gardenId });
+                for (int z = 0; z < ZONES_PER_GARDEN; z++) {
+                    zoneId++;
+                    zones.add(new Object[] { zoneId, gardenId, "Zone " + zoneId });
+                    valves.add(new Object[] { zoneId, zoneId, zoneId % 10 == 0 ? "OPEN" : "CLOSED" });
+                    for (int c = 0; c < COMMANDS_PER_VALVE; c++) {
+                        boolean open = c == COMMANDS_PER_VALVE - 1 && zoneId % 10 == 0;
+                        commands.add(new Object[] { "cmd-" + (commands.size() + 1), userId, gardenId, zoneId,
+                                c % 2 == 0 ? "OPEN" : "CLOSE", open ? "PENDING" : "ACKED", ts(now.minusHours(c)) });
+                    }
+                    for (int s = 0; s < SENSORS_PER_ZONE; s++) {
+                        sensorId++;
+                        sensors.add(new Object[] { sensorId, zoneId, TYPES[s].name(), "SN-" + sensorId,
+                                sensorId % 20 == 0 ? "FAULTY" : "ACTIVE" });
+                        for (int r = 0; r < READINGS_PER_SENSOR; r++)
+                            readings.add(new Object[] { sensorId, 20.0 + r, ts(now.minusMinutes(15L * r)) });
+                        for (int h = 1; h <= 6; h++)
+                            readingRollups.add(new Object[] { sensorId, ts(now.minusHours(h).withMinute(0).withSecond(0)) });
+                    }
+                    for (int a = 0; a < 3; a++) {
+                        alertId++;
+                        alerts.add(new Object[] { alertId, gardenId, zoneId, a == 0 ? "ACTIVE" : "RESOLVED",
+                                ts(now.minusDays(a)) });
+                    }
+                    for (int l = 0; l < LOGS_PER_ZONE; l++) {
+                        LocalDateTime start = now.minusHours(6L * l + 1);
+                        boolean open = l == 0 && zoneId % 10 == 0;
+                        logs.add(new Object[] { zoneId, zoneId, ts(start), open ? null : ts(start.plusMinutes(15)),
+                                l % 2 == 0 ? "AUTO" : "MANUAL" });
+                    }
+                    for (int d = 1; d <= 10; d++)
+                        usageRollups.add(new Object[] { ts(now.toLocalDate().minusDays(d).atStartOfDay()),
+                                zoneId, gardenId, userId });
+                }
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO users (user_id, email, name, role, created_at) VALUES (?, ?, ?, 'USER', ?)",
+                users);
+        jdbcTemplate.batchUpdate("INSERT INTO gardens (garden_id, user_id, garden_name) VALUES (?, ?, ?)", gardens);
+        jdbcTemplate.batchUpdate("INSERT INTO water_tanks (tank_id, garden_id, capacity_liters, current_level_liters, "
+                + "status) VALUES (?, ?, 1000, 500, ?)", tanks);
+        jdbcTemplate.batchUpdate("INSERT INTO zones (zone_id, garden_id, zone_name, moisture_threshold_min, "
+                + "moisture_threshold_max) VALUES (?, ?, ?, 30, 70)", zones);
+        jdbcTemplate.batchUpdate("INSERT INTO valves (valve_id, zone_id, valve_status, power_source) "
+                + "VALUES (?, ?, ?, 'SOLAR')", valves);
+        jdbcTemplate.batchUpdate("INSERT INTO pumps (pump_id, tank_id, status) VALUES (?, ?, 'OFF')", pumps);
+        jdbcTemplate.batchUpdate("INSERT INTO device_commands (command_id, user_id, garden_id, device_type, device_id, "
+                + "action, status, attempts, created_at) VALUES (?, ?, ?, 'VALVE', ?, ?, ?, 1, ?)", commands);
+        jdbcTemplate.batchUpdate("INSERT INTO sensors (sensor_id, zone_id, sensor_type, serial_number, status) "
+                + "VALUES (?, ?, ?, ?, ?)", sensors);
+        jdbcTemplate.batchUpdate("INSERT INTO sensor_readings (sensor_id, value, recorded_at) VALUES (?, ?, ?)",
+                readings);
+        jdbcTemplate.batchUpdate("INSERT INTO sensor_reading_rollups (sensor_id, granularity, bucket_start, "
+                + "min_value, max_value, sum_value, sample_count) VALUES (?, 'HOUR', ?, 20, 40, 120, 4)", readingRollups);
+        jdbcTemplate.batchUpdate("INSERT INTO alerts (alert_id, garden_id, zone_id, alert_type, status, message, "
+                + "created_at) VALUES (?, ?, ?, 'DRY_SOIL', ?, 'Soil moisture below threshold', ?)", alerts);
+        jdbcTemplate.batchUpdate("INSERT INTO irrigation_logs (zone_id, valve_id, start_time, end_time, "
+                + "water_volume_used, trigger_type) VALUES (?, ?, ?, ?, 12.5, ?)", logs);
+        jdbcTemplate.batchUpdate("INSERT INTO water_usage_rollups (granularity, bucket_start, zone_id, garden_id, "
+                + "user_id, total_volume, event_count) VALUES ('DAY', ?, ?, ?, ?, 25, 2)", usageRollups);
+
+        jdbcTemplate.execute("ANALYZE TABLE users, gardens, water_tanks, pumps, zones, valves, device_commands, sensors, sensor_readings, "
+                + "sensor_reading_rollups, alerts, irrigation_logs, water_usage_rollups");
+    }
+
+    private static Timestamp ts(LocalDateTime time) {
+        return Timestamp.valueOf(time);
+    }
+
+    // ── Statement recording ───────────────────────────────────────────────────
+
+    record RecordedStatement(String sql, List<Object> params) {
+    }
+
+    // Collects the prepared statements executed by the test thread between start() and stop()
+    static class StatementRecorder {
+
+        private final ThreadLocal<List<RecordedStatement>> current = new ThreadLocal<>();
+
+        void start() {
+            current.set(new ArrayList<>());
+        }
+
+        List<RecordedStatement> stop() {
+            List<RecordedStatement> statements = current.get();
+            current.remove();
+            return statements != null ? statements : List.of();
+        }
+
+        void record(String sql, Collection<Object> params) {
+            List<RecordedStatement> statements = current.get();
+            if (statements != null)
+                statements.add(new RecordedStatement(sql, new ArrayList<>(params)));
+        }
+    }
+
+    static class RecordingDataSource extends DelegatingDataSource {
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(super.getConnection(username, password));
+        }
+
+        private static Connection recording(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        return method.getName().equals("prepareStatement")
+                                ? recording((PreparedStatement) result, (String) args[0])
+                                : result;
+                    });
+        }
+
+        private static PreparedStatement recording(PreparedStatement statement, String sql) {
+            Map<Integer, Object> params = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index)
+                            params.put(index, name.equals("setNull") ? null : args[1]);
+                        else if (name.equals("clearParameters"))
+                            params.clear();
+                        else if (name.equals("executeQuery") || name.equals("executeUpdate") || name.equals("execute"))
+                            RECORDER.record(sql, params.values());
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
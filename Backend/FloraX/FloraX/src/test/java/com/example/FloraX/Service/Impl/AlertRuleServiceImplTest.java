@@ -0,0 +1,123 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Cache.ActiveAlertIndex;
+import com.example.FloraX.Cache.LatestReadingCache;
+import com.example.FloraX.Config.AlertRuleProperties;
+import com.example.FloraX.Entity.Alerts;
+import com.example.FloraX.Enum.AlertStatus;
+import com.example.FloraX.Enum.AlertType;
+import com.example.FloraX.Enum.SensorStatus;
+import com.example.FloraX.Enum.SensorType;
+import com.example.FloraX.Event.AlertChangedEvent;
+import com.example.FloraX.Event.IngestedReading;
+import com.example.FloraX.Event.SensorReadingsIngestedEvent;
+import com.example.FloraX.Event.SensorStatusChangedEvent;
+import com.example.FloraX.Repository.AlertRepository;
+import com.example.FloraX.Repository.GardenRepository;
+import com.example.FloraX.Repository.Projection.ZoneRouting;
+import com.example.FloraX.Repository.ZoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * SENSOR_FAULT alerts of sensors 10 and 11, both temperature sensors in zone
+ * 3 of garden 2 (user 1), with the alerts table kept in a map.
+ */
+class AlertRuleServiceImplTest {
+
+    private static final long ZONE = 3L;
+
+    private final LatestReadingCache readingCache = mock(LatestReadingCache.class);
+    private final AlertRepository alertRepository = mock(AlertRepository.class);
+    private final ZoneRepository zoneRepository = mock(ZoneRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final ActiveAlertIndex alertIndex = new ActiveAlertIndex(alertRepository);
+    private final Map<Long, Alerts> alerts = new HashMap<>();
+
+    private AlertRuleServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ZoneRouting zone = mock(ZoneRouting.class);
+        when(zone.getZoneId()).thenReturn(ZONE);
+        when(zone.getGardenId()).thenReturn(2L);
+        when(zone.getUserId()).thenReturn(1L);
+        when(zoneRepository.findRoutingByZoneIds(List.of(ZONE))).thenReturn(List.of(zone));
+        when(readingCache.placementOf(anyLong()))
+                .thenReturn(new LatestReadingCache.Placement(ZONE, SensorType.TEMPERATURE));
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        when(alertRepository.save(any())).thenAnswer(inv -> {
+            Alerts a = inv.getArgument(0);
+            if (a.getAlertId() == null)
+                a.setAlertId((long) alerts.size() + 1);
+            alerts.put(a.getAlertId(), a);
+            return a;
+        });
+        when(alertRepository.findById(anyLong()))
+                .thenAnswer(inv -> Optional.ofNullable(alerts.get(inv.getArgument(0, Long.class))));
+        // The index follows the events, as it does through the event bus
+        doAnswer(inv -> {
+            alertIndex.onAlertChanged(inv.getArgument(0));
+            return null;
+        }).when(eventPublisher).publishEvent(any(AlertChangedEvent.class));
+        alertIndex.warmUp();
+
+        service = new AlertRuleServiceImpl(new AlertRuleProperties(), readingCache, alertIndex, alertRepository,
+                mock(GardenRepository.class), zoneRepository, transactionTemplate, eventPublisher, 60);
+    }
+
+    @Test
+    void inRangeReadingResolvesTheSensorsFault() {
+        report(10L, 200.0);
+        report(11L, 200.0);
+        assertThat(activeFaults()).hasSize(2);
+
+        report(10L, 21.0);
+
+        assertThat(activeFaults()).containsExactly(11L);
+        assertThat(alertIndex.find(AlertType.SENSOR_FAULT, 2L, ZONE, 10L)).isNull();
+    }
+
+    @Test
+    void sensorThatIsActiveAgainHasItsFaultResolvedAndCanFaultAgain() {
+        service.onSensorStatusChanged(new SensorStatusChangedEvent(10L, ZONE, SensorStatus.FAULTY, null));
+        assertThat(activeFaults()).containsExactly(10L);
+
+        service.onSensorStatusChanged(new SensorStatusChangedEvent(10L, ZONE, SensorStatus.ACTIVE,
+                LocalDateTime.now()));
+        assertThat(activeFaults()).isEmpty();
+
+        report(10L, 200.0);
+        assertThat(activeFaults()).containsExactly(10L);
+        assertThat(alerts).hasSize(2);
+    }
+
+    private void report(long sensorId, double value) {
+        service.onReadingsIngested(new SensorReadingsIngestedEvent(
+                List.of(new IngestedReading(sensorId, value, LocalDateTime.now()))));
+    }
+
+    private List<Long> activeFaults() {
+        return alerts.values().stream()
+                .filter(a -> a.getAlertType() == AlertType.SENSOR_FAULT && a.getStatus() == AlertStatus.ACTIVE)
+                .map(Alerts::getSensorId)
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Cache.LatestReadingCache;
+import com.example.FloraX.Entity.Valves;
+import com.example.FloraX.Enum.CommandAction;
+import com.example.FloraX.Enum.DeviceType;
+import com.example.FloraX.Enum.SensorType;
+import com.example.FloraX.Enum.ValveStatus;
+import com.example.FloraX.Event.DeviceCommandFailedEvent;
+import com.example.FloraX.Event.IrrigationCutOffEvent;
+import com.example.FloraX.Event.ValveStatusChangedEvent;
+import com.example.FloraX.Repository.IrrigationLogRepository;
+import com.example.FloraX.Repository.Projection.ZoneRouting;
+import com.example.FloraX.Repository.ValvesRepository;
+import com.example.FloraX.Repository.ZoneRepository;
+import com.example.FloraX.Service.DeviceCommandService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Automatic irrigation of zone 1 (one valve, moisture 30 to 60) with the
+ * database mocked. Evaluations run on the service's worker, so expected
+ * commands are awaited and absent ones checked after a short wait. The
+ * valve only changes state when the test acknowledges its pending command.
+ */
+class AutoIrrigationServiceImplTest {
+
+    private static final long ZONE = 1L;
+    private static final long VALVE = 5L;
+    private static final long WAIT_MS = 300;
+
+    private final LatestReadingCache readingCache = mock(LatestReadingCache.class);
+    private final ZoneRepository zoneRepository = mock(ZoneRepository.class);
+    private final ValvesRepository valvesRepository = mock(ValvesRepository.class);
+    private final IrrigationLogRepository irrigationLogRepository = mock(IrrigationLogRepository.class);
+    private final DeviceCommandService deviceCommandService = mock(DeviceCommandService.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private final Valves valve = new Valves();
+    private volatile double moisture;
+    private volatile CommandAction pending;
+    private AutoIrrigationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ZoneRouting zone = mock(ZoneRouting.class);
+        when(zone.getZoneId()).thenReturn(ZONE);
+        when(zone.getGardenId()).thenReturn(1L);
+        when(zone.getUserId()).thenReturn(1L);
+        when(zone.getMoistureThresholdMin()).thenReturn(30.0);
+        when(zone.getMoistureThresholdMax()).thenReturn(60.0);
+        when(zoneRepository.findRoutingByZoneIds(List.of(ZONE))).thenReturn(List.of(zone));
+
+        valve.setValveId(VALVE);
+        valve.setValveStatus(ValveStatus.CLOSED);
+        when(valvesRepository.findByZone_ZoneId(ZONE)).thenReturn(List.of(valve));
+        when(valvesRepository.findAllById(List.of(VALVE))).thenReturn(List.of(valve));
+        when(readingCache.latestForZone(ZONE, SensorType.MOISTURE))
+                .thenAnswer(inv -> new LatestReadingCache.Reading(moisture, LocalDateTime.now()));
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        doAnswer(inv -> {
+            inv.getArgument(0, Consumer.class).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(deviceCommandService.submit(anyLong(), anyLong(), eq(DeviceType.VALVE), eq(VALVE), any(), isNull()))
+                .thenAnswer(inv -> {
+                    pending = inv.getArgument(4);
+                    return null;
+                });
+        when(deviceCommandService.pendingAction(DeviceType.VALVE, VALVE)).thenAnswer(inv -> pending);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (service != null)
+            service.shutdown();
+    }
+
+    @Test
+    void zoneClosedByHandWaitsForMoistureToRecover() {
+        service = service(60, 120, 240);
+        moisture = 20;
+        service.evaluate(ZONE);
+        verify(deviceCommandService, timeout(2000)).submit(1L, 1L, DeviceType.VALVE, VALVE, CommandAction.OPEN, null);
+
+        acknowledge();
+        closeByHand();
+        awaitActiveRuns(0);
+
+        // Still dry: held off
+        service.evaluate(ZONE);
+        verify(deviceCommandService, after(WAIT_MS).times(1)).submit(anyLong(), anyLong(), any(), anyLong(),
+                eq(CommandAction.OPEN), any());
+
+        // Recovered, then dry again: a new run starts before the hold-off ends
+        moisture = 35;
+        evaluateAndAwaitRead();
+        moisture = 20;
+        service.evaluate(ZONE);
+        verify(deviceCommandService, timeout(2000).times(2)).submit(1L, 1L, DeviceType.VALVE, VALVE,
+                CommandAction.OPEN, null);
+        verify(eventPublisher, never()).publishEvent(any(IrrigationCutOffEvent.class));
+    }
+
+    @Test
+    void zoneClosedByHandResumesAfterHoldOff() {
+        service = service(60, 0, 240);
+        moisture = 20;
+        service.evaluate(ZONE);
+        verify(deviceCommandService, timeout(2000)).submit(1L, 1L, DeviceType.VALVE, VALVE, CommandAction.OPEN, null);
+
+        acknowledge();
+        closeByHand();
+        awaitActiveRuns(0);
+
+        service.evaluate(ZONE);
+        verify(deviceCommandService, timeout(2000).times(2)).submit(1L, 1L, DeviceType.VALVE, VALVE,
+                CommandAction.OPEN, null);
+    }
+
+    @Test
+    void runCutOffAtMaxRunCoolsDownAndRaisesAlert() {
+        service = service(0, 120, 240);
+        moisture = 20;
+        service.evaluate(ZONE);
+        verify(deviceCommandService, timeout(2000)).submit(1L, 1L, DeviceType.VALVE, VALVE, CommandAction.OPEN, null);
+        acknowledge();
+
+        // max-run-minutes=0: the next evaluation cuts the run off while still dry
+        service.evaluate(ZONE);
+        verify(deviceCommandService, timeout(2000)).submit(1L, 1L, DeviceType.VALVE, VALVE, CommandAction.CLOSE, null);
+        verify(eventPublisher, timeout(2000)).publishEvent(argThat((Object e) ->
+                e instanceof IrrigationCutOffEvent cutOff && cutOff.getZoneId() == ZONE
+                        && cutOff.getResumesAt().isAfter(LocalDateTime.now().plusMinutes(230))));
+
+        // Neither dryness nor a recovery ends the cooldown
+        evaluateAndAwaitRead();
+        moisture = 35;
+        evaluateAndAwaitRead();
+        moisture = 20;
+        service.evaluate(ZONE);
+        verify(deviceCommandService, after(WAIT_MS).times(1)).submit(anyLong(), anyLong(), any(), anyLong(),
+                eq(CommandAction.OPEN), any());
+    }
+
+    @Test
+    void runEndingWetIsNotSuppressed() {
+        service = service(60, 120, 240);
+        moisture = 20;
+        service.evaluate(ZONE);
+        verify(deviceCommandService, timeout(2000)).submit(1L, 1L, DeviceType.VALVE, VALVE, CommandAction.OPEN, null);
+        acknowledge();
+
+        moisture = 65;
+        service.evaluate(ZONE);
+        verify(deviceCommandService, timeout(2000)).submit(1L, 1L, DeviceType.VALVE, VALVE, CommandAction.CLOSE, null);
+        awaitActiveRuns(0);
+        acknowledge();
+
+        moisture = 20;
+        service.evaluate(ZONE);
+        verify(deviceCommandService, timeout(2000).times(2)).submit(1L, 1L, DeviceType.VALVE, VALVE,
+                CommandAction.OPEN, null);
+        verify(eventPublisher, never()).publishEvent(any(IrrigationCutOffEvent.class));
+    }
+
+    @Test
+    void valveThatFailsToOpenEndsRunAndPausesZone() {
+        service = service(60, 120, 240);
+        moisture = 20;
+        service.evaluate(ZONE);
+        verify(deviceCommandService, timeout(2000)).submit(1L, 1L, DeviceType.VALVE, VALVE, CommandAction.OPEN, null);
+        assertThat(valve.getValveStatus()).isEqualTo(ValveStatus.CLOSED);
+
+        // The OPEN failed after max-attempts; the valve never moved
+        pending = null;
+        service.onDeviceCommandFailed(new DeviceCommandFailedEvent(1L, 1L, ZONE, "open-1", DeviceType.VALVE, VALVE,
+                CommandAction.OPEN, 5, "No acknowledgement after 5 attempts"));
+        awaitActiveRuns(0);
+
+        // Still dry, but cooling down
+        service.evaluate(ZONE);
+        verify(deviceCommandService, after(WAIT_MS).times(1)).submit(anyLong(), anyLong(), any(), anyLong(),
+                eq(CommandAction.OPEN), any());
+        verify(deviceCommandService, never()).submit(anyLong(), anyLong(), any(), anyLong(),
+                eq(CommandAction.CLOSE), any());
+        verify(eventPublisher, never()).publishEvent(any(IrrigationCutOffEvent.class));
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private AutoIrrigationServiceImpl service(long maxRunMinutes, long holdOffMinutes, long cooldownMinutes) {
+        return new AutoIrrigationServiceImpl(readingCache, zoneRepository, valvesRepository, irrigationLogRepository,
+                deviceCommandService, transactionTemplate, eventPublisher, true, 1, maxRunMinutes, 10, 60,
+                holdOffMinutes, cooldownMinutes);
+    }
+
+    // Returns once the worker has read the moisture; later evaluations queue behind this one
+    private void evaluateAndAwaitRead() {
+        int reads = mockingDetails(readingCache).getInvocations().size();
+        service.evaluate(ZONE);
+        verify(readingCache, timeout(2000).atLeast(reads + 1)).latestForZone(ZONE, SensorType.MOISTURE);
+    }
+
+    // The valve acknowledges the command waiting for it
+    private void acknowledge() {
+        valve.setValveStatus(pending == CommandAction.OPEN ? ValveStatus.OPEN : ValveStatus.CLOSED);
+        pending = null;
+    }
+
+    // The user's CLOSE was acknowledged
+    private void closeByHand() {
+        valve.setValveStatus(ValveStatus.CLOSED);
+        pending = null;
+        service.onValveStatusChanged(new ValveStatusChangedEvent(1L, 1L, ZONE, VALVE, ValveStatus.CLOSED,
+                LocalDateTime.now()));
+    }
+
+    private void awaitActiveRuns(int count) {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (service.getActiveRunCount() != count && System.currentTimeMillis() < deadline)
+            Thread.onSpinWait();
+        assertThat(service.getActiveRunCount()).isEqualTo(count);
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Config.DataSourceLatencyFault;
+import com.example.FloraX.Dto.GardenDTO;
+import com.example.FloraX.Service.UserDashboardService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Dashboard degradation against an in-memory H2 database slowed down by
+ * DataSourceLatencyFault. Every statement takes 300 ms while the fault is
+ * set, three times slow-call-ms, so each dashboard read counts as slow.
+ * Dashboard reads get two of the four pool connections, and each garden is
+ * a fan-out chunk of its own.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:florax-guard;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "florax.datasource.fault.enabled=true",
+        "florax.dashboard.max-connections=2",
+        "florax.dashboard.fanout.gardens-per-task=1",
+        "florax.dashboard.guard.acquire-timeout-ms=50",
+        "florax.dashboard.guard.slow-call-ms=100",
+        "florax.dashboard.guard.window-size=2",
+        "florax.dashboard.guard.open-ms=60000",
+        // Every read must reach the database
+        "florax.dashboard.coalescing.enabled=false",
+        "florax.actuation.dispatch-interval-ms=3600000",
+        "florax.readings.retention-enabled=false",
+        "florax.irrigation.auto.enabled=false",
+        "florax.liveness.enabled=false"
+})
+class DashboardReadGuardTest {
+
+    private static final String EMAIL = "grower@florax.local";
+    private static final long USER_ID = 1L;
+    private static final String OTHER_EMAIL = "orchard@florax.local";
+    private static final long OTHER_USER_ID = 2L;
+    private static final long LATENCY_MS = 300;
+
+    @Autowired DashboardReadGuard guard;
+    @Autowired DataSourceLatencyFault fault;
+    @Autowired UserDashboardService dashboardService;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        fault.setLatencyMs(0);
+        jdbcTemplate.update("DELETE FROM gardens");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (user_id, email, name, role, created_at) VALUES (?, ?, 'Grower', 'USER', ?)",
+                USER_ID, EMAIL, Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.update("INSERT INTO gardens (garden_id, user_id, garden_name) VALUES (1, ?, 'before')", USER_ID);
+        jdbcTemplate.update("INSERT INTO users (user_id, email, name, role, created_at) VALUES (?, ?, 'Orchard', 'USER', ?)",
+                OTHER_USER_ID, OTHER_EMAIL, Timestamp.valueOf(LocalDateTime.now()));
+        for (int g = 11; g <= 16; g++)
+            jdbcTemplate.update("INSERT INTO gardens (garden_id, user_id, garden_name) VALUES (?, ?, ?)",
+                    g, OTHER_USER_ID, "orchard " + g);
+    }
+
+    @AfterEach
+    void removeFault() {
+        fault.setLatencyMs(0);
+    }
+
+    @Test
+    void lastGoodResultIsServedStaleWhileOneRefreshRuns() throws Exception {
+        DashboardReadGuard.Result<List<GardenDTO>> fresh = readGardens("/gardens");
+        assertThat(fresh.stale()).isFalse();
+        assertThat(names(fresh)).containsExactly("before");
+
+        // Two slow reads fill the window and open the breaker
+        fault.setLatencyMs(LATENCY_MS);
+        readGardens("/gardens/slow-1");
+        readGardens("/gardens/slow-2");
+        assertThat(guard.getStats().getState()).isEqualTo("OPEN");
+
+        jdbcTemplate.update("UPDATE gardens SET garden_name = 'after' WHERE garden_id = 1");
+        long refreshesBefore = guard.getStats().getRefreshesStarted();
+        long start = System.nanoTime();
+        DashboardReadGuard.Result<List<GardenDTO>> stale = readGardens("/gardens");
+        for (int i = 0; i < 5; i++)
+            readGardens("/gardens");
+
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(LATENCY_MS);
+        assertThat(stale.stale()).isTrue();
+        assertThat(stale.etag()).isEqualTo("etag-1");
+        assertThat(names(stale)).containsExactly("before");
+        assertThat(guard.getStats().getRefreshesStarted()).isEqualTo(refreshesBefore + 1);
+
+        // The background refresh replaces the kept result; the breaker stays open
+        awaitTrue(() -> names(readGardens("/gardens")).contains("after"));
+        assertThat(readGardens("/gardens").stale()).isTrue();
+    }
+
+    @Test
+    void slowReadsLeaveConnectionsForWrites() throws Exception {
+        fault.setLatencyMs(LATENCY_MS);
+        long rejectedBefore = guard.getStats().getReadsRejected();
+
+        List<Future<?>> reads = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Requests without a kept result, so none of them can be answered stale
+            for (int i = 0; i < 6; i++) {
+                String request = "/gardens?page=" + i;
+                reads.add(executor.submit(() -> readGardens(request)));
+            }
+            awaitTrue(() -> guard.getStats().getReadsRejected() - rejectedBefore == 4);
+            assertThat(guard.getStats().getReadsInFlight()).isEqualTo(2);
+
+            // Two of the four connections are still free for a write
+            long start = System.nanoTime();
+            try (Connection connection = dataSource.getConnection()) {
+                assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(LATENCY_MS);
+                connection.createStatement().executeUpdate("UPDATE gardens SET garden_name = 'written' WHERE garden_id = 1");
+            }
+        }
+
+        int busy = 0;
+        for (Future<?> read : reads) {
+            try {
+                read.get();
+            } catch (Exception e) {
+                assertThatThrownBy(() -> { throw e.getCause(); })
+                        .isInstanceOfSatisfying(ResponseStatusException.class,
+                                rse -> assertThat(rse.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+                busy++;
+            }
+        }
+        assertThat(busy).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("SELECT garden_name FROM gardens WHERE garden_id = 1", String.class))
+                .isEqualTo("written");
+    }
+
+    @Test
+    void fanOutChunksDrawFromTheReadConnections() throws Exception {
+        fault.setLatencyMs(LATENCY_MS);
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        long rejectedBefore = guard.getStats().getReadsRejected();
+
+        List<Future<DashboardReadGuard.Result<List<GardenDTO>>>> reads = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Two reads of six gardens each: without a shared budget their chunks would take the whole pool
+            for (int i = 0; i < 2; i++) {
+                String request = "/gardens?orchard=" + i;
+                reads.add(executor.submit(() -> guard.read(OTHER_USER_ID, request, "etag-2",
+                        () -> dashboardService.getAllGardens(OTHER_EMAIL))));
+            }
+            awaitTrue(() -> guard.getStats().getReadsInFlight() == 2);
+
+            int maxActive = 0;
+            while (!reads.stream().allMatch(Future::isDone)) {
+                maxActive = Math.max(maxActive, pool.getActiveConnections());
+                assertThat(guard.getStats().getConnectionsInUse()).isLessThanOrEqualTo(2);
+                Thread.sleep(10);
+            }
+            assertThat(maxActive).isLessThanOrEqualTo(2);
+        }
+
+        for (Future<DashboardReadGuard.Result<List<GardenDTO>>> read : reads)
+            assertThat(names(read.get())).hasSize(6);
+        assertThat(guard.getStats().getReadsRejected()).isEqualTo(rejectedBefore);
+        assertThat(guard.getStats().getConnectionsInUse()).isZero();
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private DashboardReadGuard.Result<List<GardenDTO>> readGardens(String request) {
+        return guard.read(USER_ID, request, "etag-1", () -> dashboardService.getAllGardens(EMAIL));
+    }
+
+    private static List<String> names(DashboardReadGuard.Result<List<GardenDTO>> result) {
+        return result.body().stream().map(GardenDTO::getGardenName).toList();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met within 10 s").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Dto.DeviceCommandDTO;
+import com.example.FloraX.Entity.DeviceCommands;
+import com.example.FloraX.Enum.CommandAction;
+import com.example.FloraX.Enum.CommandStatus;
+import com.example.FloraX.Enum.DeviceType;
+import com.example.FloraX.Gateway.DeviceGateway;
+import com.example.FloraX.Mapper.DashboardMapper;
+import com.example.FloraX.Repository.DeviceCommandsRepository;
+import com.example.FloraX.Repository.PumpsRepository;
+import com.example.FloraX.Repository.ValvesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Command submission with the database mocked. Command "open-5" (OPEN of
+ * valve 5 by user 1) is inserted by a concurrent request between this
+ * request's lookup and its own insert.
+ */
+class DeviceCommandServiceImplTest {
+
+    private static final String COMMAND_ID = "open-5";
+
+    private final DeviceCommandsRepository commandsRepository = mock(DeviceCommandsRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private DeviceCommandServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        DeviceCommands stored = new DeviceCommands();
+        stored.setCommandId(COMMAND_ID);
+        stored.setUserId(1L);
+        stored.setGardenId(1L);
+        stored.setDeviceType(DeviceType.VALVE);
+        stored.setDeviceId(5L);
+        stored.setAction(CommandAction.OPEN);
+        stored.setStatus(CommandStatus.PENDING);
+        stored.setCreatedAt(LocalDateTime.now());
+        when(commandsRepository.findByCommandId(COMMAND_ID)).thenReturn(Optional.empty(), Optional.of(stored));
+        when(commandsRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException(
+                "Duplicate entry 'open-5' for key 'uk_device_commands_command_id'"));
+        service = new DeviceCommandServiceImpl(commandsRepository, mock(ValvesRepository.class),
+                mock(PumpsRepository.class), mock(DeviceGateway.class), new DashboardMapper(), transactionManager,
+                mock(ApplicationEventPublisher.class), 200, 5000, 5, 5000, 1000);
+    }
+
+    @Test
+    void concurrentSubmitOfTheSameIdReturnsTheStoredCommand() {
+        DeviceCommandDTO command = service.submit(1L, 1L, DeviceType.VALVE, 5L, CommandAction.OPEN, COMMAND_ID);
+
+        assertThat(command.getCommandId()).isEqualTo(COMMAND_ID);
+        assertThat(command.getStatus()).isEqualTo(CommandStatus.PENDING.name());
+        // The failed insert rolled back its own transaction only
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void concurrentSubmitOfTheSameIdForAnotherCommandIsRejected() {
+        assertThatThrownBy(() -> service.submit(1L, 1L, DeviceType.VALVE, 5L, CommandAction.CLOSE, COMMAND_ID))
+                .hasMessageContaining("already used for another command");
+    }
+}
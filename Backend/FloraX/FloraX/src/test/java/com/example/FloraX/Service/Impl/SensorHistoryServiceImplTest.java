@@ -0,0 +1,117 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Cache.OwnershipIndex;
+import com.example.FloraX.Cache.SensorHistoryCache;
+import com.example.FloraX.Cache.UserPrincipalCache;
+import com.example.FloraX.Config.AuthenticatedUser;
+import com.example.FloraX.Config.SensorReadingStorageProperties;
+import com.example.FloraX.Dto.SensorHistoryDTO;
+import com.example.FloraX.Enum.HistoryResolution;
+import com.example.FloraX.Enum.SensorType;
+import com.example.FloraX.Enum.UserRole;
+import com.example.FloraX.Repository.Projection.SensorPlacement;
+import com.example.FloraX.Repository.SensorRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * History of temperature sensor 10 read from an in-memory H2 database with
+ * the Flyway schema and the default retention: raw readings for 7 days,
+ * 5-minute buckets for 90 and hourly ones for 730. The in-memory window is
+ * left out, so everything comes from the database.
+ */
+class SensorHistoryServiceImplTest {
+
+    private static final String URL =
+            "jdbc:h2:mem:florax-history;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1";
+    private static final String EMAIL = "grower@florax.local";
+    private static final long SENSOR = 10L;
+
+    private static final JdbcTemplate DB = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+
+    static {
+        Flyway.configure().dataSource(URL, "sa", "").load().migrate();
+    }
+
+    private final LocalDate today = LocalDate.now();
+    private SensorHistoryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        DB.update("DELETE FROM sensor_readings");
+        DB.update("DELETE FROM sensor_reading_rollups");
+
+        SensorPlacement placement = mock(SensorPlacement.class);
+        when(placement.getSensorId()).thenReturn(SENSOR);
+        when(placement.getZoneId()).thenReturn(3L);
+        when(placement.getSensorType()).thenReturn(SensorType.TEMPERATURE);
+        SensorRepository sensorRepository = mock(SensorRepository.class);
+        when(sensorRepository.findPlacementForUser(1L, SENSOR)).thenReturn(Optional.of(placement));
+        UserPrincipalCache principalCache = mock(UserPrincipalCache.class);
+        when(principalCache.getByEmail(EMAIL)).thenReturn(new AuthenticatedUser(1L, EMAIL, "x", UserRole.USER));
+        SensorHistoryCache historyCache = mock(SensorHistoryCache.class);
+        when(historyCache.windowStart()).thenReturn(Long.MAX_VALUE);
+
+        service = new SensorHistoryServiceImpl(DB, historyCache, principalCache, sensorRepository,
+                mock(OwnershipIndex.class), new SensorReadingStorageProperties(), 20000);
+    }
+
+    @Test
+    void dayOlderThanRawDaysIsChartedFromFiveMinuteBuckets() {
+        LocalDateTime day = today.minusDays(10).atStartOfDay();
+        rollup("FIVE_MINUTES", day.withHour(12), 18.0, 22.0, 60.0, 3);
+        rollup("FIVE_MINUTES", day.withHour(12).withMinute(5), 20.0, 20.0, 40.0, 2);
+
+        SensorHistoryDTO history = service.getSensorHistory(EMAIL, SENSOR, day, day.plusDays(1), null);
+
+        assertThat(history.getResolution()).isEqualTo(HistoryResolution.FIVE_MINUTES);
+        assertThat(history.getTimestamps()).containsExactly(epochMillis(day.withHour(12)),
+                epochMillis(day.withHour(12).withMinute(5)));
+        assertThat(history.getValues()).containsExactly(20.0, 20.0);
+        assertThat(history.getMin()).containsExactly(18.0, 20.0);
+    }
+
+    @Test
+    void rawRequestFallsBackToTheRollupsThatStillCoverEachPart() {
+        LocalDateTime hourly = today.minusDays(100).atTime(10, 0);
+        LocalDateTime fiveMinutes = today.minusDays(50).atTime(10, 0);
+        LocalDateTime raw = today.minusDays(3).atTime(10, 0);
+        rollup("HOUR", hourly, 15.0, 17.0, 32.0, 2);
+        rollup("FIVE_MINUTES", fiveMinutes, 19.0, 19.0, 19.0, 1);
+        // Expired five-minute buckets are deleted by maintenance; one left over is not read
+        rollup("FIVE_MINUTES", hourly, 99.0, 99.0, 99.0, 1);
+        DB.update("INSERT INTO sensor_readings (sensor_id, recorded_at, value) VALUES (?, ?, ?)",
+                SENSOR, Timestamp.valueOf(raw), 21.5);
+
+        SensorHistoryDTO history = service.getSensorHistory(EMAIL, SENSOR, today.minusDays(120).atStartOfDay(),
+                today.minusDays(1).atStartOfDay(), HistoryResolution.RAW);
+
+        assertThat(history.getTimestamps())
+                .containsExactly(epochMillis(hourly), epochMillis(fiveMinutes), epochMillis(raw));
+        assertThat(history.getValues()).containsExactly(16.0, 19.0, 21.5);
+    }
+
+    private static void rollup(String granularity, LocalDateTime bucketStart, double min, double max, double sum,
+            long count) {
+        DB.update("INSERT INTO sensor_reading_rollups (sensor_id, granularity, bucket_start, min_value, max_value, " +
+                "sum_value, sample_count) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                SENSOR, granularity, Timestamp.valueOf(bucketStart), min, max, sum, count);
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Cache.LatestReadingCache;
+import com.example.FloraX.Enum.SensorStatus;
+import com.example.FloraX.Event.IngestedReading;
+import com.example.FloraX.Event.SensorReadingsIngestedEvent;
+import com.example.FloraX.Event.SensorStatusChangedEvent;
+import com.example.FloraX.Repository.SensorReadingRepository;
+import com.example.FloraX.Repository.SensorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Liveness of sensor 10 with the database mocked: INACTIVE after 30 minutes
+ * of silence, FAULTY after 180, checked on a 1 ms tick.
+ */
+class SensorLivenessServiceImplTest {
+
+    private static final long SENSOR = 10L;
+
+    private final SensorRepository sensorRepository = mock(SensorRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private SensorLivenessServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(inv -> {
+            inv.getArgument(0, Consumer.class).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        service = new SensorLivenessServiceImpl(sensorRepository, mock(SensorReadingRepository.class),
+                mock(LatestReadingCache.class), transactionTemplate, eventPublisher, true, 30, 180, 1);
+    }
+
+    @Test
+    void failedStatusWriteIsRetriedOnTheNextTick() throws Exception {
+        when(sensorRepository.updateStatus(anyCollection(), eq(SensorStatus.INACTIVE)))
+                .thenThrow(new QueryTimeoutException("Lock wait timeout exceeded"))
+                .thenReturn(1);
+        report(LocalDateTime.now().minusMinutes(40));
+
+        tick();
+        verifyNoInteractions(eventPublisher);
+
+        tick();
+        verify(sensorRepository, times(2)).updateStatus(List.of(SENSOR), SensorStatus.INACTIVE);
+        assertThat(statusEvent().getStatus()).isEqualTo(SensorStatus.INACTIVE);
+    }
+
+    @Test
+    void failedRevivalIsRetriedOnTheNextReading() {
+        when(sensorRepository.updateStatus(anyCollection(), eq(SensorStatus.INACTIVE))).thenReturn(1);
+        when(sensorRepository.updateStatus(anyCollection(), eq(SensorStatus.ACTIVE)))
+                .thenThrow(new QueryTimeoutException("Lock wait timeout exceeded"))
+                .thenReturn(1);
+        report(LocalDateTime.now().minusMinutes(40));
+        tick();
+        reset(eventPublisher);
+
+        report(LocalDateTime.now());
+        verifyNoInteractions(eventPublisher);
+
+        report(LocalDateTime.now());
+        verify(sensorRepository, times(2)).updateStatus(List.of(SENSOR), SensorStatus.ACTIVE);
+        assertThat(statusEvent().getStatus()).isEqualTo(SensorStatus.ACTIVE);
+    }
+
+    private void report(LocalDateTime recordedAt) {
+        service.onReadingsIngested(new SensorReadingsIngestedEvent(
+                List.of(new IngestedReading(SENSOR, 40.0, recordedAt))));
+    }
+
+    // Lets at least one 1 ms tick elapse before checking
+    private void tick() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        service.checkLiveness();
+    }
+
+    private SensorStatusChangedEvent statusEvent() {
+        ArgumentCaptor<SensorStatusChangedEvent> event = ArgumentCaptor.forClass(SensorStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        return event.getValue();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Cache.OwnershipIndex;
+import com.example.FloraX.Cache.UserPrincipalCache;
+import com.example.FloraX.Config.AuthenticatedUser;
+import com.example.FloraX.Dto.IngestionResultDTO;
+import com.example.FloraX.Dto.SensorReadingRequest;
+import com.example.FloraX.Enum.UserRole;
+import com.example.FloraX.Event.IngestedReading;
+import com.example.FloraX.Event.SensorReadingsIngestedEvent;
+import com.example.FloraX.Repository.SensorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Sensor reading ingestion with the database, the ownership index and the
+ * principal cache mocked. User 1 owns sensor 10; sensor 20 belongs to
+ * someone else.
+ */
+class SensorReadingIngestionServiceImplTest {
+
+    private static final String EMAIL = "grower@florax.local";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SensorRepository sensorRepository = mock(SensorRepository.class);
+    private final OwnershipIndex ownership = mock(OwnershipIndex.class);
+    private final UserPrincipalCache principalCache = mock(UserPrincipalCache.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private SensorReadingIngestionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        when(principalCache.getByEmail(EMAIL)).thenReturn(new AuthenticatedUser(1L, EMAIL, "Grower", UserRole.USER));
+        when(sensorRepository.findExistingIds(anyCollection())).thenReturn(List.of(10L, 20L));
+        when(ownership.ownsSensor(1L, 10L)).thenReturn(true);
+        when(ownership.ownsSensor(1L, 20L)).thenReturn(false);
+        service = new SensorReadingIngestionServiceImpl(jdbcTemplate, sensorRepository, ownership, principalCache,
+                eventPublisher, 100, 1000, 10);
+    }
+
+    @Test
+    void readingsForAnotherUsersSensorAreRejected() {
+        IngestionResultDTO result = service.ingest(EMAIL, List.of(
+                SensorReadingRequest.builder().sensorId(10L).value(40.0).build(),
+                SensorReadingRequest.builder().sensorId(20L).value(5.0).build()));
+
+        assertThat(result.getAccepted()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(1);
+
+        service.flush();
+
+        ArgumentCaptor<SensorReadingsIngestedEvent> event = ArgumentCaptor.forClass(SensorReadingsIngestedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getReadings())
+                .extracting(IngestedReading::getSensorId)
+                .containsExactly(10L);
+    }
+
+    @Test
+    void batchOfForeignSensorsQueuesNothing() {
+        IngestionResultDTO result = service.ingest(EMAIL, List.of(
+                SensorReadingRequest.builder().sensorId(20L).value(5.0).build()));
+
+        assertThat(result.getAccepted()).isZero();
+        assertThat(result.getRejected()).isEqualTo(1);
+
+        service.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void batchLargerThanTheBufferIsTurnedAwayAtOnce() {
+        List<SensorReadingRequest> readings = IntStream.range(0, 101)
+                .mapToObj(i -> SensorReadingRequest.builder().sensorId(10L).value(40.0).build())
+                .toList();
+
+        IngestionResultDTO result = service.ingest(EMAIL, readings);
+
+        assertThat(result.isTooLarge()).isTrue();
+        assertThat(result.isBufferFull()).isFalse();
+        assertThat(result.getRejected()).isEqualTo(101);
+        // A batch that fits still goes through afterwards
+        assertThat(service.ingest(EMAIL, readings.subList(0, 100)).getAccepted()).isEqualTo(100);
+    }
+}
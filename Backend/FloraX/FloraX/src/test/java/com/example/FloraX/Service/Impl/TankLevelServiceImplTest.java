@@ -0,0 +1,90 @@
+package com.example.FloraX.Service.Impl;
+
+import com.example.FloraX.Cache.OwnershipIndex;
+import com.example.FloraX.Cache.TankLevelIndex;
+import com.example.FloraX.Cache.UserPrincipalCache;
+import com.example.FloraX.Config.AuthenticatedUser;
+import com.example.FloraX.Dto.IngestionResultDTO;
+import com.example.FloraX.Dto.TankLevelRequest;
+import com.example.FloraX.Enum.TankStatus;
+import com.example.FloraX.Enum.UserRole;
+import com.example.FloraX.Event.TankLevelChangedEvent;
+import com.example.FloraX.Repository.WaterTankRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tank level ingestion with the database mocked. User 1 owns tank 1 and
+ * user 2 owns tank 2; both hold 1000 liters and start at 800.
+ */
+class TankLevelServiceImplTest {
+
+    private static final String EMAIL = "grower@florax.local";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final WaterTankRepository waterTankRepository = mock(WaterTankRepository.class);
+    private final OwnershipIndex ownership = mock(OwnershipIndex.class);
+    private final UserPrincipalCache principalCache = mock(UserPrincipalCache.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final TankLevelIndex tankIndex = new TankLevelIndex(waterTankRepository);
+
+    private TankLevelServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        tankIndex.register(new TankLevelIndex.Snapshot(1L, 1L, 1L, 1000.0, 800.0, TankStatus.NORMAL));
+        tankIndex.register(new TankLevelIndex.Snapshot(2L, 2L, 2L, 1000.0, 800.0, TankStatus.NORMAL));
+        when(principalCache.getByEmail(EMAIL)).thenReturn(new AuthenticatedUser(1L, EMAIL, "Grower", UserRole.USER));
+        when(ownership.ownsTank(1L, 1L)).thenReturn(true);
+        when(ownership.ownsTank(1L, 2L)).thenReturn(false);
+        service = new TankLevelServiceImpl(jdbcTemplate, waterTankRepository, tankIndex, ownership, principalCache,
+                eventPublisher, 100, 0.2, 0.02);
+    }
+
+    @Test
+    void levelsForAnotherUsersTankAreRejected() {
+        IngestionResultDTO result = service.ingest(EMAIL, List.of(
+                TankLevelRequest.builder().tankId(1L).levelLiters(700.0).build(),
+                TankLevelRequest.builder().tankId(2L).levelLiters(0.0).build()));
+
+        assertThat(result.getAccepted()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(1);
+
+        service.flush();
+
+        assertThat(tankIndex.get(1L).getCurrentLevelLiters()).isEqualTo(700.0);
+        assertThat(tankIndex.get(2L).getCurrentLevelLiters()).isEqualTo(800.0);
+        assertThat(tankIndex.get(2L).getStatus()).isEqualTo(TankStatus.NORMAL);
+        verify(eventPublisher, never()).publishEvent(argThat((Object e) ->
+                e instanceof TankLevelChangedEvent changed && changed.getTankId() == 2L));
+        verify(eventPublisher).publishEvent(any(TankLevelChangedEvent.class));
+    }
+
+    @Test
+    void lateReadingDoesNotOverwriteANewerLevel() {
+        LocalDateTime now = LocalDateTime.now();
+        service.ingest(EMAIL, List.of(TankLevelRequest.builder().tankId(1L).levelLiters(100.0).recordedAt(now).build()));
+        service.flush();
+
+        // Recorded an hour earlier, delivered after the newer level was applied
+        IngestionResultDTO late = service.ingest(EMAIL, List.of(
+                TankLevelRequest.builder().tankId(1L).levelLiters(900.0).recordedAt(now.minusHours(1)).build()));
+        service.flush();
+
+        assertThat(late.getAccepted()).isEqualTo(1);
+        assertThat(tankIndex.get(1L).getCurrentLevelLiters()).isEqualTo(100.0);
+        assertThat(tankIndex.get(1L).getStatus()).isEqualTo(TankStatus.LOW);
+        verify(eventPublisher).publishEvent(any(TankLevelChangedEvent.class));
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("UPDATE"), anyCollection(), anyInt(), any());
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("INSERT"), anyCollection(), anyInt(), any());
+    }
+}